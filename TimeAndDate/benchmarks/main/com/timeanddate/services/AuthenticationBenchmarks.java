@@ -0,0 +1,59 @@
+package com.timeanddate.services;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.timeanddate.services.common.UriUtils;
+
+/**
+ * Signing a request and building its query string. {@link Authentication} is
+ * package-private, so this suite lives in the package of the library.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthenticationBenchmarks {
+	private Authentication authentication;
+	private Map<String, String> arguments;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		authentication = new Authentication("accesskey", "secretkey",
+				"holidays");
+
+		arguments = new HashMap<String, String>();
+		arguments.put("country", "us");
+		arguments.put("year", "2021");
+		arguments.put("types", "federal,local");
+		arguments.put("lang", "en");
+		arguments.put("version", "3");
+		arguments.put("out", "xml");
+		arguments.putAll(authentication.getAuthenticationArgs());
+	}
+
+	@Benchmark
+	public Map<String, String> getAuthenticationArgs() {
+		return authentication.getAuthenticationArgs();
+	}
+
+	@Benchmark
+	public String buildUriString() throws Exception {
+		return UriUtils.BuildUriString(arguments);
+	}
+}
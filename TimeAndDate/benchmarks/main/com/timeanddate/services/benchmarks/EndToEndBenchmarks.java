@@ -0,0 +1,170 @@
+package com.timeanddate.services.benchmarks;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.timeanddate.services.AstronomyService;
+import com.timeanddate.services.BaseService;
+import com.timeanddate.services.BusinessDateService;
+import com.timeanddate.services.BusinessDurationService;
+import com.timeanddate.services.ConvertTimeService;
+import com.timeanddate.services.DSTService;
+import com.timeanddate.services.DialCodeService;
+import com.timeanddate.services.HolidaysService;
+import com.timeanddate.services.OnThisDayService;
+import com.timeanddate.services.PlacesService;
+import com.timeanddate.services.TidesService;
+import com.timeanddate.services.TimeService;
+import com.timeanddate.services.common.HttpClientTransport;
+import com.timeanddate.services.common.ITransport;
+import com.timeanddate.services.common.ReturnFormat;
+import com.timeanddate.services.common.ServerSideException;
+import com.timeanddate.services.common.WebClient;
+import com.timeanddate.services.dataTypes.astro.AstronomyObjectType;
+import com.timeanddate.services.dataTypes.places.LocationId;
+import com.timeanddate.services.dataTypes.time.TADDateTime;
+
+/**
+ * Calls to every service over HTTP, answered by a {@link ReplayServer} on the
+ * loopback interface, from several threads at once. Each thread goes through
+ * the services in turn. Throughput and the distribution of call times
+ * (percentiles in the sample time mode) cover the whole client: signing,
+ * connection handling, the transport and parsing.
+ * <p>
+ * The latency, jitter and error rates of the server are parameters, e.g.
+ * {@code -p latency=20 -p jitter=80 -p errorRate=0.01}. Calls that fail with
+ * a {@link ServerSideException} are counted like any other call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class EndToEndBenchmarks {
+	private static final String AccessKey = "accesskey";
+	private static final String SecretKey = "secretkey";
+
+	@Param({ "xml", "json" })
+	public String format;
+
+	/**
+	 * Milliseconds each response is delayed by.
+	 */
+	@Param({ "0", "5" })
+	public long latency;
+
+	/**
+	 * Most milliseconds each response is delayed by in addition.
+	 */
+	@Param({ "0" })
+	public long jitter;
+
+	@Param({ "0" })
+	public double errorRate;
+
+	@Param({ "0" })
+	public double failureRate;
+
+	private ReplayServer server;
+	private ITransport previousTransport;
+	private ReturnFormat previousFormat;
+	private String previousEntryPoint;
+	private Callable<?>[] calls;
+
+	@State(Scope.Thread)
+	public static class Caller {
+		int next;
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		server = new ReplayServer();
+		server.setLatency(Duration.ofMillis(latency));
+		server.setJitter(Duration.ofMillis(jitter));
+		server.setErrorRate(errorRate);
+		server.setFailureRate(failureRate);
+		server.start();
+
+		previousTransport = WebClient.getDefaultTransport();
+		previousFormat = BaseService.getDefaultReturnFormat();
+		previousEntryPoint = BaseService.getDefaultEntryPoint();
+
+		WebClient.setDefaultTransport(new HttpClientTransport());
+		BaseService.setDefaultReturnFormat(format.equals("json") ? ReturnFormat.JSON
+				: ReturnFormat.XML);
+		BaseService.setDefaultEntryPoint(server.getEntryPoint());
+
+		LocationId oslo = new LocationId(187);
+		LocationId newYork = new LocationId(179);
+		LocationId norway = new LocationId("no");
+		TADDateTime start = new TADDateTime(2021, 12, 20);
+		TADDateTime end = new TADDateTime(2022, 1, 3);
+
+		AstronomyService astronomy = new AstronomyService(AccessKey, SecretKey);
+		BusinessDateService businessDate = new BusinessDateService(AccessKey,
+				SecretKey);
+		BusinessDurationService businessDuration = new BusinessDurationService(
+				AccessKey, SecretKey);
+		ConvertTimeService convertTime = new ConvertTimeService(AccessKey,
+				SecretKey);
+		DialCodeService dialCode = new DialCodeService(AccessKey, SecretKey);
+		DSTService dst = new DSTService(AccessKey, SecretKey);
+		HolidaysService holidays = new HolidaysService(AccessKey, SecretKey);
+		OnThisDayService onThisDay = new OnThisDayService(AccessKey, SecretKey);
+		PlacesService places = new PlacesService(AccessKey, SecretKey);
+		TidesService tides = new TidesService(AccessKey, SecretKey);
+		TimeService time = new TimeService(AccessKey, SecretKey);
+
+		calls = new Callable<?>[] {
+				() -> astronomy.getAstronomicalInfo(AstronomyObjectType.Sun,
+						oslo, start, end),
+				() -> businessDate.addDays(start, 5, norway),
+				() -> businessDuration.getDuration(start, end, norway),
+				() -> convertTime.convertTime(oslo, "2021-06-01T12:00:00"),
+				() -> dialCode.getDialCode(oslo, newYork),
+				() -> dst.getDaylightSavingTime(2021),
+				() -> holidays.holidaysForCountry("us", 2021),
+				() -> onThisDay.eventsOnThisDay(6, 7),
+				() -> places.getPlaces(),
+				() -> tides.getTidalData(oslo),
+				() -> time.currentTimeForPlace(oslo) };
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		WebClient.setDefaultTransport(previousTransport);
+		BaseService.setDefaultReturnFormat(previousFormat);
+		BaseService.setDefaultEntryPoint(previousEntryPoint);
+		server.close();
+	}
+
+	@Benchmark
+	public Object call(Caller caller) throws Exception {
+		Callable<?> call = calls[caller.next];
+		caller.next = (caller.next + 1) % calls.length;
+
+		try {
+			return call.call();
+		} catch (ServerSideException e) {
+			return e;
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package com.timeanddate.services.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.timeanddate.services.common.ITransport;
+
+/**
+ * The recorded responses in {@code /fixtures}, read once and served from
+ * memory, so benchmarks measure the library and not the disk or network.
+ */
+public final class Fixtures {
+	private static final Map<String, byte[]> _responses = new ConcurrentHashMap<String, byte[]>();
+
+	private Fixtures() {
+	}
+
+	/**
+	 * Gets a recorded response.
+	 * 
+	 * @param name
+	 *            The file name, e.g. {@code holidays.xml}.
+	 * @return The response. Must not be changed.
+	 */
+	public static byte[] get(String name) {
+		return _responses.computeIfAbsent(name, Fixtures::read);
+	}
+
+	/**
+	 * A transport answering every request with the recorded response of its
+	 * service, e.g. {@code holidays.json} for a request to {@code /holidays}
+	 * that asks for {@code out=json}.
+	 */
+	public static ITransport transport() {
+		return url -> {
+			String path = url.getPath();
+			String query = url.getQuery();
+			String name = path.substring(path.lastIndexOf('/') + 1)
+					+ (query != null && query.contains("out=json") ? ".json"
+							: ".xml");
+
+			return new ByteArrayInputStream(get(name));
+		};
+	}
+
+	private static byte[] read(String name) {
+		try (InputStream stream = Fixtures.class
+				.getResourceAsStream("/fixtures/" + name)) {
+			if (stream == null)
+				throw new FileNotFoundException("No fixture " + name);
+
+			return stream.readAllBytes();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
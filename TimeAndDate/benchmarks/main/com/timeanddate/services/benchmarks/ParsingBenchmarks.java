@@ -0,0 +1,64 @@
+package com.timeanddate.services.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.timeanddate.services.common.ISODateTimeParser;
+import com.timeanddate.services.common.XmlUtils;
+import com.timeanddate.services.dataTypes.time.TADDateTime;
+
+/**
+ * Error detection on recorded responses and parsing of the timestamps found
+ * in them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParsingBenchmarks {
+	@State(Scope.Thread)
+	public static class Response {
+		@Param({ "holidays.xml", "converttime.xml", "places.xml" })
+		public String fixture;
+	}
+
+	@State(Scope.Thread)
+	public static class Timestamp {
+		@Param({ "2021-06-01", "2021-06-01T10:00:00",
+				"2021-10-31T02:00:00-04:00" })
+		public String iso;
+
+		final ISODateTimeParser parser = new ISODateTimeParser();
+	}
+
+	@Benchmark
+	public void checkForErrors(Response response) throws Exception {
+		XmlUtils.checkForErrors(Fixtures.get(response.fixture));
+	}
+
+	@Benchmark
+	public void parseISODate(Timestamp timestamp, Blackhole blackhole) {
+		ISODateTimeParser parser = timestamp.parser;
+		parser.parseISODate(timestamp.iso);
+		blackhole.consume(parser.getYear());
+		blackhole.consume(parser.getSecond());
+		blackhole.consume(parser.getOffset());
+	}
+
+	@Benchmark
+	public TADDateTime newTADDateTime(Timestamp timestamp) {
+		return new TADDateTime(timestamp.iso);
+	}
+}
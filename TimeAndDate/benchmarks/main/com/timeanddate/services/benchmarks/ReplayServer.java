@@ -0,0 +1,267 @@
+package com.timeanddate.services.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A stand-in for the API on the loopback interface, answering every request
+ * with the recorded response of its service, e.g. {@code holidays.json} for a
+ * request to {@code /holidays} that asks for {@code out=json}. Services are
+ * pointed at it with
+ * {@code BaseService.setDefaultEntryPoint(server.getEntryPoint())}, so a call
+ * goes through the whole client, sockets included, without network access or
+ * an access key.
+ * <p>
+ * Each response can be delayed by a fixed latency plus a random jitter, and a
+ * share of the requests can be answered with the recorded error response, as
+ * the API does for e.g. an invalid access key, or fail with HTTP 503.
+ */
+public class ReplayServer implements AutoCloseable {
+	/**
+	 * The services there are recorded responses for.
+	 */
+	public static final Set<String> Services = Collections
+			.unmodifiableSet(new HashSet<String>(Arrays.asList("astronomy",
+					"businessdate", "businessduration", "converttime",
+					"dialcode", "dstlist", "holidays", "onthisday", "places",
+					"tides", "timeservice")));
+
+	private static final int Backlog = 1024;
+
+	static {
+		// Without TCP_NODELAY small responses wait for the delayed ACK of the
+		// client, adding some 40 ms to every call on keep-alive connections
+		if (System.getProperty("sun.net.httpserver.nodelay") == null)
+			System.setProperty("sun.net.httpserver.nodelay", "true");
+	}
+
+	private final HttpServer _server;
+	private final ExecutorService _executor;
+	private final AtomicLong _requestCount = new AtomicLong();
+	private volatile Duration _latency = Duration.ZERO;
+	private volatile Duration _jitter = Duration.ZERO;
+	private volatile double _errorRate;
+	private volatile double _failureRate;
+
+	/**
+	 * Creates a server on a free port. It does not answer until
+	 * {@link #start()} is called.
+	 */
+	public ReplayServer() throws IOException {
+		this(0);
+	}
+
+	/**
+	 * Creates a server on a port. It does not answer until {@link #start()}
+	 * is called.
+	 *
+	 * @param port
+	 *            The port to listen on, 0 for a free one.
+	 */
+	public ReplayServer(int port) throws IOException {
+		_server = HttpServer.create(new InetSocketAddress(
+				InetAddress.getLoopbackAddress(), port), Backlog);
+
+		AtomicInteger count = new AtomicInteger();
+		_executor = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "libtad-replay-"
+					+ count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		_server.setExecutor(_executor);
+		_server.createContext("/", this::handle);
+	}
+
+	public void start() {
+		_server.start();
+	}
+
+	@Override
+	public void close() {
+		_server.stop(0);
+		_executor.shutdownNow();
+	}
+
+	/**
+	 * @return The address to send requests to, e.g.
+	 *         {@code http://127.0.0.1:49152/}.
+	 */
+	public String getEntryPoint() {
+		InetSocketAddress address = _server.getAddress();
+		return "http://" + address.getAddress().getHostAddress() + ":"
+				+ address.getPort() + "/";
+	}
+
+	/**
+	 * @return The number of requests received since the server was created.
+	 */
+	public long getRequestCount() {
+		return _requestCount.get();
+	}
+
+	public Duration getLatency() {
+		return _latency;
+	}
+
+	/**
+	 * Sets how long each response is delayed, before any jitter.
+	 *
+	 * @param latency
+	 *            The delay. Defaults to none.
+	 */
+	public void setLatency(Duration latency) {
+		if (latency == null || latency.isNegative())
+			throw new IllegalArgumentException("latency");
+
+		_latency = latency;
+	}
+
+	public Duration getJitter() {
+		return _jitter;
+	}
+
+	/**
+	 * Sets the most a response is delayed in addition to the latency. The
+	 * additional delay is uniformly distributed between none and the jitter.
+	 *
+	 * @param jitter
+	 *            The largest additional delay. Defaults to none.
+	 */
+	public void setJitter(Duration jitter) {
+		if (jitter == null || jitter.isNegative())
+			throw new IllegalArgumentException("jitter");
+
+		_jitter = jitter;
+	}
+
+	public double getErrorRate() {
+		return _errorRate;
+	}
+
+	/**
+	 * Sets the share of requests answered with the recorded error response.
+	 *
+	 * @param rate
+	 *            A share between 0 and 1. Defaults to 0.
+	 */
+	public void setErrorRate(double rate) {
+		if (!(rate >= 0 && rate <= 1))
+			throw new IllegalArgumentException("rate");
+
+		_errorRate = rate;
+	}
+
+	public double getFailureRate() {
+		return _failureRate;
+	}
+
+	/**
+	 * Sets the share of requests that fail with HTTP 503 and no response.
+	 *
+	 * @param rate
+	 *            A share between 0 and 1. Defaults to 0.
+	 */
+	public void setFailureRate(double rate) {
+		if (!(rate >= 0 && rate <= 1))
+			throw new IllegalArgumentException("rate");
+
+		_failureRate = rate;
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try {
+			_requestCount.incrementAndGet();
+			delay();
+
+			URI uri = exchange.getRequestURI();
+			String path = uri.getPath();
+			String service = path.substring(path.lastIndexOf('/') + 1);
+			if (!Services.contains(service)) {
+				exchange.sendResponseHeaders(404, -1);
+				return;
+			}
+
+			double roll = ThreadLocalRandom.current().nextDouble();
+			if (roll < _failureRate) {
+				exchange.sendResponseHeaders(503, -1);
+				return;
+			}
+
+			String query = uri.getRawQuery();
+			boolean json = query != null && query.contains("out=json");
+			String name = roll < _failureRate + _errorRate ? "error" : service;
+			byte[] body = Fixtures.get(name + (json ? ".json" : ".xml"));
+
+			exchange.getResponseHeaders().set("Content-Type",
+					json ? "application/json; charset=utf-8"
+							: "text/xml; charset=utf-8");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream stream = exchange.getResponseBody()) {
+				stream.write(body);
+			}
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private void delay() {
+		long nanos = _latency.toNanos();
+		long jitter = _jitter.toNanos();
+		if (jitter > 0)
+			nanos += ThreadLocalRandom.current().nextLong(jitter + 1);
+
+		if (nanos <= 0)
+			return;
+
+		try {
+			Thread.sleep(nanos / 1000000, (int) (nanos % 1000000));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Runs a server until the process is stopped, for load tests driven from
+	 * outside the JVM:
+	 *
+	 * <pre>
+	 * java -cp target/benchmarks.jar com.timeanddate.services.benchmarks.ReplayServer \
+	 *     [port] [latency ms] [jitter ms] [error rate] [failure rate]
+	 * </pre>
+	 */
+	public static void main(String[] args) throws Exception {
+		ReplayServer server = new ReplayServer(args.length > 0 ? Integer
+				.parseInt(args[0]) : 8080);
+		if (args.length > 1)
+			server.setLatency(Duration.ofMillis(Long.parseLong(args[1])));
+		if (args.length > 2)
+			server.setJitter(Duration.ofMillis(Long.parseLong(args[2])));
+		if (args.length > 3)
+			server.setErrorRate(Double.parseDouble(args[3]));
+		if (args.length > 4)
+			server.setFailureRate(Double.parseDouble(args[4]));
+
+		server.start();
+		System.out.println("Replaying recorded responses at "
+				+ server.getEntryPoint());
+
+		Thread.currentThread().join();
+	}
+}
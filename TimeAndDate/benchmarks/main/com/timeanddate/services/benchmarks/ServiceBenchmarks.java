@@ -0,0 +1,177 @@
+package com.timeanddate.services.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.timeanddate.services.AstronomyService;
+import com.timeanddate.services.BaseService;
+import com.timeanddate.services.BusinessDateService;
+import com.timeanddate.services.BusinessDates;
+import com.timeanddate.services.BusinessDuration;
+import com.timeanddate.services.BusinessDurationService;
+import com.timeanddate.services.ConvertTimeService;
+import com.timeanddate.services.ConvertedTimes;
+import com.timeanddate.services.DSTService;
+import com.timeanddate.services.DialCodeService;
+import com.timeanddate.services.DialCodes;
+import com.timeanddate.services.HolidaysService;
+import com.timeanddate.services.OnThisDayEvents;
+import com.timeanddate.services.OnThisDayService;
+import com.timeanddate.services.PlacesService;
+import com.timeanddate.services.TidesService;
+import com.timeanddate.services.TimeService;
+import com.timeanddate.services.common.ITransport;
+import com.timeanddate.services.common.ReturnFormat;
+import com.timeanddate.services.common.WebClient;
+import com.timeanddate.services.common.XmlUtils;
+import com.timeanddate.services.dataTypes.astro.AstronomyLocation;
+import com.timeanddate.services.dataTypes.astro.AstronomyObjectType;
+import com.timeanddate.services.dataTypes.dst.DST;
+import com.timeanddate.services.dataTypes.holidays.Holiday;
+import com.timeanddate.services.dataTypes.places.Location;
+import com.timeanddate.services.dataTypes.places.LocationId;
+import com.timeanddate.services.dataTypes.places.Place;
+import com.timeanddate.services.dataTypes.tides.Station;
+import com.timeanddate.services.dataTypes.time.TADDateTime;
+
+/**
+ * A full call to each service, answered from memory with its recorded
+ * response: building and signing the request, then parsing the response
+ * into the model, with each of the three deserializers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceBenchmarks {
+	private static final String AccessKey = "accesskey";
+	private static final String SecretKey = "secretkey";
+
+	@Param({ "dom", "streaming", "json" })
+	public String parser;
+
+	private ITransport previousTransport;
+	private ReturnFormat previousFormat;
+	private boolean previousStreaming;
+
+	private AstronomyService astronomy;
+	private BusinessDateService businessDate;
+	private BusinessDurationService businessDuration;
+	private ConvertTimeService convertTime;
+	private DialCodeService dialCode;
+	private DSTService dst;
+	private HolidaysService holidays;
+	private OnThisDayService onThisDay;
+	private PlacesService places;
+	private TidesService tides;
+	private TimeService time;
+
+	private final LocationId oslo = new LocationId(187);
+	private final LocationId newYork = new LocationId(179);
+	private final LocationId norway = new LocationId("no");
+	private final TADDateTime start = new TADDateTime(2021, 12, 20);
+	private final TADDateTime end = new TADDateTime(2022, 1, 3);
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		previousTransport = WebClient.getDefaultTransport();
+		previousFormat = BaseService.getDefaultReturnFormat();
+		previousStreaming = XmlUtils.getUseStreamingParser();
+
+		WebClient.setDefaultTransport(Fixtures.transport());
+		BaseService.setDefaultReturnFormat(parser.equals("json") ? ReturnFormat.JSON
+				: ReturnFormat.XML);
+		XmlUtils.setUseStreamingParser(parser.equals("streaming"));
+
+		astronomy = new AstronomyService(AccessKey, SecretKey);
+		businessDate = new BusinessDateService(AccessKey, SecretKey);
+		businessDuration = new BusinessDurationService(AccessKey, SecretKey);
+		convertTime = new ConvertTimeService(AccessKey, SecretKey);
+		dialCode = new DialCodeService(AccessKey, SecretKey);
+		dst = new DSTService(AccessKey, SecretKey);
+		holidays = new HolidaysService(AccessKey, SecretKey);
+		onThisDay = new OnThisDayService(AccessKey, SecretKey);
+		places = new PlacesService(AccessKey, SecretKey);
+		tides = new TidesService(AccessKey, SecretKey);
+		time = new TimeService(AccessKey, SecretKey);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		WebClient.setDefaultTransport(previousTransport);
+		BaseService.setDefaultReturnFormat(previousFormat);
+		XmlUtils.setUseStreamingParser(previousStreaming);
+	}
+
+	@Benchmark
+	public List<AstronomyLocation> astronomy() throws Exception {
+		return astronomy.getAstronomicalInfo(AstronomyObjectType.Sun, oslo,
+				start, end);
+	}
+
+	@Benchmark
+	public BusinessDates businessDate() throws Exception {
+		return businessDate.addDays(start, 5, norway);
+	}
+
+	@Benchmark
+	public BusinessDuration businessDuration() throws Exception {
+		return businessDuration.getDuration(start, end, norway);
+	}
+
+	@Benchmark
+	public ConvertedTimes convertTime() throws Exception {
+		return convertTime.convertTime(oslo, "2021-06-01T12:00:00");
+	}
+
+	@Benchmark
+	public DialCodes dialCode() throws Exception {
+		return dialCode.getDialCode(oslo, newYork);
+	}
+
+	@Benchmark
+	public List<DST> dst() throws Exception {
+		return dst.getDaylightSavingTime(2021);
+	}
+
+	@Benchmark
+	public List<Holiday> holidays() throws Exception {
+		return holidays.holidaysForCountry("us", 2021);
+	}
+
+	@Benchmark
+	public OnThisDayEvents onThisDay() throws Exception {
+		return onThisDay.eventsOnThisDay(6, 7);
+	}
+
+	@Benchmark
+	public List<Place> places() throws Exception {
+		return places.getPlaces();
+	}
+
+	@Benchmark
+	public List<Station> tides() throws Exception {
+		return tides.getTidalData(oslo);
+	}
+
+	@Benchmark
+	public List<Location> time() throws Exception {
+		return time.currentTimeForPlace(oslo);
+	}
+}
@@ -0,0 +1,77 @@
+package com.timeanddate.services.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.timeanddate.services.ConvertTimeService;
+import com.timeanddate.services.common.ITransport;
+import com.timeanddate.services.common.TimeSpan;
+import com.timeanddate.services.common.WebClient;
+import com.timeanddate.services.dataTypes.places.Location;
+import com.timeanddate.services.dataTypes.places.LocationId;
+import com.timeanddate.services.dataTypes.time.TADDateTime;
+
+/**
+ * Tick arithmetic and UTC offset lookups on the recorded time changes of
+ * Oslo.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeBenchmarks {
+	private final TADDateTime winter = new TADDateTime(2021, 2, 15, 2, 30, 0);
+	private final TADDateTime summer = new TADDateTime(2021, 7, 15, 2, 30, 0);
+	private final TADDateTime fall = new TADDateTime(2021, 11, 15, 2, 30, 0);
+
+	private Location oslo;
+	private int day;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		ITransport previous = WebClient.getDefaultTransport();
+		WebClient.setDefaultTransport(Fixtures.transport());
+		try {
+			ConvertTimeService service = new ConvertTimeService("accesskey",
+					"secretkey");
+			oslo = service.convertTime(new LocationId(187),
+					"2021-06-01T12:00:00").Locations.get(0);
+		} finally {
+			WebClient.setDefaultTransport(previous);
+		}
+	}
+
+	@Benchmark
+	public long getTimeInTicks() {
+		day = day % 28 + 1;
+		return new TADDateTime(2021, 6, day, 12, 30, 15).getTimeInTicks();
+	}
+
+	@Benchmark
+	public TimeSpan getUTCOffsetFromLocalTimeWinter() throws Exception {
+		return oslo.getUTCOffsetFromLocalTime(winter);
+	}
+
+	@Benchmark
+	public TimeSpan getUTCOffsetFromLocalTimeSummer() throws Exception {
+		return oslo.getUTCOffsetFromLocalTime(summer);
+	}
+
+	@Benchmark
+	public TimeSpan getUTCOffsetFromLocalTimeFall() throws Exception {
+		return oslo.getUTCOffsetFromLocalTime(fall);
+	}
+}
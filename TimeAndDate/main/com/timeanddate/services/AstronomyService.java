@@ -1,34 +1,30 @@
 package com.timeanddate.services;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.w3c.dom.DOMException;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
 import com.timeanddate.services.common.AuthenticationException;
 import com.timeanddate.services.common.IPredicate;
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.QueriedDateOutOfRangeException;
 import com.timeanddate.services.common.ServerSideException;
 import com.timeanddate.services.common.StringUtils;
-import com.timeanddate.services.common.UriUtils;
-import com.timeanddate.services.common.WebClient;
 import com.timeanddate.services.common.XmlUtils;
 import com.timeanddate.services.dataTypes.astro.AstronomyEventClass;
 import com.timeanddate.services.dataTypes.astro.AstronomyLocation;
@@ -42,48 +38,31 @@ import com.timeanddate.services.dataTypes.time.TADDateTime;
  *
  */
 public class AstronomyService extends BaseService {
-	/**
-	 * Return longitude and latitude for the geo object.
-	 * <p>
-	 * <b>true</b> if return latitude and longitude; otherwise, <b>false</b>.
-	 * <b>true</b> is default.
-	 */
-	private EnumSet<AstronomyEventClass> _types;
-
-	/**
-	 * Adds coordinates to the geography object
-	 * <p>
-	 * <b>true</b> if return coordinates; otherwise, <b>false</b>. <b>true</b>
-	 * is default.
-	 */
-	private boolean _includeCoordinates;
+	private static final IResponseParser<List<AstronomyLocation>> _parser = new IResponseParser<List<AstronomyLocation>>() {
+		@Override
+		public List<AstronomyLocation> fromDocument(Document document) {
+			return fromXml(document);
+		}
 
-	/**
-	 * Adds timestamps (local time) to all events.
-	 * <p>
-	 * <b>true</b> if include ISO time; otherwise, <b>false</b>. <b>false</b> is
-	 * default.
-	 */
-	private boolean _includeISOTime;
+		@Override
+		public List<AstronomyLocation> fromReader(XMLStreamReader reader)
+				throws XMLStreamException, ServerSideException {
+			return fromXml(reader);
+		}
 
-	/**
-	 * Adds UTC timestamps to all events.
-	 * <p>
-	 * <b>true</b> if include UTC time; otherwise, <b>false</b>.<b>false</b> is
-	 * default.
-	 */
-	private boolean _includeUTCTime;
+		@Override
+		public List<AstronomyLocation> fromJsonReader(JsonReader reader)
+				throws IOException, ServerSideException {
+			return fromJson(reader);
+		}
+	};
 
 	/**
-	 * Search radius for translating coordinates (parameter placeid) to
-	 * locations. Coordinates that could not be translated will yield results
-	 * for the actual geographical position – if you would like to query for
-	 * times at an exact location, specify a radius of zero (0).
-	 * <p>
-	 * The radius in kilometers. Default is infinite, but only locations within
-	 * the same country and time zone are considered.
+	 * The options used by calls that are not given options of their own. The
+	 * setters replace it as a whole, so a call never sees a half-updated
+	 * configuration.
 	 */
-	private int _radius;
+	private volatile AstronomyServiceOptions _options = new AstronomyServiceOptions.Builder().build();
 
 	/**
 	 * The astronomy service can be used retrieve rise, set, noon and twilight
@@ -99,9 +78,28 @@ public class AstronomyService extends BaseService {
 	 */
 	public AstronomyService(String accessKey, String secretKey) throws AuthenticationException {
 		super(accessKey, secretKey, "astronomy");
-		_includeCoordinates = true;
-		_includeISOTime = false;
-		_includeUTCTime = false;
+	}
+
+	/**
+	 * Gets the options used by calls that are not given options of their own.
+	 * 
+	 * @return The options of this service.
+	 */
+	public AstronomyServiceOptions getOptions() {
+		return _options;
+	}
+
+	/**
+	 * Sets the options used by calls that are not given options of their own.
+	 * 
+	 * @param options
+	 *            The options of this service.
+	 */
+	public synchronized void setOptions(AstronomyServiceOptions options) {
+		if (options == null)
+			throw new IllegalArgumentException("Options cannot be null");
+
+		_options = options;
 	}
 	
 	/**
@@ -123,6 +121,36 @@ public class AstronomyService extends BaseService {
 	public List<AstronomyLocation> getAstronomicalInfo(
 			AstronomyObjectType objectType, LocationId placeId,
 			Calendar startDate) throws IllegalArgumentException, ServerSideException  {
+		return getAstronomicalInfo(objectType, placeId, startDate, _options);
+	}
+
+	/**
+	 * Gets the specified object type (Moon, Sun) for a specified place by start
+	 * date.
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param objectType
+	 *            The astronomical object type (Moon or Sun)
+	 * @param placeId
+	 *            Place identifier.
+	 * @param startDate
+	 *            Start date.
+	 * @param options
+	 *            The options of this call.
+	 * @return A list of astronomical information.
+	 * @throws ServerSideException 
+	 * 			  The server produced an error message
+	 * @throws IllegalArgumentException 
+	 * 			  A required argument was not as expected
+	 */
+	public List<AstronomyLocation> getAstronomicalInfo(
+			AstronomyObjectType objectType, LocationId placeId,
+			Calendar startDate, AstronomyServiceOptions options) throws IllegalArgumentException, ServerSideException  {
+		if (options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
 		TADDateTime dt = new TADDateTime(
 				startDate.get(Calendar.YEAR),
 				startDate.get(Calendar.MONTH),
@@ -131,7 +159,41 @@ public class AstronomyService extends BaseService {
 				startDate.get(Calendar.MINUTE),
 				startDate.get(Calendar.SECOND));
 		
-		return getAstronomicalInfo(objectType, placeId, dt);
+		return getAstronomicalInfo(objectType, placeId, dt, options);
+	}
+
+	/**
+	 * Asynchronous version of {@link #getAstronomicalInfo(AstronomyObjectType, LocationId, Calendar)}.
+	 * 
+	 * @param objectType
+	 *            The astronomical object type (Moon or Sun)
+	 * @param placeId
+	 *            Place identifier.
+	 * @param startDate
+	 *            Start date.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<AstronomyLocation>> getAstronomicalInfoAsync(AstronomyObjectType objectType, LocationId placeId, Calendar startDate) {
+		return async(() -> getAstronomicalInfo(objectType, placeId, startDate));
+	}
+
+	/**
+	 * Asynchronous version of {@link #getAstronomicalInfo(AstronomyObjectType, LocationId, Calendar, AstronomyServiceOptions)}.
+	 * 
+	 * @param objectType
+	 *            The astronomical object type (Moon or Sun)
+	 * @param placeId
+	 *            Place identifier.
+	 * @param startDate
+	 *            Start date.
+	 * @param options
+	 *            The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<AstronomyLocation>> getAstronomicalInfoAsync(AstronomyObjectType objectType, LocationId placeId, Calendar startDate, AstronomyServiceOptions options) {
+		return async(() -> getAstronomicalInfo(objectType, placeId, startDate, options));
 	}
 
 	/**
@@ -145,7 +207,7 @@ public class AstronomyService extends BaseService {
 	 * @param startDate
 	 *            Start date.
 	 * @return A list of astronomical information.
- 	 * @throws ServerSideException 
+	 * @throws ServerSideException 
 	 * 			  The server produced an error message
 	 * @throws IllegalArgumentException 
 	 * 			  A required argument was not as expected
@@ -153,7 +215,33 @@ public class AstronomyService extends BaseService {
 	public List<AstronomyLocation> getAstronomicalInfo(
 			AstronomyObjectType objectType, LocationId placeId,
 			TADDateTime startDate) throws IllegalArgumentException, ServerSideException {
-		if (placeId == null || startDate == null)
+		return getAstronomicalInfo(objectType, placeId, startDate, _options);
+	}
+
+	/**
+	 * Gets the specified object type (Moon, Sun) for a specified place by start
+	 * date.
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param objectType
+	 *            The astronomical object type (Moon or Sun)
+	 * @param placeId
+	 *            Place identifier.
+	 * @param startDate
+	 *            Start date.
+	 * @param options
+	 *            The options of this call.
+	 * @return A list of astronomical information.
+	 * @throws ServerSideException 
+	 * 			  The server produced an error message
+	 * @throws IllegalArgumentException 
+	 * 			  A required argument was not as expected
+	 */
+	public List<AstronomyLocation> getAstronomicalInfo(
+			AstronomyObjectType objectType, LocationId placeId,
+			TADDateTime startDate, AstronomyServiceOptions options) throws IllegalArgumentException, ServerSideException {
+		if (placeId == null || startDate == null || options == null)
 			throw new IllegalArgumentException(
 					"A required argument is null or empty");
 
@@ -168,7 +256,41 @@ public class AstronomyService extends BaseService {
 		args.put("object", objectType.toString().toLowerCase());
 		args.put("startdt", startDate.getISO8601Date());
 
-		return retrieveAstronomicalInfo(args);
+		return retrieveAstronomicalInfo(args, options);
+	}
+
+	/**
+	 * Asynchronous version of {@link #getAstronomicalInfo(AstronomyObjectType, LocationId, TADDateTime)}.
+	 * 
+	 * @param objectType
+	 *            The astronomical object type (Moon or Sun)
+	 * @param placeId
+	 *            Place identifier.
+	 * @param startDate
+	 *            Start date.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<AstronomyLocation>> getAstronomicalInfoAsync(AstronomyObjectType objectType, LocationId placeId, TADDateTime startDate) {
+		return async(() -> getAstronomicalInfo(objectType, placeId, startDate));
+	}
+
+	/**
+	 * Asynchronous version of {@link #getAstronomicalInfo(AstronomyObjectType, LocationId, TADDateTime, AstronomyServiceOptions)}.
+	 * 
+	 * @param objectType
+	 *            The astronomical object type (Moon or Sun)
+	 * @param placeId
+	 *            Place identifier.
+	 * @param startDate
+	 *            Start date.
+	 * @param options
+	 *            The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<AstronomyLocation>> getAstronomicalInfoAsync(AstronomyObjectType objectType, LocationId placeId, TADDateTime startDate, AstronomyServiceOptions options) {
+		return async(() -> getAstronomicalInfo(objectType, placeId, startDate, options));
 	}
 
 	/**
@@ -195,6 +317,41 @@ public class AstronomyService extends BaseService {
 			AstronomyObjectType objectType, LocationId placeId,
 			Calendar startDate, Calendar endDate) 
 					throws IllegalArgumentException, QueriedDateOutOfRangeException, ServerSideException {
+		return getAstronomicalInfo(objectType, placeId, startDate, endDate, _options);
+	}
+
+	/**
+	 * Gets the specified object type (Moon, Sun) for a specified place by start
+	 * date.
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param objectType
+	 *            The astronomical object type (Moon or Sun)
+	 * @param placeId
+	 *            Place identifier.
+	 * @param startDate
+	 *            Start date.
+	 * @param endDate
+	 *            End date.
+	 * @param options
+	 *            The options of this call.
+	 * @return A list of astronomical information.
+	 * @throws ServerSideException 
+	 * 			  The server produced an error message
+	 * @throws QueriedDateOutOfRangeException 
+	 * 			  There was a mismatch between the two dates provided
+	 * @throws IllegalArgumentException 
+	 * 			  A required argument was not as expected
+	 */
+	public List<AstronomyLocation> getAstronomicalInfo(
+			AstronomyObjectType objectType, LocationId placeId,
+			Calendar startDate, Calendar endDate, AstronomyServiceOptions options) 
+					throws IllegalArgumentException, QueriedDateOutOfRangeException, ServerSideException {
+		if (options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
 		TADDateTime sd = new TADDateTime(
 				startDate.get(Calendar.YEAR),
 				startDate.get(Calendar.MONTH),
@@ -210,7 +367,45 @@ public class AstronomyService extends BaseService {
 				endDate.get(Calendar.HOUR),
 				endDate.get(Calendar.MINUTE),
 				endDate.get(Calendar.SECOND));
-		return getAstronomicalInfo(objectType, placeId, sd, ed);
+		return getAstronomicalInfo(objectType, placeId, sd, ed, options);
+	}
+
+	/**
+	 * Asynchronous version of {@link #getAstronomicalInfo(AstronomyObjectType, LocationId, Calendar, Calendar)}.
+	 * 
+	 * @param objectType
+	 *            The astronomical object type (Moon or Sun)
+	 * @param placeId
+	 *            Place identifier.
+	 * @param startDate
+	 *            Start date.
+	 * @param endDate
+	 *            End date.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<AstronomyLocation>> getAstronomicalInfoAsync(AstronomyObjectType objectType, LocationId placeId, Calendar startDate, Calendar endDate) {
+		return async(() -> getAstronomicalInfo(objectType, placeId, startDate, endDate));
+	}
+
+	/**
+	 * Asynchronous version of {@link #getAstronomicalInfo(AstronomyObjectType, LocationId, Calendar, Calendar, AstronomyServiceOptions)}.
+	 * 
+	 * @param objectType
+	 *            The astronomical object type (Moon or Sun)
+	 * @param placeId
+	 *            Place identifier.
+	 * @param startDate
+	 *            Start date.
+	 * @param endDate
+	 *            End date.
+	 * @param options
+	 *            The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<AstronomyLocation>> getAstronomicalInfoAsync(AstronomyObjectType objectType, LocationId placeId, Calendar startDate, Calendar endDate, AstronomyServiceOptions options) {
+		return async(() -> getAstronomicalInfo(objectType, placeId, startDate, endDate, options));
 	}
 	
 	/**
@@ -236,6 +431,40 @@ public class AstronomyService extends BaseService {
 	public List<AstronomyLocation> getAstronomicalInfo(AstronomyObjectType objectType, LocationId placeId,
 			TADDateTime startDate, TADDateTime endDate) 
 					throws IllegalArgumentException, QueriedDateOutOfRangeException, ServerSideException {
+		return getAstronomicalInfo(objectType, placeId, startDate, endDate, _options);
+	}
+
+	/**
+	 * Gets the specified object type (Moon, Sun) for a specified place by start
+	 * date.
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param objectType
+	 *            The astronomical object type (Moon or Sun)
+	 * @param placeId
+	 *            Place identifier.
+	 * @param startDate
+	 *            Start date.
+	 * @param endDate
+	 *            End date.
+	 * @param options
+	 *            The options of this call.
+	 * @return A list of astronomical information.
+	 * @throws ServerSideException 
+	 * 			  The server produced an error message
+	 * @throws QueriedDateOutOfRangeException 
+	 * 			  There was a mismatch between the two dates provided
+	 * @throws IllegalArgumentException 
+	 * 			  A required argument was not as expected
+	 */
+	public List<AstronomyLocation> getAstronomicalInfo(AstronomyObjectType objectType, LocationId placeId,
+			TADDateTime startDate, TADDateTime endDate, AstronomyServiceOptions options) 
+					throws IllegalArgumentException, QueriedDateOutOfRangeException, ServerSideException {
+		if (options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
 		if (placeId == null || startDate == null || endDate == null)
 			throw new IllegalArgumentException(
 					"A required argument is null or empty");
@@ -257,82 +486,106 @@ public class AstronomyService extends BaseService {
 		args.put("startdt", startDate.getISO8601Date());
 		args.put("enddt", endDate.getISO8601Date());
 
-		return retrieveAstronomicalInfo(args);
+		return retrieveAstronomicalInfo(args, options);
+	}
+
+	/**
+	 * Asynchronous version of {@link #getAstronomicalInfo(AstronomyObjectType, LocationId, TADDateTime, TADDateTime)}.
+	 * 
+	 * @param objectType
+	 *            The astronomical object type (Moon or Sun)
+	 * @param placeId
+	 *            Place identifier.
+	 * @param startDate
+	 *            Start date.
+	 * @param endDate
+	 *            End date.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<AstronomyLocation>> getAstronomicalInfoAsync(AstronomyObjectType objectType, LocationId placeId, TADDateTime startDate, TADDateTime endDate) {
+		return async(() -> getAstronomicalInfo(objectType, placeId, startDate, endDate));
+	}
+
+	/**
+	 * Asynchronous version of {@link #getAstronomicalInfo(AstronomyObjectType, LocationId, TADDateTime, TADDateTime, AstronomyServiceOptions)}.
+	 * 
+	 * @param objectType
+	 *            The astronomical object type (Moon or Sun)
+	 * @param placeId
+	 *            Place identifier.
+	 * @param startDate
+	 *            Start date.
+	 * @param endDate
+	 *            End date.
+	 * @param options
+	 *            The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<AstronomyLocation>> getAstronomicalInfoAsync(AstronomyObjectType objectType, LocationId placeId, TADDateTime startDate, TADDateTime endDate, AstronomyServiceOptions options) {
+		return async(() -> getAstronomicalInfo(objectType, placeId, startDate, endDate, options));
 	}
 	
-	public void setRadius(int radius) {
-		_radius = radius;
+	public synchronized void setRadius(int radius) {
+		_options = _options.toBuilder().setRadius(radius).build();
 	}
 	
 	public int getRadius() {
-		return _radius;
+		return _options.getRadius();
 	}
 	
-	public void setIncludeUTCTime(boolean bool) {
-		_includeUTCTime = bool;
+	public synchronized void setIncludeUTCTime(boolean bool) {
+		_options = _options.toBuilder().setIncludeUTCTime(bool).build();
 	}
 	
 	public boolean getIncludeUTCTime() {
-		return _includeUTCTime;
+		return _options.getIncludeUTCTime();
 	}
 	
-	public void setIncludeISOTime(boolean bool) {
-		_includeISOTime = bool;
+	public synchronized void setIncludeISOTime(boolean bool) {
+		_options = _options.toBuilder().setIncludeISOTime(bool).build();
 	}
 	
 	public boolean getIncludeISOTime() {
-		return _includeISOTime;
+		return _options.getIncludeISOTime();
 	}
 	
-	public void setIncludeCoordinates(boolean bool) {
-		_includeCoordinates = bool;
+	public synchronized void setIncludeCoordinates(boolean bool) {
+		_options = _options.toBuilder().setIncludeCoordinates(bool).build();
 	}
 	
 	public boolean getIncludeCoordinates() {
-		return _includeCoordinates;
+		return _options.getIncludeCoordinates();
 	}
 	
-	public void setAstronomyEventTypes(EnumSet<AstronomyEventClass> types) {
-		_types = types;
+	public synchronized void setAstronomyEventTypes(EnumSet<AstronomyEventClass> types) {
+		_options = _options.toBuilder().setAstronomyEventTypes(types).build();
 	}
 	
-	public void addAstronomyEventType(AstronomyEventClass type) {
-		_types.add(type);
+	public synchronized void addAstronomyEventType(AstronomyEventClass type) {
+		_options = _options.toBuilder().addAstronomyEventType(type).build();
 	}
 	
 	public EnumSet<AstronomyEventClass> getAstronomyEventTypes() {
-		return _types;
+		return _options.getAstronomyEventTypes();
 	}
 
 	private List<AstronomyLocation> retrieveAstronomicalInfo(
-			Map<String, String> args) throws ServerSideException  {
-		Map<String, String> arguments = getOptionalArguments(args);
-		String result = new String();
-		
-		try {
-			String query = UriUtils.BuildUriString(arguments);
-			URL uri = new URL(Constants.EntryPoint + ServiceName + query);
-			WebClient client = new WebClient();
-			result = client.downloadString(uri);
-			
-		} catch (DOMException | IOException e) { 
-				e.printStackTrace();
-		}
-		
-		XmlUtils.checkForErrors(result);
-		return fromXml(result); 		
+			Map<String, String> args, AstronomyServiceOptions options) throws ServerSideException  {
+		Map<String, String> arguments = getOptionalArguments(args, options);
+		return retrieve(arguments, _parser);
 	}
 
-	private Map<String, String> getOptionalArguments(Map<String, String> args) {
+	private Map<String, String> getOptionalArguments(Map<String, String> args, AstronomyServiceOptions options) {
 		Map<String, String> optionalArgs = new HashMap<String, String>(args);
-		String types = getAstronomyEventTypesAsStr();
-
-		optionalArgs.put("geo", StringUtils.BoolToNum(_includeCoordinates));
-		optionalArgs.put("isotime", StringUtils.BoolToNum(_includeISOTime));
-		optionalArgs.put("lang", Language);
-		optionalArgs.put("radius", Integer.toString(_radius));
-		optionalArgs.put("utctime", StringUtils.BoolToNum(_includeUTCTime));
-		optionalArgs.put("out", Constants.DefaultReturnFormat);
+		String types = getAstronomyEventTypesAsStr(options);
+
+		optionalArgs.put("geo", StringUtils.BoolToNum(options.getIncludeCoordinates()));
+		optionalArgs.put("isotime", StringUtils.BoolToNum(options.getIncludeISOTime()));
+		optionalArgs.put("lang", getLanguage(options));
+		optionalArgs.put("radius", Integer.toString(options.getRadius()));
+		optionalArgs.put("utctime", StringUtils.BoolToNum(options.getIncludeUTCTime()));
 		optionalArgs.put("verbosetime",
 				Integer.toString(Constants.DefaultVerboseTimeValue));
 
@@ -342,54 +595,79 @@ public class AstronomyService extends BaseService {
 		return optionalArgs;
 	}
 
-	private static List<AstronomyLocation> fromXml(String result)
+	private static List<AstronomyLocation> fromXml(Document document)
 			throws DOMException {
 		List<AstronomyLocation> list = new ArrayList<AstronomyLocation>();
-		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+		Element root = document.getDocumentElement();
+		NodeList nodes = root.getElementsByTagName("location");
 		
-		try {
-			DocumentBuilder builder = factory.newDocumentBuilder();
-			ByteArrayInputStream stream = new ByteArrayInputStream(
-					result.getBytes(StandardCharsets.UTF_8));
-			Document document = builder.parse(stream);
-			Element root = document.getDocumentElement();
-			NodeList nodes = root.getElementsByTagName("location");
-			
-			for (Node location : XmlUtils.asList(nodes)) {
-				list.add(AstronomyLocation.fromNode(location));
+		for (Node location : XmlUtils.asList(nodes)) {
+			list.add(AstronomyLocation.fromNode(location));
+		}
+
+		return list;
+	}
+
+	private static List<AstronomyLocation> fromXml(XMLStreamReader reader)
+			throws XMLStreamException, ServerSideException {
+		List<AstronomyLocation> list = new ArrayList<AstronomyLocation>();
+
+		while (XmlUtils.nextElement(reader, "location") != null) {
+			list.add(AstronomyLocation.fromReader(reader));
+		}
+
+		return list;
+	}
+
+	private static List<AstronomyLocation> fromJson(JsonReader reader)
+			throws IOException, ServerSideException {
+		List<AstronomyLocation> list = new ArrayList<AstronomyLocation>();
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextResponseMember(reader)) != null) {
+			if (member.equals("locations")) {
+				reader.beginArray();
+				while (reader.hasNext())
+					list.add(AstronomyLocation.fromJson(reader));
+				reader.endArray();
+			} else {
+				reader.skipValue();
 			}
-		} catch (ParserConfigurationException | SAXException | IOException e) {
-			e.printStackTrace();
 		}
+		reader.endObject();
 
 		return list;
 	}
 
-	private String getAstronomyEventTypesAsStr() {
-		if (_types == null)
+	private String getAstronomyEventTypesAsStr(AstronomyServiceOptions options) {
+		EnumSet<AstronomyEventClass> types = options.getAstronomyEventTypes();
+		if (types == null)
 			return "";
 
 		ArrayList<String> includedStrings = new ArrayList<String>();
 		for (final AstronomyEventClass type : AstronomyEventClass.values()) {
-			if (_types.contains(type))
+			if (types.contains(type))
 				includedStrings.add(StringUtils
-						.resolveAstronomyEventClass(where.of(type)).Command);
+						.resolveAstronomyEventClass(where().of(type)).Command);
 		}
 
 		String included = StringUtils.join(includedStrings, ",");
 		return included;
 	}
 
-	private IPredicate<AstronomyEventClass> where = new IPredicate<AstronomyEventClass>() {
-		AstronomyEventClass type;
+	private static IPredicate<AstronomyEventClass> where() {
+		return new IPredicate<AstronomyEventClass>() {
+			AstronomyEventClass type;
 
-		public boolean is(AstronomyEventClass t) {
-			return t == type;
-		}
+			public boolean is(AstronomyEventClass t) {
+				return t == type;
+			}
 
-		public IPredicate<AstronomyEventClass> of(AstronomyEventClass t) {
-			type = t;
-			return this;
-		}
-	};
+			public IPredicate<AstronomyEventClass> of(AstronomyEventClass t) {
+				type = t;
+				return this;
+			}
+		};
+	}
 }
@@ -0,0 +1,154 @@
+package com.timeanddate.services;
+
+import java.util.EnumSet;
+
+import com.timeanddate.services.dataTypes.astro.AstronomyEventClass;
+
+/**
+ * Immutable options for calls to the {@link AstronomyService}, built with a
+ * {@link Builder}. The same options can be used by any number of concurrent
+ * calls.
+ */
+public final class AstronomyServiceOptions extends ServiceOptions {
+	/**
+	 * Astronomy event classes which should be returned. To combine multiple
+	 * classes, use EnumSet.of()
+	 */
+	private final EnumSet<AstronomyEventClass> _types;
+
+	/**
+	 * Adds coordinates to the geography object
+	 * <p>
+	 * <b>true</b> if return coordinates; otherwise, <b>false</b>. <b>true</b>
+	 * is default.
+	 */
+	private final boolean _includeCoordinates;
+
+	/**
+	 * Adds timestamps (local time) to all events.
+	 * <p>
+	 * <b>true</b> if include ISO time; otherwise, <b>false</b>. <b>false</b> is
+	 * default.
+	 */
+	private final boolean _includeISOTime;
+
+	/**
+	 * Adds UTC timestamps to all events.
+	 * <p>
+	 * <b>true</b> if include UTC time; otherwise, <b>false</b>.<b>false</b> is
+	 * default.
+	 */
+	private final boolean _includeUTCTime;
+
+	/**
+	 * Search radius for translating coordinates (parameter placeid) to
+	 * locations. Coordinates that could not be translated will yield results
+	 * for the actual geographical position – if you would like to query for
+	 * times at an exact location, specify a radius of zero (0).
+	 * <p>
+	 * The radius in kilometers. Default is infinite, but only locations within
+	 * the same country and time zone are considered.
+	 */
+	private final int _radius;
+
+	private AstronomyServiceOptions(Builder builder) {
+		super(builder);
+		_types = builder._types != null ? EnumSet.copyOf(builder._types) : null;
+		_includeCoordinates = builder._includeCoordinates;
+		_includeISOTime = builder._includeISOTime;
+		_includeUTCTime = builder._includeUTCTime;
+		_radius = builder._radius;
+	}
+
+	public EnumSet<AstronomyEventClass> getAstronomyEventTypes() {
+		return _types != null ? EnumSet.copyOf(_types) : null;
+	}
+
+	public boolean getIncludeCoordinates() {
+		return _includeCoordinates;
+	}
+
+	public boolean getIncludeISOTime() {
+		return _includeISOTime;
+	}
+
+	public boolean getIncludeUTCTime() {
+		return _includeUTCTime;
+	}
+
+	public int getRadius() {
+		return _radius;
+	}
+
+	/**
+	 * Creates a builder initialised with these options.
+	 */
+	public Builder toBuilder() {
+		return new Builder(this);
+	}
+
+	public static final class Builder extends ServiceOptions.Builder<Builder> {
+		private EnumSet<AstronomyEventClass> _types;
+		private boolean _includeCoordinates = true;
+		private boolean _includeISOTime = false;
+		private boolean _includeUTCTime = false;
+		private int _radius;
+
+		/**
+		 * Creates a builder with the default options of the service.
+		 */
+		public Builder() {
+		}
+
+		private Builder(AstronomyServiceOptions options) {
+			super(options);
+			_types = options._types != null ? EnumSet.copyOf(options._types) : null;
+			_includeCoordinates = options._includeCoordinates;
+			_includeISOTime = options._includeISOTime;
+			_includeUTCTime = options._includeUTCTime;
+			_radius = options._radius;
+		}
+
+		public Builder setAstronomyEventTypes(EnumSet<AstronomyEventClass> types) {
+			_types = types != null ? EnumSet.copyOf(types) : null;
+			return this;
+		}
+
+		public Builder addAstronomyEventType(AstronomyEventClass type) {
+			if (_types == null)
+				_types = EnumSet.of(type);
+			else
+				_types.add(type);
+			return this;
+		}
+
+		public Builder setIncludeCoordinates(boolean bool) {
+			_includeCoordinates = bool;
+			return this;
+		}
+
+		public Builder setIncludeISOTime(boolean bool) {
+			_includeISOTime = bool;
+			return this;
+		}
+
+		public Builder setIncludeUTCTime(boolean bool) {
+			_includeUTCTime = bool;
+			return this;
+		}
+
+		public Builder setRadius(int radius) {
+			_radius = radius;
+			return this;
+		}
+
+		@Override
+		Builder self() {
+			return this;
+		}
+
+		public AstronomyServiceOptions build() {
+			return new AstronomyServiceOptions(this);
+		}
+	}
+}
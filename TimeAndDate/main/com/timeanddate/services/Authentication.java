@@ -1,10 +1,10 @@
 package com.timeanddate.services;
 
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.Map;
 import java.util.HashMap;
-import java.util.Date;
-import java.util.TimeZone;
-import java.text.*;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
@@ -13,55 +13,106 @@ import jakarta.xml.bind.DatatypeConverter;
 import com.timeanddate.services.common.AuthenticationException;
 
 /**
- * 
+ * Signs requests to a service. The signature covers a timestamp with a
+ * resolution of one second, so every request is signed anew; the signature is
+ * reused for requests within the same second.
+ *
  * @author Cato Auestad {@literal <cato@timeanddate.com>}
  *
  */
 class Authentication {
 	private String _accessKey;
-	private String _secretKey;
 	private String _serviceName;
 	private static final String HMAC_SHA1_ALGORITHM = "HmacSHA1";
+	private static final DateTimeFormatter _timestampFormat = DateTimeFormatter
+			.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'").withZone(ZoneOffset.UTC);
+
+	private final SecretKeySpec _signingKey;
+	private final Mac _mac;
+	private final ThreadLocal<Mac> _threadMac = ThreadLocal
+			.withInitial(this::copyMac);
+	private volatile Signature _signature;
 
-	Authentication(String accessKey, String secretKey, String serviceName) {
+	Authentication(String accessKey, String secretKey, String serviceName)
+			throws AuthenticationException {
 		_accessKey = accessKey;
-		_secretKey = secretKey;
 		_serviceName = serviceName;
+
+		try {
+			_signingKey = new SecretKeySpec(secretKey.getBytes(),
+					HMAC_SHA1_ALGORITHM);
+			_mac = createMac(_signingKey);
+		} catch (Exception e) {
+			throw new AuthenticationException("Failed to generate HMAC: "
+					+ e.getMessage());
+		}
 	}
 
-	Map<String, String> getAuthenticationArgs() throws AuthenticationException {
+	Map<String, String> getAuthenticationArgs() {
 		return getArgs(null);
 	}
 
-	Map<String, String> getAuthenticationArgs(Map<String, String> seed) throws AuthenticationException {
+	Map<String, String> getAuthenticationArgs(Map<String, String> seed) {
 		return getArgs(seed);
 	}
 
-	private Map<String, String> getArgs(Map<String, String> seed) throws AuthenticationException {
+	private Map<String, String> getArgs(Map<String, String> seed) {
 		Map<String, String> dict = new HashMap<String, String>(
 				seed != null ? seed : new HashMap<String, String>());
-		SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'");
-		sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
-		String timestamp = sdf.format(new Date());
+		Signature signature = sign(System.currentTimeMillis() / 1000);
+
+		dict.put("accesskey", _accessKey);
+		dict.put("timestamp", signature.timestamp);
+		dict.put("signature", signature.signature);
+
+		return dict;
+	}
+
+	private Signature sign(long second) {
+		Signature signature = _signature;
+		if (signature != null && signature.second == second)
+			return signature;
+
+		String timestamp = _timestampFormat.format(Instant
+				.ofEpochSecond(second));
 		String message = _accessKey + _serviceName + timestamp;
-		String signature;
+		byte[] rawHmac = _threadMac.get().doFinal(message.getBytes());
+
+		signature = new Signature(second, timestamp,
+				DatatypeConverter.printBase64Binary(rawHmac));
+		_signature = signature;
+
+		return signature;
+	}
 
+	private Mac copyMac() {
 		try {
-			SecretKeySpec signingKey = new SecretKeySpec(_secretKey.getBytes(),
-					HMAC_SHA1_ALGORITHM);
-			Mac mac = Mac.getInstance(HMAC_SHA1_ALGORITHM);
-			mac.init(signingKey);
-			byte[] rawHmac = mac.doFinal(message.getBytes());
-			signature = DatatypeConverter.printBase64Binary(rawHmac);
-		} catch (Exception e) {
-			throw new AuthenticationException("Failed to generate HMAC: "
-					+ e.getMessage());
+			return (Mac) _mac.clone();
+		} catch (CloneNotSupportedException e) {
+			try {
+				return createMac(_signingKey);
+			} catch (Exception inner) {
+				throw new IllegalStateException("Failed to generate HMAC: "
+						+ inner.getMessage(), inner);
+			}
 		}
+	}
 
-		dict.put("accesskey", _accessKey);
-		dict.put("timestamp", timestamp);
-		dict.put("signature", signature);
+	private static Mac createMac(SecretKeySpec signingKey) throws Exception {
+		Mac mac = Mac.getInstance(HMAC_SHA1_ALGORITHM);
+		mac.init(signingKey);
+		return mac;
+	}
 
-		return dict;
+	private static final class Signature {
+		final long second;
+		final String timestamp;
+		final String signature;
+
+		Signature(long second, String timestamp, String signature) {
+			this.second = second;
+			this.timestamp = timestamp;
+			this.signature = signature;
+		}
 	}
 }
@@ -1,10 +1,38 @@
 package com.timeanddate.services;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import com.timeanddate.services.common.AuthOptions;
 import com.timeanddate.services.common.AuthenticationException;
 import com.timeanddate.services.common.InMemStore;
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
+import com.timeanddate.services.common.MalformedJsonException;
+import com.timeanddate.services.common.RateLimiter;
+import com.timeanddate.services.common.RequestCoalescer;
+import com.timeanddate.services.common.RequestPriority;
+import com.timeanddate.services.common.ResponseCache;
+import com.timeanddate.services.common.ReturnFormat;
+import com.timeanddate.services.common.ServerSideException;
+import com.timeanddate.services.common.UriUtils;
+import com.timeanddate.services.common.WebClient;
+import com.timeanddate.services.common.XmlUtils;
 
 /**
  * 
@@ -12,17 +40,587 @@ import com.timeanddate.services.common.InMemStore;
  *
  */
 public abstract class BaseService {
-	public int Version = Constants.DefaultVersion;
-	public String Language = Constants.DefaultLanguage;
+	private static volatile ReturnFormat _defaultReturnFormat = Constants.DefaultReturnFormat;
+	private static volatile Executor _defaultExecutor;
+	private static volatile ResponseCache _defaultResponseCache;
+	private static volatile RequestCoalescer _defaultRequestCoalescer;
+	private static volatile RateLimiter _defaultRateLimiter;
+	private static volatile LocationIdCanonicalizer _defaultLocationIdCanonicalizer;
+	private static volatile String _defaultEntryPoint = Constants.EntryPoint;
+
+	public volatile int Version = Constants.DefaultVersion;
+	public volatile String Language = Constants.DefaultLanguage;
 	Map<String, String> AuthenticationOptions;
 	protected String ServiceName;
+	private final Authentication _authentication;
+	private volatile ReturnFormat _returnFormat;
+	private volatile Executor _executor;
+	private volatile ResponseCache _responseCache;
+	private volatile RequestCoalescer _requestCoalescer;
+	private volatile RateLimiter _rateLimiter;
+	private volatile LocationIdCanonicalizer _locationIdCanonicalizer;
+	private volatile RequestPriority _requestPriority = RequestPriority.Interactive;
+	private volatile String _entryPoint;
 
 	public BaseService(String accessKey, String secretKey, String serviceName) throws AuthenticationException {
 		ServiceName = serviceName;
-		Authentication auth = new Authentication(accessKey, secretKey,
+		_authentication = new Authentication(accessKey, secretKey,
 				serviceName);
-		AuthenticationOptions = auth.getAuthenticationArgs();
-		InMemStore.Store(Authentication.class.getName(), new AuthOptions(
-				accessKey, secretKey));
+		// The timestamp and signature are added to each request when it is
+		// sent, see retrieve
+		AuthenticationOptions = new HashMap<String, String>();
+		AuthenticationOptions.put("accesskey", accessKey);
+		// Stored per access key, so services of different tenants do not
+		// overwrite each other; the unscoped entry holds the credentials of
+		// the service created last, as it always has
+		AuthOptions credentials = new AuthOptions(accessKey, secretKey);
+		InMemStore.Store(accessKey != null ? accessKey : "",
+				Authentication.class.getName(), credentials);
+		InMemStore.Store(Authentication.class.getName(), credentials);
+	}
+
+	/**
+	 * Gets the format responses are requested in by services that have not
+	 * been given one of their own.
+	 * 
+	 * @return The default return format.
+	 */
+	public static ReturnFormat getDefaultReturnFormat() {
+		return _defaultReturnFormat;
+	}
+
+	/**
+	 * Sets the format responses are requested in by services that have not
+	 * been given one of their own. Defaults to {@link ReturnFormat#XML}.
+	 * 
+	 * @param format
+	 *            The default return format.
+	 */
+	public static void setDefaultReturnFormat(ReturnFormat format) {
+		if (format == null)
+			throw new IllegalArgumentException("format");
+
+		_defaultReturnFormat = format;
+	}
+
+	/**
+	 * Gets the format this service requests its responses in.
+	 * 
+	 * @return The return format.
+	 */
+	public ReturnFormat getReturnFormat() {
+		ReturnFormat format = _returnFormat;
+		return format != null ? format : _defaultReturnFormat;
+	}
+
+	/**
+	 * Sets the format this service requests its responses in. Both formats
+	 * produce the same objects; JSON responses are smaller and faster to
+	 * decode. Set to null to use the default return format.
+	 * 
+	 * @param format
+	 *            The return format.
+	 */
+	public void setReturnFormat(ReturnFormat format) {
+		_returnFormat = format;
+	}
+
+	/**
+	 * The executor the asynchronous calls of every service run on, unless a
+	 * service has been given one of its own. Created lazily on first use:
+	 * one virtual thread per call on JDK 21 and later, otherwise a cached
+	 * pool of daemon threads.
+	 * 
+	 * @return The default executor.
+	 */
+	public static Executor getDefaultExecutor() {
+		Executor executor = _defaultExecutor;
+		if (executor == null) {
+			synchronized (BaseService.class) {
+				if (_defaultExecutor == null)
+					_defaultExecutor = createDefaultExecutor();
+
+				executor = _defaultExecutor;
+			}
+		}
+
+		return executor;
+	}
+
+	/**
+	 * Replaces the executor the asynchronous calls of every service run on.
+	 * 
+	 * @param executor
+	 *            The executor to use for all subsequent asynchronous calls.
+	 */
+	public static void setDefaultExecutor(Executor executor) {
+		if (executor == null)
+			throw new IllegalArgumentException("Executor cannot be null");
+
+		_defaultExecutor = executor;
+	}
+
+	/**
+	 * Gets the executor the asynchronous calls of this service run on.
+	 * 
+	 * @return The executor.
+	 */
+	public Executor getExecutor() {
+		Executor executor = _executor;
+		return executor != null ? executor : getDefaultExecutor();
+	}
+
+	/**
+	 * Sets the executor the asynchronous calls of this service run on. Set to
+	 * null to use the default executor.
+	 * 
+	 * @param executor
+	 *            The executor.
+	 */
+	public void setExecutor(Executor executor) {
+		_executor = executor;
+	}
+
+	/**
+	 * The cache responses of every service are kept in, unless a service has
+	 * been given one of its own. There is none by default.
+	 * 
+	 * @return The default response cache, or null.
+	 */
+	public static ResponseCache getDefaultResponseCache() {
+		return _defaultResponseCache;
+	}
+
+	/**
+	 * Sets the cache responses of every service are kept in. Set to null to
+	 * turn caching off.
+	 * 
+	 * @param cache
+	 *            The default response cache.
+	 */
+	public static void setDefaultResponseCache(ResponseCache cache) {
+		_defaultResponseCache = cache;
+	}
+
+	/**
+	 * Gets the cache the responses of this service are kept in.
+	 * 
+	 * @return The response cache, or null if responses are not cached.
+	 */
+	public ResponseCache getResponseCache() {
+		ResponseCache cache = _responseCache;
+		return cache != null ? cache : _defaultResponseCache;
+	}
+
+	/**
+	 * Sets the cache the responses of this service are kept in. Set to null
+	 * to use the default response cache.
+	 * 
+	 * @param cache
+	 *            The response cache.
+	 */
+	public void setResponseCache(ResponseCache cache) {
+		_responseCache = cache;
+	}
+
+	/**
+	 * The coalescer identical requests of every service in flight at the same
+	 * time are shared through, unless a service has been given one of its
+	 * own. There is none by default.
+	 * 
+	 * @return The default request coalescer, or null.
+	 */
+	public static RequestCoalescer getDefaultRequestCoalescer() {
+		return _defaultRequestCoalescer;
+	}
+
+	/**
+	 * Sets the coalescer identical requests of every service in flight at the
+	 * same time are shared through. Set to null to send every request.
+	 * 
+	 * @param coalescer
+	 *            The default request coalescer.
+	 */
+	public static void setDefaultRequestCoalescer(RequestCoalescer coalescer) {
+		_defaultRequestCoalescer = coalescer;
+	}
+
+	/**
+	 * Gets the coalescer identical requests of this service are shared
+	 * through.
+	 * 
+	 * @return The request coalescer, or null if every request is sent.
+	 */
+	public RequestCoalescer getRequestCoalescer() {
+		RequestCoalescer coalescer = _requestCoalescer;
+		return coalescer != null ? coalescer : _defaultRequestCoalescer;
+	}
+
+	/**
+	 * Sets the coalescer identical requests of this service are shared
+	 * through. Concurrent callers sharing a request get the same result
+	 * objects. Set to null to use the default request coalescer.
+	 * 
+	 * @param coalescer
+	 *            The request coalescer.
+	 */
+	public void setRequestCoalescer(RequestCoalescer coalescer) {
+		_requestCoalescer = coalescer;
+	}
+
+	/**
+	 * The canonicalizer the place IDs of every service are passed through,
+	 * unless a service has been given one of its own. There is none by
+	 * default.
+	 * 
+	 * @return The default location ID canonicalizer, or null.
+	 */
+	public static LocationIdCanonicalizer getDefaultLocationIdCanonicalizer() {
+		return _defaultLocationIdCanonicalizer;
+	}
+
+	/**
+	 * Sets the canonicalizer the place IDs of every service are passed
+	 * through. Set to null to send place IDs as they are given.
+	 * 
+	 * @param canonicalizer
+	 *            The default location ID canonicalizer.
+	 */
+	public static void setDefaultLocationIdCanonicalizer(
+			LocationIdCanonicalizer canonicalizer) {
+		_defaultLocationIdCanonicalizer = canonicalizer;
+	}
+
+	/**
+	 * Gets the canonicalizer the place IDs of this service are passed
+	 * through.
+	 * 
+	 * @return The location ID canonicalizer, or null if place IDs are sent
+	 *         as they are given.
+	 */
+	public LocationIdCanonicalizer getLocationIdCanonicalizer() {
+		LocationIdCanonicalizer canonicalizer = _locationIdCanonicalizer;
+		return canonicalizer != null ? canonicalizer
+				: _defaultLocationIdCanonicalizer;
+	}
+
+	/**
+	 * Sets the canonicalizer the place IDs of this service are passed
+	 * through. Place IDs given as coordinates are then sent in their
+	 * canonical form, so nearby coordinates share cached responses and
+	 * requests in flight. Set to null to use the default canonicalizer.
+	 * 
+	 * @param canonicalizer
+	 *            The location ID canonicalizer.
+	 */
+	public void setLocationIdCanonicalizer(
+			LocationIdCanonicalizer canonicalizer) {
+		_locationIdCanonicalizer = canonicalizer;
+	}
+
+	/**
+	 * The limiter the requests of every service wait for, unless a service
+	 * has been given one of its own. There is none by default.
+	 * 
+	 * @return The default rate limiter, or null.
+	 */
+	public static RateLimiter getDefaultRateLimiter() {
+		return _defaultRateLimiter;
+	}
+
+	/**
+	 * Sets the limiter the requests of every service wait for. Set to null to
+	 * send requests without waiting.
+	 * 
+	 * @param limiter
+	 *            The default rate limiter.
+	 */
+	public static void setDefaultRateLimiter(RateLimiter limiter) {
+		_defaultRateLimiter = limiter;
+	}
+
+	/**
+	 * Gets the limiter the requests of this service wait for.
+	 * 
+	 * @return The rate limiter, or null if requests are sent without waiting.
+	 */
+	public RateLimiter getRateLimiter() {
+		RateLimiter limiter = _rateLimiter;
+		return limiter != null ? limiter : _defaultRateLimiter;
+	}
+
+	/**
+	 * Sets the limiter the requests of this service wait for. Responses from
+	 * the response cache and requests shared through a request coalescer do
+	 * not wait. Set to null to use the default rate limiter.
+	 * 
+	 * @param limiter
+	 *            The rate limiter.
+	 */
+	public void setRateLimiter(RateLimiter limiter) {
+		_rateLimiter = limiter;
+	}
+
+	/**
+	 * Gets the priority the requests of this service wait for the rate
+	 * limiter with.
+	 * 
+	 * @return The request priority.
+	 */
+	public RequestPriority getRequestPriority() {
+		return _requestPriority;
+	}
+
+	/**
+	 * Sets the priority the requests of this service wait for the rate
+	 * limiter with. Defaults to {@link RequestPriority#Interactive}; services
+	 * fetching data ahead of time should use {@link RequestPriority#Batch}.
+	 * 
+	 * @param priority
+	 *            The request priority.
+	 */
+	public void setRequestPriority(RequestPriority priority) {
+		if (priority == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		_requestPriority = priority;
+	}
+
+	/**
+	 * The address every service sends its requests to, unless a service has
+	 * been given one of its own. Defaults to {@code http://api.xmltime.com/}.
+	 * 
+	 * @return The default entry point.
+	 */
+	public static String getDefaultEntryPoint() {
+		return _defaultEntryPoint;
+	}
+
+	/**
+	 * Sets the address every service sends its requests to, e.g. a local
+	 * server replaying recorded responses. The service name is appended to
+	 * it, so {@code http://localhost:8080/} sends time service requests to
+	 * {@code http://localhost:8080/timeservice}.
+	 * 
+	 * @param entryPoint
+	 *            The default entry point.
+	 */
+	public static void setDefaultEntryPoint(String entryPoint) {
+		if (entryPoint == null || entryPoint.isEmpty())
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		_defaultEntryPoint = withTrailingSlash(entryPoint);
+	}
+
+	/**
+	 * Gets the address this service sends its requests to.
+	 * 
+	 * @return The entry point.
+	 */
+	public String getEntryPoint() {
+		String entryPoint = _entryPoint;
+		return entryPoint != null ? entryPoint : _defaultEntryPoint;
+	}
+
+	/**
+	 * Sets the address this service sends its requests to. Set to null to use
+	 * the default entry point.
+	 * 
+	 * @param entryPoint
+	 *            The entry point.
+	 */
+	public void setEntryPoint(String entryPoint) {
+		if (entryPoint != null && entryPoint.isEmpty())
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		_entryPoint = entryPoint != null ? withTrailingSlash(entryPoint)
+				: null;
+	}
+
+	/**
+	 * The language of a call: the language of its options if set, otherwise
+	 * {@link #Language}.
+	 */
+	String getLanguage(ServiceOptions options) {
+		String language = options.getLanguage();
+		return language != null ? language : Language;
+	}
+
+	/**
+	 * The API version of a call: the version of its options if set, otherwise
+	 * {@link #Version}.
+	 */
+	String getVersion(ServiceOptions options) {
+		Integer version = options.getVersion();
+		return Integer.toString(version != null ? version : Version);
+	}
+
+	/**
+	 * Runs a blocking service call on the executor of this service. The
+	 * returned future fails with the exception the call threw, e.g. a
+	 * {@link ServerSideException} or an {@link IllegalArgumentException}.
+	 */
+	<T> CompletableFuture<T> async(Callable<T> call) {
+		CompletableFuture<T> future = new CompletableFuture<T>();
+
+		try {
+			getExecutor().execute(() -> {
+				try {
+					future.complete(call.call());
+				} catch (Throwable e) {
+					future.completeExceptionally(e);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			future.completeExceptionally(e);
+		}
+
+		return future;
+	}
+
+	private static String withTrailingSlash(String entryPoint) {
+		return entryPoint.endsWith("/") ? entryPoint : entryPoint + "/";
+	}
+
+	private static Executor createDefaultExecutor() {
+		try {
+			Method method = Executors.class
+					.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) method.invoke(null);
+		} catch (ReflectiveOperationException e) {
+			// Virtual threads are not available before JDK 21
+		}
+
+		AtomicInteger count = new AtomicInteger();
+		return Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "libtad-async-"
+					+ count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Signs the request, sends it to the service and builds the result from
+	 * the response, through the JSON, the DOM or the streaming deserializers.
+	 * Error messages from the server are detected while parsing. With a
+	 * response cache, a cached response is used if there is one, and
+	 * successful responses are added to the cache. With a request coalescer,
+	 * a call shares the result of an identical request in flight. With a rate
+	 * limiter, requests wait for it before they are sent. With a location ID
+	 * canonicalizer, place IDs are canonicalized first.
+	 */
+	<T> T retrieve(Map<String, String> arguments, IResponseParser<T> parser)
+			throws ServerSideException {
+		LocationIdCanonicalizer canonicalizer = getLocationIdCanonicalizer();
+		if (canonicalizer != null)
+			canonicalizer.canonicalizeArguments(arguments);
+
+		ReturnFormat format = getReturnFormat();
+		arguments.put("out", format == ReturnFormat.JSON ? "json" : "xml");
+
+		ResponseCache cache = getResponseCache();
+		RequestCoalescer coalescer = getRequestCoalescer();
+		String key = null;
+		if (cache != null || coalescer != null)
+			key = ResponseCache.createKey(getEntryPoint(), ServiceName,
+					arguments);
+
+		if (cache != null) {
+			byte[] cached = cache.get(key);
+			if (cached != null)
+				return parse(cached, format, parser);
+		}
+
+		if (coalescer == null)
+			return download(arguments, format, parser, cache, key);
+
+		// Calls to the same service with the same arguments may still be
+		// parsed into different types. Failures are shared too, so only
+		// calls with the same access key share a request: a bad key must not
+		// fail the calls of others, and each account pays for its requests
+		String cacheKey = key;
+		return coalescer.execute(key + "#"
+				+ AuthenticationOptions.get("accesskey") + "#"
+				+ parser.getClass().getName(),
+				() -> download(arguments, format, parser, cache, cacheKey));
+	}
+
+	private <T> T download(Map<String, String> arguments, ReturnFormat format,
+			IResponseParser<T> parser, ResponseCache cache, String key)
+			throws ServerSideException {
+		RateLimiter limiter = getRateLimiter();
+		if (limiter != null) {
+			try {
+				limiter.acquire(ServiceName, _requestPriority);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ServerSideException("Request to " + ServiceName
+						+ " was interrupted");
+			}
+		}
+
+		try {
+			// Signed after waiting for the rate limiter, so the timestamp
+			// is current
+			arguments.putAll(_authentication.getAuthenticationArgs());
+			String query = UriUtils.BuildUriString(arguments);
+			URL uri = new URL(getEntryPoint() + ServiceName + query);
+			WebClient client = new WebClient();
+
+			try (InputStream stream = client.openStream(uri)) {
+				if (cache == null)
+					return parse(stream, format, parser);
+
+				byte[] response = stream.readAllBytes();
+				T result = parse(new ByteArrayInputStream(response), format,
+						parser);
+				cache.put(key, ServiceName, response);
+
+				return result;
+			}
+		} catch (XMLStreamException | MalformedJsonException e) {
+			throw new ServerSideException("Failed to parse response: "
+					+ e.getMessage());
+		} catch (IOException e) {
+			throw new ServerSideException("Request to " + ServiceName
+					+ " failed: " + e.getMessage());
+		}
+	}
+
+	private <T> T parse(byte[] response, ReturnFormat format,
+			IResponseParser<T> parser) throws ServerSideException {
+		try {
+			return parse(new ByteArrayInputStream(response), format, parser);
+		} catch (XMLStreamException | MalformedJsonException e) {
+			throw new ServerSideException("Failed to parse response: "
+					+ e.getMessage());
+		} catch (IOException e) {
+			throw new ServerSideException("Request to " + ServiceName
+					+ " failed: " + e.getMessage());
+		}
+	}
+
+	private static <T> T parse(InputStream stream, ReturnFormat format,
+			IResponseParser<T> parser) throws IOException, XMLStreamException,
+			ServerSideException {
+		if (format == ReturnFormat.JSON) {
+			try (JsonReader reader = JsonUtils.createReader(stream)) {
+				return parser.fromJsonReader(reader);
+			}
+		}
+
+		if (!XmlUtils.getUseStreamingParser())
+			return parser.fromDocument(XmlUtils.parse(stream));
+
+		XMLStreamReader reader = XmlUtils.createReader(stream);
+		try {
+			return parser.fromReader(reader);
+		} finally {
+			reader.close();
+		}
 	}
 }
@@ -1,23 +1,23 @@
 package com.timeanddate.services;
 
 import java.io.IOException;
-import java.net.URL;
-import java.text.SimpleDateFormat;
 import java.util.HashMap;
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
-import org.w3c.dom.DOMException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.w3c.dom.Document;
 
 import com.timeanddate.services.common.AuthenticationException;
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.ServerSideException;
 import com.timeanddate.services.common.StringUtils;
-import com.timeanddate.services.common.UriUtils;
-import com.timeanddate.services.common.WebClient;
-import com.timeanddate.services.common.XmlUtils;
 import com.timeanddate.services.common.IPredicate;
 
 import com.timeanddate.services.dataTypes.places.LocationId;
@@ -30,12 +30,31 @@ import com.timeanddate.services.dataTypes.businessdays.BusinessDaysFilterType;
  *
  */
 public class BusinessDateService extends BaseService {
+	private static final IResponseParser<BusinessDates> _parser = new IResponseParser<BusinessDates>() {
+		@Override
+		public BusinessDates fromDocument(Document document) {
+			return BusinessDates.fromXml(document);
+		}
 
-	private boolean _includeDays;
+		@Override
+		public BusinessDates fromReader(XMLStreamReader reader)
+				throws XMLStreamException, ServerSideException {
+			return BusinessDates.fromXml(reader);
+		}
 
-	private int _repeat;
+		@Override
+		public BusinessDates fromJsonReader(JsonReader reader)
+				throws IOException, ServerSideException {
+			return BusinessDates.fromJson(reader);
+		}
+	};
 
-	private EnumSet<BusinessDaysFilterType> _filter;
+	/**
+	 * The options used by calls that are not given options of their own. The
+	 * setters replace it as a whole, so a call never sees a half-updated
+	 * configuration.
+	 */
+	private volatile BusinessDateServiceOptions _options = new BusinessDateServiceOptions.Builder().build();
 
 	/**
 	 * The businessdate service can be used to find a business
@@ -51,32 +70,52 @@ public class BusinessDateService extends BaseService {
 	public BusinessDateService(String accessKey, String secretKey)
 			throws AuthenticationException {
 		super(accessKey, secretKey, "businessdate");
-		_includeDays = false;
-		_filter = EnumSet.of(BusinessDaysFilterType.WEEKENDHOLIDAYS);
 	}
 
-	public void setIncludeDays(boolean bool) {
-		_includeDays = bool;
+	/**
+	 * Gets the options used by calls that are not given options of their own.
+	 * 
+	 * @return The options of this service.
+	 */
+	public BusinessDateServiceOptions getOptions() {
+		return _options;
+	}
+
+	/**
+	 * Sets the options used by calls that are not given options of their own.
+	 * 
+	 * @param options
+	 *            The options of this service.
+	 */
+	public synchronized void setOptions(BusinessDateServiceOptions options) {
+		if (options == null)
+			throw new IllegalArgumentException("Options cannot be null");
+
+		_options = options;
+	}
+
+	public synchronized void setIncludeDays(boolean bool) {
+		_options = _options.toBuilder().setIncludeDays(bool).build();
 	}
 
 	public boolean getIncludeDays() {
-		return _includeDays;
+		return _options.getIncludeDays();
 	}
 
-	public void setRepeat(int repeat) {
-		_repeat = repeat;
+	public synchronized void setRepeat(int repeat) {
+		_options = _options.toBuilder().setRepeat(repeat).build();
 	}
 
-	public void setFilter(EnumSet<BusinessDaysFilterType> filter) {
-		_filter = filter;
+	public synchronized void setFilter(EnumSet<BusinessDaysFilterType> filter) {
+		_options = _options.toBuilder().setFilter(filter).build();
 	}
 
-	public void addFilter(BusinessDaysFilterType filter) {
-		_filter.add(filter);
+	public synchronized void addFilter(BusinessDaysFilterType filter) {
+		_options = _options.toBuilder().addFilter(filter).build();
 	}
 
 	public EnumSet<BusinessDaysFilterType> getFilter() {
-		return _filter;
+		return _options.getFilter();
 	}
 
 
@@ -98,7 +137,70 @@ public class BusinessDateService extends BaseService {
 	 */
 	public BusinessDates addDays(TADDateTime startDate, List<Integer> days, LocationId placeId)
 		throws IllegalArgumentException, ServerSideException {
-		return executeBusinessDate("add", startDate, days, placeId);
+		return addDays(startDate, days, placeId, _options);
+	}
+
+	/**
+	 * The businessdate service can be used to find a business
+	 * date from a specified number of days.
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param startDate
+	 * 		Start date to calculate from.
+	 * @param days
+	 * 		Days to add. Can be a list of several days.
+	 * @param placeId
+	 * 		The places identifier.
+	 * @param options
+	 * 		The options of this call.
+	 * @return The calculated result and geographical information.
+	 * @throws ServerSideException
+	 * 		The server produced an error message.
+	 * @throws IllegalArgumentException
+	 * 		A required argument was not as expected.
+	 */
+	public BusinessDates addDays(TADDateTime startDate, List<Integer> days, LocationId placeId, BusinessDateServiceOptions options)
+		throws IllegalArgumentException, ServerSideException {
+		if (options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		return executeBusinessDate("add", startDate, days, placeId, options);
+	}
+
+	/**
+	 * Asynchronous version of {@link #addDays(TADDateTime, List, LocationId)}.
+	 * 
+	 * @param startDate
+	 * 		Start date to calculate from.
+	 * @param days
+	 * 		Days to add. Can be a list of several days.
+	 * @param placeId
+	 * 		The places identifier.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<BusinessDates> addDaysAsync(TADDateTime startDate, List<Integer> days, LocationId placeId) {
+		return async(() -> addDays(startDate, days, placeId));
+	}
+
+	/**
+	 * Asynchronous version of {@link #addDays(TADDateTime, List, LocationId, BusinessDateServiceOptions)}.
+	 * 
+	 * @param startDate
+	 * 		Start date to calculate from.
+	 * @param days
+	 * 		Days to add. Can be a list of several days.
+	 * @param placeId
+	 * 		The places identifier.
+	 * @param options
+	 * 		The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<BusinessDates> addDaysAsync(TADDateTime startDate, List<Integer> days, LocationId placeId, BusinessDateServiceOptions options) {
+		return async(() -> addDays(startDate, days, placeId, options));
 	}
 
 	/**
@@ -119,10 +221,73 @@ public class BusinessDateService extends BaseService {
 	 */
 	public BusinessDates addDays(TADDateTime startDate, int days, LocationId placeId)
 		throws IllegalArgumentException, ServerSideException {
+		return addDays(startDate, days, placeId, _options);
+	}
+
+	/**
+	 * The businessdate service can be used to find a business
+	 * date from a specified number of days.
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param startDate
+	 * 		Start date to calculate from.
+	 * @param days
+	 * 		Days to add.
+	 * @param placeId
+	 * 		The places identifier.
+	 * @param options
+	 * 		The options of this call.
+	 * @return The calculated result and geographical information.
+	 * @throws ServerSideException
+	 * 		The server produced an error message.
+	 * @throws IllegalArgumentException
+	 * 		A required argument was not as expected.
+	 */
+	public BusinessDates addDays(TADDateTime startDate, int days, LocationId placeId, BusinessDateServiceOptions options)
+		throws IllegalArgumentException, ServerSideException {
+		if (options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
 		List<Integer> list = new ArrayList<Integer>();
 		list.add(days);
 
-		return executeBusinessDate("add", startDate, list, placeId);
+		return executeBusinessDate("add", startDate, list, placeId, options);
+	}
+
+	/**
+	 * Asynchronous version of {@link #addDays(TADDateTime, int, LocationId)}.
+	 * 
+	 * @param startDate
+	 * 		Start date to calculate from.
+	 * @param days
+	 * 		Days to add.
+	 * @param placeId
+	 * 		The places identifier.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<BusinessDates> addDaysAsync(TADDateTime startDate, int days, LocationId placeId) {
+		return async(() -> addDays(startDate, days, placeId));
+	}
+
+	/**
+	 * Asynchronous version of {@link #addDays(TADDateTime, int, LocationId, BusinessDateServiceOptions)}.
+	 * 
+	 * @param startDate
+	 * 		Start date to calculate from.
+	 * @param days
+	 * 		Days to add.
+	 * @param placeId
+	 * 		The places identifier.
+	 * @param options
+	 * 		The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<BusinessDates> addDaysAsync(TADDateTime startDate, int days, LocationId placeId, BusinessDateServiceOptions options) {
+		return async(() -> addDays(startDate, days, placeId, options));
 	}
 
 	/**
@@ -143,7 +308,70 @@ public class BusinessDateService extends BaseService {
 	 */
 	public BusinessDates subtractDays(TADDateTime startDate, List<Integer> days, LocationId placeId)
 		throws IllegalArgumentException, ServerSideException {
-		return executeBusinessDate("subtract", startDate, days, placeId);
+		return subtractDays(startDate, days, placeId, _options);
+	}
+
+	/**
+	 * The businessdate service can be used to find a business
+	 * date from a specified number of days.
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param startDate
+	 * 		Start date to calculate from.
+	 * @param days
+	 * 		Days to subtract. Can be a list of several days.
+	 * @param placeId
+	 * 		The places identifier.
+	 * @param options
+	 * 		The options of this call.
+	 * @return The calculated result and geographical information.
+	 * @throws ServerSideException
+	 * 		The server produced an error message.
+	 * @throws IllegalArgumentException
+	 * 		A required argument was not as expected.
+	 */
+	public BusinessDates subtractDays(TADDateTime startDate, List<Integer> days, LocationId placeId, BusinessDateServiceOptions options)
+		throws IllegalArgumentException, ServerSideException {
+		if (options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		return executeBusinessDate("subtract", startDate, days, placeId, options);
+	}
+
+	/**
+	 * Asynchronous version of {@link #subtractDays(TADDateTime, List, LocationId)}.
+	 * 
+	 * @param startDate
+	 * 		Start date to calculate from.
+	 * @param days
+	 * 		Days to subtract. Can be a list of several days.
+	 * @param placeId
+	 * 		The places identifier.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<BusinessDates> subtractDaysAsync(TADDateTime startDate, List<Integer> days, LocationId placeId) {
+		return async(() -> subtractDays(startDate, days, placeId));
+	}
+
+	/**
+	 * Asynchronous version of {@link #subtractDays(TADDateTime, List, LocationId, BusinessDateServiceOptions)}.
+	 * 
+	 * @param startDate
+	 * 		Start date to calculate from.
+	 * @param days
+	 * 		Days to subtract. Can be a list of several days.
+	 * @param placeId
+	 * 		The places identifier.
+	 * @param options
+	 * 		The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<BusinessDates> subtractDaysAsync(TADDateTime startDate, List<Integer> days, LocationId placeId, BusinessDateServiceOptions options) {
+		return async(() -> subtractDays(startDate, days, placeId, options));
 	}
 
 	/**
@@ -164,82 +392,133 @@ public class BusinessDateService extends BaseService {
 	 */
 	public BusinessDates subtractDays(TADDateTime startDate, int days, LocationId placeId)
 		throws IllegalArgumentException, ServerSideException {
+		return subtractDays(startDate, days, placeId, _options);
+	}
+
+	/**
+	 * The businessdate service can be used to find a business
+	 * date from a specified number of days.
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param startDate
+	 * 		Start date to calculate from.
+	 * @param days
+	 * 		Days to subtract.
+	 * @param placeId
+	 * 		The places identifier.
+	 * @param options
+	 * 		The options of this call.
+	 * @return The calculated result and geographical information.
+	 * @throws ServerSideException
+	 * 		The server produced an error message.
+	 * @throws IllegalArgumentException
+	 * 		A required argument was not as expected.
+	 */
+	public BusinessDates subtractDays(TADDateTime startDate, int days, LocationId placeId, BusinessDateServiceOptions options)
+		throws IllegalArgumentException, ServerSideException {
+		if (options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
 		List<Integer> list = new ArrayList<Integer>();
 		list.add(days);
 
-		return executeBusinessDate("subtract", startDate, list, placeId);
+		return executeBusinessDate("subtract", startDate, list, placeId, options);
 	}
 
-	private BusinessDates executeBusinessDate(String op, TADDateTime startDate, List<Integer> days, LocationId placeId)
-			throws IllegalArgumentException, ServerSideException {
-
-		Map<String, String> arguments = getArguments(op, startDate, days, placeId);
-		String result = new String();
+	/**
+	 * Asynchronous version of {@link #subtractDays(TADDateTime, int, LocationId)}.
+	 * 
+	 * @param startDate
+	 * 		Start date to calculate from.
+	 * @param days
+	 * 		Days to subtract.
+	 * @param placeId
+	 * 		The places identifier.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<BusinessDates> subtractDaysAsync(TADDateTime startDate, int days, LocationId placeId) {
+		return async(() -> subtractDays(startDate, days, placeId));
+	}
 
-		try {
-			String query = UriUtils.BuildUriString(arguments);
-			URL uri = new URL(Constants.EntryPoint + ServiceName + query);
-			WebClient client = new WebClient();
-			result = client.downloadString(uri);
-			XmlUtils.checkForErrors(result);
+	/**
+	 * Asynchronous version of {@link #subtractDays(TADDateTime, int, LocationId, BusinessDateServiceOptions)}.
+	 * 
+	 * @param startDate
+	 * 		Start date to calculate from.
+	 * @param days
+	 * 		Days to subtract.
+	 * @param placeId
+	 * 		The places identifier.
+	 * @param options
+	 * 		The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<BusinessDates> subtractDaysAsync(TADDateTime startDate, int days, LocationId placeId, BusinessDateServiceOptions options) {
+		return async(() -> subtractDays(startDate, days, placeId, options));
+	}
 
-		} catch (DOMException | IOException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
+	private BusinessDates executeBusinessDate(String op, TADDateTime startDate, List<Integer> days, LocationId placeId, BusinessDateServiceOptions options)
+			throws IllegalArgumentException, ServerSideException {
 
-		return BusinessDates.fromXml(result);
+		Map<String, String> arguments = getArguments(op, startDate, days, placeId, options);
+		return retrieve(arguments, _parser);
 	}
 
-	private Map<String, String> getArguments(String op, TADDateTime startDate, List<Integer> days, LocationId placeId) {
+	private Map<String, String> getArguments(String op, TADDateTime startDate, List<Integer> days, LocationId placeId, BusinessDateServiceOptions options) {
 		Map<String, String> args = new HashMap<String, String>(
 				AuthenticationOptions);
 
-		String filter = getFilterTypesAsStr();
+		String filter = getFilterTypesAsStr(options);
 		args.put("op", op);
 		args.put("startdt", startDate.toString());
 		args.put("placeid", placeId.getId());
-		args.put("include", StringUtils.BoolToNum(_includeDays));
+		args.put("include", StringUtils.BoolToNum(options.getIncludeDays()));
 		args.put("days", StringUtils.join(days, ","));
-		args.put("lang", Language);
-		args.put("version", Integer.toString(Version));
-		args.put("out", Constants.DefaultReturnFormat);
+		args.put("lang", getLanguage(options));
+		args.put("version", getVersion(options));
 		args.put("verbosetime", Integer.toString(Constants.DefaultVerboseTimeValue));
 
 		if (filter != null && !filter.isEmpty())
 			args.put("filter", filter);
 
-		if (_repeat > 0)
-			args.put("repeat", Integer.toString(_repeat));
+		if (options.getRepeat() > 0)
+			args.put("repeat", Integer.toString(options.getRepeat()));
 
 		return args;
 	}
 
-	private String getFilterTypesAsStr() {
-		if (_filter == null)
+	private String getFilterTypesAsStr(BusinessDateServiceOptions options) {
+		EnumSet<BusinessDaysFilterType> filter = options.getFilter();
+		if (filter == null)
 			return "";
 
 		ArrayList<String> includedStrings = new ArrayList<String>();
 		for (final BusinessDaysFilterType type : BusinessDaysFilterType.values()) {
-			if (_filter.contains(type))
+			if (filter.contains(type))
 				includedStrings
-						.add(StringUtils.resolveBusinessDaysFilter(where.of(type)).Command);
+						.add(StringUtils.resolveBusinessDaysFilter(where().of(type)).Command);
 		}
 
 		String included = StringUtils.join(includedStrings, ",");
 		return included;
 	}
 
-	private IPredicate<BusinessDaysFilterType> where = new IPredicate<BusinessDaysFilterType>() {
-		BusinessDaysFilterType type;
+	private static IPredicate<BusinessDaysFilterType> where() {
+		return new IPredicate<BusinessDaysFilterType>() {
+			BusinessDaysFilterType type;
 
-		public boolean is(BusinessDaysFilterType t) {
-			return t == type;
-		}
+			public boolean is(BusinessDaysFilterType t) {
+				return t == type;
+			}
 
-		public IPredicate<BusinessDaysFilterType> of(BusinessDaysFilterType t) {
-			type = t;
-			return this;
-		}
-	};
+			public IPredicate<BusinessDaysFilterType> of(BusinessDaysFilterType t) {
+				type = t;
+				return this;
+			}
+		};
+	}
 }
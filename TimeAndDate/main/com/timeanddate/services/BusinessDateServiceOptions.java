@@ -0,0 +1,95 @@
+package com.timeanddate.services;
+
+import java.util.EnumSet;
+
+import com.timeanddate.services.dataTypes.businessdays.BusinessDaysFilterType;
+
+/**
+ * Immutable options for calls to the {@link BusinessDateService}, built with a
+ * {@link Builder}. The same options can be used by any number of concurrent
+ * calls.
+ */
+public final class BusinessDateServiceOptions extends ServiceOptions {
+	private final boolean _includeDays;
+
+	private final int _repeat;
+
+	private final EnumSet<BusinessDaysFilterType> _filter;
+
+	private BusinessDateServiceOptions(Builder builder) {
+		super(builder);
+		_includeDays = builder._includeDays;
+		_repeat = builder._repeat;
+		_filter = builder._filter != null ? EnumSet.copyOf(builder._filter) : null;
+	}
+
+	public boolean getIncludeDays() {
+		return _includeDays;
+	}
+
+	public int getRepeat() {
+		return _repeat;
+	}
+
+	public EnumSet<BusinessDaysFilterType> getFilter() {
+		return _filter != null ? EnumSet.copyOf(_filter) : null;
+	}
+
+	/**
+	 * Creates a builder initialised with these options.
+	 */
+	public Builder toBuilder() {
+		return new Builder(this);
+	}
+
+	public static final class Builder extends ServiceOptions.Builder<Builder> {
+		private boolean _includeDays = false;
+		private int _repeat;
+		private EnumSet<BusinessDaysFilterType> _filter = EnumSet.of(BusinessDaysFilterType.WEEKENDHOLIDAYS);
+
+		/**
+		 * Creates a builder with the default options of the service.
+		 */
+		public Builder() {
+		}
+
+		private Builder(BusinessDateServiceOptions options) {
+			super(options);
+			_includeDays = options._includeDays;
+			_repeat = options._repeat;
+			_filter = options._filter != null ? EnumSet.copyOf(options._filter) : null;
+		}
+
+		public Builder setIncludeDays(boolean bool) {
+			_includeDays = bool;
+			return this;
+		}
+
+		public Builder setRepeat(int repeat) {
+			_repeat = repeat;
+			return this;
+		}
+
+		public Builder setFilter(EnumSet<BusinessDaysFilterType> filter) {
+			_filter = filter != null ? EnumSet.copyOf(filter) : null;
+			return this;
+		}
+
+		public Builder addFilter(BusinessDaysFilterType filter) {
+			if (_filter == null)
+				_filter = EnumSet.of(filter);
+			else
+				_filter.add(filter);
+			return this;
+		}
+
+		@Override
+		Builder self() {
+			return this;
+		}
+
+		public BusinessDateServiceOptions build() {
+			return new BusinessDateServiceOptions(this);
+		}
+	}
+}
@@ -1,27 +1,23 @@
 package com.timeanddate.services;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
+import com.timeanddate.services.common.ServerSideException;
 import com.timeanddate.services.common.XmlUtils;
-import com.timeanddate.services.common.StringUtils;
-import com.timeanddate.services.common.IPredicate;
 
 import com.timeanddate.services.dataTypes.places.Geo;
-import com.timeanddate.services.dataTypes.time.TADTime;
 import com.timeanddate.services.dataTypes.businessdays.*;
 
 /**
@@ -38,32 +34,62 @@ public class BusinessDates {
 		Periods = new ArrayList<Period>();
 	}
 
-	static BusinessDates fromXml(String result) {
+	static BusinessDates fromXml(Document document) {
 		BusinessDates dates = new BusinessDates();
-		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+		Element root = document.getDocumentElement();
 
-		try {
-			DocumentBuilder builder = factory.newDocumentBuilder();
-			ByteArrayInputStream stream = new ByteArrayInputStream(
-					result.getBytes(StandardCharsets.UTF_8));
-			Document document = builder.parse(stream);
-			Element root = document.getDocumentElement();
+		NodeList geo = root.getElementsByTagName("geo");
+		NodeList period = root.getElementsByTagName("period");
 
-			NodeList geo = root.getElementsByTagName("geo");
-			NodeList period = root.getElementsByTagName("period");
+		if (geo != null)
+			for (Node node : XmlUtils.asList(geo))
+				dates.Geography = Geo.fromNode(node);
 
-			if (geo != null)
-				for (Node node : XmlUtils.asList(geo))
-					dates.Geography = Geo.fromNode(node);
+		if (period != null)
+			for (Node node : XmlUtils.asList(period))
+				dates.Periods.add(Period.fromNode(node));
 
-			if (period != null)
-				for (Node node : XmlUtils.asList(period))
-					dates.Periods.add(Period.fromNode(node));
+		return dates;
+	}
+
+	static BusinessDates fromXml(XMLStreamReader reader)
+			throws XMLStreamException, ServerSideException {
+		BusinessDates dates = new BusinessDates();
+		String name;
+
+		while ((name = XmlUtils.nextElement(reader, "geo", "period")) != null) {
+			if (name.equals("geo"))
+				dates.Geography = Geo.fromReader(reader);
+			else
+				dates.Periods.add(Period.fromReader(reader));
+		}
+
+		return dates;
+	}
+
+	static BusinessDates fromJson(JsonReader reader) throws IOException,
+			ServerSideException {
+		BusinessDates dates = new BusinessDates();
+		String member;
 
-		} catch (ParserConfigurationException | SAXException | IOException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
+		reader.beginObject();
+		while ((member = JsonUtils.nextResponseMember(reader)) != null) {
+			switch (member) {
+			case "geo":
+				dates.Geography = Geo.fromJson(reader);
+				break;
+			case "periods":
+				reader.beginArray();
+				while (reader.hasNext())
+					dates.Periods.add(Period.fromJson(reader));
+				reader.endArray();
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
 		}
+		reader.endObject();
 
 		return dates;
 	}
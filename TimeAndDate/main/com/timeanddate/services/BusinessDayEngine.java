@@ -0,0 +1,827 @@
+package com.timeanddate.services;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.timeanddate.services.HolidayCalendar.HolidayTable;
+import com.timeanddate.services.common.QueriedDateOutOfRangeException;
+import com.timeanddate.services.common.ServerSideException;
+import com.timeanddate.services.dataTypes.businessdays.BusinessDaysFilterType;
+import com.timeanddate.services.dataTypes.businessdays.BusinessHoliday;
+import com.timeanddate.services.dataTypes.businessdays.IncludeExclude;
+import com.timeanddate.services.dataTypes.businessdays.Period;
+import com.timeanddate.services.dataTypes.businessdays.WeekdaysType;
+import com.timeanddate.services.dataTypes.holidays.Holiday;
+import com.timeanddate.services.dataTypes.holidays.HolidayType;
+import com.timeanddate.services.dataTypes.places.Country;
+import com.timeanddate.services.dataTypes.places.Geo;
+import com.timeanddate.services.dataTypes.places.LocationId;
+import com.timeanddate.services.dataTypes.time.TADDateTime;
+import com.timeanddate.services.dataTypes.time.TADTime;
+
+/**
+ * Adds and subtracts business days and counts them between dates locally,
+ * with the same results as the {@link BusinessDateService} and the
+ * {@link BusinessDurationService}. Days are handled 64 at a time as bit sets:
+ * the days matching the filter are the weekdays of the filter, from a
+ * pattern repeating every week, together with the holidays of the
+ * {@link HolidayCalendar} if the filter includes holidays.
+ * <p>
+ * A place is calculated locally once its country is known, either given with
+ * {@link #setCountry} or taken from the first response for the place, and
+ * its holidays have been loaded if they are needed. Anything else is passed
+ * on to the services: places of unknown or unloaded countries, dates outside
+ * the years of the calendar, repeated calculations, negative numbers of days,
+ * end dates before start dates and filters no day can pass.
+ * <p>
+ * For many offsets from the same dates, {@link #getIndex} numbers the
+ * business days of a place and filter once, after which each offset is two
+ * array lookups. The batch methods taking {@code int[]} offsets use it.
+ *
+ * @author Cato Auestad {@literal <cato@timeanddate.com>}
+ *
+ */
+public class BusinessDayEngine {
+	private static final int Weekend = 0x60;
+	private static final int AllWeekdays = 0x7f;
+
+	/**
+	 * For each set of weekdays, by bit from Monday, and each weekday a word
+	 * starts on, the days of the word that fall on those weekdays.
+	 */
+	private static final long[][] WeekdayPatterns = createPatterns();
+
+	private final HolidayCalendar _calendar;
+	private final EnumSet<HolidayType> _types;
+	private final BusinessDateService _dateService;
+	private final BusinessDurationService _durationService;
+	private final Map<String, Region> _regions = new ConcurrentHashMap<String, Region>();
+	private final Map<String, BusinessDayIndex> _indexes = new ConcurrentHashMap<String, BusinessDayIndex>();
+	private final LongAdder _local = new LongAdder();
+	private final LongAdder _remote = new LongAdder();
+
+	/**
+	 * @param calendar
+	 *            The holidays the filters use.
+	 * @param dateService
+	 *            The service dates are added and subtracted with when they
+	 *            cannot be locally.
+	 * @param durationService
+	 *            The service durations are calculated with when they cannot
+	 *            be locally.
+	 */
+	public BusinessDayEngine(HolidayCalendar calendar,
+			BusinessDateService dateService,
+			BusinessDurationService durationService) {
+		if (calendar == null || dateService == null || durationService == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		_calendar = calendar;
+		_types = calendar.getHolidayTypes();
+		_dateService = dateService;
+		_durationService = durationService;
+	}
+
+	/**
+	 * Sets the country, and the state if any, the holidays of a place are
+	 * those of.
+	 *
+	 * @param placeId
+	 *            Place identifier.
+	 * @param country
+	 *            ISO 3166-1 alpha-2 country code.
+	 * @param state
+	 *            The abbreviation or name of the state, or null.
+	 */
+	public void setCountry(LocationId placeId, String country, String state) {
+		if (placeId == null || country == null || country.isEmpty())
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		_regions.put(placeId.getId(), new Region(country, state, null));
+	}
+
+	/**
+	 * @return The number of calls that were calculated locally.
+	 */
+	public long getLocalCount() {
+		return _local.sum();
+	}
+
+	/**
+	 * @return The number of calls that were passed on to the services.
+	 */
+	public long getRemoteCount() {
+		return _remote.sum();
+	}
+
+	/**
+	 * Adds business days to a date, as
+	 * {@link BusinessDateService#addDays(TADDateTime, int, LocationId)}.
+	 *
+	 * @param startDate
+	 *            Start date to calculate from.
+	 * @param days
+	 *            Days to add.
+	 * @param placeId
+	 *            The places identifier.
+	 * @return The calculated result.
+	 * @throws ServerSideException
+	 *             The server produced an error message.
+	 */
+	public BusinessDates addDays(TADDateTime startDate, int days,
+			LocationId placeId) throws ServerSideException {
+		return addDays(startDate, days, placeId, _dateService.getOptions());
+	}
+
+	/**
+	 * Adds business days to a date, as
+	 * {@link BusinessDateService#addDays(TADDateTime, int, LocationId, BusinessDateServiceOptions)}.
+	 *
+	 * @param startDate
+	 *            Start date to calculate from.
+	 * @param days
+	 *            Days to add.
+	 * @param placeId
+	 *            The places identifier.
+	 * @param options
+	 *            The options of this call.
+	 * @return The calculated result.
+	 * @throws ServerSideException
+	 *             The server produced an error message.
+	 */
+	public BusinessDates addDays(TADDateTime startDate, int days,
+			LocationId placeId, BusinessDateServiceOptions options)
+			throws ServerSideException {
+		return addDays(startDate, Collections.singletonList(days), placeId,
+				options);
+	}
+
+	/**
+	 * Adds business days to a date, as
+	 * {@link BusinessDateService#addDays(TADDateTime, List, LocationId, BusinessDateServiceOptions)}.
+	 *
+	 * @param startDate
+	 *            Start date to calculate from.
+	 * @param days
+	 *            Days to add, one period for each.
+	 * @param placeId
+	 *            The places identifier.
+	 * @param options
+	 *            The options of this call.
+	 * @return The calculated result.
+	 * @throws ServerSideException
+	 *             The server produced an error message.
+	 */
+	public BusinessDates addDays(TADDateTime startDate, List<Integer> days,
+			LocationId placeId, BusinessDateServiceOptions options)
+			throws ServerSideException {
+		BusinessDates dates = calculateDates(startDate, days, placeId,
+				options, 1);
+		if (dates != null)
+			return dates;
+
+		_remote.increment();
+		return learn(placeId,
+				_dateService.addDays(startDate, days, placeId, options));
+	}
+
+	/**
+	 * Subtracts business days from a date, as
+	 * {@link BusinessDateService#subtractDays(TADDateTime, int, LocationId)}.
+	 *
+	 * @param startDate
+	 *            Start date to calculate from.
+	 * @param days
+	 *            Days to subtract.
+	 * @param placeId
+	 *            The places identifier.
+	 * @return The calculated result.
+	 * @throws ServerSideException
+	 *             The server produced an error message.
+	 */
+	public BusinessDates subtractDays(TADDateTime startDate, int days,
+			LocationId placeId) throws ServerSideException {
+		return subtractDays(startDate, days, placeId,
+				_dateService.getOptions());
+	}
+
+	/**
+	 * Subtracts business days from a date, as
+	 * {@link BusinessDateService#subtractDays(TADDateTime, int, LocationId, BusinessDateServiceOptions)}.
+	 *
+	 * @param startDate
+	 *            Start date to calculate from.
+	 * @param days
+	 *            Days to subtract.
+	 * @param placeId
+	 *            The places identifier.
+	 * @param options
+	 *            The options of this call.
+	 * @return The calculated result.
+	 * @throws ServerSideException
+	 *             The server produced an error message.
+	 */
+	public BusinessDates subtractDays(TADDateTime startDate, int days,
+			LocationId placeId, BusinessDateServiceOptions options)
+			throws ServerSideException {
+		return subtractDays(startDate, Collections.singletonList(days),
+				placeId, options);
+	}
+
+	/**
+	 * Subtracts business days from a date, as
+	 * {@link BusinessDateService#subtractDays(TADDateTime, List, LocationId, BusinessDateServiceOptions)}.
+	 *
+	 * @param startDate
+	 *            Start date to calculate from.
+	 * @param days
+	 *            Days to subtract, one period for each.
+	 * @param placeId
+	 *            The places identifier.
+	 * @param options
+	 *            The options of this call.
+	 * @return The calculated result.
+	 * @throws ServerSideException
+	 *             The server produced an error message.
+	 */
+	public BusinessDates subtractDays(TADDateTime startDate,
+			List<Integer> days, LocationId placeId,
+			BusinessDateServiceOptions options) throws ServerSideException {
+		BusinessDates dates = calculateDates(startDate, days, placeId,
+				options, -1);
+		if (dates != null)
+			return dates;
+
+		_remote.increment();
+		return learn(placeId,
+				_dateService.subtractDays(startDate, days, placeId, options));
+	}
+
+	/**
+	 * Counts the business days between two dates, as
+	 * {@link BusinessDurationService#getDuration(TADDateTime, TADDateTime, LocationId)}.
+	 *
+	 * @param startDate
+	 *            The start date.
+	 * @param endDate
+	 *            The end date.
+	 * @param placeId
+	 *            The places identifier.
+	 * @return The calculated result.
+	 * @throws ServerSideException
+	 *             The server produced an error message.
+	 */
+	public BusinessDuration getDuration(TADDateTime startDate,
+			TADDateTime endDate, LocationId placeId) throws ServerSideException {
+		return getDuration(startDate, endDate, placeId,
+				_durationService.getOptions());
+	}
+
+	/**
+	 * Counts the business days between two dates, as
+	 * {@link BusinessDurationService#getDuration(TADDateTime, TADDateTime, LocationId, BusinessDurationServiceOptions)}.
+	 *
+	 * @param startDate
+	 *            The start date.
+	 * @param endDate
+	 *            The end date.
+	 * @param placeId
+	 *            The places identifier.
+	 * @param options
+	 *            The options of this call.
+	 * @return The calculated result.
+	 * @throws ServerSideException
+	 *             The server produced an error message.
+	 */
+	public BusinessDuration getDuration(TADDateTime startDate,
+			TADDateTime endDate, LocationId placeId,
+			BusinessDurationServiceOptions options) throws ServerSideException {
+		if (startDate == null || endDate == null || placeId == null
+				|| options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		Calculation calculation = prepare(placeId, options.getFilter(),
+				options.getIncludeDays());
+		if (calculation != null) {
+			long start = toEpochDay(startDate);
+			long end = toEpochDay(endDate)
+					+ (options.getIncludeLastDate() ? 1 : 0);
+			if (end >= start && calculation.covers(start, end)) {
+				BusinessDuration duration = new BusinessDuration();
+				duration.Geography = calculation.region.geography;
+				duration.Period = calculation.createPeriod(
+						calculation.count(start, end), start, end, start,
+						toEpochDay(endDate));
+				_local.increment();
+				return duration;
+			}
+		}
+
+		_remote.increment();
+		BusinessDuration duration = _durationService.getDuration(startDate,
+				endDate, placeId, options);
+		learn(placeId, duration.Geography);
+		return duration;
+	}
+
+	/**
+	 * Gets the business days of a place and filter over the years of the
+	 * holiday calendar, numbered so offsets and counts take constant time.
+	 * The index is built on first use and kept until the holidays of the
+	 * country are loaded again.
+	 *
+	 * @param placeId
+	 *            The places identifier.
+	 * @param filter
+	 *            The days the filter applies to, or null for weekends and
+	 *            holidays.
+	 * @param include
+	 *            Whether the filter gives the days that count instead of the
+	 *            days that are skipped.
+	 * @return The index, or null if the place cannot be calculated locally.
+	 */
+	public BusinessDayIndex getIndex(LocationId placeId,
+			EnumSet<BusinessDaysFilterType> filter, boolean include) {
+		if (placeId == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		Calculation calculation = prepare(placeId, filter, include);
+		if (calculation == null)
+			return null;
+
+		Region region = calculation.region;
+		String key = region.country + "/" + region.state + "/"
+				+ calculation.weekdays + "/" + (calculation.table != null)
+				+ "/" + include;
+		return _indexes.compute(key, (k, index) -> index != null
+				&& index.source == calculation.table ? index : calculation
+				.createIndex());
+	}
+
+	/**
+	 * Adds each of several numbers of business days to a date, as
+	 * {@link BusinessDateService#addDays(TADDateTime, List, LocationId, BusinessDateServiceOptions)}
+	 * does, but returning only the dates. Offsets are looked up in the
+	 * {@link BusinessDayIndex} of the place; those it cannot answer are sent
+	 * to the service in one request. A repeated calculation chains several
+	 * periods for each number, which a single date cannot represent, so
+	 * options with {@code repeat} set are not accepted.
+	 *
+	 * @param startDay
+	 *            The day to calculate from, in days since 1970-01-01.
+	 * @param days
+	 *            The numbers of days to add.
+	 * @param placeId
+	 *            The places identifier.
+	 * @param options
+	 *            The options of this call.
+	 * @return The resulting day for each number, in days since 1970-01-01.
+	 * @throws ServerSideException
+	 *             The server produced an error message.
+	 * @throws IllegalArgumentException
+	 *             The options repeat the calculation
+	 */
+	public long[] addDays(long startDay, int[] days, LocationId placeId,
+			BusinessDateServiceOptions options) throws ServerSideException {
+		return calculateDays(startDay, days, placeId, options, 1);
+	}
+
+	/**
+	 * Subtracts each of several numbers of business days from a date, as
+	 * {@link BusinessDateService#subtractDays(TADDateTime, List, LocationId, BusinessDateServiceOptions)}
+	 * does, but returning only the dates. Options with {@code repeat} set are
+	 * not accepted.
+	 *
+	 * @param startDay
+	 *            The day to calculate from, in days since 1970-01-01.
+	 * @param days
+	 *            The numbers of days to subtract.
+	 * @param placeId
+	 *            The places identifier.
+	 * @param options
+	 *            The options of this call.
+	 * @return The resulting day for each number, in days since 1970-01-01.
+	 * @throws ServerSideException
+	 *             The server produced an error message.
+	 * @throws IllegalArgumentException
+	 *             The options repeat the calculation
+	 */
+	public long[] subtractDays(long startDay, int[] days,
+			LocationId placeId, BusinessDateServiceOptions options)
+			throws ServerSideException {
+		return calculateDays(startDay, days, placeId, options, -1);
+	}
+
+	private long[] calculateDays(long startDay, int[] days,
+			LocationId placeId, BusinessDateServiceOptions options,
+			int direction) throws ServerSideException {
+		if (days == null || placeId == null || options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+		if (options.getRepeat() > 0)
+			throw new IllegalArgumentException(
+					"A repeated calculation has more than one date for each number of days");
+
+		long[] results = new long[days.length];
+		BusinessDayIndex index = getIndex(placeId, options.getFilter(),
+				options.getIncludeDays());
+
+		List<Integer> remote = new ArrayList<Integer>();
+		for (int i = 0; i < days.length; i++) {
+			try {
+				if (index == null || days[i] < 0)
+					throw new QueriedDateOutOfRangeException(
+							"The days are not in the index");
+
+				results[i] = index.addDays(startDay, direction * days[i]);
+			} catch (QueriedDateOutOfRangeException e) {
+				remote.add(i);
+			}
+		}
+
+		if (remote.isEmpty()) {
+			_local.increment();
+			return results;
+		}
+
+		List<Integer> remoteDays = new ArrayList<Integer>(remote.size());
+		for (int i : remote)
+			remoteDays.add(days[i]);
+
+		_remote.increment();
+		TADDateTime start = toTime(startDay).getDateTime();
+		BusinessDates dates = direction > 0 ? _dateService.addDays(start,
+				remoteDays, placeId, options) : _dateService.subtractDays(
+				start, remoteDays, placeId, options);
+		learn(placeId, dates.Geography);
+
+		if (dates.Periods.size() != remote.size())
+			throw new ServerSideException("The response has "
+					+ dates.Periods.size() + " periods instead of "
+					+ remote.size());
+
+		for (int i = 0; i < remote.size(); i++)
+			results[remote.get(i)] = toEpochDay(dates.Periods.get(i)
+					.getEndDate().getDateTime());
+
+		return results;
+	}
+
+	/**
+	 * Calculates a period for each number of days, or returns null if that
+	 * cannot be done locally.
+	 */
+	private BusinessDates calculateDates(TADDateTime startDate,
+			List<Integer> days, LocationId placeId,
+			BusinessDateServiceOptions options, int direction) {
+		if (startDate == null || days == null || days.isEmpty()
+				|| placeId == null || options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		if (options.getRepeat() > 0)
+			return null;
+
+		Calculation calculation = prepare(placeId, options.getFilter(),
+				options.getIncludeDays());
+		if (calculation == null)
+			return null;
+
+		long start = toEpochDay(startDate);
+		BusinessDates dates = new BusinessDates();
+		dates.Geography = calculation.region.geography;
+
+		for (Integer count : days) {
+			if (count == null || count < 0)
+				return null;
+
+			long end = direction > 0 ? calculation.forward(start, count)
+					: calculation.backward(start, count);
+			if (end == Long.MIN_VALUE)
+				return null;
+
+			// The days counted are those after the start date when adding,
+			// and those before it when subtracting
+			if (direction > 0)
+				dates.Periods.add(calculation.createPeriod(count, start + 1,
+						end + 1, start, end));
+			else
+				dates.Periods.add(calculation.createPeriod(count, end, start,
+						start, end));
+		}
+
+		_local.increment();
+		return dates;
+	}
+
+	/**
+	 * Resolves the place and the filter of a call, or returns null if it
+	 * cannot be calculated locally.
+	 */
+	private Calculation prepare(LocationId placeId,
+			EnumSet<BusinessDaysFilterType> filter, boolean include) {
+		Region region = _regions.get(placeId.getId());
+		if (region == null)
+			return null;
+
+		// Without a filter the services use their default
+		if (filter == null || filter.isEmpty())
+			filter = EnumSet.of(BusinessDaysFilterType.WEEKENDHOLIDAYS);
+
+		int weekdays = 0;
+		boolean holidays = false;
+		for (BusinessDaysFilterType type : filter) {
+			switch (type) {
+			case ALL:
+				weekdays = AllWeekdays;
+				break;
+			case WEEKEND:
+				weekdays |= Weekend;
+				break;
+			case HOLIDAYS:
+				holidays = true;
+				break;
+			case WEEKENDHOLIDAYS:
+				weekdays |= Weekend;
+				holidays = true;
+				break;
+			case NONE:
+				break;
+			default:
+				// MONDAY to SUNDAY follow ALL
+				weekdays |= 1 << (type.ordinal() - BusinessDaysFilterType.MONDAY
+						.ordinal());
+				break;
+			}
+		}
+
+		HolidayTable table = null;
+		if (holidays) {
+			table = _calendar.findTable(region.country);
+			if (table == null)
+				return null;
+		}
+
+		// Without a weekday that counts, only holidays can, and only when
+		// they are included
+		int countedWeekdays = include ? weekdays : ~weekdays & AllWeekdays;
+		if (countedWeekdays == 0 && !(include && holidays))
+			return null;
+
+		return new Calculation(region, weekdays, include, table);
+	}
+
+	private BusinessDates learn(LocationId placeId, BusinessDates dates) {
+		learn(placeId, dates.Geography);
+		return dates;
+	}
+
+	/**
+	 * Remembers the country of a place from a response, so the next call
+	 * for it can be calculated locally.
+	 */
+	private void learn(LocationId placeId, Geo geography) {
+		Country country = geography != null ? geography.getCountry() : null;
+		if (country == null || country.getId() == null
+				|| country.getId().isEmpty())
+			return;
+
+		String state = geography.getState();
+		_regions.compute(placeId.getId(), (id, region) -> {
+			if (region == null)
+				return new Region(country.getId(), state != null
+						&& !state.isEmpty() ? state : null, geography);
+
+			// A country that was set is kept
+			return region.geography != null ? region : new Region(
+					region.country, region.state, geography);
+		});
+	}
+
+	private static long toEpochDay(TADDateTime date) {
+		return LocalDate.of(date.getYear(), date.getMonth(),
+				date.getDayOfMonth()).toEpochDay();
+	}
+
+	private static TADTime toTime(long epochDay) {
+		LocalDate date = LocalDate.ofEpochDay(epochDay);
+		return new TADTime(date.toString(), new TADDateTime(date.getYear(),
+				date.getMonthValue(), date.getDayOfMonth()), null);
+	}
+
+	/**
+	 * The weekday of a day, from 0 for Monday. 1970-01-01 was a Thursday.
+	 */
+	private static int weekday(long epochDay) {
+		return (int) Math.floorMod(epochDay + 3, 7L);
+	}
+
+	private static long[][] createPatterns() {
+		long[][] patterns = new long[AllWeekdays + 1][7];
+		for (int weekdays = 0; weekdays <= AllWeekdays; weekdays++)
+			for (int first = 0; first < 7; first++)
+				for (int day = 0; day < 64; day++)
+					if ((weekdays & 1 << (first + day) % 7) != 0)
+						patterns[weekdays][first] |= 1L << day;
+
+		return patterns;
+	}
+
+	private static final class Region {
+		final String country;
+		final String state;
+		final Geo geography;
+
+		Region(String country, String state, Geo geography) {
+			this.country = country;
+			this.state = state;
+			this.geography = geography;
+		}
+	}
+
+	/**
+	 * A filter applied to the days of a place.
+	 */
+	private final class Calculation {
+		final Region region;
+		final int weekdays;
+		final boolean include;
+		final HolidayTable table;
+		final long[][] state;
+
+		Calculation(Region region, int weekdays, boolean include,
+				HolidayTable table) {
+			this.region = region;
+			this.weekdays = weekdays;
+			this.include = include;
+			this.table = table;
+			this.state = table != null ? table.getState(region.state) : null;
+		}
+
+		/**
+		 * The days that count among the 64 days from {@code 64 * word}.
+		 */
+		long counted(long word) {
+			long matched = WeekdayPatterns[weekdays][weekday(word << 6)];
+			if (table != null)
+				matched |= _calendar.getWord(table, state, word, _types);
+
+			return include ? matched : ~matched;
+		}
+
+		boolean covers(long from, long to) {
+			return table == null || _calendar.covers(from, to);
+		}
+
+		/**
+		 * Numbers the days that count over the years of the calendar.
+		 */
+		BusinessDayIndex createIndex() {
+			long first = _calendar.getFirstDay();
+			long end = _calendar.getEndDay();
+			int length = (int) (end - first);
+			int[] ranks = new int[length + 1];
+			int[] days = new int[length];
+			int count = 0;
+
+			for (long word = Math.floorDiv(first, 64); word << 6 < end; word++) {
+				long bits = counted(word);
+				long from = Math.max(first, word << 6);
+				long to = Math.min(end, (word + 1) << 6);
+				for (long day = from; day < to; day++) {
+					int i = (int) (day - first);
+					ranks[i] = count;
+					if ((bits & 1L << day) != 0)
+						days[count++] = i;
+				}
+			}
+			ranks[length] = count;
+
+			return new BusinessDayIndex(first, end, ranks, Arrays.copyOf(days,
+					count), table);
+		}
+
+		/**
+		 * The day a number of counted days after a day, or
+		 * {@link Long#MIN_VALUE} if it is outside the calendar.
+		 */
+		long forward(long start, int days) {
+			if (days == 0)
+				return start;
+
+			long first = start + 1;
+			long word = Math.floorDiv(first, 64);
+			long bits = counted(word) & -1L << (first - (word << 6));
+			int remaining = days;
+			while (true) {
+				int count = Long.bitCount(bits);
+				if (count >= remaining) {
+					for (int i = 1; i < remaining; i++)
+						bits &= bits - 1;
+
+					long end = (word << 6) + Long.numberOfTrailingZeros(bits);
+					return covers(first, end + 1) ? end : Long.MIN_VALUE;
+				}
+
+				remaining -= count;
+				word++;
+				if (!covers(first, word << 6))
+					return Long.MIN_VALUE;
+
+				bits = counted(word);
+			}
+		}
+
+		/**
+		 * The day a number of counted days before a day, or
+		 * {@link Long#MIN_VALUE} if it is outside the calendar.
+		 */
+		long backward(long start, int days) {
+			if (days == 0)
+				return start;
+
+			long last = start - 1;
+			long word = Math.floorDiv(last, 64);
+			long bits = counted(word) & -1L >>> (63 - (last - (word << 6)));
+			int remaining = days;
+			while (true) {
+				int count = Long.bitCount(bits);
+				if (count >= remaining) {
+					for (int i = 1; i < remaining; i++)
+						bits &= ~Long.highestOneBit(bits);
+
+					long end = (word << 6) + 63
+							- Long.numberOfLeadingZeros(bits);
+					return covers(end, start) ? end : Long.MIN_VALUE;
+				}
+
+				remaining -= count;
+				word--;
+				if (!covers((word + 1) << 6, start))
+					return Long.MIN_VALUE;
+
+				bits = counted(word);
+			}
+		}
+
+		/**
+		 * The number of counted days from {@code from} up to {@code to}.
+		 */
+		int count(long from, long to) {
+			int count = 0;
+			for (long word = Math.floorDiv(from, 64); word << 6 < to; word++) {
+				long bits = counted(word);
+				if (from > word << 6)
+					bits &= -1L << (from - (word << 6));
+				if (to < (word + 1) << 6)
+					bits &= ~(-1L << (to - (word << 6)));
+
+				count += Long.bitCount(bits);
+			}
+
+			return count;
+		}
+
+		/**
+		 * A period counting the days from {@code from} up to {@code to}.
+		 */
+		Period createPeriod(int includedDays, long from, long to,
+				long startDate, long endDate) {
+			int calendarDays = (int) (to - from);
+			int firstWeekday = weekday(from);
+			int[] counts = new int[7];
+			for (int day = 0; day < 7; day++) {
+				if ((weekdays & 1 << day) == 0)
+					continue;
+
+				counts[day] = calendarDays / 7
+						+ (Math.floorMod(day - firstWeekday, 7) < calendarDays % 7 ? 1
+								: 0);
+			}
+
+			IncludeExclude type = include ? IncludeExclude.INCLUDED
+					: IncludeExclude.EXCLUDED;
+			BusinessHoliday holidays = null;
+			if (table != null) {
+				List<Holiday> list = _calendar.getHolidays(table,
+						region.state, from, to, _types);
+				if (!list.isEmpty())
+					holidays = new BusinessHoliday(type, list);
+			}
+
+			return new Period(includedDays, calendarDays, toTime(startDate),
+					toTime(endDate), new WeekdaysType(type, counts), holidays);
+		}
+	}
+}
@@ -0,0 +1,167 @@
+package com.timeanddate.services;
+
+import com.timeanddate.services.common.QueriedDateOutOfRangeException;
+
+/**
+ * The business days of one place and filter over the years of a
+ * {@link HolidayCalendar}, numbered in order. With the number of business
+ * days before each day and the day of each number, finding the business day
+ * a number of days after or before a date is two array lookups, and counting
+ * the business days between two dates is a subtraction.
+ * <p>
+ * Indexes are built by {@link BusinessDayEngine#getIndex} and do not change,
+ * so they can be shared by any number of threads. Days are given as days
+ * since 1970-01-01, as by {@link java.time.LocalDate#toEpochDay()}.
+ *
+ * @author Cato Auestad {@literal <cato@timeanddate.com>}
+ *
+ */
+public class BusinessDayIndex {
+	private final long _firstDay;
+	private final long _endDay;
+	private final int[] _ranks;
+	private final int[] _days;
+	final Object source;
+
+	/**
+	 * @param ranks
+	 *            For each day from the first day up to and including the end
+	 *            day, the number of business days before it.
+	 * @param days
+	 *            For each business day, in order, its distance from the first
+	 *            day.
+	 * @param source
+	 *            What the index was built from, to tell when it is out of
+	 *            date.
+	 */
+	BusinessDayIndex(long firstDay, long endDay, int[] ranks, int[] days,
+			Object source) {
+		_firstDay = firstDay;
+		_endDay = endDay;
+		_ranks = ranks;
+		_days = days;
+		this.source = source;
+	}
+
+	/**
+	 * @return The first day covered.
+	 */
+	public long getFirstDay() {
+		return _firstDay;
+	}
+
+	/**
+	 * @return The day after the last day covered.
+	 */
+	public long getEndDay() {
+		return _endDay;
+	}
+
+	/**
+	 * @return The number of business days covered.
+	 */
+	public int size() {
+		return _days.length;
+	}
+
+	/**
+	 * Finds the business day a number of business days after a day, as
+	 * {@link BusinessDateService#addDays(com.timeanddate.services.dataTypes.time.TADDateTime, int, com.timeanddate.services.dataTypes.places.LocationId)}
+	 * does. A negative number counts backwards.
+	 *
+	 * @param startDay
+	 *            The day to count from.
+	 * @param days
+	 *            The number of business days.
+	 * @return The business day.
+	 * @throws QueriedDateOutOfRangeException
+	 *             A day is outside the covered years
+	 */
+	public long addDays(long startDay, int days)
+			throws QueriedDateOutOfRangeException {
+		if (days == 0) {
+			rank(startDay);
+			return startDay;
+		}
+
+		// The business days up to and including the start day when adding,
+		// those before it when subtracting
+		int rank = days > 0 ? rank(startDay + 1) : rank(startDay);
+		long number = (long) rank + (days > 0 ? days - 1 : days);
+		if (number < 0 || number >= _days.length)
+			throw new QueriedDateOutOfRangeException(
+					"The business day is outside the years available for this index");
+
+		return _firstDay + _days[(int) number];
+	}
+
+	/**
+	 * Finds the business days a number of business days after a day for each
+	 * of several numbers.
+	 *
+	 * @param startDay
+	 *            The day to count from.
+	 * @param days
+	 *            The numbers of business days.
+	 * @return The business day for each number.
+	 * @throws QueriedDateOutOfRangeException
+	 *             A day is outside the covered years
+	 */
+	public long[] addDays(long startDay, int[] days)
+			throws QueriedDateOutOfRangeException {
+		if (days == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		long[] results = new long[days.length];
+		for (int i = 0; i < days.length; i++)
+			results[i] = addDays(startDay, days[i]);
+
+		return results;
+	}
+
+	/**
+	 * Counts the business days from a day up to, but not including, another.
+	 *
+	 * @param fromDay
+	 *            The first day.
+	 * @param toDay
+	 *            The day after the last day.
+	 * @return The number of business days, negative if {@code toDay} is
+	 *         before {@code fromDay}.
+	 * @throws QueriedDateOutOfRangeException
+	 *             A day is outside the covered years
+	 */
+	public int countDays(long fromDay, long toDay)
+			throws QueriedDateOutOfRangeException {
+		return rank(toDay) - rank(fromDay);
+	}
+
+	/**
+	 * Whether a day is a business day.
+	 *
+	 * @param day
+	 *            The day.
+	 * @return <b>true</b> if the day counts.
+	 * @throws QueriedDateOutOfRangeException
+	 *             The day is outside the covered years
+	 */
+	public boolean isBusinessDay(long day) throws QueriedDateOutOfRangeException {
+		if (day >= _endDay)
+			throw new QueriedDateOutOfRangeException(
+					"The date is outside the years available for this index");
+
+		return rank(day + 1) > rank(day);
+	}
+
+	/**
+	 * The number of business days before a day.
+	 */
+	private int rank(long day) throws QueriedDateOutOfRangeException {
+		if (day < _firstDay || day > _endDay)
+			throw new QueriedDateOutOfRangeException(
+					"The date is outside the years available for this index");
+
+		return _ranks[(int) (day - _firstDay)];
+	}
+}
@@ -1,25 +1,20 @@
 package com.timeanddate.services;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
+import com.timeanddate.services.common.ServerSideException;
 import com.timeanddate.services.common.XmlUtils;
-import com.timeanddate.services.common.StringUtils;
-import com.timeanddate.services.common.IPredicate;
 
 import com.timeanddate.services.dataTypes.places.Geo;
-import com.timeanddate.services.dataTypes.time.TADTime;
 import com.timeanddate.services.dataTypes.businessdays.*;
 
 /**
@@ -32,32 +27,59 @@ public class BusinessDuration {
 
 	public Period Period;
 
-	static BusinessDuration fromXml(String result) {
+	static BusinessDuration fromXml(Document document) {
 		BusinessDuration duration = new BusinessDuration();
-		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+		Element root = document.getDocumentElement();
+
+		NodeList geo = root.getElementsByTagName("geo");
+		NodeList period = root.getElementsByTagName("period");
+
+		if (geo != null)
+			for (Node node : XmlUtils.asList(geo))
+				duration.Geography = Geo.fromNode(node);
+
+		if (period != null)
+			for (Node node : XmlUtils.asList(period))
+				duration.Period = com.timeanddate.services.dataTypes.businessdays.Period.fromNode(node);
+
+		return duration;
+	}
 
-		try {
-			DocumentBuilder builder = factory.newDocumentBuilder();
-			ByteArrayInputStream stream = new ByteArrayInputStream(
-					result.getBytes(StandardCharsets.UTF_8));
-			Document document = builder.parse(stream);
-			Element root = document.getDocumentElement();
+	static BusinessDuration fromXml(XMLStreamReader reader)
+			throws XMLStreamException, ServerSideException {
+		BusinessDuration duration = new BusinessDuration();
+		String name;
 
-			NodeList geo = root.getElementsByTagName("geo");
-			NodeList period = root.getElementsByTagName("period");
+		while ((name = XmlUtils.nextElement(reader, "geo", "period")) != null) {
+			if (name.equals("geo"))
+				duration.Geography = Geo.fromReader(reader);
+			else
+				duration.Period = com.timeanddate.services.dataTypes.businessdays.Period.fromReader(reader);
+		}
 
-			if (geo != null)
-				for (Node node : XmlUtils.asList(geo))
-					duration.Geography = Geo.fromNode(node);
+		return duration;
+	}
 
-			if (period != null)
-				for (Node node : XmlUtils.asList(period))
-					duration.Period = com.timeanddate.services.dataTypes.businessdays.Period.fromNode(node);
+	static BusinessDuration fromJson(JsonReader reader) throws IOException,
+			ServerSideException {
+		BusinessDuration duration = new BusinessDuration();
+		String member;
 
-		} catch (ParserConfigurationException | SAXException | IOException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
+		reader.beginObject();
+		while ((member = JsonUtils.nextResponseMember(reader)) != null) {
+			switch (member) {
+			case "geo":
+				duration.Geography = Geo.fromJson(reader);
+				break;
+			case "period":
+				duration.Period = com.timeanddate.services.dataTypes.businessdays.Period.fromJson(reader);
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
 		}
+		reader.endObject();
 
 		return duration;
 	}
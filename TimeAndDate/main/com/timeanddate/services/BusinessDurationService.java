@@ -1,23 +1,22 @@
 package com.timeanddate.services;
 
 import java.io.IOException;
-import java.net.URL;
-import java.text.SimpleDateFormat;
 import java.util.HashMap;
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.EnumSet;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
-import org.w3c.dom.DOMException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.w3c.dom.Document;
 
 import com.timeanddate.services.common.AuthenticationException;
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.ServerSideException;
 import com.timeanddate.services.common.StringUtils;
-import com.timeanddate.services.common.UriUtils;
-import com.timeanddate.services.common.WebClient;
-import com.timeanddate.services.common.XmlUtils;
 import com.timeanddate.services.common.IPredicate;
 
 import com.timeanddate.services.dataTypes.places.LocationId;
@@ -30,12 +29,31 @@ import com.timeanddate.services.dataTypes.businessdays.BusinessDaysFilterType;
  *
  */
 public class BusinessDurationService extends BaseService {
+	private static final IResponseParser<BusinessDuration> _parser = new IResponseParser<BusinessDuration>() {
+		@Override
+		public BusinessDuration fromDocument(Document document) {
+			return BusinessDuration.fromXml(document);
+		}
 
-	private boolean _includeDays;
+		@Override
+		public BusinessDuration fromReader(XMLStreamReader reader)
+				throws XMLStreamException, ServerSideException {
+			return BusinessDuration.fromXml(reader);
+		}
 
-	private boolean _includeLastDate;
+		@Override
+		public BusinessDuration fromJsonReader(JsonReader reader)
+				throws IOException, ServerSideException {
+			return BusinessDuration.fromJson(reader);
+		}
+	};
 
-	private EnumSet<BusinessDaysFilterType> _filter;
+	/**
+	 * The options used by calls that are not given options of their own. The
+	 * setters replace it as a whole, so a call never sees a half-updated
+	 * configuration.
+	 */
+	private volatile BusinessDurationServiceOptions _options = new BusinessDurationServiceOptions.Builder().build();
 
 	/**
 	 * The businessduration service can be used to calculate the 
@@ -51,37 +69,56 @@ public class BusinessDurationService extends BaseService {
 	public BusinessDurationService(String accessKey, String secretKey)
 			throws AuthenticationException {
 		super(accessKey, secretKey, "businessduration");
-		_includeDays = false;
-		_includeLastDate = false;
-		_filter = EnumSet.of(BusinessDaysFilterType.WEEKENDHOLIDAYS);
 	}
 
-	public void setIncludeDays(boolean bool) {
-		_includeDays = bool;
+	/**
+	 * Gets the options used by calls that are not given options of their own.
+	 * 
+	 * @return The options of this service.
+	 */
+	public BusinessDurationServiceOptions getOptions() {
+		return _options;
+	}
+
+	/**
+	 * Sets the options used by calls that are not given options of their own.
+	 * 
+	 * @param options
+	 *            The options of this service.
+	 */
+	public synchronized void setOptions(BusinessDurationServiceOptions options) {
+		if (options == null)
+			throw new IllegalArgumentException("Options cannot be null");
+
+		_options = options;
+	}
+
+	public synchronized void setIncludeDays(boolean bool) {
+		_options = _options.toBuilder().setIncludeDays(bool).build();
 	}
 
 	public boolean getIncludeDays() {
-		return _includeDays;
+		return _options.getIncludeDays();
 	}
 
-	public void setIncludeLastDate(boolean bool) {
-		_includeLastDate = bool;
+	public synchronized void setIncludeLastDate(boolean bool) {
+		_options = _options.toBuilder().setIncludeLastDate(bool).build();
 	}
 
 	public boolean getIncludeLastDate() {
-		return _includeLastDate;
+		return _options.getIncludeLastDate();
 	}
 
-	public void setFilter(EnumSet<BusinessDaysFilterType> filter) {
-		_filter = filter;
+	public synchronized void setFilter(EnumSet<BusinessDaysFilterType> filter) {
+		_options = _options.toBuilder().setFilter(filter).build();
 	}
 
-	public void addFilter(BusinessDaysFilterType filter) {
-		_filter.add(filter);
+	public synchronized void addFilter(BusinessDaysFilterType filter) {
+		_options = _options.toBuilder().addFilter(filter).build();
 	}
 
 	public EnumSet<BusinessDaysFilterType> getFilter() {
-		return _filter;
+		return _options.getFilter();
 	}
 
 	/**
@@ -102,43 +139,91 @@ public class BusinessDurationService extends BaseService {
 	 */
 	public BusinessDuration getDuration(TADDateTime startDate, TADDateTime endDate, LocationId placeId)
 		throws IllegalArgumentException, ServerSideException {
-		return executeBusinessDuration(startDate, endDate, placeId);
+		return getDuration(startDate, endDate, placeId, _options);
 	}
 
-	private BusinessDuration executeBusinessDuration(TADDateTime startDate, TADDateTime endDate, LocationId placeId)
-			throws IllegalArgumentException, ServerSideException {
+	/**
+	 * The businessduration service can be used to calculate the 
+	 * number of business days between a specified start date and end date.
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param startDate
+	 * 		Start date to calculate from.
+	 * @param endDate
+	 * 		End date to calculate to.
+	 * @param placeId
+	 * 		The places identifier.
+	 * @param options
+	 * 		The options of this call.
+	 * @return The calculated result and geographical information.
+	 * @throws ServerSideException
+	 * 		The server produced an error message.
+	 * @throws IllegalArgumentException
+	 * 		A required argument was not as expected.
+	 */
+	public BusinessDuration getDuration(TADDateTime startDate, TADDateTime endDate, LocationId placeId, BusinessDurationServiceOptions options)
+		throws IllegalArgumentException, ServerSideException {
+		if (options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
 
-		Map<String, String> arguments = getArguments(startDate, endDate, placeId);
-		String result = new String();
+		return executeBusinessDuration(startDate, endDate, placeId, options);
+	}
 
-		try {
-			String query = UriUtils.BuildUriString(arguments);
-			URL uri = new URL(Constants.EntryPoint + ServiceName + query);
-			WebClient client = new WebClient();
-			result = client.downloadString(uri);
-			XmlUtils.checkForErrors(result);
+	/**
+	 * Asynchronous version of {@link #getDuration(TADDateTime, TADDateTime, LocationId)}.
+	 * 
+	 * @param startDate
+	 * 		Start date to calculate from.
+	 * @param endDate
+	 * 		End date to calculate to.
+	 * @param placeId
+	 * 		The places identifier.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<BusinessDuration> getDurationAsync(TADDateTime startDate, TADDateTime endDate, LocationId placeId) {
+		return async(() -> getDuration(startDate, endDate, placeId));
+	}
 
-		} catch (DOMException | IOException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
+	/**
+	 * Asynchronous version of {@link #getDuration(TADDateTime, TADDateTime, LocationId, BusinessDurationServiceOptions)}.
+	 * 
+	 * @param startDate
+	 * 		Start date to calculate from.
+	 * @param endDate
+	 * 		End date to calculate to.
+	 * @param placeId
+	 * 		The places identifier.
+	 * @param options
+	 * 		The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<BusinessDuration> getDurationAsync(TADDateTime startDate, TADDateTime endDate, LocationId placeId, BusinessDurationServiceOptions options) {
+		return async(() -> getDuration(startDate, endDate, placeId, options));
+	}
+
+	private BusinessDuration executeBusinessDuration(TADDateTime startDate, TADDateTime endDate, LocationId placeId, BusinessDurationServiceOptions options)
+			throws IllegalArgumentException, ServerSideException {
 
-		return BusinessDuration.fromXml(result);
+		Map<String, String> arguments = getArguments(startDate, endDate, placeId, options);
+		return retrieve(arguments, _parser);
 	}
 
-	private Map<String, String> getArguments(TADDateTime startDate, TADDateTime endDate, LocationId placeId) {
+	private Map<String, String> getArguments(TADDateTime startDate, TADDateTime endDate, LocationId placeId, BusinessDurationServiceOptions options) {
 		Map<String, String> args = new HashMap<String, String>(
 				AuthenticationOptions);
 
-		String filter = getFilterTypesAsStr();
+		String filter = getFilterTypesAsStr(options);
 		args.put("startdt", startDate.toString());
 		args.put("enddt", endDate.toString());
 		args.put("placeid", placeId.getId());
-		args.put("include", StringUtils.BoolToNum(_includeDays));
-		args.put("includelastdate", StringUtils.BoolToNum(_includeLastDate));
-		args.put("lang", Language);
-		args.put("version", Integer.toString(Version));
-		args.put("out", Constants.DefaultReturnFormat);
+		args.put("include", StringUtils.BoolToNum(options.getIncludeDays()));
+		args.put("includelastdate", StringUtils.BoolToNum(options.getIncludeLastDate()));
+		args.put("lang", getLanguage(options));
+		args.put("version", getVersion(options));
 		args.put("verbosetime", Integer.toString(Constants.DefaultVerboseTimeValue));
 
 		if (filter != null && !filter.isEmpty())
@@ -147,31 +232,34 @@ public class BusinessDurationService extends BaseService {
 		return args;
 	}
 
-	private String getFilterTypesAsStr() {
-		if (_filter == null)
+	private String getFilterTypesAsStr(BusinessDurationServiceOptions options) {
+		EnumSet<BusinessDaysFilterType> filter = options.getFilter();
+		if (filter == null)
 			return "";
 
 		ArrayList<String> includedStrings = new ArrayList<String>();
 		for (final BusinessDaysFilterType type : BusinessDaysFilterType.values()) {
-			if (_filter.contains(type))
+			if (filter.contains(type))
 				includedStrings
-						.add(StringUtils.resolveBusinessDaysFilter(where.of(type)).Command);
+						.add(StringUtils.resolveBusinessDaysFilter(where().of(type)).Command);
 		}
 
 		String included = StringUtils.join(includedStrings, ",");
 		return included;
 	}
 
-	private IPredicate<BusinessDaysFilterType> where = new IPredicate<BusinessDaysFilterType>() {
-		BusinessDaysFilterType type;
+	private static IPredicate<BusinessDaysFilterType> where() {
+		return new IPredicate<BusinessDaysFilterType>() {
+			BusinessDaysFilterType type;
 
-		public boolean is(BusinessDaysFilterType t) {
-			return t == type;
-		}
+			public boolean is(BusinessDaysFilterType t) {
+				return t == type;
+			}
 
-		public IPredicate<BusinessDaysFilterType> of(BusinessDaysFilterType t) {
-			type = t;
-			return this;
-		}
-	};
+			public IPredicate<BusinessDaysFilterType> of(BusinessDaysFilterType t) {
+				type = t;
+				return this;
+			}
+		};
+	}
 }
@@ -0,0 +1,95 @@
+package com.timeanddate.services;
+
+import java.util.EnumSet;
+
+import com.timeanddate.services.dataTypes.businessdays.BusinessDaysFilterType;
+
+/**
+ * Immutable options for calls to the {@link BusinessDurationService}, built with a
+ * {@link Builder}. The same options can be used by any number of concurrent
+ * calls.
+ */
+public final class BusinessDurationServiceOptions extends ServiceOptions {
+	private final boolean _includeDays;
+
+	private final boolean _includeLastDate;
+
+	private final EnumSet<BusinessDaysFilterType> _filter;
+
+	private BusinessDurationServiceOptions(Builder builder) {
+		super(builder);
+		_includeDays = builder._includeDays;
+		_includeLastDate = builder._includeLastDate;
+		_filter = builder._filter != null ? EnumSet.copyOf(builder._filter) : null;
+	}
+
+	public boolean getIncludeDays() {
+		return _includeDays;
+	}
+
+	public boolean getIncludeLastDate() {
+		return _includeLastDate;
+	}
+
+	public EnumSet<BusinessDaysFilterType> getFilter() {
+		return _filter != null ? EnumSet.copyOf(_filter) : null;
+	}
+
+	/**
+	 * Creates a builder initialised with these options.
+	 */
+	public Builder toBuilder() {
+		return new Builder(this);
+	}
+
+	public static final class Builder extends ServiceOptions.Builder<Builder> {
+		private boolean _includeDays = false;
+		private boolean _includeLastDate = false;
+		private EnumSet<BusinessDaysFilterType> _filter = EnumSet.of(BusinessDaysFilterType.WEEKENDHOLIDAYS);
+
+		/**
+		 * Creates a builder with the default options of the service.
+		 */
+		public Builder() {
+		}
+
+		private Builder(BusinessDurationServiceOptions options) {
+			super(options);
+			_includeDays = options._includeDays;
+			_includeLastDate = options._includeLastDate;
+			_filter = options._filter != null ? EnumSet.copyOf(options._filter) : null;
+		}
+
+		public Builder setIncludeDays(boolean bool) {
+			_includeDays = bool;
+			return this;
+		}
+
+		public Builder setIncludeLastDate(boolean bool) {
+			_includeLastDate = bool;
+			return this;
+		}
+
+		public Builder setFilter(EnumSet<BusinessDaysFilterType> filter) {
+			_filter = filter != null ? EnumSet.copyOf(filter) : null;
+			return this;
+		}
+
+		public Builder addFilter(BusinessDaysFilterType filter) {
+			if (_filter == null)
+				_filter = EnumSet.of(filter);
+			else
+				_filter.add(filter);
+			return this;
+		}
+
+		@Override
+		Builder self() {
+			return this;
+		}
+
+		public BusinessDurationServiceOptions build() {
+			return new BusinessDurationServiceOptions(this);
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package com.timeanddate.services;
 
+import com.timeanddate.services.common.ReturnFormat;
+
 /**
  * 
  * @author Cato Auestad {@literal <cato@timeanddate.com>}
@@ -8,7 +10,8 @@ package com.timeanddate.services;
 final class Constants {
 	static final int DefaultVersion = 3;
 	static final String DefaultLanguage = "en";
-	static final String DefaultReturnFormat = "xml";
+	static final ReturnFormat DefaultReturnFormat = ReturnFormat.XML;
 	static final int DefaultVerboseTimeValue = 0;
+	static final int DefaultBatchConcurrency = 4;
 	static final String EntryPoint = "http://api.xmltime.com/";
 }
@@ -0,0 +1,252 @@
+package com.timeanddate.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.timeanddate.services.common.LocalTimeDoesNotExistException;
+import com.timeanddate.services.common.MissingTimeChangesException;
+import com.timeanddate.services.common.QueriedDateOutOfRangeException;
+import com.timeanddate.services.common.ServerSideException;
+import com.timeanddate.services.dataTypes.places.LocationId;
+import com.timeanddate.services.dataTypes.time.TADDateTime;
+
+/**
+ * Converts a batch of times with as few requests as possible. Identical
+ * conversions are done once. Local times are computed from the time changes
+ * in a {@link TimeChangeCache}; for each location, set of locations converted
+ * to and year that is not in the cache yet, one conversion is requested to
+ * fill it, in rounds until the cache has every time zone needed. What the
+ * cache cannot compute, e.g. times given with a UTC offset or skipped by a
+ * time change, is requested one by one. Requests run on the executor of the
+ * service, at most a given number at a time.
+ *
+ * @author Cato Auestad {@literal <cato@timeanddate.com>}
+ *
+ */
+final class ConvertTimeBatch {
+	/**
+	 * Rounds of requests filling the cache before the conversions it still
+	 * cannot compute are requested one by one. A location needs a round for
+	 * each time zone it is in during the year, which is rarely more than two.
+	 */
+	private static final int MaxRounds = 3;
+
+	private final ConvertTimeService _service;
+	private final ConvertTimeServiceOptions _options;
+	private final TimeChangeCache _cache;
+	private final int _concurrency;
+	private final String _language;
+
+	ConvertTimeBatch(ConvertTimeService service,
+			ConvertTimeServiceOptions options, TimeChangeCache cache,
+			int concurrency) {
+		_service = service;
+		_options = options;
+		_cache = cache;
+		_concurrency = concurrency;
+		_language = service.getLanguage(options);
+	}
+
+	List<ConvertedTimes> convert(List<ConvertTimeRequest> requests)
+			throws ServerSideException {
+		Map<String, Conversion> unique = new LinkedHashMap<String, Conversion>();
+		List<Conversion> conversions = new ArrayList<Conversion>(
+				requests.size());
+		for (ConvertTimeRequest request : requests) {
+			if (request == null)
+				throw new IllegalArgumentException(
+						"A required argument is null or empty");
+
+			Conversion conversion = new Conversion(request);
+			conversions.add(unique.computeIfAbsent(conversion.getKey(),
+					key -> conversion));
+		}
+
+		List<Conversion> pending = new ArrayList<Conversion>();
+		List<Conversion> direct = new ArrayList<Conversion>();
+		for (Conversion conversion : unique.values()) {
+			if (conversion.localTime == null || conversion.hasCoordinates())
+				direct.add(conversion);
+			else if (!computeLocally(conversion))
+				pending.add(conversion);
+		}
+
+		ConvertTimeServiceOptions primerOptions = _options
+				.getIncludeTimeChanges() ? _options : _options.toBuilder()
+				.setIncludeTimeChanges(true).build();
+
+		// One request per location, locations converted to and year fills the
+		// cache for the other local times of that year. Another round is
+		// needed when a time zone at another offset is still missing.
+		for (int round = 0; round < MaxRounds && !pending.isEmpty(); round++) {
+			Map<String, Conversion> primers = new LinkedHashMap<String, Conversion>();
+			for (Conversion conversion : pending)
+				primers.putIfAbsent(conversion.getPlaces() + "@"
+						+ conversion.localTime.getYear(), conversion);
+
+			runAll(primers.values(), conversion -> {
+				conversion.requested = true;
+				ConvertedTimes times = request(conversion, primerOptions);
+				if (primerOptions == _options)
+					conversion.result = times;
+			});
+
+			List<Conversion> next = new ArrayList<Conversion>();
+			for (Conversion conversion : pending) {
+				if (conversion.result != null || computeLocally(conversion))
+					continue;
+
+				if (conversion.requested)
+					direct.add(conversion);
+				else
+					next.add(conversion);
+			}
+
+			pending = next;
+		}
+		direct.addAll(pending);
+
+		runAll(direct, conversion -> conversion.result = request(conversion,
+				_options));
+
+		List<ConvertedTimes> results = new ArrayList<ConvertedTimes>(
+				conversions.size());
+		for (Conversion conversion : conversions)
+			results.add(conversion.result);
+
+		return results;
+	}
+
+	private boolean computeLocally(Conversion conversion) {
+		if (conversion.localTime == null)
+			return false;
+
+		try {
+			conversion.result = _cache.convertTime(_language, conversion.ids,
+					conversion.localTime, _options);
+			return true;
+		} catch (MissingTimeChangesException | QueriedDateOutOfRangeException
+				| LocalTimeDoesNotExistException e) {
+			return false;
+		}
+	}
+
+	private ConvertedTimes request(Conversion conversion,
+			ConvertTimeServiceOptions options) throws ServerSideException {
+		ConvertTimeRequest request = conversion.request;
+		return _service.executeConvertTime(request.getFromId().getId(),
+				request.getISO(), request.getToIds(), options, _cache);
+	}
+
+	/**
+	 * Runs the requests of a list on the calling thread and on up to
+	 * {@code concurrency - 1} tasks of the executor, which take the next
+	 * request from the list until it is empty. The calling thread only waits
+	 * for requests that have been started, so tasks still queued in a busy
+	 * executor do not hold it up. The first failure stops further requests
+	 * from being started and is thrown once the started ones have finished.
+	 */
+	private void runAll(Collection<Conversion> conversions, Step step)
+			throws ServerSideException {
+		List<Conversion> list = new ArrayList<Conversion>(conversions);
+		int size = list.size();
+		if (size == 0)
+			return;
+
+		AtomicInteger next = new AtomicInteger();
+		CountDownLatch finished = new CountDownLatch(size);
+		AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+		Runnable worker = () -> {
+			int i;
+			while ((i = next.getAndIncrement()) < size) {
+				try {
+					step.run(list.get(i));
+				} catch (Throwable e) {
+					failure.compareAndSet(null, e);
+					int unclaimed = next.getAndSet(size);
+					for (int j = unclaimed; j < size; j++)
+						finished.countDown();
+				} finally {
+					finished.countDown();
+				}
+			}
+		};
+
+		for (int i = 1; i < Math.min(_concurrency, size); i++)
+			_service.async(() -> {
+				worker.run();
+				return null;
+			});
+
+		worker.run();
+
+		try {
+			finished.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			next.set(size);
+			throw new ServerSideException("The batch was interrupted");
+		}
+
+		Throwable e = failure.get();
+		if (e instanceof ServerSideException)
+			throw (ServerSideException) e;
+		if (e instanceof RuntimeException)
+			throw (RuntimeException) e;
+		if (e instanceof Error)
+			throw (Error) e;
+		if (e != null)
+			throw new ServerSideException(e.getMessage());
+	}
+
+	private interface Step {
+		void run(Conversion conversion) throws ServerSideException;
+	}
+
+	private static final class Conversion {
+		final ConvertTimeRequest request;
+		final List<String> ids = new ArrayList<String>();
+		final TADDateTime localTime;
+		volatile ConvertedTimes result;
+		volatile boolean requested;
+
+		Conversion(ConvertTimeRequest request) {
+			this.request = request;
+			this.localTime = ConvertTimeService.parseLocalTime(request
+					.getISO());
+			ids.add(request.getFromId().getId());
+			for (LocationId id : request.getToIds())
+				ids.add(id.getId());
+		}
+
+		/**
+		 * Whether any location is given by coordinates. The cache does not
+		 * know which location they resolve to until they are requested.
+		 */
+		boolean hasCoordinates() {
+			for (String id : ids)
+				if (id.startsWith("+") || id.startsWith("-"))
+					return true;
+
+			return false;
+		}
+
+		/**
+		 * The location and the locations converted to.
+		 */
+		String getPlaces() {
+			return String.join(",", ids);
+		}
+
+		String getKey() {
+			return getPlaces() + "@" + request.getISO();
+		}
+	}
+}
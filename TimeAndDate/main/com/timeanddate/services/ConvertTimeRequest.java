@@ -0,0 +1,92 @@
+package com.timeanddate.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.timeanddate.services.dataTypes.places.LocationId;
+import com.timeanddate.services.dataTypes.time.TADDateTime;
+
+/**
+ * One conversion of a batch given to
+ * {@link ConvertTimeService#convertTimes(List)}: a time at a location and the
+ * locations to convert it to.
+ *
+ * @author Cato Auestad {@literal <cato@timeanddate.com>}
+ *
+ */
+public final class ConvertTimeRequest {
+	private final LocationId _fromId;
+	private final String _iso;
+	private final List<LocationId> _toIds;
+
+	/**
+	 * @param fromId
+	 *            The places identifier
+	 * @param iso
+	 *            ISO 8601-formatted string.
+	 */
+	public ConvertTimeRequest(LocationId fromId, String iso) {
+		this(fromId, iso, null);
+	}
+
+	/**
+	 * @param fromId
+	 *            The places identifier
+	 * @param date
+	 *            Date.
+	 * @param toIds
+	 *            The place IDs to convert to, or null.
+	 */
+	public ConvertTimeRequest(LocationId fromId, TADDateTime date,
+			List<LocationId> toIds) {
+		this(fromId, date != null ? date.toString() : null, toIds);
+	}
+
+	/**
+	 * @param fromId
+	 *            The places identifier
+	 * @param iso
+	 *            ISO 8601-formatted string.
+	 * @param toIds
+	 *            The place IDs to convert to, or null.
+	 */
+	public ConvertTimeRequest(LocationId fromId, String iso,
+			List<LocationId> toIds) {
+		if (fromId == null || fromId.getId().isEmpty() || iso == null
+				|| iso.isEmpty())
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		List<LocationId> ids = new ArrayList<LocationId>();
+		if (toIds != null) {
+			for (LocationId id : toIds) {
+				String idstr = id.getId();
+				if (idstr.contains(","))
+					throw new IllegalArgumentException(
+							"Place ID cannot contain any commas");
+				if (!idstr.isEmpty())
+					ids.add(id);
+			}
+		}
+
+		_fromId = fromId;
+		_iso = iso;
+		_toIds = Collections.unmodifiableList(ids);
+	}
+
+	public LocationId getFromId() {
+		return _fromId;
+	}
+
+	public String getISO() {
+		return _iso;
+	}
+
+	/**
+	 * @return The place IDs to convert to, empty if there are none.
+	 */
+	public List<LocationId> getToIds() {
+		return _toIds;
+	}
+}
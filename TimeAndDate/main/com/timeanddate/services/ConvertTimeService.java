@@ -1,22 +1,30 @@
 package com.timeanddate.services;
 
 import java.io.IOException;
-import java.net.URL;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
-import org.w3c.dom.DOMException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.w3c.dom.Document;
 
 import com.timeanddate.services.common.AuthenticationException;
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
+import com.timeanddate.services.common.LocalTimeDoesNotExistException;
+import com.timeanddate.services.common.MissingTimeChangesException;
+import com.timeanddate.services.common.QueriedDateOutOfRangeException;
 import com.timeanddate.services.common.ServerSideException;
 import com.timeanddate.services.common.StringUtils;
-import com.timeanddate.services.common.UriUtils;
-import com.timeanddate.services.common.WebClient;
-import com.timeanddate.services.common.XmlUtils;
 import com.timeanddate.services.dataTypes.places.LocationId;
 import com.timeanddate.services.dataTypes.time.TADDateTime;
 
@@ -26,32 +34,36 @@ import com.timeanddate.services.dataTypes.time.TADDateTime;
  *
  */
 public class ConvertTimeService extends BaseService {
+	private static final Pattern _localTime = Pattern
+			.compile("(\\d{4})-(\\d{2})-(\\d{2})T(\\d{2}):(\\d{2})(?::(\\d{2}))?");
 
-	/**
-	 * Search radius for translating coordinates (parameters fromid and toid) to
-	 * locations. Coordinates that could not be translated will yield results
-	 * for the actual geographical position.
-	 * <p>
-	 * The radius in kilometers.
-	 */
-	private int _radius;
+	private static final IResponseParser<ConvertedTimes> _parser = new IResponseParser<ConvertedTimes>() {
+		@Override
+		public ConvertedTimes fromDocument(Document document) {
+			return ConvertedTimes.fromXml(document);
+		}
 
-	/**
-	 * Add a list of time changes during the year to the location object. This
-	 * listing e.g. shows changes caused by daylight savings time.
-	 * <p>
-	 * <b>true</b> if include time changes; otherwise, <b>false</b>. <b>true</b>
-	 * is default.
-	 */
-	private boolean _includeTimeChanges;
+		@Override
+		public ConvertedTimes fromReader(XMLStreamReader reader)
+				throws XMLStreamException, ServerSideException {
+			return ConvertedTimes.fromXml(reader);
+		}
+
+		@Override
+		public ConvertedTimes fromJsonReader(JsonReader reader)
+				throws IOException, ServerSideException {
+			return ConvertedTimes.fromJson(reader);
+		}
+	};
 
 	/**
-	 * Add timezone information under the time object.
-	 * <p>
-	 * <b>true</b> if include timezone information; otherwise,
-	 * <b>false</b>.<b>true</b> is default.
+	 * The options used by calls that are not given options of their own. The
+	 * setters replace it as a whole, so a call never sees a half-updated
+	 * configuration.
 	 */
-	private boolean _includeTimezoneInformation;
+	private volatile ConvertTimeServiceOptions _options = new ConvertTimeServiceOptions.Builder().build();
+	private volatile TimeChangeCache _timeChangeCache;
+	private volatile int _batchConcurrency = Constants.DefaultBatchConcurrency;
 
 	/**
 	 * The converttime service can be used to convert any time from UTC or any
@@ -67,8 +79,159 @@ public class ConvertTimeService extends BaseService {
 	public ConvertTimeService(String accessKey, String secretKey)
 			throws AuthenticationException {
 		super(accessKey, secretKey, "converttime");
-		_includeTimeChanges = true;
-		_includeTimezoneInformation = true;
+	}
+
+	/**
+	 * Gets the options used by calls that are not given options of their own.
+	 * 
+	 * @return The options of this service.
+	 */
+	public ConvertTimeServiceOptions getOptions() {
+		return _options;
+	}
+
+	/**
+	 * Sets the options used by calls that are not given options of their own.
+	 * 
+	 * @param options
+	 *            The options of this service.
+	 */
+	public synchronized void setOptions(ConvertTimeServiceOptions options) {
+		if (options == null)
+			throw new IllegalArgumentException("Options cannot be null");
+
+		_options = options;
+	}
+
+	/**
+	 * Gets the cache conversions are computed from without a request.
+	 * 
+	 * @return The time change cache, or null if every conversion is requested.
+	 */
+	public TimeChangeCache getTimeChangeCache() {
+		return _timeChangeCache;
+	}
+
+	/**
+	 * Sets the cache conversions are computed from without a request. The
+	 * locations in every response are recorded in the cache, and a later
+	 * conversion of a local time between recorded locations is computed
+	 * locally. The service is only called when a location or year has not
+	 * been recorded, when the time is given with a UTC offset, or when the
+	 * local time is skipped by a time change. Set to null to request every
+	 * conversion.
+	 * 
+	 * @param cache
+	 *            The time change cache.
+	 */
+	public void setTimeChangeCache(TimeChangeCache cache) {
+		_timeChangeCache = cache;
+	}
+
+	/**
+	 * Gets the most requests a batch conversion sends at a time.
+	 * 
+	 * @return The batch concurrency.
+	 */
+	public int getBatchConcurrency() {
+		return _batchConcurrency;
+	}
+
+	/**
+	 * Sets the most requests a batch conversion sends at a time. One of them
+	 * is sent from the calling thread, the others from the executor of this
+	 * service. Defaults to 4.
+	 * 
+	 * @param concurrency
+	 *            The batch concurrency, at least 1.
+	 */
+	public void setBatchConcurrency(int concurrency) {
+		if (concurrency < 1)
+			throw new IllegalArgumentException(
+					"Concurrency must be at least 1");
+
+		_batchConcurrency = concurrency;
+	}
+
+	/**
+	 * Converts a batch of times, with as few requests as possible.
+	 * <p>
+	 * Identical conversions are only done once, and share their result. Local
+	 * times without a UTC offset are computed from the time changes in the
+	 * time change cache of this service, or in a cache kept for the batch if
+	 * the service has none. The cache is filled with one request for each
+	 * location, set of locations converted to and year it does not cover
+	 * yet. Times the cache cannot compute are requested one by one. At most
+	 * {@link #getBatchConcurrency()} requests are sent at a time.
+	 * 
+	 * @param requests
+	 *            The conversions.
+	 * @return The converted times, in the order of the requests.
+	 * @throws ServerSideException
+	 *             The server produced an error message for any of the
+	 *             requests
+	 * @throws IllegalArgumentException
+	 *             A required argument was not as expected
+	 */
+	public List<ConvertedTimes> convertTimes(List<ConvertTimeRequest> requests)
+			throws IllegalArgumentException, ServerSideException {
+		return convertTimes(requests, _options);
+	}
+
+	/**
+	 * Converts a batch of times, with as few requests as possible. See
+	 * {@link #convertTimes(List)}.
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param requests
+	 *            The conversions.
+	 * @param options
+	 *            The options of this call.
+	 * @return The converted times, in the order of the requests.
+	 * @throws ServerSideException
+	 *             The server produced an error message for any of the
+	 *             requests
+	 * @throws IllegalArgumentException
+	 *             A required argument was not as expected
+	 */
+	public List<ConvertedTimes> convertTimes(List<ConvertTimeRequest> requests,
+			ConvertTimeServiceOptions options) throws IllegalArgumentException,
+			ServerSideException {
+		if (requests == null || options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		TimeChangeCache cache = _timeChangeCache;
+		return new ConvertTimeBatch(this, options,
+				cache != null ? cache : new TimeChangeCache(),
+				_batchConcurrency).convert(requests);
+	}
+
+	/**
+	 * Asynchronous version of {@link #convertTimes(List)}.
+	 * 
+	 * @param requests
+	 *            The conversions.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<ConvertedTimes>> convertTimesAsync(List<ConvertTimeRequest> requests) {
+		return async(() -> convertTimes(requests));
+	}
+
+	/**
+	 * Asynchronous version of {@link #convertTimes(List, ConvertTimeServiceOptions)}.
+	 * 
+	 * @param requests
+	 *            The conversions.
+	 * @param options
+	 *            The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<ConvertedTimes>> convertTimesAsync(List<ConvertTimeRequest> requests, ConvertTimeServiceOptions options) {
+		return async(() -> convertTimes(requests, options));
 	}
 
 	/**
@@ -89,6 +252,35 @@ public class ConvertTimeService extends BaseService {
 	 */
 	public ConvertedTimes convertTime(LocationId fromId, String iso,
 			List<LocationId> toIds) throws IllegalArgumentException, ServerSideException {
+		return convertTime(fromId, iso, toIds, _options);
+	}
+
+	/**
+	 * Converts the time by using a LocationId, a ISO-string and a list of IDs
+	 * to convert to.
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param fromId
+	 *            The places identifier
+	 * @param iso
+	 *            ISO 8601-formatted string.
+	 * @param toIds
+	 *            The place IDs to convert to.
+	 * @param options
+	 *            The options of this call.
+	 * @return The converted time.
+	 * @throws ServerSideException 
+	 * 			  The server produced an error message
+	 * @throws IllegalArgumentException 
+	 * 			  A required argument was not as expected
+	 */
+	public ConvertedTimes convertTime(LocationId fromId, String iso,
+			List<LocationId> toIds, ConvertTimeServiceOptions options) throws IllegalArgumentException, ServerSideException {
+		if (options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
 		if (fromId == null || iso == null || (iso != null && iso.isEmpty()))
 			throw new IllegalArgumentException("A required argument is null or empty");
 
@@ -96,7 +288,41 @@ public class ConvertTimeService extends BaseService {
 		if (id.isEmpty())
 			throw new IllegalArgumentException("ID empty");
 
-		return executeConvertTime(id, iso, toIds);
+		return executeConvertTime(id, iso, toIds, options, _timeChangeCache);
+	}
+
+	/**
+	 * Asynchronous version of {@link #convertTime(LocationId, String, List)}.
+	 * 
+	 * @param fromId
+	 *            The places identifier
+	 * @param iso
+	 *            ISO 8601-formatted string.
+	 * @param toIds
+	 *            The place IDs to convert to.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<ConvertedTimes> convertTimeAsync(LocationId fromId, String iso, List<LocationId> toIds) {
+		return async(() -> convertTime(fromId, iso, toIds));
+	}
+
+	/**
+	 * Asynchronous version of {@link #convertTime(LocationId, String, List, ConvertTimeServiceOptions)}.
+	 * 
+	 * @param fromId
+	 *            The places identifier
+	 * @param iso
+	 *            ISO 8601-formatted string.
+	 * @param toIds
+	 *            The place IDs to convert to.
+	 * @param options
+	 *            The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<ConvertedTimes> convertTimeAsync(LocationId fromId, String iso, List<LocationId> toIds, ConvertTimeServiceOptions options) {
+		return async(() -> convertTime(fromId, iso, toIds, options));
 	}
 
 	/**
@@ -113,7 +339,62 @@ public class ConvertTimeService extends BaseService {
 	 */
 	public ConvertedTimes convertTime(LocationId fromId, String iso) 
 			throws IllegalArgumentException, ServerSideException {
-		return convertTime(fromId, iso, null);
+		return convertTime(fromId, iso, _options);
+	}
+
+	/**
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param fromId
+	 * 			  The places identifier
+	 * @param iso
+	 * 			  ISO 8601-formatted string.
+	 * @param options
+	 * 			  The options of this call.
+	 * @return The converted time.
+	 * @throws ServerSideException 
+	 * 			  The server produced an error message
+	 * @throws IllegalArgumentException 
+	 * 			  A required argument was not as expected
+	 */
+	public ConvertedTimes convertTime(LocationId fromId, String iso, ConvertTimeServiceOptions options) 
+			throws IllegalArgumentException, ServerSideException {
+		if (options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		return convertTime(fromId, iso, null, options);
+	}
+
+	/**
+	 * Asynchronous version of {@link #convertTime(LocationId, String)}.
+	 * 
+	 * @param fromId
+	 * 			  The places identifier
+	 * @param iso
+	 * 			  ISO 8601-formatted string.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<ConvertedTimes> convertTimeAsync(LocationId fromId, String iso) {
+		return async(() -> convertTime(fromId, iso));
+	}
+
+	/**
+	 * Asynchronous version of {@link #convertTime(LocationId, String, ConvertTimeServiceOptions)}.
+	 * 
+	 * @param fromId
+	 * 			  The places identifier
+	 * @param iso
+	 * 			  ISO 8601-formatted string.
+	 * @param options
+	 * 			  The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<ConvertedTimes> convertTimeAsync(LocationId fromId, String iso, ConvertTimeServiceOptions options) {
+		return async(() -> convertTime(fromId, iso, options));
 	}
 
 	/**
@@ -134,8 +415,71 @@ public class ConvertTimeService extends BaseService {
 	 */
 	public ConvertedTimes convertTime(LocationId fromId, Calendar date,
 			List<LocationId> toIds) throws IllegalArgumentException, ServerSideException {
+		return convertTime(fromId, date, toIds, _options);
+	}
+
+	/**
+	 * Converts the time by using a LocationId, a Calendar and a list of IDs to
+	 * convert to.
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param fromId
+	 *            The places identifier
+	 * @param date
+	 *            Date.
+	 * @param toIds
+	 *            The place IDs to convert to.
+	 * @param options
+	 *            The options of this call.
+	 * @return The converted time.
+	 * @throws ServerSideException 
+	 * 			  The server produced an error message
+	 * @throws IllegalArgumentException 
+	 * 			  A required argument was not as expected
+	 */
+	public ConvertedTimes convertTime(LocationId fromId, Calendar date,
+			List<LocationId> toIds, ConvertTimeServiceOptions options) throws IllegalArgumentException, ServerSideException {
+		if (options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
 		SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'hh:mm:ss.SSSXXX");
-		return convertTime(fromId, sdf.format(date), toIds);
+		return convertTime(fromId, sdf.format(date), toIds, options);
+	}
+
+	/**
+	 * Asynchronous version of {@link #convertTime(LocationId, Calendar, List)}.
+	 * 
+	 * @param fromId
+	 *            The places identifier
+	 * @param date
+	 *            Date.
+	 * @param toIds
+	 *            The place IDs to convert to.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<ConvertedTimes> convertTimeAsync(LocationId fromId, Calendar date, List<LocationId> toIds) {
+		return async(() -> convertTime(fromId, date, toIds));
+	}
+
+	/**
+	 * Asynchronous version of {@link #convertTime(LocationId, Calendar, List, ConvertTimeServiceOptions)}.
+	 * 
+	 * @param fromId
+	 *            The places identifier
+	 * @param date
+	 *            Date.
+	 * @param toIds
+	 *            The place IDs to convert to.
+	 * @param options
+	 *            The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<ConvertedTimes> convertTimeAsync(LocationId fromId, Calendar date, List<LocationId> toIds, ConvertTimeServiceOptions options) {
+		return async(() -> convertTime(fromId, date, toIds, options));
 	}
 	 
 	/**
@@ -156,7 +500,70 @@ public class ConvertTimeService extends BaseService {
 	 */
 	public ConvertedTimes convertTime(LocationId fromId, TADDateTime date,
 			List<LocationId> toIds) throws IllegalArgumentException, ServerSideException {
-		return convertTime(fromId, date.toString(), toIds);
+		return convertTime(fromId, date, toIds, _options);
+	}
+
+	/**
+	 * Converts the time by using a LocationId, a Calendar and a list of IDs to
+	 * convert to.
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param fromId
+	 *            The places identifier
+	 * @param date
+	 *            Date.
+	 * @param toIds
+	 *            The place IDs to convert to.
+	 * @param options
+	 *            The options of this call.
+	 * @return The converted time.
+	 * @throws ServerSideException 
+	 * 			  The server produced an error message
+	 * @throws IllegalArgumentException 
+	 * 			  A required argument was not as expected
+	 */
+	public ConvertedTimes convertTime(LocationId fromId, TADDateTime date,
+			List<LocationId> toIds, ConvertTimeServiceOptions options) throws IllegalArgumentException, ServerSideException {
+		if (options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		return convertTime(fromId, date.toString(), toIds, options);
+	}
+
+	/**
+	 * Asynchronous version of {@link #convertTime(LocationId, TADDateTime, List)}.
+	 * 
+	 * @param fromId
+	 *            The places identifier
+	 * @param date
+	 *            Date.
+	 * @param toIds
+	 *            The place IDs to convert to.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<ConvertedTimes> convertTimeAsync(LocationId fromId, TADDateTime date, List<LocationId> toIds) {
+		return async(() -> convertTime(fromId, date, toIds));
+	}
+
+	/**
+	 * Asynchronous version of {@link #convertTime(LocationId, TADDateTime, List, ConvertTimeServiceOptions)}.
+	 * 
+	 * @param fromId
+	 *            The places identifier
+	 * @param date
+	 *            Date.
+	 * @param toIds
+	 *            The place IDs to convert to.
+	 * @param options
+	 *            The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<ConvertedTimes> convertTimeAsync(LocationId fromId, TADDateTime date, List<LocationId> toIds, ConvertTimeServiceOptions options) {
+		return async(() -> convertTime(fromId, date, toIds, options));
 	}
 
 	/**
@@ -174,8 +581,64 @@ public class ConvertTimeService extends BaseService {
 	 */
 	public ConvertedTimes convertTime(LocationId fromId, Calendar date) 
 			throws IllegalArgumentException, ServerSideException {
+		return convertTime(fromId, date, _options);
+	}
+
+	/**
+	 * Converts the time by using a LocationId and a Calendar to convert to.
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param fromId
+	 *            The places identifier
+	 * @param date
+	 *            Date.
+	 * @param options
+	 *            The options of this call.
+	 * @return The converted time.
+	 * @throws ServerSideException 
+	 * 			  The server produced an error message
+	 * @throws IllegalArgumentException 
+	 * 			  A required argument was not as expected
+	 */
+	public ConvertedTimes convertTime(LocationId fromId, Calendar date, ConvertTimeServiceOptions options) 
+			throws IllegalArgumentException, ServerSideException {
+		if (options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
 		SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'hh:mm:ss.SSSXXX");
-		return convertTime(fromId, sdf.format(date));
+		return convertTime(fromId, sdf.format(date), options);
+	}
+
+	/**
+	 * Asynchronous version of {@link #convertTime(LocationId, Calendar)}.
+	 * 
+	 * @param fromId
+	 *            The places identifier
+	 * @param date
+	 *            Date.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<ConvertedTimes> convertTimeAsync(LocationId fromId, Calendar date) {
+		return async(() -> convertTime(fromId, date));
+	}
+
+	/**
+	 * Asynchronous version of {@link #convertTime(LocationId, Calendar, ConvertTimeServiceOptions)}.
+	 * 
+	 * @param fromId
+	 *            The places identifier
+	 * @param date
+	 *            Date.
+	 * @param options
+	 *            The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<ConvertedTimes> convertTimeAsync(LocationId fromId, Calendar date, ConvertTimeServiceOptions options) {
+		return async(() -> convertTime(fromId, date, options));
 	}
 	
 	/**
@@ -193,60 +656,145 @@ public class ConvertTimeService extends BaseService {
 	 */
 	public ConvertedTimes convertTime(LocationId fromId, TADDateTime date) 
 			throws IllegalArgumentException, ServerSideException {
-		return convertTime(fromId, date.toString());
+		return convertTime(fromId, date, _options);
+	}
+
+	/**
+	 * Converts the time by using a LocationId and a Calendar to convert to.
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param fromId
+	 *            The places identifier
+	 * @param date
+	 *            Date.
+	 * @param options
+	 *            The options of this call.
+	 * @return The converted time.
+	 * @throws ServerSideException 
+	 * 			  The server produced an error message
+	 * @throws IllegalArgumentException 
+	 * 			  A required argument was not as expected
+	 */
+	public ConvertedTimes convertTime(LocationId fromId, TADDateTime date, ConvertTimeServiceOptions options) 
+			throws IllegalArgumentException, ServerSideException {
+		if (options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		return convertTime(fromId, date.toString(), options);
+	}
+
+	/**
+	 * Asynchronous version of {@link #convertTime(LocationId, TADDateTime)}.
+	 * 
+	 * @param fromId
+	 *            The places identifier
+	 * @param date
+	 *            Date.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<ConvertedTimes> convertTimeAsync(LocationId fromId, TADDateTime date) {
+		return async(() -> convertTime(fromId, date));
+	}
+
+	/**
+	 * Asynchronous version of {@link #convertTime(LocationId, TADDateTime, ConvertTimeServiceOptions)}.
+	 * 
+	 * @param fromId
+	 *            The places identifier
+	 * @param date
+	 *            Date.
+	 * @param options
+	 *            The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<ConvertedTimes> convertTimeAsync(LocationId fromId, TADDateTime date, ConvertTimeServiceOptions options) {
+		return async(() -> convertTime(fromId, date, options));
 	}
 	
-	public void setRadius(int radius) {
-		_radius = radius;
+	public synchronized void setRadius(int radius) {
+		_options = _options.toBuilder().setRadius(radius).build();
 	}
 	
 	public int getRadius() {
-		return _radius;
+		return _options.getRadius();
 	}
 	
-	public void setIncludeTimeChanges(boolean bool) {
-		_includeTimeChanges = bool;
+	public synchronized void setIncludeTimeChanges(boolean bool) {
+		_options = _options.toBuilder().setIncludeTimeChanges(bool).build();
 	}
 	
 	public boolean getIncludeTimeChanges() {
-		return _includeTimeChanges;
+		return _options.getIncludeTimeChanges();
 	}
 	
-	public void setIncludeTimezoneInformation(boolean bool) {
-		_includeTimezoneInformation = bool;
+	public synchronized void setIncludeTimezoneInformation(boolean bool) {
+		_options = _options.toBuilder().setIncludeTimezoneInformation(bool).build();
 	}
 	
 	public boolean getIncludeTimezoneInformation() {
-		return _includeTimezoneInformation;
+		return _options.getIncludeTimezoneInformation();
 	}
 
-	private ConvertedTimes executeConvertTime(String fromId, String iso,
-			List<LocationId> toIds) throws IllegalArgumentException, ServerSideException {
+	ConvertedTimes executeConvertTime(String fromId, String iso,
+			List<LocationId> toIds, ConvertTimeServiceOptions options,
+			TimeChangeCache cache) throws IllegalArgumentException, ServerSideException {
 		if ((fromId == null || (fromId != null && fromId.isEmpty()))
 				|| (iso == null || (iso != null && iso.isEmpty())))
 			throw new IllegalArgumentException(
 					"A required argument is null or empty");
 
-		Map<String, String> arguments = getCommonArguments(fromId);
-		String result = new String();
+		Map<String, String> arguments = getCommonArguments(fromId, options);
 		arguments.put("iso", iso);
 
 		if (toIds != null)
 			arguments.putAll(getArgumentsForToIds(toIds));
 
-		try {
-			String query = UriUtils.BuildUriString(arguments);
-			URL uri = new URL(Constants.EntryPoint + ServiceName + query);
-			WebClient client = new WebClient();
-			result = client.downloadString(uri);
-			XmlUtils.checkForErrors(result);
-			
-		} catch (DOMException | IOException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
+		if (cache == null)
+			return retrieve(arguments, _parser);
+
+		String language = arguments.get("lang");
+		List<String> ids = new ArrayList<String>();
+		ids.add(fromId);
+		String toId = arguments.get("toid");
+		if (toId != null && !toId.isEmpty())
+			ids.addAll(Arrays.asList(toId.split(",")));
+
+		TADDateTime localTime = parseLocalTime(iso);
+		if (localTime != null) {
+			try {
+				return cache.convertTime(language, ids, localTime, options);
+			} catch (MissingTimeChangesException
+					| QueriedDateOutOfRangeException
+					| LocalTimeDoesNotExistException e) {
+				// Not covered by the cache, the service answers instead
+			}
 		}
-		
-		return ConvertedTimes.fromXml(result);
+
+		ConvertedTimes times = retrieve(arguments, _parser);
+		cache.record(language, ids, options, times);
+
+		return times;
+	}
+
+	/**
+	 * Parses a local time without a UTC offset, e.g. 2021-06-01T12:00 or
+	 * 2021-06-01T12:00:00. Returns null for anything else.
+	 */
+	static TADDateTime parseLocalTime(String iso) {
+		Matcher matcher = _localTime.matcher(iso);
+		if (!matcher.matches())
+			return null;
+
+		int second = matcher.group(6) != null ? Integer.parseInt(matcher
+				.group(6)) : 0;
+		return new TADDateTime(Integer.parseInt(matcher.group(1)),
+				Integer.parseInt(matcher.group(2)), Integer.parseInt(matcher
+						.group(3)), Integer.parseInt(matcher.group(4)),
+				Integer.parseInt(matcher.group(5)), second);
 	}
 
 	private Map<String, String> getArgumentsForToIds(List<LocationId> toIds)
@@ -267,16 +815,15 @@ public class ConvertTimeService extends BaseService {
 		return args;
 	}
 
-	private Map<String, String> getCommonArguments(String fromId) {
+	private Map<String, String> getCommonArguments(String fromId, ConvertTimeServiceOptions options) {
 		Map<String, String> args = new HashMap<String, String>(
 				AuthenticationOptions);
-		args.put("timechanges", StringUtils.BoolToNum(_includeTimeChanges));
-		args.put("tz", StringUtils.BoolToNum(_includeTimezoneInformation));
+		args.put("timechanges", StringUtils.BoolToNum(options.getIncludeTimeChanges()));
+		args.put("tz", StringUtils.BoolToNum(options.getIncludeTimezoneInformation()));
 		args.put("fromid", fromId);
-		args.put("lang", Language);
-		args.put("version", Integer.toString(Version));
-		args.put("radius", Integer.toString(_radius));
-		args.put("out", Constants.DefaultReturnFormat);
+		args.put("lang", getLanguage(options));
+		args.put("version", getVersion(options));
+		args.put("radius", Integer.toString(options.getRadius()));
 		args.put("verbosetime",
 				Integer.toString(Constants.DefaultVerboseTimeValue));
 		return args;
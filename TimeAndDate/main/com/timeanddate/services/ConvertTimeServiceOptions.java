@@ -0,0 +1,103 @@
+package com.timeanddate.services;
+
+/**
+ * Immutable options for calls to the {@link ConvertTimeService}, built with a
+ * {@link Builder}. The same options can be used by any number of concurrent
+ * calls.
+ */
+public final class ConvertTimeServiceOptions extends ServiceOptions {
+	/**
+	 * Search radius for translating coordinates (parameters fromid and toid) to
+	 * locations. Coordinates that could not be translated will yield results
+	 * for the actual geographical position.
+	 * <p>
+	 * The radius in kilometers.
+	 */
+	private final int _radius;
+
+	/**
+	 * Add a list of time changes during the year to the location object. This
+	 * listing e.g. shows changes caused by daylight savings time.
+	 * <p>
+	 * <b>true</b> if include time changes; otherwise, <b>false</b>. <b>true</b>
+	 * is default.
+	 */
+	private final boolean _includeTimeChanges;
+
+	/**
+	 * Add timezone information under the time object.
+	 * <p>
+	 * <b>true</b> if include timezone information; otherwise,
+	 * <b>false</b>.<b>true</b> is default.
+	 */
+	private final boolean _includeTimezoneInformation;
+
+	private ConvertTimeServiceOptions(Builder builder) {
+		super(builder);
+		_radius = builder._radius;
+		_includeTimeChanges = builder._includeTimeChanges;
+		_includeTimezoneInformation = builder._includeTimezoneInformation;
+	}
+
+	public int getRadius() {
+		return _radius;
+	}
+
+	public boolean getIncludeTimeChanges() {
+		return _includeTimeChanges;
+	}
+
+	public boolean getIncludeTimezoneInformation() {
+		return _includeTimezoneInformation;
+	}
+
+	/**
+	 * Creates a builder initialised with these options.
+	 */
+	public Builder toBuilder() {
+		return new Builder(this);
+	}
+
+	public static final class Builder extends ServiceOptions.Builder<Builder> {
+		private int _radius;
+		private boolean _includeTimeChanges = true;
+		private boolean _includeTimezoneInformation = true;
+
+		/**
+		 * Creates a builder with the default options of the service.
+		 */
+		public Builder() {
+		}
+
+		private Builder(ConvertTimeServiceOptions options) {
+			super(options);
+			_radius = options._radius;
+			_includeTimeChanges = options._includeTimeChanges;
+			_includeTimezoneInformation = options._includeTimezoneInformation;
+		}
+
+		public Builder setRadius(int radius) {
+			_radius = radius;
+			return this;
+		}
+
+		public Builder setIncludeTimeChanges(boolean bool) {
+			_includeTimeChanges = bool;
+			return this;
+		}
+
+		public Builder setIncludeTimezoneInformation(boolean bool) {
+			_includeTimezoneInformation = bool;
+			return this;
+		}
+
+		@Override
+		Builder self() {
+			return this;
+		}
+
+		public ConvertTimeServiceOptions build() {
+			return new ConvertTimeServiceOptions(this);
+		}
+	}
+}
@@ -1,21 +1,20 @@
 package com.timeanddate.services;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
+import com.timeanddate.services.common.ServerSideException;
 import com.timeanddate.services.common.XmlUtils;
 import com.timeanddate.services.dataTypes.places.Location;
 import com.timeanddate.services.dataTypes.time.TADTime;
@@ -47,35 +46,76 @@ public class ConvertedTimes {
 		Locations = new ArrayList<Location>();
 	}
 
-	static ConvertedTimes fromXml(String result) {
+	static ConvertedTimes fromXml(Document document) {
 		ConvertedTimes times = new ConvertedTimes();
-		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-		
-		try {
-			DocumentBuilder builder = factory.newDocumentBuilder();
-			ByteArrayInputStream stream = new ByteArrayInputStream(
-					result.getBytes(StandardCharsets.UTF_8));
-			Document document = builder.parse(stream);
-			Element root = document.getDocumentElement();
-			NodeList children = root.getChildNodes();
-			NodeList locations = root.getElementsByTagName("location");
-
-			// TODO: Replace with XPATH
-			for (Node n : XmlUtils.asList(children)) {
-				if (n.getNodeName() == "utc") {
-					Node time = n.getFirstChild();
-					times.Utc = TADTime.fromNode(time);
+		Element root = document.getDocumentElement();
+		NodeList children = root.getChildNodes();
+		NodeList locations = root.getElementsByTagName("location");
+
+		// TODO: Replace with XPATH
+		for (Node n : XmlUtils.asList(children)) {
+			if (n.getNodeName() == "utc") {
+				Node time = n.getFirstChild();
+				times.Utc = TADTime.fromNode(time);
+			}
+		}
+
+		if (locations != null)
+			for (Node location : XmlUtils.asList(locations))
+				times.Locations.add(Location.fromNode(location));
+
+		return times;
+	}
+
+	static ConvertedTimes fromXml(XMLStreamReader reader)
+			throws XMLStreamException, ServerSideException {
+		ConvertedTimes times = new ConvertedTimes();
+		String name;
+
+		while ((name = XmlUtils.nextElement(reader, "utc", "location")) != null) {
+			if (name.equals("utc")) {
+				if (XmlUtils.nextChild(reader)) {
+					times.Utc = TADTime.fromReader(reader);
+					XmlUtils.skipChildren(reader);
 				}
+			} else {
+				times.Locations.add(Location.fromReader(reader));
 			}
+		}
+
+		return times;
+	}
 
-			if (locations != null)
-				for (Node location : XmlUtils.asList(locations))
-					times.Locations.add(Location.fromNode(location));
+	static ConvertedTimes fromJson(JsonReader reader) throws IOException,
+			ServerSideException {
+		ConvertedTimes times = new ConvertedTimes();
+		String member;
 
-		} catch (ParserConfigurationException | SAXException | IOException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
+		reader.beginObject();
+		while ((member = JsonUtils.nextResponseMember(reader)) != null) {
+			switch (member) {
+			case "utc":
+				reader.beginObject();
+				while ((member = JsonUtils.nextMember(reader)) != null) {
+					if (member.equals("time"))
+						times.Utc = TADTime.fromJson(reader);
+					else
+						reader.skipValue();
+				}
+				reader.endObject();
+				break;
+			case "locations":
+				reader.beginArray();
+				while (reader.hasNext())
+					times.Locations.add(Location.fromJson(reader));
+				reader.endArray();
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
 		}
+		reader.endObject();
 
 		return times;
 	}
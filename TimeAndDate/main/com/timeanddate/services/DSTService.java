@@ -1,31 +1,25 @@
 package com.timeanddate.services;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
 import com.timeanddate.services.common.AuthenticationException;
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.ServerSideException;
 import com.timeanddate.services.common.StringUtils;
-import com.timeanddate.services.common.UriUtils;
-import com.timeanddate.services.common.WebClient;
 import com.timeanddate.services.common.XmlUtils;
 import com.timeanddate.services.dataTypes.dst.DST;
 
@@ -35,32 +29,31 @@ import com.timeanddate.services.dataTypes.dst.DST;
  *
  */
 public class DSTService extends BaseService {
-	/**
-	 * Add a list of time changes during the year to the dstentry object. This
-	 * listing e.g. shows changes caused by daylight savings time.
-	 * <p>
-	 * <b>true</b> if include time changes; otherwise, <b>false</b>.
-	 * <b>false</b> is default.
-	 */
-	private boolean _includeTimeChanges;
+	private static final IResponseParser<List<DST>> _parser = new IResponseParser<List<DST>>() {
+		@Override
+		public List<DST> fromDocument(Document document) {
+			return fromXml(document);
+		}
 
-	/**
-	 * Return only countries which actually observe DST in the queried year.
-	 * Other countries will be suppressed.
-	 * <p>
-	 * <b>true</b> if include only dst countries; otherwise, <b>false</b>.
-	 * <b>true</b> is default.
-	 */
-	private boolean _includeOnlyDstCountries;
+		@Override
+		public List<DST> fromReader(XMLStreamReader reader)
+				throws XMLStreamException, ServerSideException {
+			return fromXml(reader);
+		}
+
+		@Override
+		public List<DST> fromJsonReader(JsonReader reader)
+				throws IOException, ServerSideException {
+			return fromJson(reader);
+		}
+	};
 
 	/**
-	 * For every timezone/country, list the individual places that belong to
-	 * each record.
-	 * <p>
-	 * <b>true</b> if include places for every country; otherwise, <b>false</b>.
-	 * <b>true</b> is default.
+	 * The options used by calls that are not given options of their own. The
+	 * setters replace it as a whole, so a call never sees a half-updated
+	 * configuration.
 	 */
-	private boolean _includePlacesForEveryCountry;
+	private volatile DSTServiceOptions _options = new DSTServiceOptions.Builder().build();
 
 	/**
 	 * The dstlist service can be used to obtain data about timezones in all
@@ -82,9 +75,28 @@ public class DSTService extends BaseService {
 	public DSTService(String accessKey, String secretKey)
 			throws AuthenticationException {
 		super(accessKey, secretKey, "dstlist");
-		_includeTimeChanges = false;
-		_includePlacesForEveryCountry = true;
-		_includeOnlyDstCountries = true;
+	}
+
+	/**
+	 * Gets the options used by calls that are not given options of their own.
+	 * 
+	 * @return The options of this service.
+	 */
+	public DSTServiceOptions getOptions() {
+		return _options;
+	}
+
+	/**
+	 * Sets the options used by calls that are not given options of their own.
+	 * 
+	 * @param options
+	 *            The options of this service.
+	 */
+	public synchronized void setOptions(DSTServiceOptions options) {
+		if (options == null)
+			throw new IllegalArgumentException("Options cannot be null");
+
+		_options = options;
 	}
 
 	/**
@@ -97,7 +109,50 @@ public class DSTService extends BaseService {
 	 * 			  A required argument was not as expected
 	 */
 	public List<DST> getDaylightSavingTime() throws IllegalArgumentException, ServerSideException {
-		return retrieveDstList(null);
+		return getDaylightSavingTime(_options);
+	}
+
+	/**
+	 * Gets the all entries with daylight saving time
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param options
+	 *            The options of this call.
+	 * @return The daylight saving time.
+	 * @throws ServerSideException 
+	 * 			  The server produced an error message
+	 * @throws IllegalArgumentException 
+	 * 			  A required argument was not as expected
+	 */
+	public List<DST> getDaylightSavingTime(DSTServiceOptions options) throws IllegalArgumentException, ServerSideException {
+		if (options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		return retrieveDstList(null, options);
+	}
+
+	/**
+	 * Asynchronous version of {@link #getDaylightSavingTime()}.
+	 * 
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<DST>> getDaylightSavingTimeAsync() {
+		return async(() -> getDaylightSavingTime());
+	}
+
+	/**
+	 * Asynchronous version of {@link #getDaylightSavingTime(DSTServiceOptions)}.
+	 * 
+	 * @param options
+	 *            The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<DST>> getDaylightSavingTimeAsync(DSTServiceOptions options) {
+		return async(() -> getDaylightSavingTime(options));
 	}
 
 	/**
@@ -111,16 +166,63 @@ public class DSTService extends BaseService {
 	 * 			  A required argument was not as expected
 	 */
 	public List<DST> getDaylightSavingTime(String countryCode) throws IllegalArgumentException, ServerSideException {
+		setIncludeOnlyDstCountries(false);
+		return getDaylightSavingTime(countryCode, _options);
+	}
+
+	/**
+	 * Gets the daylight saving time by ISO3166-1-alpha-2 Country Code
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param countryCode
+	 * @param options
+	 *            The options of this call.
+	 * @return The daylight saving time.
+	 * @throws ServerSideException 
+	 * 			  The server produced an error message
+	 * @throws IllegalArgumentException 
+	 * 			  A required argument was not as expected
+	 */
+	public List<DST> getDaylightSavingTime(String countryCode, DSTServiceOptions options) throws IllegalArgumentException, ServerSideException {
+		if (options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
 		if (countryCode == null
 				|| (countryCode != null && countryCode.isEmpty()))
 			throw new IllegalArgumentException(
 					"A required argument is null or empty");
 
-		_includeOnlyDstCountries = false;
+		options = options.toBuilder().setIncludeOnlyDstCountries(false).build();
 		HashMap<String, String> args = new HashMap<String, String>();
 		args.put("country", countryCode);
 
-		return retrieveDstList(args);
+		return retrieveDstList(args, options);
+	}
+
+	/**
+	 * Asynchronous version of {@link #getDaylightSavingTime(String)}.
+	 * 
+	 * @param countryCode
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<DST>> getDaylightSavingTimeAsync(String countryCode) {
+		return async(() -> getDaylightSavingTime(countryCode));
+	}
+
+	/**
+	 * Asynchronous version of {@link #getDaylightSavingTime(String, DSTServiceOptions)}.
+	 * 
+	 * @param countryCode
+	 * @param options
+	 *            The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<DST>> getDaylightSavingTimeAsync(String countryCode, DSTServiceOptions options) {
+		return async(() -> getDaylightSavingTime(countryCode, options));
 	}
 
 	/**
@@ -135,6 +237,29 @@ public class DSTService extends BaseService {
 	 * 			  A required argument was not as expected
 	 */
 	public List<DST> getDaylightSavingTime(int year) throws IllegalArgumentException, ServerSideException {
+		return getDaylightSavingTime(year, _options);
+	}
+
+	/**
+	 * Gets the daylight saving time by year.
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param year
+	 *            Year
+	 * @param options
+	 *            The options of this call.
+	 * @return The daylight saving time.
+	 * @throws ServerSideException 
+	 * 			  The server produced an error message
+	 * @throws IllegalArgumentException 
+	 * 			  A required argument was not as expected
+	 */
+	public List<DST> getDaylightSavingTime(int year, DSTServiceOptions options) throws IllegalArgumentException, ServerSideException {
+		if (options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
 		if (year <= 0)
 			throw new IllegalArgumentException(
 					"A required argument is null or empty");
@@ -142,7 +267,33 @@ public class DSTService extends BaseService {
 		Map<String, String> args = new HashMap<String, String>();
 		args.put("year", Integer.toString(year));
 
-		return retrieveDstList(args);
+		return retrieveDstList(args, options);
+	}
+
+	/**
+	 * Asynchronous version of {@link #getDaylightSavingTime(int)}.
+	 * 
+	 * @param year
+	 *            Year
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<DST>> getDaylightSavingTimeAsync(int year) {
+		return async(() -> getDaylightSavingTime(year));
+	}
+
+	/**
+	 * Asynchronous version of {@link #getDaylightSavingTime(int, DSTServiceOptions)}.
+	 * 
+	 * @param year
+	 *            Year
+	 * @param options
+	 *            The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<DST>> getDaylightSavingTimeAsync(int year, DSTServiceOptions options) {
+		return async(() -> getDaylightSavingTime(year, options));
 	}
 
 	/**
@@ -159,98 +310,163 @@ public class DSTService extends BaseService {
 	 * 			  A required argument was not as expected
 	 */
 	public List<DST> getDaylightSavingTime(String countryCode, int year) throws ServerSideException {
+		setIncludeOnlyDstCountries(false);
+		return getDaylightSavingTime(countryCode, year, _options);
+	}
+
+	/**
+	 * Gets the daylight saving time by country and year.
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param countryCode
+	 *            ISO3166-1-alpha-2 Country Code
+	 * @param year
+	 *            Year.
+	 * @param options
+	 *            The options of this call.
+	 * @return The daylight saving time.
+	 * @throws ServerSideException 
+	 * 			  The server produced an error message
+	 * @throws IllegalArgumentException 
+	 * 			  A required argument was not as expected
+	 */
+	public List<DST> getDaylightSavingTime(String countryCode, int year, DSTServiceOptions options) throws ServerSideException {
+		if (options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
 		if ((countryCode == null || (countryCode != null && countryCode
 				.isEmpty())) && year <= 0)
 			throw new IllegalArgumentException(
 					"A required argument is null or empty");
 
-		_includeOnlyDstCountries = false;
+		options = options.toBuilder().setIncludeOnlyDstCountries(false).build();
 		Map<String, String> args = new HashMap<String, String>();
 		args.put("country", countryCode);
 		args.put("year", Integer.toString(year));
 
-		return retrieveDstList(args);
+		return retrieveDstList(args, options);
+	}
+
+	/**
+	 * Asynchronous version of {@link #getDaylightSavingTime(String, int)}.
+	 * 
+	 * @param countryCode
+	 *            ISO3166-1-alpha-2 Country Code
+	 * @param year
+	 *            Year.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<DST>> getDaylightSavingTimeAsync(String countryCode, int year) {
+		return async(() -> getDaylightSavingTime(countryCode, year));
+	}
+
+	/**
+	 * Asynchronous version of {@link #getDaylightSavingTime(String, int, DSTServiceOptions)}.
+	 * 
+	 * @param countryCode
+	 *            ISO3166-1-alpha-2 Country Code
+	 * @param year
+	 *            Year.
+	 * @param options
+	 *            The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<DST>> getDaylightSavingTimeAsync(String countryCode, int year, DSTServiceOptions options) {
+		return async(() -> getDaylightSavingTime(countryCode, year, options));
 	}
 	
-	public void setIncludePlacesForEveryCountry(boolean bool) {
-		_includePlacesForEveryCountry = bool;
+	public synchronized void setIncludePlacesForEveryCountry(boolean bool) {
+		_options = _options.toBuilder().setIncludePlacesForEveryCountry(bool).build();
 	}
 	
 	public boolean getIncludePlacesForEveryCountry() {
-		return _includePlacesForEveryCountry;
+		return _options.getIncludePlacesForEveryCountry();
 	}
 	
-	public void setIncludeOnlyDstCountries(boolean bool) {
-		_includeOnlyDstCountries = bool;
+	public synchronized void setIncludeOnlyDstCountries(boolean bool) {
+		_options = _options.toBuilder().setIncludeOnlyDstCountries(bool).build();
 	}
 	
 	public boolean getIncludeOnlyDstCountries() {
-		return _includeOnlyDstCountries;
+		return _options.getIncludeOnlyDstCountries();
 	}
 	
-	public void setIncludeTimeChanges(boolean bool) {
-		_includeTimeChanges = bool;
+	public synchronized void setIncludeTimeChanges(boolean bool) {
+		_options = _options.toBuilder().setIncludeTimeChanges(bool).build();
 	}
 	
 	public boolean getIncludeTimeChanges() {
-		return _includeTimeChanges;
+		return _options.getIncludeTimeChanges();
 	}
 
-	private List<DST> retrieveDstList(Map<String, String> args)
+	private List<DST> retrieveDstList(Map<String, String> args,
+			DSTServiceOptions options)
 			throws ServerSideException {
-		Map<String, String> arguments = getArguments();
+		Map<String, String> arguments = getArguments(options);
 		if (args != null)
 			arguments.putAll(args);
 
-		String result = new String();
-		try {
-			String query = UriUtils.BuildUriString(arguments);
-			URL uri = new URL(Constants.EntryPoint + ServiceName + query);
-			WebClient client = new WebClient();
-			result = client.downloadString(uri);
-		} catch (UnsupportedEncodingException | MalformedURLException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
-		
-		XmlUtils.checkForErrors(result);
-		return fromXml(result);
+		return retrieve(arguments, _parser);
 	}
 
-	private Map<String, String> getArguments() {
+	private Map<String, String> getArguments(DSTServiceOptions options) {
 		Map<String, String> args = new HashMap<String, String>(
 				AuthenticationOptions);
-		args.put("lang", Language);
-		args.put("timechanges", StringUtils.BoolToNum(_includeTimeChanges));
-		args.put("onlydst", StringUtils.BoolToNum(_includeOnlyDstCountries));
+		args.put("lang", getLanguage(options));
+		args.put("timechanges", StringUtils.BoolToNum(options.getIncludeTimeChanges()));
+		args.put("onlydst", StringUtils.BoolToNum(options.getIncludeOnlyDstCountries()));
 		args.put("listplaces",
-				StringUtils.BoolToNum(_includePlacesForEveryCountry));
-		args.put("version", Integer.toString(Version));
-		args.put("out", Constants.DefaultReturnFormat);
+				StringUtils.BoolToNum(options.getIncludePlacesForEveryCountry()));
+		args.put("version", getVersion(options));
 		args.put("verbosetime",
 				Integer.toString(Constants.DefaultVerboseTimeValue));
 
 		return args;
 	}
 
-	private static List<DST> fromXml(String result) {
+	private static List<DST> fromXml(Document document) {
 		List<DST> list = new ArrayList<DST>();
-		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-		
-		try {
-			DocumentBuilder builder = factory.newDocumentBuilder();
-			ByteArrayInputStream stream = new ByteArrayInputStream(
-					result.getBytes(StandardCharsets.UTF_8));
-			Document document = builder.parse(stream);
-			Element root = document.getDocumentElement();
-			NodeList dstlist = root.getElementsByTagName("dstentry");
-
-			for (Node node : XmlUtils.asList(dstlist))
-				list.add(DST.fromNode(node));
-
-		} catch (ParserConfigurationException | SAXException | IOException e) {
-			e.printStackTrace();
+		Element root = document.getDocumentElement();
+		NodeList dstlist = root.getElementsByTagName("dstentry");
+
+		for (Node node : XmlUtils.asList(dstlist))
+			list.add(DST.fromNode(node));
+
+		return list;
+	}
+
+	private static List<DST> fromXml(XMLStreamReader reader)
+			throws XMLStreamException, ServerSideException {
+		List<DST> list = new ArrayList<DST>();
+
+		while (XmlUtils.nextElement(reader, "dstentry") != null) {
+			list.add(DST.fromReader(reader));
+		}
+
+		return list;
+	}
+
+	private static List<DST> fromJson(JsonReader reader)
+			throws IOException, ServerSideException {
+		List<DST> list = new ArrayList<DST>();
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextResponseMember(reader)) != null) {
+			if (member.equals("dstlist")) {
+				reader.beginArray();
+				while (reader.hasNext())
+					list.add(DST.fromJson(reader));
+				reader.endArray();
+			} else {
+				reader.skipValue();
+			}
 		}
+		reader.endObject();
 
 		return list;
 	}
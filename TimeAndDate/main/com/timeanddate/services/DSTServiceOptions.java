@@ -0,0 +1,104 @@
+package com.timeanddate.services;
+
+/**
+ * Immutable options for calls to the {@link DSTService}, built with a
+ * {@link Builder}. The same options can be used by any number of concurrent
+ * calls.
+ */
+public final class DSTServiceOptions extends ServiceOptions {
+	/**
+	 * Add a list of time changes during the year to the dstentry object. This
+	 * listing e.g. shows changes caused by daylight savings time.
+	 * <p>
+	 * <b>true</b> if include time changes; otherwise, <b>false</b>.
+	 * <b>false</b> is default.
+	 */
+	private final boolean _includeTimeChanges;
+
+	/**
+	 * Return only countries which actually observe DST in the queried year.
+	 * Other countries will be suppressed.
+	 * <p>
+	 * <b>true</b> if include only dst countries; otherwise, <b>false</b>.
+	 * <b>true</b> is default.
+	 */
+	private final boolean _includeOnlyDstCountries;
+
+	/**
+	 * For every timezone/country, list the individual places that belong to
+	 * each record.
+	 * <p>
+	 * <b>true</b> if include places for every country; otherwise, <b>false</b>.
+	 * <b>true</b> is default.
+	 */
+	private final boolean _includePlacesForEveryCountry;
+
+	private DSTServiceOptions(Builder builder) {
+		super(builder);
+		_includeTimeChanges = builder._includeTimeChanges;
+		_includeOnlyDstCountries = builder._includeOnlyDstCountries;
+		_includePlacesForEveryCountry = builder._includePlacesForEveryCountry;
+	}
+
+	public boolean getIncludeTimeChanges() {
+		return _includeTimeChanges;
+	}
+
+	public boolean getIncludeOnlyDstCountries() {
+		return _includeOnlyDstCountries;
+	}
+
+	public boolean getIncludePlacesForEveryCountry() {
+		return _includePlacesForEveryCountry;
+	}
+
+	/**
+	 * Creates a builder initialised with these options.
+	 */
+	public Builder toBuilder() {
+		return new Builder(this);
+	}
+
+	public static final class Builder extends ServiceOptions.Builder<Builder> {
+		private boolean _includeTimeChanges = false;
+		private boolean _includeOnlyDstCountries = true;
+		private boolean _includePlacesForEveryCountry = true;
+
+		/**
+		 * Creates a builder with the default options of the service.
+		 */
+		public Builder() {
+		}
+
+		private Builder(DSTServiceOptions options) {
+			super(options);
+			_includeTimeChanges = options._includeTimeChanges;
+			_includeOnlyDstCountries = options._includeOnlyDstCountries;
+			_includePlacesForEveryCountry = options._includePlacesForEveryCountry;
+		}
+
+		public Builder setIncludeTimeChanges(boolean bool) {
+			_includeTimeChanges = bool;
+			return this;
+		}
+
+		public Builder setIncludeOnlyDstCountries(boolean bool) {
+			_includeOnlyDstCountries = bool;
+			return this;
+		}
+
+		public Builder setIncludePlacesForEveryCountry(boolean bool) {
+			_includePlacesForEveryCountry = bool;
+			return this;
+		}
+
+		@Override
+		Builder self() {
+			return this;
+		}
+
+		public DSTServiceOptions build() {
+			return new DSTServiceOptions(this);
+		}
+	}
+}
@@ -1,18 +1,20 @@
 package com.timeanddate.services;
 
 import java.io.IOException;
-import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
-import org.w3c.dom.DOMException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.w3c.dom.Document;
 
 import com.timeanddate.services.common.AuthenticationException;
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.ServerSideException;
 import com.timeanddate.services.common.StringUtils;
-import com.timeanddate.services.common.UriUtils;
-import com.timeanddate.services.common.WebClient;
-import com.timeanddate.services.common.XmlUtils;
 import com.timeanddate.services.dataTypes.places.LocationId;
 
 /**
@@ -21,40 +23,31 @@ import com.timeanddate.services.dataTypes.places.LocationId;
  *
  */
 public class DialCodeService extends BaseService {
+	private static final IResponseParser<DialCodes> _parser = new IResponseParser<DialCodes>() {
+		@Override
+		public DialCodes fromDocument(Document document) {
+			return DialCodes.fromXml(document);
+		}
 
-	/**
-	 * Return detailed information about the supplied locations.
-	 * <p>
-	 * <b>true</b> if include detailed information; otherwise, <b>false</b>.
-	 * <b>true</b> is default.
-	 */
-	private boolean _includeLocations;
-
-	/**
-	 * Return coordinates for the Geography object.
-	 * <p>
-	 * <b>true</b> if include coordinates; otherwise, <b>false</b>. <b>true</b>
-	 * is default.
-	 */
-	private boolean _includeCoordinates;
+		@Override
+		public DialCodes fromReader(XMLStreamReader reader)
+				throws XMLStreamException, ServerSideException {
+			return DialCodes.fromXml(reader);
+		}
 
-	/**
-	 * Adds current time under the location object.
-	 * <p>
-	 * <b>true</b> if include current time; otherwise, <b>false</b>. <b>true</b>
-	 * is default.
-	 */
-	private boolean _includeCurrentTime;
+		@Override
+		public DialCodes fromJsonReader(JsonReader reader)
+				throws IOException, ServerSideException {
+			return DialCodes.fromJson(reader);
+		}
+	};
 
 	/**
-	 * Add timezone information under the time object.
-	 * <p>
-	 * <b>true</b> if include timezone information; otherwise, <b>false</b>.
-	 * <b>true</b> is default.
+	 * The options used by calls that are not given options of their own. The
+	 * setters replace it as a whole, so a call never sees a half-updated
+	 * configuration.
 	 */
-	private boolean _includeTimezoneInformation;
-
-	private int _number = -1;
+	private volatile DialCodeServiceOptions _options = new DialCodeServiceOptions.Builder().build();
 
 	/**
 	 * The dialcode service can be used determine which phone number shall be
@@ -70,10 +63,28 @@ public class DialCodeService extends BaseService {
 	public DialCodeService(String accessKey, String secretKey)
 			throws AuthenticationException {
 		super(accessKey, secretKey, "dialcode");
-		_includeCurrentTime = true;
-		_includeLocations = true;
-		_includeCoordinates = true;
-		_includeTimezoneInformation = true;
+	}
+
+	/**
+	 * Gets the options used by calls that are not given options of their own.
+	 * 
+	 * @return The options of this service.
+	 */
+	public DialCodeServiceOptions getOptions() {
+		return _options;
+	}
+
+	/**
+	 * Sets the options used by calls that are not given options of their own.
+	 * 
+	 * @param options
+	 *            The options of this service.
+	 */
+	public synchronized void setOptions(DialCodeServiceOptions options) {
+		if (options == null)
+			throw new IllegalArgumentException("Options cannot be null");
+
+		_options = options;
 	}
 
 	/**
@@ -88,6 +99,29 @@ public class DialCodeService extends BaseService {
 	 * 			  A required argument was not as expected
 	 */
 	public DialCodes getDialCode(LocationId toLocation) throws IllegalArgumentException, ServerSideException {
+		return getDialCode(toLocation, _options);
+	}
+
+	/**
+	 * Gets the dial code for the location you want to call
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param toLocation
+	 *            To location.
+	 * @param options
+	 *            The options of this call.
+	 * @return The dial code.
+	 * @throws ServerSideException 
+	 * 			  The server produced an error message
+	 * @throws IllegalArgumentException 
+	 * 			  A required argument was not as expected
+	 */
+	public DialCodes getDialCode(LocationId toLocation, DialCodeServiceOptions options) throws IllegalArgumentException, ServerSideException {
+		if (options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
 		if (toLocation == null)
 			throw new IllegalArgumentException(
 					"A required argument is null or empty");
@@ -97,12 +131,39 @@ public class DialCodeService extends BaseService {
 			throw new IllegalArgumentException(
 					"A required argument is null or empty");
 
-		Map<String, String> opts = getOptionalArguments(AuthenticationOptions);
+		Map<String, String> opts = getOptionalArguments(AuthenticationOptions,
+				-1, options);
 		opts.put("toid", id);
 
 		return retrieveDialCode(opts);
 	}
 
+	/**
+	 * Asynchronous version of {@link #getDialCode(LocationId)}.
+	 * 
+	 * @param toLocation
+	 *            To location.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<DialCodes> getDialCodeAsync(LocationId toLocation) {
+		return async(() -> getDialCode(toLocation));
+	}
+
+	/**
+	 * Asynchronous version of {@link #getDialCode(LocationId, DialCodeServiceOptions)}.
+	 * 
+	 * @param toLocation
+	 *            To location.
+	 * @param options
+	 *            The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<DialCodes> getDialCodeAsync(LocationId toLocation, DialCodeServiceOptions options) {
+		return async(() -> getDialCode(toLocation, options));
+	}
+
 	/**
 	 * Gets the dial code for the location you want to call, from where
 	 * 
@@ -118,6 +179,108 @@ public class DialCodeService extends BaseService {
 	 */
 	public DialCodes getDialCode(LocationId toLocation, LocationId fromLocation) 
 			throws IllegalArgumentException, ServerSideException {
+		return getDialCode(toLocation, fromLocation, _options);
+	}
+
+	/**
+	 * Gets the dial code for the location you want to call, from where
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param toLocation
+	 *            To location.
+	 * @param fromLocation
+	 *            From location.
+	 * @param options
+	 *            The options of this call.
+	 * @return The dial code.
+	 * @throws ServerSideException 
+	 * 			  The server produced an error message
+	 * @throws IllegalArgumentException 
+	 * 			  A required argument was not as expected
+	 */
+	public DialCodes getDialCode(LocationId toLocation, LocationId fromLocation, DialCodeServiceOptions options) 
+			throws IllegalArgumentException, ServerSideException {
+		return getDialCode(toLocation, fromLocation, -1, options);
+	}
+
+	/**
+	 * Asynchronous version of {@link #getDialCode(LocationId, LocationId)}.
+	 * 
+	 * @param toLocation
+	 *            To location.
+	 * @param fromLocation
+	 *            From location.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<DialCodes> getDialCodeAsync(LocationId toLocation, LocationId fromLocation) {
+		return async(() -> getDialCode(toLocation, fromLocation));
+	}
+
+	/**
+	 * Asynchronous version of {@link #getDialCode(LocationId, LocationId, DialCodeServiceOptions)}.
+	 * 
+	 * @param toLocation
+	 *            To location.
+	 * @param fromLocation
+	 *            From location.
+	 * @param options
+	 *            The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<DialCodes> getDialCodeAsync(LocationId toLocation, LocationId fromLocation, DialCodeServiceOptions options) {
+		return async(() -> getDialCode(toLocation, fromLocation, options));
+	}
+
+	/**
+	 * Gets the dial code for the location you want to call, from where with
+	 * number
+	 * 
+	 * @param toLocation
+	 *            To location.
+	 * @param fromLocation
+	 *            From location.
+	 * @param number
+	 *            Number.
+	 * @return The dial code.
+	 * @throws ServerSideException 
+	 * 			  The server produced an error message
+	 * @throws IllegalArgumentException 
+	 * 			  A required argument was not as expected
+	 */
+	public DialCodes getDialCode(LocationId toLocation,
+			LocationId fromLocation, int number) throws IllegalArgumentException, ServerSideException {
+		return getDialCode(toLocation, fromLocation, number, _options);
+	}
+
+	/**
+	 * Gets the dial code for the location you want to call, from where with
+	 * number
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param toLocation
+	 *            To location.
+	 * @param fromLocation
+	 *            From location.
+	 * @param number
+	 *            Number.
+	 * @param options
+	 *            The options of this call.
+	 * @return The dial code.
+	 * @throws ServerSideException 
+	 * 			  The server produced an error message
+	 * @throws IllegalArgumentException 
+	 * 			  A required argument was not as expected
+	 */
+	public DialCodes getDialCode(LocationId toLocation,
+			LocationId fromLocation, int number, DialCodeServiceOptions options) throws IllegalArgumentException, ServerSideException {
+		if (options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
 		if (toLocation == null || fromLocation == null)
 			throw new IllegalArgumentException(
 					"A required argument is null or empty");
@@ -128,7 +291,8 @@ public class DialCodeService extends BaseService {
 			throw new IllegalArgumentException(
 					"A required argument is null or empty");
 
-		Map<String, String> opts = getOptionalArguments(AuthenticationOptions);
+		Map<String, String> opts = getOptionalArguments(AuthenticationOptions,
+				number, options);
 		opts.put("toid", toId);
 		opts.put("fromid", fromId);
 
@@ -136,8 +300,7 @@ public class DialCodeService extends BaseService {
 	}
 
 	/**
-	 * Gets the dial code for the location you want to call, from where with
-	 * number
+	 * Asynchronous version of {@link #getDialCode(LocationId, LocationId, int)}.
 	 * 
 	 * @param toLocation
 	 *            To location.
@@ -145,83 +308,82 @@ public class DialCodeService extends BaseService {
 	 *            From location.
 	 * @param number
 	 *            Number.
-	 * @return The dial code.
-	 * @throws ServerSideException 
-	 * 			  The server produced an error message
-	 * @throws IllegalArgumentException 
-	 * 			  A required argument was not as expected
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
 	 */
-	public DialCodes getDialCode(LocationId toLocation,
-			LocationId fromLocation, int number) throws IllegalArgumentException, ServerSideException {
-		_number = number;
-		return getDialCode(toLocation, fromLocation);
+	public CompletableFuture<DialCodes> getDialCodeAsync(LocationId toLocation, LocationId fromLocation, int number) {
+		return async(() -> getDialCode(toLocation, fromLocation, number));
+	}
+
+	/**
+	 * Asynchronous version of {@link #getDialCode(LocationId, LocationId, int, DialCodeServiceOptions)}.
+	 * 
+	 * @param toLocation
+	 *            To location.
+	 * @param fromLocation
+	 *            From location.
+	 * @param number
+	 *            Number.
+	 * @param options
+	 *            The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<DialCodes> getDialCodeAsync(LocationId toLocation, LocationId fromLocation, int number, DialCodeServiceOptions options) {
+		return async(() -> getDialCode(toLocation, fromLocation, number, options));
 	}
 	
-	public void setIncludeCurrentTime(boolean bool) {
-		_includeCurrentTime = bool;
+	public synchronized void setIncludeCurrentTime(boolean bool) {
+		_options = _options.toBuilder().setIncludeCurrentTime(bool).build();
 	}
 	
 	public boolean getIncludeCurrentTime() {
-		return _includeCurrentTime;
+		return _options.getIncludeCurrentTime();
 	}
 	
-	public void setIncludeLocations(boolean bool) {
-		_includeLocations = bool;
+	public synchronized void setIncludeLocations(boolean bool) {
+		_options = _options.toBuilder().setIncludeLocations(bool).build();
 	}
 	
 	public boolean getIncludeLocations() {
-		return _includeLocations;
+		return _options.getIncludeLocations();
 	}
 	
-	public void setIncludeCoordinates(boolean bool) {
-		_includeCoordinates = bool;
+	public synchronized void setIncludeCoordinates(boolean bool) {
+		_options = _options.toBuilder().setIncludeCoordinates(bool).build();
 	}
 	
 	public boolean getIncludeCoordinates() {
-		return _includeCoordinates;
+		return _options.getIncludeCoordinates();
 	}
 	
-	public void setIncludeTimezoneInformation(boolean bool) {
-		_includeTimezoneInformation = bool;
+	public synchronized void setIncludeTimezoneInformation(boolean bool) {
+		_options = _options.toBuilder().setIncludeTimezoneInformation(bool).build();
 	}
 	
 	public boolean getIncludeTimezoneInformation() {
-		return _includeTimezoneInformation;
+		return _options.getIncludeTimezoneInformation();
 	}
 
 	private DialCodes retrieveDialCode(Map<String, String> args) throws ServerSideException {
-		String result = new String();
-		try {
-			String query = UriUtils.BuildUriString(args);
-			URL uri = new URL(Constants.EntryPoint + ServiceName + query);
-
-			WebClient client = new WebClient();
-			result = client.downloadString(uri);
-			
-		} catch (DOMException | IOException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
-		
-		XmlUtils.checkForErrors(result);
-		return DialCodes.fromXml(result);
+		return retrieve(args, _parser);
 	}
 
 	private Map<String, String> getOptionalArguments(
-			Map<String, String> existingArguments) {
+			Map<String, String> existingArguments, int number,
+			DialCodeServiceOptions options) {
 		Map<String, String> args = new HashMap<String, String>(
 				existingArguments);
 
-		args.put("locinfo", StringUtils.BoolToNum(_includeLocations));
-		args.put("geo", StringUtils.BoolToNum(_includeCoordinates));
-		args.put("time", StringUtils.BoolToNum(_includeCurrentTime));
-		args.put("tz", StringUtils.BoolToNum(_includeTimezoneInformation));
-		args.put("out", Constants.DefaultReturnFormat);
+		args.put("locinfo", StringUtils.BoolToNum(options.getIncludeLocations()));
+		args.put("geo", StringUtils.BoolToNum(options.getIncludeCoordinates()));
+		args.put("time", StringUtils.BoolToNum(options.getIncludeCurrentTime()));
+		args.put("tz", StringUtils.BoolToNum(options.getIncludeTimezoneInformation()));
 		args.put("verbosetime",
 				Integer.toString(Constants.DefaultVerboseTimeValue));
 
-		if (_number >= 0)
-			args.put("number", Integer.toString(_number));
+		if (number >= 0)
+			args.put("number", Integer.toString(number));
 
 		return args;
 	}	
@@ -0,0 +1,121 @@
+package com.timeanddate.services;
+
+/**
+ * Immutable options for calls to the {@link DialCodeService}, built with a
+ * {@link Builder}. The same options can be used by any number of concurrent
+ * calls.
+ */
+public final class DialCodeServiceOptions extends ServiceOptions {
+	/**
+	 * Return detailed information about the supplied locations.
+	 * <p>
+	 * <b>true</b> if include detailed information; otherwise, <b>false</b>.
+	 * <b>true</b> is default.
+	 */
+	private final boolean _includeLocations;
+
+	/**
+	 * Return coordinates for the Geography object.
+	 * <p>
+	 * <b>true</b> if include coordinates; otherwise, <b>false</b>. <b>true</b>
+	 * is default.
+	 */
+	private final boolean _includeCoordinates;
+
+	/**
+	 * Adds current time under the location object.
+	 * <p>
+	 * <b>true</b> if include current time; otherwise, <b>false</b>. <b>true</b>
+	 * is default.
+	 */
+	private final boolean _includeCurrentTime;
+
+	/**
+	 * Add timezone information under the time object.
+	 * <p>
+	 * <b>true</b> if include timezone information; otherwise, <b>false</b>.
+	 * <b>true</b> is default.
+	 */
+	private final boolean _includeTimezoneInformation;
+
+	private DialCodeServiceOptions(Builder builder) {
+		super(builder);
+		_includeLocations = builder._includeLocations;
+		_includeCoordinates = builder._includeCoordinates;
+		_includeCurrentTime = builder._includeCurrentTime;
+		_includeTimezoneInformation = builder._includeTimezoneInformation;
+	}
+
+	public boolean getIncludeLocations() {
+		return _includeLocations;
+	}
+
+	public boolean getIncludeCoordinates() {
+		return _includeCoordinates;
+	}
+
+	public boolean getIncludeCurrentTime() {
+		return _includeCurrentTime;
+	}
+
+	public boolean getIncludeTimezoneInformation() {
+		return _includeTimezoneInformation;
+	}
+
+	/**
+	 * Creates a builder initialised with these options.
+	 */
+	public Builder toBuilder() {
+		return new Builder(this);
+	}
+
+	public static final class Builder extends ServiceOptions.Builder<Builder> {
+		private boolean _includeLocations = true;
+		private boolean _includeCoordinates = true;
+		private boolean _includeCurrentTime = true;
+		private boolean _includeTimezoneInformation = true;
+
+		/**
+		 * Creates a builder with the default options of the service.
+		 */
+		public Builder() {
+		}
+
+		private Builder(DialCodeServiceOptions options) {
+			super(options);
+			_includeLocations = options._includeLocations;
+			_includeCoordinates = options._includeCoordinates;
+			_includeCurrentTime = options._includeCurrentTime;
+			_includeTimezoneInformation = options._includeTimezoneInformation;
+		}
+
+		public Builder setIncludeLocations(boolean bool) {
+			_includeLocations = bool;
+			return this;
+		}
+
+		public Builder setIncludeCoordinates(boolean bool) {
+			_includeCoordinates = bool;
+			return this;
+		}
+
+		public Builder setIncludeCurrentTime(boolean bool) {
+			_includeCurrentTime = bool;
+			return this;
+		}
+
+		public Builder setIncludeTimezoneInformation(boolean bool) {
+			_includeTimezoneInformation = bool;
+			return this;
+		}
+
+		@Override
+		Builder self() {
+			return this;
+		}
+
+		public DialCodeServiceOptions build() {
+			return new DialCodeServiceOptions(this);
+		}
+	}
+}
@@ -1,21 +1,20 @@
 package com.timeanddate.services;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
+import com.timeanddate.services.common.ServerSideException;
 import com.timeanddate.services.common.MalformedXMLException;
 import com.timeanddate.services.common.XmlUtils;
 import com.timeanddate.services.dataTypes.places.Location;
@@ -38,19 +37,13 @@ public class DialCodes {
 		Locations = new ArrayList<Location>();
 	}
 
-	static DialCodes fromXml(String result) {
+	static DialCodes fromXml(Document document) {
 		DialCodes codes = new DialCodes();
-		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-		
-		try {
-			DocumentBuilder builder = factory.newDocumentBuilder();
-			ByteArrayInputStream stream = new ByteArrayInputStream(
-					result.getBytes(StandardCharsets.UTF_8));
-			Document document = builder.parse(stream);
-			Element root = document.getDocumentElement();
-			NodeList children = root.getChildNodes();
-			NodeList locations = root.getElementsByTagName("location");
+		Element root = document.getDocumentElement();
+		NodeList children = root.getChildNodes();
+		NodeList locations = root.getElementsByTagName("location");
 
+		try {
 			for (Node child : XmlUtils.asList(children)) {
 				switch (child.getNodeName()) {
 				case "composition":
@@ -62,14 +55,93 @@ public class DialCodes {
 					break;
 				}
 			}
-
-			if (locations != null)
-				for (Node location : XmlUtils.asList(locations))
-					codes.Locations.add(Location.fromNode(location));
-		} catch (ParserConfigurationException | SAXException | IOException | MalformedXMLException e) {
+		} catch (MalformedXMLException e) {
 			// TODO Auto-generated catch block
 			e.printStackTrace();
 		}
+
+		if (locations != null)
+			for (Node location : XmlUtils.asList(locations))
+				codes.Locations.add(Location.fromNode(location));
+
+		return codes;
+	}
+
+	static DialCodes fromXml(XMLStreamReader reader)
+			throws XMLStreamException, ServerSideException {
+		DialCodes codes = new DialCodes();
+		boolean malformed = false;
+		String name;
+
+		// As in the DOM path, a malformed composition discards the rest of
+		// the compositions and the number, but not the locations.
+		while ((name = XmlUtils.nextElement(reader, "composition", "number",
+				"location")) != null) {
+			switch (name) {
+			case "composition":
+				if (malformed) {
+					XmlUtils.skipElement(reader);
+					break;
+				}
+
+				try {
+					while (XmlUtils.nextChild(reader))
+						codes.Compositions.add(Composition.fromReader(reader));
+				} catch (MalformedXMLException e) {
+					e.printStackTrace();
+					malformed = true;
+					XmlUtils.skipChildren(reader);
+				}
+				break;
+			case "number":
+				String number = XmlUtils.readText(reader);
+				if (!malformed)
+					codes.Number = number;
+				break;
+			case "location":
+				codes.Locations.add(Location.fromReader(reader));
+				break;
+			}
+		}
+
+		return codes;
+	}
+
+	static DialCodes fromJson(JsonReader reader) throws IOException,
+			ServerSideException {
+		DialCodes codes = new DialCodes();
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextResponseMember(reader)) != null) {
+			switch (member) {
+			case "composition":
+				reader.beginArray();
+				while (reader.hasNext()) {
+					try {
+						codes.Compositions.add(Composition.fromJson(reader));
+					} catch (MalformedXMLException e) {
+						e.printStackTrace();
+					}
+				}
+				reader.endArray();
+				break;
+			case "number":
+				codes.Number = reader.nextString();
+				break;
+			case "locations":
+				reader.beginArray();
+				while (reader.hasNext())
+					codes.Locations.add(Location.fromJson(reader));
+				reader.endArray();
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+
 		return codes;
 	}
 }
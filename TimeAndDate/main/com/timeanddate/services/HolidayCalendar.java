@@ -0,0 +1,578 @@
+package com.timeanddate.services;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.timeanddate.services.common.QueriedDateOutOfRangeException;
+import com.timeanddate.services.common.ServerSideException;
+import com.timeanddate.services.dataTypes.holidays.Holiday;
+import com.timeanddate.services.dataTypes.holidays.HolidayState;
+import com.timeanddate.services.dataTypes.holidays.HolidayType;
+import com.timeanddate.services.dataTypes.time.TADDateTime;
+import com.timeanddate.services.dataTypes.time.TADTime;
+
+/**
+ * Answers whether dates are holidays without a request. The holidays of a
+ * country are retrieved once for a range of years through the
+ * {@link HolidaysService}, one request per year and holiday type, and kept as
+ * bit sets with one bit per day: one for each type for the whole country, and
+ * one for each type and state for holidays only observed in some states.
+ * Looking up a date takes constant time, and counting the holidays in a range
+ * takes one step per 64 days. Neither allocates. The holidays themselves are
+ * kept as well, for the {@link BusinessDayEngine}.
+ * <p>
+ * The tables of loaded countries do not change, so lookups can run on any
+ * number of threads while other countries are loaded.
+ *
+ * @author Cato Auestad {@literal <cato@timeanddate.com>}
+ *
+ */
+public class HolidayCalendar {
+	private static final HolidayType[] Types = HolidayType.values();
+
+	private final HolidaysService _service;
+	private final int _fromYear;
+	private final int _toYear;
+	private final EnumSet<HolidayType> _types;
+	private final long _firstDay;
+	private final long _endDay;
+	private final long _base;
+	private final int _end;
+	private final Map<String, HolidayTable> _tables = new ConcurrentHashMap<String, HolidayTable>();
+
+	/**
+	 * Creates a calendar of the holiday types of the service, or of the
+	 * default holidays if the service has none set.
+	 *
+	 * @param service
+	 *            The service the holidays are retrieved with.
+	 * @param fromYear
+	 *            The first year covered.
+	 * @param toYear
+	 *            The last year covered.
+	 */
+	public HolidayCalendar(HolidaysService service, int fromYear, int toYear) {
+		this(service, fromYear, toYear, service != null ? service
+				.getHolidayTypes() : null);
+	}
+
+	/**
+	 * @param service
+	 *            The service the holidays are retrieved with.
+	 * @param fromYear
+	 *            The first year covered.
+	 * @param toYear
+	 *            The last year covered.
+	 * @param types
+	 *            The holiday types that can be looked up.
+	 */
+	public HolidayCalendar(HolidaysService service, int fromYear, int toYear,
+			EnumSet<HolidayType> types) {
+		if (service == null || fromYear > toYear)
+			throw new IllegalArgumentException(
+					"A required argument was not as expected");
+
+		_service = service;
+		_fromYear = fromYear;
+		_toYear = toYear;
+		_types = types != null && !types.isEmpty() ? EnumSet.copyOf(types)
+				: EnumSet.of(HolidayType.DEFAULT);
+		_firstDay = LocalDate.of(fromYear, 1, 1).toEpochDay();
+		_endDay = LocalDate.of(toYear + 1, 1, 1).toEpochDay();
+		// Bit 0 of every word is a day divisible by 64 since the epoch, so
+		// words line up with those of other bit sets over days
+		_base = Math.floorDiv(_firstDay, 64) * 64;
+		_end = (int) (_endDay - _base);
+	}
+
+	public int getFromYear() {
+		return _fromYear;
+	}
+
+	public int getToYear() {
+		return _toYear;
+	}
+
+	public EnumSet<HolidayType> getHolidayTypes() {
+		return EnumSet.copyOf(_types);
+	}
+
+	/**
+	 * Retrieves the holidays of a country for every covered year and type,
+	 * replacing the table of the country if it was loaded before.
+	 *
+	 * @param country
+	 *            ISO 3166-1 alpha-2 country code, e.g. {@code no}.
+	 * @throws ServerSideException
+	 *             The server produced an error message
+	 * @throws IllegalArgumentException
+	 *             A required argument was not as expected
+	 */
+	public void load(String country) throws ServerSideException {
+		String code = getCode(country);
+		_tables.put(code, retrieveTable(code));
+	}
+
+	/**
+	 * Retrieves the holidays of several countries for every covered year and
+	 * type.
+	 *
+	 * @param countries
+	 *            ISO 3166-1 alpha-2 country codes.
+	 * @throws ServerSideException
+	 *             The server produced an error message
+	 * @throws IllegalArgumentException
+	 *             A required argument was not as expected
+	 */
+	public void load(Collection<String> countries) throws ServerSideException {
+		if (countries == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		for (String country : countries)
+			load(country);
+	}
+
+	/**
+	 * Whether the holidays of a country have been loaded.
+	 *
+	 * @param country
+	 *            ISO 3166-1 alpha-2 country code.
+	 * @return <b>true</b> if the holidays of the country can be looked up
+	 *         locally.
+	 */
+	public boolean isLoaded(String country) {
+		return _tables.containsKey(getCode(country));
+	}
+
+	/**
+	 * Whether a date is a holiday of any loaded type in the whole country.
+	 *
+	 * @param country
+	 *            ISO 3166-1 alpha-2 country code.
+	 * @param date
+	 *            The date.
+	 * @return <b>true</b> if the date is a holiday.
+	 * @throws QueriedDateOutOfRangeException
+	 *             The date is outside the covered years
+	 */
+	public boolean isHoliday(String country, LocalDate date)
+			throws QueriedDateOutOfRangeException {
+		return isHoliday(country, null, date, _types);
+	}
+
+	/**
+	 * Whether a date is a holiday of one of the given types in the whole
+	 * country or in a state.
+	 *
+	 * @param country
+	 *            ISO 3166-1 alpha-2 country code.
+	 * @param state
+	 *            The abbreviation of the state as given by
+	 *            {@link HolidayState#getAbbrevation()}, e.g. {@code DC}, or
+	 *            its name, or null for holidays of the whole country only.
+	 * @param date
+	 *            The date.
+	 * @param types
+	 *            The holiday types, all of them loaded.
+	 * @return <b>true</b> if the date is a holiday.
+	 * @throws QueriedDateOutOfRangeException
+	 *             The date is outside the covered years
+	 */
+	public boolean isHoliday(String country, String state, LocalDate date,
+			EnumSet<HolidayType> types) throws QueriedDateOutOfRangeException {
+		if (date == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		return isHoliday(country, state, date.toEpochDay(), types);
+	}
+
+	/**
+	 * Whether a day is a holiday of one of the given types in the whole
+	 * country or in a state.
+	 *
+	 * @param country
+	 *            ISO 3166-1 alpha-2 country code.
+	 * @param state
+	 *            The abbreviation or name of the state, or null for holidays
+	 *            of the whole country only.
+	 * @param epochDay
+	 *            The day, counted from 1970-01-01 as by
+	 *            {@link LocalDate#toEpochDay()}.
+	 * @param types
+	 *            The holiday types, all of them loaded.
+	 * @return <b>true</b> if the day is a holiday.
+	 * @throws QueriedDateOutOfRangeException
+	 *             The day is outside the covered years
+	 */
+	public boolean isHoliday(String country, String state, long epochDay,
+			EnumSet<HolidayType> types) throws QueriedDateOutOfRangeException {
+		HolidayTable table = getTable(country);
+		long[][] stateBits = table.getState(state);
+		checkTypes(types);
+		int day = toDay(epochDay, false);
+
+		return (table.word(stateBits, day >>> 6, types) & 1L << day) != 0;
+	}
+
+	/**
+	 * Counts the holidays of one of the given types in the whole country or
+	 * in a state from a date up to, but not including, another.
+	 *
+	 * @param country
+	 *            ISO 3166-1 alpha-2 country code.
+	 * @param state
+	 *            The abbreviation or name of the state, or null for holidays
+	 *            of the whole country only.
+	 * @param from
+	 *            The first date.
+	 * @param to
+	 *            The date after the last date.
+	 * @param types
+	 *            The holiday types, all of them loaded.
+	 * @return The number of dates that are holidays.
+	 * @throws QueriedDateOutOfRangeException
+	 *             The range is outside the covered years
+	 */
+	public int countHolidays(String country, String state, LocalDate from,
+			LocalDate to, EnumSet<HolidayType> types)
+			throws QueriedDateOutOfRangeException {
+		if (from == null || to == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		HolidayTable table = getTable(country);
+		long[][] stateBits = table.getState(state);
+		checkTypes(types);
+		int start = toDay(from.toEpochDay(), false);
+		int end = toDay(to.toEpochDay(), true);
+
+		int count = 0;
+		for (int i = start >>> 6; i << 6 < end; i++) {
+			long bits = table.word(stateBits, i, types) & mask(i, start, end);
+			count += Long.bitCount(bits);
+		}
+
+		return count;
+	}
+
+	/**
+	 * Finds the first holiday of one of the given types in the whole country
+	 * or in a state on or after a date.
+	 *
+	 * @param country
+	 *            ISO 3166-1 alpha-2 country code.
+	 * @param state
+	 *            The abbreviation or name of the state, or null for holidays
+	 *            of the whole country only.
+	 * @param from
+	 *            The first date.
+	 * @param types
+	 *            The holiday types, all of them loaded.
+	 * @return The date of the holiday, or null if there is none in the
+	 *         covered years.
+	 * @throws QueriedDateOutOfRangeException
+	 *             The date is outside the covered years
+	 */
+	public LocalDate nextHoliday(String country, String state, LocalDate from,
+			EnumSet<HolidayType> types) throws QueriedDateOutOfRangeException {
+		if (from == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		HolidayTable table = getTable(country);
+		long[][] stateBits = table.getState(state);
+		checkTypes(types);
+		int start = toDay(from.toEpochDay(), false);
+
+		for (int i = start >>> 6; i << 6 < _end; i++) {
+			long bits = table.word(stateBits, i, types) & mask(i, start, _end);
+			if (bits != 0)
+				return LocalDate.ofEpochDay(_base + (i << 6)
+						+ Long.numberOfTrailingZeros(bits));
+		}
+
+		return null;
+	}
+
+	/**
+	 * Gets the table of a country, or null if it has not been loaded.
+	 */
+	HolidayTable findTable(String country) {
+		return _tables.get(getCode(country));
+	}
+
+	/**
+	 * The first day of the covered years, in days since the epoch.
+	 */
+	long getFirstDay() {
+		return _firstDay;
+	}
+
+	/**
+	 * The day after the covered years, in days since the epoch.
+	 */
+	long getEndDay() {
+		return _endDay;
+	}
+
+	/**
+	 * Whether the days from {@code fromDay} up to {@code toDay} are all within
+	 * the covered years.
+	 */
+	boolean covers(long fromDay, long toDay) {
+		return fromDay >= _firstDay && toDay <= _endDay;
+	}
+
+	/**
+	 * The holidays of the given types in the whole country or in a state on
+	 * the 64 days from {@code 64 * word} since the epoch. Days outside the
+	 * covered years have no holidays.
+	 */
+	long getWord(HolidayTable table, long[][] state, long word,
+			EnumSet<HolidayType> types) {
+		long i = word - (_base >> 6);
+		if (i < 0 || i << 6 >= _end)
+			return 0;
+
+		return table.word(state, (int) i, types);
+	}
+
+	/**
+	 * The holidays of the given types in the whole country or in a state from
+	 * {@code fromDay} up to {@code toDay}, in order of date.
+	 */
+	List<Holiday> getHolidays(HolidayTable table, String state, long fromDay,
+			long toDay, EnumSet<HolidayType> types) {
+		long typeMask = 0;
+		for (HolidayType type : types)
+			typeMask |= 1L << type.ordinal();
+
+		// The first holiday on or after the first day
+		List<HolidayEntry> entries = table.holidays;
+		int low = 0;
+		int high = entries.size();
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (entries.get(middle).day < fromDay)
+				low = middle + 1;
+			else
+				high = middle;
+		}
+
+		List<Holiday> holidays = new ArrayList<Holiday>();
+		for (int i = low; i < entries.size() && entries.get(i).day < toDay; i++) {
+			HolidayEntry entry = entries.get(i);
+			if ((entry.types & typeMask) != 0 && entry.appliesTo(state))
+				holidays.add(entry.holiday);
+		}
+
+		return holidays;
+	}
+
+	private HolidayTable retrieveTable(String country)
+			throws ServerSideException {
+		HolidayTable table = new HolidayTable(_end);
+		HolidaysServiceOptions.Builder builder = _service.getOptions()
+				.toBuilder();
+
+		for (HolidayType type : _types) {
+			HolidaysServiceOptions options = builder.setHolidayTypes(
+					EnumSet.of(type)).build();
+			for (int year = _fromYear; year <= _toYear; year++) {
+				List<Holiday> holidays = _service.holidaysForCountry(country,
+						year, options);
+				for (Holiday holiday : holidays)
+					add(table, type, holiday);
+			}
+		}
+
+		table.complete();
+		return table;
+	}
+
+	private void add(HolidayTable table, HolidayType type, Holiday holiday) {
+		TADTime date = holiday.getDate();
+		TADDateTime dateTime = date != null ? date.getDateTime() : null;
+		if (dateTime == null)
+			return;
+
+		long epochDay = LocalDate.of(dateTime.getYear(), dateTime.getMonth(),
+				dateTime.getDayOfMonth()).toEpochDay();
+		if (epochDay < _firstDay || epochDay >= _endDay)
+			return;
+
+		int day = (int) (epochDay - _base);
+		table.record(holiday, type, epochDay);
+
+		List<HolidayState> states = holiday.getStates();
+		if (states == null || states.isEmpty()) {
+			table.set(table.country, type, day);
+			return;
+		}
+
+		for (HolidayState state : states) {
+			// Some states have no abbreviation, and are only known by name
+			String key = !state.getAbbrevation().isEmpty() ? state
+					.getAbbrevation() : state.getName();
+			if (key.isEmpty())
+				continue;
+
+			long[][] bits = table.states.computeIfAbsent(key,
+					abbreviation -> new long[Types.length][]);
+			table.set(bits, type, day);
+			if (!state.getName().isEmpty())
+				table.states.putIfAbsent(state.getName(), bits);
+		}
+	}
+
+	/**
+	 * The bits of a word for the days from {@code start} up to {@code end}.
+	 */
+	private static long mask(int i, int start, int end) {
+		long mask = -1L;
+		if (start > i << 6)
+			mask &= -1L << start;
+		if (end < (i + 1) << 6)
+			mask &= ~(-1L << end);
+
+		return mask;
+	}
+
+	private int toDay(long epochDay, boolean end)
+			throws QueriedDateOutOfRangeException {
+		if (epochDay < _firstDay || epochDay > _endDay || epochDay == _endDay
+				&& !end)
+			throw new QueriedDateOutOfRangeException(
+					"The date is outside the years available for this calendar");
+
+		return (int) (epochDay - _base);
+	}
+
+	private void checkTypes(EnumSet<HolidayType> types) {
+		if (types == null || !_types.containsAll(types))
+			throw new IllegalArgumentException(
+					"The holiday types have not all been loaded");
+	}
+
+	private HolidayTable getTable(String country) {
+		HolidayTable table = _tables.get(getCode(country));
+		if (table == null)
+			throw new IllegalArgumentException(
+					"No holidays have been loaded for this country");
+
+		return table;
+	}
+
+	private static String getCode(String country) {
+		if (country == null || country.isEmpty())
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		// Returns the same string if it is lower case already
+		return country.toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * The holidays of one country: for each type, by ordinal, a bit set of
+	 * the days that are holidays in the whole country, and the same for each
+	 * state by abbreviation and by name. Types without holidays have no bit
+	 * set.
+	 */
+	static final class HolidayTable {
+		final int words;
+		final long[][] country = new long[Types.length][];
+		final Map<String, long[][]> states = new HashMap<String, long[][]>();
+		List<HolidayEntry> holidays = new ArrayList<HolidayEntry>();
+		private Map<String, HolidayEntry> _byUid = new LinkedHashMap<String, HolidayEntry>();
+
+		HolidayTable(int days) {
+			words = (days + 63) >>> 6;
+		}
+
+		long[][] getState(String state) {
+			return state != null ? states.get(state) : null;
+		}
+
+		/**
+		 * The holidays of the given types on the 64 days of a word, in the
+		 * whole country and in the state if there is one.
+		 */
+		long word(long[][] state, int i, EnumSet<HolidayType> types) {
+			long bits = 0;
+			for (int type = 0; type < Types.length; type++) {
+				if (!types.contains(Types[type]))
+					continue;
+
+				if (country[type] != null)
+					bits |= country[type][i];
+				if (state != null && state[type] != null)
+					bits |= state[type][i];
+			}
+
+			return bits;
+		}
+
+		/**
+		 * Keeps a holiday once, however many of the loaded types it is
+		 * returned for.
+		 */
+		void record(Holiday holiday, HolidayType type, long day) {
+			String uid = holiday.getUid().isEmpty() ? holiday.getId() + "@"
+					+ day : holiday.getUid();
+			HolidayEntry entry = _byUid.computeIfAbsent(uid,
+					key -> new HolidayEntry(holiday, day));
+			entry.types |= 1L << type.ordinal();
+		}
+
+		void complete() {
+			holidays = new ArrayList<HolidayEntry>(_byUid.values());
+			holidays.sort(Comparator.comparingLong(entry -> entry.day));
+			_byUid = null;
+		}
+
+		void set(long[][] bits, HolidayType type, int day) {
+			int ordinal = type.ordinal();
+			if (bits[ordinal] == null)
+				bits[ordinal] = new long[words];
+
+			bits[ordinal][day >>> 6] |= 1L << day;
+		}
+	}
+
+	static final class HolidayEntry {
+		final Holiday holiday;
+		final long day;
+		long types;
+
+		HolidayEntry(Holiday holiday, long day) {
+			this.holiday = holiday;
+			this.day = day;
+		}
+
+		boolean appliesTo(String state) {
+			List<HolidayState> states = holiday.getStates();
+			if (states == null || states.isEmpty())
+				return true;
+			if (state == null || state.isEmpty())
+				return false;
+
+			for (HolidayState holidayState : states)
+				if (state.equals(holidayState.getAbbrevation())
+						|| state.equals(holidayState.getName()))
+					return true;
+
+			return false;
+		}
+	}
+}
@@ -1,34 +1,28 @@
 package com.timeanddate.services;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
 import com.timeanddate.services.common.AuthenticationException;
 import com.timeanddate.services.common.IPredicate;
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.ServerSideException;
 import com.timeanddate.services.common.StringUtils;
-import com.timeanddate.services.common.UriUtils;
-import com.timeanddate.services.common.WebClient;
 import com.timeanddate.services.common.XmlUtils;
 import com.timeanddate.services.dataTypes.holidays.Holiday;
 import com.timeanddate.services.dataTypes.holidays.HolidayType;
@@ -39,13 +33,31 @@ import com.timeanddate.services.dataTypes.holidays.HolidayType;
  *
  */
 public class HolidaysService extends BaseService {
+	private static final IResponseParser<List<Holiday>> _parser = new IResponseParser<List<Holiday>>() {
+		@Override
+		public List<Holiday> fromDocument(Document document) {
+			return fromXml(document);
+		}
+
+		@Override
+		public List<Holiday> fromReader(XMLStreamReader reader)
+				throws XMLStreamException, ServerSideException {
+			return fromXml(reader);
+		}
+
+		@Override
+		public List<Holiday> fromJsonReader(JsonReader reader)
+				throws IOException, ServerSideException {
+			return fromJson(reader);
+		}
+	};
+
 	/**
-	 * Holiday types which should be returned. To combine multiple classes, use
-	 * EnumSet.of()
-	 * <p>
-	 * Example: <b>service.IncludedHolidayTypes = HolidayType.Local</b>
+	 * The options used by calls that are not given options of their own. The
+	 * setters replace it as a whole, so a call never sees a half-updated
+	 * configuration.
 	 */
-	private EnumSet<HolidayType> _types;
+	private volatile HolidaysServiceOptions _options = new HolidaysServiceOptions.Builder().build();
 
 	/**
 	 * The holidays service can be used to retrieve the list of holidays for a
@@ -63,6 +75,28 @@ public class HolidaysService extends BaseService {
 		super(accessKey, secretKey, "holidays");
 	}
 
+	/**
+	 * Gets the options used by calls that are not given options of their own.
+	 * 
+	 * @return The options of this service.
+	 */
+	public HolidaysServiceOptions getOptions() {
+		return _options;
+	}
+
+	/**
+	 * Sets the options used by calls that are not given options of their own.
+	 * 
+	 * @param options
+	 *            The options of this service.
+	 */
+	public synchronized void setOptions(HolidaysServiceOptions options) {
+		if (options == null)
+			throw new IllegalArgumentException("Options cannot be null");
+
+		_options = options;
+	}
+
 	/**
 	 * The holidays service can be used to retrieve the list of holidays for a
 	 * country.
@@ -79,11 +113,70 @@ public class HolidaysService extends BaseService {
 	 * 			  A required argument was not as expected
 	 */
 	public List<Holiday> holidaysForCountry(String countryCode, int year) throws IllegalArgumentException, ServerSideException {
+		return holidaysForCountry(countryCode, year, _options);
+	}
+
+	/**
+	 * The holidays service can be used to retrieve the list of holidays for a
+	 * country.
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param countryCode
+	 *            Specify the ISO3166-1-alpha-2 Country Code for which you would
+	 *            like to retrieve the list of holidays.
+	 * @param year
+	 *            The year for which the holidays should be retrieved.
+	 * @param options
+	 *            The options of this call.
+	 * @return List of holidays for a given country
+	 * @throws ServerSideException 
+	 * 			  The server produced an error message
+	 * @throws IllegalArgumentException 
+	 * 			  A required argument was not as expected
+	 */
+	public List<Holiday> holidaysForCountry(String countryCode, int year, HolidaysServiceOptions options) throws IllegalArgumentException, ServerSideException {
+		if (options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
 		if (countryCode != null && !countryCode.isEmpty() && year <= 0)
 			throw new IllegalArgumentException(
 					"A required argument is null or empty");
 
-		return retrieveHolidays(countryCode, year);
+		return retrieveHolidays(countryCode, year, options);
+	}
+
+	/**
+	 * Asynchronous version of {@link #holidaysForCountry(String, int)}.
+	 * 
+	 * @param countryCode
+	 *            Specify the ISO3166-1-alpha-2 Country Code for which you would
+	 *            like to retrieve the list of holidays.
+	 * @param year
+	 *            The year for which the holidays should be retrieved.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<Holiday>> holidaysForCountryAsync(String countryCode, int year) {
+		return async(() -> holidaysForCountry(countryCode, year));
+	}
+
+	/**
+	 * Asynchronous version of {@link #holidaysForCountry(String, int, HolidaysServiceOptions)}.
+	 * 
+	 * @param countryCode
+	 *            Specify the ISO3166-1-alpha-2 Country Code for which you would
+	 *            like to retrieve the list of holidays.
+	 * @param year
+	 *            The year for which the holidays should be retrieved.
+	 * @param options
+	 *            The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<Holiday>> holidaysForCountryAsync(String countryCode, int year, HolidaysServiceOptions options) {
+		return async(() -> holidaysForCountry(countryCode, year, options));
 	}
 
 	/**
@@ -100,54 +193,93 @@ public class HolidaysService extends BaseService {
 	 * 			  A required argument was not as expected
 	 */
 	public List<Holiday> holidaysForCountry(String country) throws IllegalArgumentException, ServerSideException {
+		return holidaysForCountry(country, _options);
+	}
+
+	/**
+	 * The holidays service can be used to retrieve the list of holidays for a
+	 * country. This overload uses the current year by default.
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param country
+	 *            Specify the ISO3166-1-alpha-2 Country Code for which you would
+	 *            like to retrieve the list of holidays.
+	 * @param options
+	 *            The options of this call.
+	 * @return
+	 * @throws ServerSideException 
+	 * 			  The server produced an error message
+	 * @throws IllegalArgumentException 
+	 * 			  A required argument was not as expected
+	 */
+	public List<Holiday> holidaysForCountry(String country, HolidaysServiceOptions options) throws IllegalArgumentException, ServerSideException {
+		if (options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
 		if (country == null || (country != null && !country.isEmpty()))
 			throw new IllegalArgumentException(
 					"A required argument is null or empty");
 
 		return retrieveHolidays(country,
-				Calendar.getInstance().get(Calendar.YEAR));
-	}
-
-	private List<Holiday> retrieveHolidays(String country, int year) throws ServerSideException {
-		Map<String, String> arguments = getArguments(country, year);
-		String result = new String();
-		
-		try {
-			String query = UriUtils.BuildUriString(arguments);
-			URL uri = new URL(Constants.EntryPoint + ServiceName + query);
-			WebClient client = new WebClient();
-			result = client.downloadString(uri);
-		} catch (UnsupportedEncodingException | MalformedURLException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
-		
-		XmlUtils.checkForErrors(result);
-		return fromXml(result);
+				Calendar.getInstance().get(Calendar.YEAR), options);
+	}
+
+	/**
+	 * Asynchronous version of {@link #holidaysForCountry(String)}.
+	 * 
+	 * @param country
+	 *            Specify the ISO3166-1-alpha-2 Country Code for which you would
+	 *            like to retrieve the list of holidays.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<Holiday>> holidaysForCountryAsync(String country) {
+		return async(() -> holidaysForCountry(country));
+	}
+
+	/**
+	 * Asynchronous version of {@link #holidaysForCountry(String, HolidaysServiceOptions)}.
+	 * 
+	 * @param country
+	 *            Specify the ISO3166-1-alpha-2 Country Code for which you would
+	 *            like to retrieve the list of holidays.
+	 * @param options
+	 *            The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<Holiday>> holidaysForCountryAsync(String country, HolidaysServiceOptions options) {
+		return async(() -> holidaysForCountry(country, options));
+	}
+
+	private List<Holiday> retrieveHolidays(String country, int year, HolidaysServiceOptions options) throws ServerSideException {
+		Map<String, String> arguments = getArguments(country, year, options);
+		return retrieve(arguments, _parser);
 	}
 	
-	public void setHolidayTypes(EnumSet<HolidayType> types) {
-		_types = types;
+	public synchronized void setHolidayTypes(EnumSet<HolidayType> types) {
+		_options = _options.toBuilder().setHolidayTypes(types).build();
 	}
 	
-	public void addHolidayType(HolidayType type) {
-		_types.add(type);
+	public synchronized void addHolidayType(HolidayType type) {
+		_options = _options.toBuilder().addHolidayType(type).build();
 	}
 	
 	public EnumSet<HolidayType> getHolidayTypes() {
-		return _types;
+		return _options.getHolidayTypes();
 	}
 
-	private Map<String, String> getArguments(String country, int year) {
+	private Map<String, String> getArguments(String country, int year, HolidaysServiceOptions options) {
 		Map<String, String> args = new HashMap<String, String>(
 				AuthenticationOptions);
-		String types = getHolidayTypesAsStr();
+		String types = getHolidayTypesAsStr(options);
 		args.put("country", country);
-		args.put("lang", Language);
-		args.put("version", Integer.toString(Version));
+		args.put("lang", getLanguage(options));
+		args.put("version", getVersion(options));
 		args.put("verbosetime",
 				Integer.toString(Constants.DefaultVerboseTimeValue));
-		args.put("out", Constants.DefaultReturnFormat);
 
 		if (types != null && !types.isEmpty())
 			args.put("types", types);
@@ -158,55 +290,79 @@ public class HolidaysService extends BaseService {
 		return args;
 	}
 
-	private static List<Holiday> fromXml(String result) {
+	private static List<Holiday> fromXml(Document document) {
 		ArrayList<Holiday> list = new ArrayList<Holiday>();
-		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-		
-		try {
-			DocumentBuilder builder = factory.newDocumentBuilder();
-			ByteArrayInputStream stream = new ByteArrayInputStream(
-					result.getBytes(StandardCharsets.UTF_8));
-			Document document = builder.parse(stream);
-			Element root = document.getDocumentElement();
-
-			NodeList nodes = root.getElementsByTagName("holiday");
-
-			for (Node node : XmlUtils.asList(nodes)) {
-				list.add(Holiday.fromNode(node));
+		Element root = document.getDocumentElement();
+
+		NodeList nodes = root.getElementsByTagName("holiday");
+
+		for (Node node : XmlUtils.asList(nodes)) {
+			list.add(Holiday.fromNode(node));
+		}
+
+		return list;
+	}
+
+	private static List<Holiday> fromXml(XMLStreamReader reader)
+			throws XMLStreamException, ServerSideException {
+		List<Holiday> list = new ArrayList<Holiday>();
+
+		while (XmlUtils.nextElement(reader, "holiday") != null) {
+			list.add(Holiday.fromReader(reader));
+		}
+
+		return list;
+	}
+
+	private static List<Holiday> fromJson(JsonReader reader)
+			throws IOException, ServerSideException {
+		List<Holiday> list = new ArrayList<Holiday>();
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextResponseMember(reader)) != null) {
+			if (member.equals("holidays")) {
+				reader.beginArray();
+				while (reader.hasNext())
+					list.add(Holiday.fromJson(reader));
+				reader.endArray();
+			} else {
+				reader.skipValue();
 			}
-		} catch (ParserConfigurationException | SAXException | IOException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
 		}
+		reader.endObject();
 
 		return list;
 	}
 
-	private String getHolidayTypesAsStr() {
-		if (_types == null)
+	private String getHolidayTypesAsStr(HolidaysServiceOptions options) {
+		EnumSet<HolidayType> types = options.getHolidayTypes();
+		if (types == null)
 			return "";
 
 		ArrayList<String> includedStrings = new ArrayList<String>();
 		for (final HolidayType type : HolidayType.values()) {
-			if (_types.contains(type))
+			if (types.contains(type))
 				includedStrings
-						.add(StringUtils.resolveHolidays(where.of(type)).Command);
+						.add(StringUtils.resolveHolidays(where().of(type)).Command);
 		}
 
 		String included = StringUtils.join(includedStrings, ",");
 		return included;
 	}
 
-	private IPredicate<HolidayType> where = new IPredicate<HolidayType>() {
-		HolidayType type;
+	private static IPredicate<HolidayType> where() {
+		return new IPredicate<HolidayType>() {
+			HolidayType type;
 
-		public boolean is(HolidayType t) {
-			return t == type;
-		}
+			public boolean is(HolidayType t) {
+				return t == type;
+			}
 
-		public IPredicate<HolidayType> of(HolidayType t) {
-			type = t;
-			return this;
-		}
-	};
+			public IPredicate<HolidayType> of(HolidayType t) {
+				type = t;
+				return this;
+			}
+		};
+	}
 }
@@ -0,0 +1,73 @@
+package com.timeanddate.services;
+
+import java.util.EnumSet;
+
+import com.timeanddate.services.dataTypes.holidays.HolidayType;
+
+/**
+ * Immutable options for calls to the {@link HolidaysService}, built with a
+ * {@link Builder}. The same options can be used by any number of concurrent
+ * calls.
+ */
+public final class HolidaysServiceOptions extends ServiceOptions {
+	/**
+	 * Holiday types which should be returned. To combine multiple classes, use
+	 * EnumSet.of()
+	 * <p>
+	 * Example: <b>service.IncludedHolidayTypes = HolidayType.Local</b>
+	 */
+	private final EnumSet<HolidayType> _types;
+
+	private HolidaysServiceOptions(Builder builder) {
+		super(builder);
+		_types = builder._types != null ? EnumSet.copyOf(builder._types) : null;
+	}
+
+	public EnumSet<HolidayType> getHolidayTypes() {
+		return _types != null ? EnumSet.copyOf(_types) : null;
+	}
+
+	/**
+	 * Creates a builder initialised with these options.
+	 */
+	public Builder toBuilder() {
+		return new Builder(this);
+	}
+
+	public static final class Builder extends ServiceOptions.Builder<Builder> {
+		private EnumSet<HolidayType> _types;
+
+		/**
+		 * Creates a builder with the default options of the service.
+		 */
+		public Builder() {
+		}
+
+		private Builder(HolidaysServiceOptions options) {
+			super(options);
+			_types = options._types != null ? EnumSet.copyOf(options._types) : null;
+		}
+
+		public Builder setHolidayTypes(EnumSet<HolidayType> types) {
+			_types = types != null ? EnumSet.copyOf(types) : null;
+			return this;
+		}
+
+		public Builder addHolidayType(HolidayType type) {
+			if (_types == null)
+				_types = EnumSet.of(type);
+			else
+				_types.add(type);
+			return this;
+		}
+
+		@Override
+		Builder self() {
+			return this;
+		}
+
+		public HolidaysServiceOptions build() {
+			return new HolidaysServiceOptions(this);
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package com.timeanddate.services;
+
+import java.io.IOException;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.w3c.dom.Document;
+
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.ServerSideException;
+
+/**
+ * Builds the result of a service call from its response, either from a parsed
+ * DOM, straight from a pull parser or from a JSON response. All paths must
+ * produce the same objects; the XML parser used is decided by
+ * {@link com.timeanddate.services.common.XmlUtils#setUseStreamingParser(boolean)}
+ * and the response format by {@link BaseService#setReturnFormat(com.timeanddate.services.common.ReturnFormat)}.
+ */
+interface IResponseParser<T> {
+	T fromDocument(Document document);
+
+	T fromReader(XMLStreamReader reader) throws XMLStreamException,
+			ServerSideException;
+
+	T fromJsonReader(JsonReader reader) throws IOException, ServerSideException;
+}
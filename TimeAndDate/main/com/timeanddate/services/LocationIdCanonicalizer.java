@@ -0,0 +1,230 @@
+package com.timeanddate.services;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.timeanddate.services.dataTypes.places.Coordinates;
+import com.timeanddate.services.dataTypes.places.LocationId;
+import com.timeanddate.services.dataTypes.places.Place;
+
+/**
+ * Maps location IDs given as coordinates, e.g. {@code +59.91372+10.74089},
+ * to one ID for all coordinates close to each other, so requests for nearly
+ * the same position are cached and coalesced as one. Coordinates are snapped
+ * to the nearest place of a {@link PlaceIndex} within a radius if there is
+ * one, otherwise rounded to a number of decimals: 2 decimals are within
+ * about 0.8 km of the original position, 1 decimal within about 8 km. Other
+ * IDs are left as they are.
+ * <p>
+ * Given to a service with {@link BaseService#setLocationIdCanonicalizer}, it
+ * is applied to the place IDs of every request. It counts the distinct IDs
+ * it has been given and returned, which shows how far it shrinks the set of
+ * keys, up to {@link #MaxTrackedIds} IDs.
+ *
+ * @author Cato Auestad {@literal <cato@timeanddate.com>}
+ *
+ */
+public class LocationIdCanonicalizer {
+	public static final int DefaultDecimals = 2;
+	public static final int MaxTrackedIds = 100000;
+
+	// Double.toString, as used by StringUtils.placeIdByCoordinates, gives an
+	// exponent for values below 1e-3
+	private static final String _number = "[+-]\\d+(?:\\.\\d+)?(?:[eE][+-]?\\d+)?";
+	private static final Pattern _coordinates = Pattern.compile("(" + _number
+			+ ")(" + _number + ")");
+	private static final String[] _idArguments = { "placeid", "fromid", "toid" };
+
+	private final int _decimals;
+	private final PlaceIndex _index;
+	private final double _radius;
+	private final Set<String> _inputs = ConcurrentHashMap.newKeySet();
+	private final Set<String> _outputs = ConcurrentHashMap.newKeySet();
+	private final LongAdder _canonicalized = new LongAdder();
+	private final LongAdder _snapped = new LongAdder();
+
+	public LocationIdCanonicalizer() {
+		this(DefaultDecimals);
+	}
+
+	/**
+	 * Rounds coordinates to a number of decimals.
+	 *
+	 * @param decimals
+	 *            The number of decimals, from 0 to 6.
+	 */
+	public LocationIdCanonicalizer(int decimals) {
+		this(null, 0, decimals);
+	}
+
+	/**
+	 * Snaps coordinates to the nearest place within a radius, and rounds
+	 * them to a number of decimals if there is none.
+	 *
+	 * @param index
+	 *            The places to snap to.
+	 * @param radius
+	 *            The radius in kilometers, usually the search radius of the
+	 *            service.
+	 * @param decimals
+	 *            The number of decimals, from 0 to 6.
+	 */
+	public LocationIdCanonicalizer(PlaceIndex index, double radius,
+			int decimals) {
+		if (decimals < 0 || decimals > 6)
+			throw new IllegalArgumentException(
+					"Decimals must be between 0 and 6");
+		if (radius < 0)
+			throw new IllegalArgumentException("Radius cannot be negative");
+
+		_index = index;
+		_radius = radius;
+		_decimals = decimals;
+	}
+
+	/**
+	 * Gets the canonical form of a location ID.
+	 *
+	 * @param id
+	 *            The location ID.
+	 * @return The canonical location ID, or the ID itself if it is not
+	 *         given as coordinates.
+	 */
+	public LocationId canonicalize(LocationId id) {
+		if (id == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		String value = id.getId();
+		String canonical = canonicalize(value);
+		return canonical.equals(value) ? id : new LocationId(canonical);
+	}
+
+	/**
+	 * Gets the canonical form of a location ID.
+	 *
+	 * @param id
+	 *            The location ID, e.g. {@code +59.91372+10.74089}.
+	 * @return The canonical location ID, or the ID itself if it is not
+	 *         coordinates.
+	 */
+	public String canonicalize(String id) {
+		if (id == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		Matcher matcher = _coordinates.matcher(id);
+		if (!matcher.matches())
+			return id;
+
+		double latitude = Double.parseDouble(matcher.group(1));
+		double longitude = Double.parseDouble(matcher.group(2));
+		String canonical = canonicalize(latitude, longitude);
+
+		_canonicalized.increment();
+		track(_inputs, id);
+		track(_outputs, canonical);
+
+		return canonical;
+	}
+
+	/**
+	 * @return The number of IDs given as coordinates that have been
+	 *         canonicalized.
+	 */
+	public long getCanonicalizedCount() {
+		return _canonicalized.sum();
+	}
+
+	/**
+	 * @return The number of IDs given as coordinates that have been snapped
+	 *         to a place.
+	 */
+	public long getSnappedCount() {
+		return _snapped.sum();
+	}
+
+	/**
+	 * @return The number of distinct IDs given as coordinates.
+	 */
+	public int getDistinctInputCount() {
+		return _inputs.size();
+	}
+
+	/**
+	 * @return The number of distinct canonical IDs returned for them.
+	 */
+	public int getDistinctCanonicalCount() {
+		return _outputs.size();
+	}
+
+	/**
+	 * @return The share of distinct IDs saved, from 0 when every ID is
+	 *         canonical already to nearly 1 when all map to the same ID.
+	 */
+	public double getKeyReduction() {
+		int inputs = _inputs.size();
+		return inputs == 0 ? 0 : 1 - (double) _outputs.size() / inputs;
+	}
+
+	/**
+	 * Replaces the place IDs among the arguments of a request with their
+	 * canonical form.
+	 */
+	void canonicalizeArguments(Map<String, String> arguments) {
+		for (String name : _idArguments) {
+			String value = arguments.get(name);
+			if (value == null || value.isEmpty())
+				continue;
+
+			if (value.indexOf(',') < 0) {
+				arguments.put(name, canonicalize(value));
+				continue;
+			}
+
+			String[] ids = value.split(",");
+			for (int i = 0; i < ids.length; i++)
+				ids[i] = canonicalize(ids[i]);
+			arguments.put(name, String.join(",", ids));
+		}
+	}
+
+	private String canonicalize(double latitude, double longitude) {
+		if (_index != null) {
+			Place place = _index.nearest(new Coordinates(latitude, longitude),
+					_radius);
+			if (place != null) {
+				_snapped.increment();
+				return Integer.toString(place.getId());
+			}
+		}
+
+		double scale = Math.pow(10, _decimals);
+		long lat = Math.round(Math.max(-90, Math.min(90, latitude)) * scale);
+		double wrapped = ((longitude + 180) % 360 + 360) % 360 - 180;
+		long lon = Math.round(wrapped * scale);
+		if (lon == Math.round(180 * scale))
+			lon = -lon;
+
+		return format(lat) + format(lon);
+	}
+
+	/**
+	 * Formats a rounded coordinate with a sign and without an exponent, as
+	 * the API expects.
+	 */
+	private String format(long units) {
+		String value = BigDecimal.valueOf(units, _decimals).toPlainString();
+		return units >= 0 ? "+" + value : value;
+	}
+
+	private static void track(Set<String> ids, String id) {
+		if (ids.size() < MaxTrackedIds)
+			ids.add(id);
+	}
+}
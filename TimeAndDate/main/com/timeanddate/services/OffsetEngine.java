@@ -0,0 +1,487 @@
+package com.timeanddate.services;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.timeanddate.services.common.LocalTimeDoesNotExistException;
+import com.timeanddate.services.common.MissingTimeChangesException;
+import com.timeanddate.services.common.QueriedDateOutOfRangeException;
+import com.timeanddate.services.common.ServerSideException;
+import com.timeanddate.services.common.TimeSpan;
+import com.timeanddate.services.dataTypes.places.Location;
+import com.timeanddate.services.dataTypes.places.LocationId;
+import com.timeanddate.services.dataTypes.time.TADDateTime;
+import com.timeanddate.services.dataTypes.time.TADTime;
+import com.timeanddate.services.dataTypes.time.TimeChange;
+
+/**
+ * Resolves UTC offsets of places locally. The time changes of a place are
+ * retrieved once for a range of years through the {@link ConvertTimeService}
+ * and kept as a table, so looking up the offset at an instant needs no
+ * request. Tables can be saved to and restored from a file, and refreshed
+ * periodically in the background.
+ *
+ * @author Cato Auestad {@literal <cato@timeanddate.com>}
+ *
+ */
+public class OffsetEngine {
+	private static final String FileHeader = "# libtad offset tables v1";
+
+	private final ConvertTimeService _service;
+	private final ConvertTimeServiceOptions _options;
+	private final int _fromYear;
+	private final int _toYear;
+	private final Map<String, OffsetTable> _tables = new ConcurrentHashMap<String, OffsetTable>();
+
+	/**
+	 * Creates an engine covering the previous, the current and the next two
+	 * years.
+	 *
+	 * @param service
+	 *            The service the time changes are retrieved with.
+	 */
+	public OffsetEngine(ConvertTimeService service) {
+		this(service, LocalDate.now(ZoneOffset.UTC).getYear() - 1, LocalDate
+				.now(ZoneOffset.UTC).getYear() + 2);
+	}
+
+	/**
+	 * @param service
+	 *            The service the time changes are retrieved with.
+	 * @param fromYear
+	 *            The first year covered.
+	 * @param toYear
+	 *            The last year covered.
+	 */
+	public OffsetEngine(ConvertTimeService service, int fromYear, int toYear) {
+		if (service == null || fromYear > toYear)
+			throw new IllegalArgumentException(
+					"A required argument was not as expected");
+
+		_service = service;
+		_fromYear = fromYear;
+		_toYear = toYear;
+		_options = service.getOptions().toBuilder()
+				.setIncludeTimeChanges(true)
+				.setIncludeTimezoneInformation(true).build();
+	}
+
+	public int getFromYear() {
+		return _fromYear;
+	}
+
+	public int getToYear() {
+		return _toYear;
+	}
+
+	/**
+	 * Retrieves the time changes of a place for every covered year, replacing
+	 * the table of the place if it was loaded before.
+	 *
+	 * @param placeId
+	 *            Place identifier.
+	 * @throws ServerSideException
+	 *             The server produced an error message
+	 * @throws IllegalArgumentException
+	 *             A required argument was not as expected
+	 */
+	public void load(LocationId placeId) throws ServerSideException {
+		String id = getId(placeId);
+		_tables.put(id, retrieveTable(placeId, id));
+	}
+
+	/**
+	 * Whether the table of a place has been loaded or restored.
+	 *
+	 * @param placeId
+	 *            Place identifier.
+	 * @return <b>true</b> if offsets for the place can be resolved locally.
+	 */
+	public boolean isLoaded(LocationId placeId) {
+		return _tables.containsKey(getId(placeId));
+	}
+
+	/**
+	 * Gets the UTC offset of a place at an instant, without a request.
+	 *
+	 * @param placeId
+	 *            Place identifier.
+	 * @param instant
+	 *            The instant.
+	 * @return The UTC offset.
+	 * @throws MissingTimeChangesException
+	 *             The table of the place has not been loaded
+	 * @throws QueriedDateOutOfRangeException
+	 *             The instant is outside the covered years
+	 */
+	public TimeSpan getUTCOffset(LocationId placeId, Instant instant)
+			throws MissingTimeChangesException, QueriedDateOutOfRangeException {
+		return TimeSpan.FromSeconds(getOffsetSeconds(placeId,
+				instant.getEpochSecond()));
+	}
+
+	/**
+	 * Gets the UTC offset of a place at a UTC time, without a request.
+	 *
+	 * @param placeId
+	 *            Place identifier.
+	 * @param utcTime
+	 *            The time in UTC.
+	 * @return The UTC offset.
+	 * @throws MissingTimeChangesException
+	 *             The table of the place has not been loaded
+	 * @throws QueriedDateOutOfRangeException
+	 *             The time is outside the covered years
+	 */
+	public TimeSpan getUTCOffset(LocationId placeId, TADDateTime utcTime)
+			throws MissingTimeChangesException, QueriedDateOutOfRangeException {
+		return TimeSpan.FromSeconds(getOffsetSeconds(placeId,
+				toEpochSecond(utcTime)));
+	}
+
+	/**
+	 * Gets the UTC offset in seconds of a place at an instant given in
+	 * seconds since the epoch, without a request.
+	 *
+	 * @param placeId
+	 *            Place identifier.
+	 * @param epochSecond
+	 *            The instant in seconds since 1970-01-01T00:00:00Z.
+	 * @return The UTC offset in seconds.
+	 * @throws MissingTimeChangesException
+	 *             The table of the place has not been loaded
+	 * @throws QueriedDateOutOfRangeException
+	 *             The instant is outside the covered years
+	 */
+	public int getOffsetSeconds(LocationId placeId, long epochSecond)
+			throws MissingTimeChangesException, QueriedDateOutOfRangeException {
+		OffsetTable table = _tables.get(getId(placeId));
+		if (table == null)
+			throw new MissingTimeChangesException(
+					"No time changes have been loaded for this location");
+
+		return table.getOffset(epochSecond);
+	}
+
+	/**
+	 * Retrieves the tables of every loaded place again. A place whose table
+	 * cannot be retrieved keeps its current table.
+	 *
+	 * @throws ServerSideException
+	 *             The server produced an error message for at least one place
+	 */
+	public void refresh() throws ServerSideException {
+		ServerSideException failure = null;
+
+		for (String id : new ArrayList<String>(_tables.keySet())) {
+			try {
+				_tables.put(id, retrieveTable(new LocationId(id), id));
+			} catch (ServerSideException e) {
+				if (failure == null)
+					failure = e;
+			}
+		}
+
+		if (failure != null)
+			throw failure;
+	}
+
+	/**
+	 * Refreshes the tables periodically. Failed refreshes are retried at the
+	 * next period.
+	 *
+	 * @param scheduler
+	 *            The scheduler the refreshes run on.
+	 * @param period
+	 *            The time between two refreshes.
+	 * @return The scheduled refresh, to cancel it.
+	 */
+	public ScheduledFuture<?> scheduleRefresh(
+			ScheduledExecutorService scheduler, Duration period) {
+		if (scheduler == null || period == null || period.isZero()
+				|| period.isNegative())
+			throw new IllegalArgumentException(
+					"A required argument was not as expected");
+
+		long millis = period.toMillis();
+		return scheduler.scheduleWithFixedDelay(() -> {
+			try {
+				refresh();
+			} catch (ServerSideException e) {
+				// Keep the current tables until the next refresh
+			}
+		}, millis, millis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Saves the tables of every loaded place to a file.
+	 *
+	 * @param file
+	 *            The file to write.
+	 * @throws IOException
+	 *             The file could not be written
+	 */
+	public void save(Path file) throws IOException {
+		Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+
+		try (BufferedWriter writer = Files.newBufferedWriter(temporary,
+				StandardCharsets.UTF_8)) {
+			writer.write(FileHeader);
+			writer.newLine();
+
+			for (Map.Entry<String, OffsetTable> entry : new TreeMap<String, OffsetTable>(
+					_tables).entrySet()) {
+				writer.write(entry.getValue().format(entry.getKey()));
+				writer.newLine();
+			}
+		}
+
+		Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * Restores the tables saved to a file, replacing the tables of the places
+	 * in the file.
+	 *
+	 * @param file
+	 *            The file to read.
+	 * @throws IOException
+	 *             The file could not be read or is not a saved table
+	 */
+	public void restore(Path file) throws IOException {
+		Map<String, OffsetTable> tables = new TreeMap<String, OffsetTable>();
+
+		try (BufferedReader reader = Files.newBufferedReader(file,
+				StandardCharsets.UTF_8)) {
+			if (!FileHeader.equals(reader.readLine()))
+				throw new IOException("Not a saved offset table: " + file);
+
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isEmpty())
+					continue;
+
+				String[] fields = line.split("\t", -1);
+				if (fields.length != 5)
+					throw new IOException("Malformed offset table: " + line);
+
+				try {
+					tables.put(fields[0], OffsetTable.parse(fields));
+				} catch (NumberFormatException e) {
+					throw new IOException("Malformed offset table: " + line);
+				}
+			}
+		}
+
+		_tables.putAll(tables);
+	}
+
+	private OffsetTable retrieveTable(LocationId placeId, String id)
+			throws ServerSideException {
+		TreeMap<Long, Integer> transitions = new TreeMap<Long, Integer>();
+		Integer initialOffset = null;
+
+		for (int year = _fromYear; year <= _toYear; year++) {
+			ConvertedTimes times = _service.convertTime(placeId,
+					new TADDateTime(year, 7, 1, 12, 0, 0), _options);
+			Location location = findLocation(times, id);
+			List<TimeChange> changes = location.getTimeChanges();
+
+			int yearOffset;
+			if (changes != null && !changes.isEmpty()) {
+				TimeChange first = changes.get(0);
+				yearOffset = (int) (toEpochSecond(first.getOldLocalTime()) - toEpochSecond(first
+						.getUtcTime()));
+				for (TimeChange change : changes)
+					transitions.put(toEpochSecond(change.getUtcTime()),
+							change.getNewTotalOffset());
+			} else {
+				TADTime time = location.getTime();
+				if (time == null || time.getTimezone() == null)
+					throw new ServerSideException(
+							"The response has no time zone for location " + id);
+
+				yearOffset = time.getTimezone().getTotalOffset();
+			}
+
+			if (initialOffset == null)
+				initialOffset = yearOffset;
+			else
+				transitions.putIfAbsent(startOfYear(year), yearOffset);
+		}
+
+		return new OffsetTable(_fromYear, _toYear, initialOffset, transitions);
+	}
+
+	private static Location findLocation(ConvertedTimes times, String id)
+			throws ServerSideException {
+		for (Location location : times.Locations) {
+			if (id.equals(location.getId()))
+				return location;
+		}
+
+		if (times.Locations.size() == 1)
+			return times.Locations.get(0);
+
+		throw new ServerSideException("The response has no location " + id);
+	}
+
+	private static String getId(LocationId placeId) {
+		if (placeId == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		String id = placeId.getId();
+		if (id == null || id.isEmpty())
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		return id;
+	}
+
+	static long toEpochSecond(TADDateTime time) {
+		return LocalDateTime.of(time.getYear(), time.getMonth(),
+				time.getDayOfMonth(), time.getHour(), time.getMinute(),
+				time.getSecond()).toEpochSecond(ZoneOffset.UTC);
+	}
+
+	private static long startOfYear(int year) {
+		return LocalDate.of(year, 1, 1).atStartOfDay()
+				.toEpochSecond(ZoneOffset.UTC);
+	}
+
+	/**
+	 * The offsets of one place: the offset at the start of the covered years
+	 * and the instants at which it changes, in ascending order.
+	 */
+	static final class OffsetTable {
+		/**
+		 * The largest UTC offset in use, in seconds, either way.
+		 */
+		private static final int MaxOffset = 18 * 3600;
+
+		final int fromYear;
+		final int toYear;
+		final long start;
+		final long end;
+		final int initialOffset;
+		final long[] transitions;
+		final int[] offsets;
+
+		OffsetTable(int fromYear, int toYear, int initialOffset,
+				TreeMap<Long, Integer> transitions) {
+			this.fromYear = fromYear;
+			this.toYear = toYear;
+			this.initialOffset = initialOffset;
+			this.start = startOfYear(fromYear);
+			this.end = startOfYear(toYear + 1);
+			this.transitions = new long[transitions.size()];
+			this.offsets = new int[transitions.size()];
+
+			int i = 0;
+			for (Map.Entry<Long, Integer> transition : transitions.entrySet()) {
+				this.transitions[i] = transition.getKey();
+				this.offsets[i] = transition.getValue();
+				i++;
+			}
+		}
+
+		int getOffset(long epochSecond) throws QueriedDateOutOfRangeException {
+			if (epochSecond < start || epochSecond >= end)
+				throw new QueriedDateOutOfRangeException(
+						"The instant is outside the years available for this location");
+
+			return offsetAt(epochSecond);
+		}
+
+		/**
+		 * The offset at an instant, taking the offsets before the first and
+		 * after the last change to hold outside the covered years as well.
+		 */
+		int offsetAt(long epochSecond) {
+			int index = Arrays.binarySearch(transitions, epochSecond);
+			if (index >= 0)
+				return offsets[index];
+
+			int insertion = -index - 1;
+			return insertion == 0 ? initialOffset : offsets[insertion - 1];
+		}
+
+		/**
+		 * Converts a local time in seconds since the epoch to UTC. A local
+		 * time repeated when the clocks are turned back resolves to its first
+		 * occurrence, as
+		 * {@link Location#getUTCOffsetFromLocalTime(TADDateTime)} does.
+		 *
+		 * @throws LocalTimeDoesNotExistException
+		 *             The local time is skipped by a change
+		 */
+		long toUtc(long local) throws LocalTimeDoesNotExistException {
+			// Only the offsets in effect up to the largest offset either side
+			// of the local time can map to it
+			int index = Arrays.binarySearch(transitions, local - MaxOffset);
+			int i = index >= 0 ? index + 1 : -index - 1;
+
+			for (; i <= transitions.length
+					&& (i == 0 || transitions[i - 1] <= local + MaxOffset); i++) {
+				long utc = local - (i == 0 ? initialOffset : offsets[i - 1]);
+				if ((i == 0 || utc >= transitions[i - 1])
+						&& (i == transitions.length || utc < transitions[i]))
+					return utc;
+			}
+
+			throw new LocalTimeDoesNotExistException(
+					"The time and date requested falls between the old and new timezone");
+		}
+
+		String format(String id) {
+			StringBuilder line = new StringBuilder();
+			line.append(id).append('\t').append(fromYear).append('\t')
+					.append(toYear).append('\t').append(initialOffset)
+					.append('\t');
+
+			for (int i = 0; i < transitions.length; i++) {
+				if (i > 0)
+					line.append(',');
+				line.append(transitions[i]).append(':').append(offsets[i]);
+			}
+
+			return line.toString();
+		}
+
+		static OffsetTable parse(String[] fields) {
+			TreeMap<Long, Integer> transitions = new TreeMap<Long, Integer>();
+			if (!fields[4].isEmpty()) {
+				for (String transition : fields[4].split(",")) {
+					int separator = transition.indexOf(':');
+					transitions.put(Long.parseLong(transition.substring(0,
+							separator)), Integer.parseInt(transition
+							.substring(separator + 1)));
+				}
+			}
+
+			return new OffsetTable(Integer.parseInt(fields[1]),
+					Integer.parseInt(fields[2]), Integer.parseInt(fields[3]),
+					transitions);
+		}
+	}
+}
@@ -1,21 +1,20 @@
 package com.timeanddate.services;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
+import com.timeanddate.services.common.ServerSideException;
 import com.timeanddate.services.common.XmlUtils;
 import com.timeanddate.services.dataTypes.onthisday.Event;
 import com.timeanddate.services.dataTypes.onthisday.Person;
@@ -38,41 +37,90 @@ public class OnThisDayEvents {
 		Deaths = new ArrayList<Person>();
 	}
 
-	static OnThisDayEvents fromXml(String result) {
+	static OnThisDayEvents fromXml(Document document) {
 		OnThisDayEvents otd_events = new OnThisDayEvents();
-		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-
-		try {
-			DocumentBuilder builder = factory.newDocumentBuilder();
-			ByteArrayInputStream stream = new ByteArrayInputStream(
-					result.getBytes(StandardCharsets.UTF_8));
-			Document document = builder.parse(stream);
-			Element root = document.getDocumentElement();
-			NodeList children = root.getChildNodes();
-
-			NodeList events = root.getElementsByTagName("events");
-			NodeList births = root.getElementsByTagName("births");
-			NodeList deaths = root.getElementsByTagName("deaths");
-
-			if (events != null)
-				for (Node event : XmlUtils.asList(events))
-					for (Node event_node : XmlUtils.asList(event.getChildNodes()))
-						otd_events.Events.add(Event.fromNode(event_node));
-
-			if (births != null)
-				for (Node birth : XmlUtils.asList(births))
-					for (Node birth_node : XmlUtils.asList(birth.getChildNodes()))
-						otd_events.Births.add(Person.fromNode(birth_node));
-
-			if (deaths != null)
-				for (Node death : XmlUtils.asList(deaths))
-					for (Node death_node : XmlUtils.asList(death.getChildNodes()))
-						otd_events.Deaths.add(Person.fromNode(death_node));
-
-		} catch (ParserConfigurationException | SAXException | IOException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
+		Element root = document.getDocumentElement();
+		NodeList children = root.getChildNodes();
+
+		NodeList events = root.getElementsByTagName("events");
+		NodeList births = root.getElementsByTagName("births");
+		NodeList deaths = root.getElementsByTagName("deaths");
+
+		if (events != null)
+			for (Node event : XmlUtils.asList(events))
+				for (Node event_node : XmlUtils.asList(event.getChildNodes()))
+					otd_events.Events.add(Event.fromNode(event_node));
+
+		if (births != null)
+			for (Node birth : XmlUtils.asList(births))
+				for (Node birth_node : XmlUtils.asList(birth.getChildNodes()))
+					otd_events.Births.add(Person.fromNode(birth_node));
+
+		if (deaths != null)
+			for (Node death : XmlUtils.asList(deaths))
+				for (Node death_node : XmlUtils.asList(death.getChildNodes()))
+					otd_events.Deaths.add(Person.fromNode(death_node));
+
+		return otd_events;
+	}
+
+	static OnThisDayEvents fromXml(XMLStreamReader reader)
+			throws XMLStreamException, ServerSideException {
+		OnThisDayEvents otd_events = new OnThisDayEvents();
+		String name;
+
+		while ((name = XmlUtils.nextElement(reader, "events", "births",
+				"deaths")) != null) {
+			while (XmlUtils.nextChild(reader)) {
+				switch (name) {
+				case "events":
+					otd_events.Events.add(Event.fromReader(reader));
+					break;
+				case "births":
+					otd_events.Births.add(Person.fromReader(reader));
+					break;
+				default:
+					otd_events.Deaths.add(Person.fromReader(reader));
+					break;
+				}
+			}
+		}
+
+		return otd_events;
+	}
+
+	static OnThisDayEvents fromJson(JsonReader reader) throws IOException,
+			ServerSideException {
+		OnThisDayEvents otd_events = new OnThisDayEvents();
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextResponseMember(reader)) != null) {
+			switch (member) {
+			case "events":
+				reader.beginArray();
+				while (reader.hasNext())
+					otd_events.Events.add(Event.fromJson(reader));
+				reader.endArray();
+				break;
+			case "births":
+				reader.beginArray();
+				while (reader.hasNext())
+					otd_events.Births.add(Person.fromJson(reader));
+				reader.endArray();
+				break;
+			case "deaths":
+				reader.beginArray();
+				while (reader.hasNext())
+					otd_events.Deaths.add(Person.fromJson(reader));
+				reader.endArray();
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
 		}
+		reader.endObject();
 
 		return otd_events;
 	}
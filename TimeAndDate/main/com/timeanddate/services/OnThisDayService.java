@@ -1,35 +1,25 @@
 package com.timeanddate.services;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
 import com.timeanddate.services.common.AuthenticationException;
 import com.timeanddate.services.common.IPredicate;
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.ServerSideException;
 import com.timeanddate.services.common.StringUtils;
-import com.timeanddate.services.common.UriUtils;
-import com.timeanddate.services.common.WebClient;
-import com.timeanddate.services.common.XmlUtils;
 import com.timeanddate.services.dataTypes.onthisday.OTDEventType;
 
 /**
@@ -38,7 +28,31 @@ import com.timeanddate.services.dataTypes.onthisday.OTDEventType;
  *
  */
 public class OnThisDayService extends BaseService {
-	private EnumSet<OTDEventType> _types;
+	private static final IResponseParser<OnThisDayEvents> _parser = new IResponseParser<OnThisDayEvents>() {
+		@Override
+		public OnThisDayEvents fromDocument(Document document) {
+			return OnThisDayEvents.fromXml(document);
+		}
+
+		@Override
+		public OnThisDayEvents fromReader(XMLStreamReader reader)
+				throws XMLStreamException, ServerSideException {
+			return OnThisDayEvents.fromXml(reader);
+		}
+
+		@Override
+		public OnThisDayEvents fromJsonReader(JsonReader reader)
+				throws IOException, ServerSideException {
+			return OnThisDayEvents.fromJson(reader);
+		}
+	};
+
+	/**
+	 * The options used by calls that are not given options of their own. The
+	 * setters replace it as a whole, so a call never sees a half-updated
+	 * configuration.
+	 */
+	private volatile OnThisDayServiceOptions _options = new OnThisDayServiceOptions.Builder().build();
 
 	/**
 	 * The onthisday service can be used to retrieve events, births and deaths for
@@ -56,6 +70,28 @@ public class OnThisDayService extends BaseService {
 		super(accessKey, secretKey, "onthisday");
 	}
 
+	/**
+	 * Gets the options used by calls that are not given options of their own.
+	 * 
+	 * @return The options of this service.
+	 */
+	public OnThisDayServiceOptions getOptions() {
+		return _options;
+	}
+
+	/**
+	 * Sets the options used by calls that are not given options of their own.
+	 * 
+	 * @param options
+	 *            The options of this service.
+	 */
+	public synchronized void setOptions(OnThisDayServiceOptions options) {
+		if (options == null)
+			throw new IllegalArgumentException("Options cannot be null");
+
+		_options = options;
+	}
+
 	/**
 	 * The onthisday service can be used to retrieve events, births and deaths for
 	 * a specific date.
@@ -71,10 +107,66 @@ public class OnThisDayService extends BaseService {
 	 * 			  A required argument was not as expected
 	 */
 	public OnThisDayEvents eventsOnThisDay(int month, int day) throws IllegalArgumentException, ServerSideException {
+		return eventsOnThisDay(month, day, _options);
+	}
+
+	/**
+	 * The onthisday service can be used to retrieve events, births and deaths for
+	 * a specific date.
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param month
+	 *            The month for which the events should be retrieved.
+	 * @param day
+	 *            The day for which the events should be retrieved.
+	 * @param options
+	 *            The options of this call.
+	 * @return List of requested event types for the given date.
+	 * @throws ServerSideException
+	 * 			  The server produced an error message
+	 * @throws IllegalArgumentException
+	 * 			  A required argument was not as expected
+	 */
+	public OnThisDayEvents eventsOnThisDay(int month, int day, OnThisDayServiceOptions options) throws IllegalArgumentException, ServerSideException {
+		if (options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
 		if (month <= 0 || day <= 0)
 			throw new IllegalArgumentException("Month or day cannot be 0 or less.");
 
-		return retrieveEventsOnThisDay(month, day);
+		return retrieveEventsOnThisDay(month, day, options);
+	}
+
+	/**
+	 * Asynchronous version of {@link #eventsOnThisDay(int, int)}.
+	 * 
+	 * @param month
+	 *            The month for which the events should be retrieved.
+	 * @param day
+	 *            The day for which the events should be retrieved.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<OnThisDayEvents> eventsOnThisDayAsync(int month, int day) {
+		return async(() -> eventsOnThisDay(month, day));
+	}
+
+	/**
+	 * Asynchronous version of {@link #eventsOnThisDay(int, int, OnThisDayServiceOptions)}.
+	 * 
+	 * @param month
+	 *            The month for which the events should be retrieved.
+	 * @param day
+	 *            The day for which the events should be retrieved.
+	 * @param options
+	 *            The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<OnThisDayEvents> eventsOnThisDayAsync(int month, int day, OnThisDayServiceOptions options) {
+		return async(() -> eventsOnThisDay(month, day, options));
 	}
 
 	/**
@@ -88,54 +180,83 @@ public class OnThisDayService extends BaseService {
 	 * 			  A required argument was not as expected
 	 */
 	public OnThisDayEvents eventsOnThisDay() throws IllegalArgumentException, ServerSideException {
+		return eventsOnThisDay(_options);
+	}
+
+	/**
+	 * The onthisday service can be used to retrieve events, births and deaths for
+	 * a specific date. This overload uses the current date by default.
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param options
+	 *            The options of this call.
+	 * @return List of requested event types for the current date.
+	 * @throws ServerSideException
+	 * 			  The server produced an error message
+	 * @throws IllegalArgumentException
+	 * 			  A required argument was not as expected
+	 */
+	public OnThisDayEvents eventsOnThisDay(OnThisDayServiceOptions options) throws IllegalArgumentException, ServerSideException {
+		if (options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
 		return retrieveEventsOnThisDay(
 			Calendar.getInstance().get(Calendar.MONTH),
 			Calendar.getInstance().get(Calendar.DAY_OF_MONTH)
-		);
+		, options);
 	}
 
-	private OnThisDayEvents retrieveEventsOnThisDay(int year, int month) throws ServerSideException {
-		Map<String, String> arguments = getArguments(year, month);
-		String result = new String();
-
-		try {
-			String query = UriUtils.BuildUriString(arguments);
-			URL uri = new URL(Constants.EntryPoint + ServiceName + query);
-			WebClient client = new WebClient();
-			result = client.downloadString(uri);
-			XmlUtils.checkForErrors(result);
+	/**
+	 * Asynchronous version of {@link #eventsOnThisDay()}.
+	 * 
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<OnThisDayEvents> eventsOnThisDayAsync() {
+		return async(() -> eventsOnThisDay());
+	}
 
-		} catch (UnsupportedEncodingException | MalformedURLException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
+	/**
+	 * Asynchronous version of {@link #eventsOnThisDay(OnThisDayServiceOptions)}.
+	 * 
+	 * @param options
+	 *            The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<OnThisDayEvents> eventsOnThisDayAsync(OnThisDayServiceOptions options) {
+		return async(() -> eventsOnThisDay(options));
+	}
 
-		return OnThisDayEvents.fromXml(result);
+	private OnThisDayEvents retrieveEventsOnThisDay(int year, int month, OnThisDayServiceOptions options) throws ServerSideException {
+		Map<String, String> arguments = getArguments(year, month, options);
+		return retrieve(arguments, _parser);
 	}
 
-	public void setEventTypes(EnumSet<OTDEventType> types) {
-		_types = types;
+	public synchronized void setEventTypes(EnumSet<OTDEventType> types) {
+		_options = _options.toBuilder().setEventTypes(types).build();
 	}
 
-	public void addEventType(OTDEventType type) {
-		_types.add(type);
+	public synchronized void addEventType(OTDEventType type) {
+		_options = _options.toBuilder().addEventType(type).build();
 	}
 
 	public EnumSet<OTDEventType> getEventTypes() {
-		return _types;
+		return _options.getEventTypes();
 	}
 
-	private Map<String, String> getArguments(int month, int day) {
+	private Map<String, String> getArguments(int month, int day, OnThisDayServiceOptions options) {
 		Map<String, String> args = new HashMap<String, String>(
 				AuthenticationOptions);
-		String types = getEventTypesAsStr();
+		String types = getEventTypesAsStr(options);
 		args.put("month", Integer.toString(month));
 		args.put("day", Integer.toString(day));
-		args.put("lang", Language);
-		args.put("version", Integer.toString(Version));
+		args.put("lang", getLanguage(options));
+		args.put("version", getVersion(options));
 		args.put("verbosetime",
 				Integer.toString(Constants.DefaultVerboseTimeValue));
-		args.put("out", Constants.DefaultReturnFormat);
 
 		if (types != null && !types.isEmpty())
 			args.put("types", types);
@@ -149,31 +270,34 @@ public class OnThisDayService extends BaseService {
 		return args;
 	}
 
-	private String getEventTypesAsStr() {
-		if (_types == null)
+	private String getEventTypesAsStr(OnThisDayServiceOptions options) {
+		EnumSet<OTDEventType> types = options.getEventTypes();
+		if (types == null)
 			return "";
 
 		ArrayList<String> includedStrings = new ArrayList<String>();
 		for (final OTDEventType type : OTDEventType.values()) {
-			if (_types.contains(type))
+			if (types.contains(type))
 				includedStrings
-						.add(StringUtils.resolveOTDEventTypes(where.of(type)).Command);
+						.add(StringUtils.resolveOTDEventTypes(where().of(type)).Command);
 		}
 
 		String included = StringUtils.join(includedStrings, ",");
 		return included;
 	}
 
-	private IPredicate<OTDEventType> where = new IPredicate<OTDEventType>() {
-		OTDEventType type;
+	private static IPredicate<OTDEventType> where() {
+		return new IPredicate<OTDEventType>() {
+			OTDEventType type;
 
-		public boolean is(OTDEventType t) {
-			return t == type;
-		}
+			public boolean is(OTDEventType t) {
+				return t == type;
+			}
 
-		public IPredicate<OTDEventType> of(OTDEventType t) {
-			type = t;
-			return this;
-		}
-	};
+			public IPredicate<OTDEventType> of(OTDEventType t) {
+				type = t;
+				return this;
+			}
+		};
+	}
 }
@@ -0,0 +1,67 @@
+package com.timeanddate.services;
+
+import java.util.EnumSet;
+
+import com.timeanddate.services.dataTypes.onthisday.OTDEventType;
+
+/**
+ * Immutable options for calls to the {@link OnThisDayService}, built with a
+ * {@link Builder}. The same options can be used by any number of concurrent
+ * calls.
+ */
+public final class OnThisDayServiceOptions extends ServiceOptions {
+	private final EnumSet<OTDEventType> _types;
+
+	private OnThisDayServiceOptions(Builder builder) {
+		super(builder);
+		_types = builder._types != null ? EnumSet.copyOf(builder._types) : null;
+	}
+
+	public EnumSet<OTDEventType> getEventTypes() {
+		return _types != null ? EnumSet.copyOf(_types) : null;
+	}
+
+	/**
+	 * Creates a builder initialised with these options.
+	 */
+	public Builder toBuilder() {
+		return new Builder(this);
+	}
+
+	public static final class Builder extends ServiceOptions.Builder<Builder> {
+		private EnumSet<OTDEventType> _types;
+
+		/**
+		 * Creates a builder with the default options of the service.
+		 */
+		public Builder() {
+		}
+
+		private Builder(OnThisDayServiceOptions options) {
+			super(options);
+			_types = options._types != null ? EnumSet.copyOf(options._types) : null;
+		}
+
+		public Builder setEventTypes(EnumSet<OTDEventType> types) {
+			_types = types != null ? EnumSet.copyOf(types) : null;
+			return this;
+		}
+
+		public Builder addEventType(OTDEventType type) {
+			if (_types == null)
+				_types = EnumSet.of(type);
+			else
+				_types.add(type);
+			return this;
+		}
+
+		@Override
+		Builder self() {
+			return this;
+		}
+
+		public OnThisDayServiceOptions build() {
+			return new OnThisDayServiceOptions(this);
+		}
+	}
+}
@@ -0,0 +1,330 @@
+package com.timeanddate.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import com.timeanddate.services.common.ServerSideException;
+import com.timeanddate.services.dataTypes.places.Coordinates;
+import com.timeanddate.services.dataTypes.places.Geo;
+import com.timeanddate.services.dataTypes.places.LocationId;
+import com.timeanddate.services.dataTypes.places.Place;
+
+/**
+ * Finds places near coordinates without a request. The places returned by
+ * the {@link PlacesService} are kept in a k-d tree over their positions on
+ * the unit sphere, so distances are great-circle distances everywhere,
+ * including across the antimeridian and near the poles. Looking up the
+ * nearest place takes logarithmic time in the number of places.
+ * <p>
+ * The index does not change once built and can be shared by any number of
+ * threads.
+ *
+ * @author Cato Auestad {@literal <cato@timeanddate.com>}
+ *
+ */
+public class PlaceIndex {
+	/**
+	 * The mean radius of the earth, in kilometers.
+	 */
+	public static final double EarthRadius = 6371.0088;
+
+	private final Place[] _places;
+	private final double[] _points;
+
+	/**
+	 * Builds an index of places. Places without coordinates are left out.
+	 *
+	 * @param places
+	 *            The places, e.g. from {@link PlacesService#getPlaces()}.
+	 */
+	public PlaceIndex(Collection<Place> places) {
+		if (places == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		List<Place> located = new ArrayList<Place>(places.size());
+		for (Place place : places) {
+			Geo geo = place != null ? place.getGeography() : null;
+			if (geo != null && geo.getCoordinates() != null)
+				located.add(place);
+		}
+
+		_places = located.toArray(new Place[located.size()]);
+		_points = new double[_places.length * 3];
+		for (int i = 0; i < _places.length; i++)
+			toPoint(_places[i].getGeography().getCoordinates(), _points, i);
+
+		build(0, _places.length, 0);
+	}
+
+	/**
+	 * Builds an index of all the places of the service. The service must
+	 * include coordinates, which it does by default.
+	 *
+	 * @param service
+	 *            The service the places are retrieved with.
+	 * @return The index.
+	 * @throws ServerSideException
+	 *             The server produced an error message
+	 */
+	public static PlaceIndex load(PlacesService service)
+			throws ServerSideException {
+		if (service == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		return new PlaceIndex(service.getPlaces());
+	}
+
+	/**
+	 * @return The number of places in the index.
+	 */
+	public int size() {
+		return _places.length;
+	}
+
+	/**
+	 * Finds the place nearest to coordinates.
+	 *
+	 * @param coordinates
+	 *            The coordinates.
+	 * @return The nearest place, or null if the index is empty.
+	 */
+	public Place nearest(Coordinates coordinates) {
+		if (coordinates == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		if (_places.length == 0)
+			return null;
+
+		double[] target = new double[3];
+		toPoint(coordinates, target, 0);
+		Nearest best = new Nearest();
+		nearest(0, _places.length, 0, target, best);
+
+		return _places[best.index];
+	}
+
+	/**
+	 * Finds the place nearest to coordinates, if it is within a radius.
+	 *
+	 * @param coordinates
+	 *            The coordinates.
+	 * @param radius
+	 *            The radius in kilometers.
+	 * @return The nearest place, or null if there is none within the radius.
+	 */
+	public Place nearest(Coordinates coordinates, double radius) {
+		Place place = nearest(coordinates);
+		if (place == null
+				|| distance(coordinates, place.getGeography().getCoordinates()) > radius)
+			return null;
+
+		return place;
+	}
+
+	/**
+	 * Finds the place nearest to coordinates within a radius, as an ID that
+	 * can be passed to the other services.
+	 *
+	 * @param coordinates
+	 *            The coordinates.
+	 * @param radius
+	 *            The radius in kilometers.
+	 * @return The ID of the nearest place, or null if there is none within
+	 *         the radius.
+	 */
+	public LocationId getLocationId(Coordinates coordinates, double radius) {
+		Place place = nearest(coordinates, radius);
+		return place != null ? new LocationId(place) : null;
+	}
+
+	/**
+	 * Finds the places within a radius of coordinates.
+	 *
+	 * @param coordinates
+	 *            The coordinates.
+	 * @param radius
+	 *            The radius in kilometers.
+	 * @return The places, nearest first.
+	 */
+	public List<Place> withinRadius(Coordinates coordinates, double radius) {
+		if (coordinates == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		List<Place> found = new ArrayList<Place>();
+		if (radius < 0 || _places.length == 0)
+			return found;
+
+		double[] target = new double[3];
+		toPoint(coordinates, target, 0);
+		double chord = toChord(radius);
+		List<Integer> indexes = new ArrayList<Integer>();
+		within(0, _places.length, 0, target, chord * chord, indexes);
+
+		Collections.sort(indexes,
+				Comparator.comparingDouble(i -> squaredDistance(target, i)));
+		for (int i : indexes)
+			found.add(_places[i]);
+
+		return found;
+	}
+
+	/**
+	 * The great-circle distance between two coordinates.
+	 *
+	 * @param from
+	 *            The first coordinates.
+	 * @param to
+	 *            The second coordinates.
+	 * @return The distance in kilometers.
+	 */
+	public static double distance(Coordinates from, Coordinates to) {
+		double[] points = new double[6];
+		toPoint(from, points, 0);
+		toPoint(to, points, 1);
+
+		double dx = points[0] - points[3];
+		double dy = points[1] - points[4];
+		double dz = points[2] - points[5];
+		return toDistance(Math.sqrt(dx * dx + dy * dy + dz * dz));
+	}
+
+	/**
+	 * Orders the places from {@code from} up to {@code to} so the median on
+	 * the axis is in the middle, with nearer points before and further points
+	 * after it, and does the same for both halves on the next axis.
+	 */
+	private void build(int from, int to, int axis) {
+		if (to - from < 2)
+			return;
+
+		int middle = (from + to) >>> 1;
+		select(from, to - 1, middle, axis);
+		build(from, middle, (axis + 1) % 3);
+		build(middle + 1, to, (axis + 1) % 3);
+	}
+
+	/**
+	 * Quickselect: moves the k-th smallest point on the axis to k.
+	 */
+	private void select(int left, int right, int k, int axis) {
+		while (right > left) {
+			double pivot = _points[((left + right) >>> 1) * 3 + axis];
+			int i = left;
+			int j = right;
+			while (i <= j) {
+				while (_points[i * 3 + axis] < pivot)
+					i++;
+				while (_points[j * 3 + axis] > pivot)
+					j--;
+				if (i <= j)
+					swap(i++, j--);
+			}
+
+			if (k <= j)
+				right = j;
+			else if (k >= i)
+				left = i;
+			else
+				return;
+		}
+	}
+
+	private void swap(int i, int j) {
+		Place place = _places[i];
+		_places[i] = _places[j];
+		_places[j] = place;
+
+		for (int axis = 0; axis < 3; axis++) {
+			double value = _points[i * 3 + axis];
+			_points[i * 3 + axis] = _points[j * 3 + axis];
+			_points[j * 3 + axis] = value;
+		}
+	}
+
+	private void nearest(int from, int to, int axis, double[] target,
+			Nearest best) {
+		if (from >= to)
+			return;
+
+		int middle = (from + to) >>> 1;
+		double distance = squaredDistance(target, middle);
+		if (distance < best.distance) {
+			best.distance = distance;
+			best.index = middle;
+		}
+
+		double delta = target[axis] - _points[middle * 3 + axis];
+		int next = (axis + 1) % 3;
+		if (delta < 0) {
+			nearest(from, middle, next, target, best);
+			if (delta * delta < best.distance)
+				nearest(middle + 1, to, next, target, best);
+		} else {
+			nearest(middle + 1, to, next, target, best);
+			if (delta * delta < best.distance)
+				nearest(from, middle, next, target, best);
+		}
+	}
+
+	private void within(int from, int to, int axis, double[] target,
+			double limit, List<Integer> found) {
+		if (from >= to)
+			return;
+
+		int middle = (from + to) >>> 1;
+		if (squaredDistance(target, middle) <= limit)
+			found.add(middle);
+
+		double delta = target[axis] - _points[middle * 3 + axis];
+		int next = (axis + 1) % 3;
+		if (delta < 0 || delta * delta <= limit)
+			within(from, middle, next, target, limit, found);
+		if (delta >= 0 || delta * delta <= limit)
+			within(middle + 1, to, next, target, limit, found);
+	}
+
+	private double squaredDistance(double[] target, int i) {
+		double dx = target[0] - _points[i * 3];
+		double dy = target[1] - _points[i * 3 + 1];
+		double dz = target[2] - _points[i * 3 + 2];
+		return dx * dx + dy * dy + dz * dz;
+	}
+
+	private static void toPoint(Coordinates coordinates, double[] points,
+			int i) {
+		double latitude = Math.toRadians(coordinates.getLatitude());
+		double longitude = Math.toRadians(coordinates.getLongitude());
+		double cos = Math.cos(latitude);
+
+		points[i * 3] = cos * Math.cos(longitude);
+		points[i * 3 + 1] = cos * Math.sin(longitude);
+		points[i * 3 + 2] = Math.sin(latitude);
+	}
+
+	/**
+	 * The length of the chord between two points on the unit sphere a
+	 * great-circle distance apart.
+	 */
+	private static double toChord(double distance) {
+		if (distance >= Math.PI * EarthRadius)
+			return 2;
+
+		return 2 * Math.sin(distance / (2 * EarthRadius));
+	}
+
+	private static double toDistance(double chord) {
+		return 2 * EarthRadius * Math.asin(Math.min(1, chord / 2));
+	}
+
+	private static final class Nearest {
+		int index;
+		double distance = Double.POSITIVE_INFINITY;
+	}
+}
@@ -1,31 +1,25 @@
 package com.timeanddate.services;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
 import com.timeanddate.services.common.AuthenticationException;
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.ServerSideException;
 import com.timeanddate.services.common.StringUtils;
-import com.timeanddate.services.common.UriUtils;
-import com.timeanddate.services.common.WebClient;
 import com.timeanddate.services.common.XmlUtils;
 import com.timeanddate.services.dataTypes.places.Place;
 
@@ -35,13 +29,31 @@ import com.timeanddate.services.dataTypes.places.Place;
  *
  */
 public class PlacesService extends BaseService {
+	private static final IResponseParser<List<Place>> _parser = new IResponseParser<List<Place>>() {
+		@Override
+		public List<Place> fromDocument(Document document) {
+			return fromXml(document);
+		}
+
+		@Override
+		public List<Place> fromReader(XMLStreamReader reader)
+				throws XMLStreamException, ServerSideException {
+			return fromXml(reader);
+		}
+
+		@Override
+		public List<Place> fromJsonReader(JsonReader reader)
+				throws IOException, ServerSideException {
+			return fromJson(reader);
+		}
+	};
+
 	/**
-	 * Return coordinates for the Geography object.
-	 * <p>
-	 * <b>true</b> to include coordinates; otherwise, <b>false</b>. <b>true</b>
-	 * is default.
+	 * The options used by calls that are not given options of their own. The
+	 * setters replace it as a whole, so a call never sees a half-updated
+	 * configuration.
 	 */
-	private boolean _includeCoordinates;
+	private volatile PlacesServiceOptions _options = new PlacesServiceOptions.Builder().build();
 
 	/**
 	 * The places service can be used to retrieve the list of supported places.
@@ -58,7 +70,28 @@ public class PlacesService extends BaseService {
 	public PlacesService(String accessKey, String secretKey)
 			throws AuthenticationException {
 		super(accessKey, secretKey, "places");
-		_includeCoordinates = true;
+	}
+
+	/**
+	 * Gets the options used by calls that are not given options of their own.
+	 * 
+	 * @return The options of this service.
+	 */
+	public PlacesServiceOptions getOptions() {
+		return _options;
+	}
+
+	/**
+	 * Sets the options used by calls that are not given options of their own.
+	 * 
+	 * @param options
+	 *            The options of this service.
+	 */
+	public synchronized void setOptions(PlacesServiceOptions options) {
+		if (options == null)
+			throw new IllegalArgumentException("Options cannot be null");
+
+		_options = options;
 	}
 
 	/**
@@ -69,65 +102,112 @@ public class PlacesService extends BaseService {
 	 * 			  The server produced an error message
 	 */
 	public List<Place> getPlaces() throws ServerSideException {
-		Map<String, String> arguments = getArguments();
-		String result = new String();
-		
-		try {
-			String query = UriUtils.BuildUriString(arguments);
-			URL uri = new URL(Constants.EntryPoint + ServiceName + query);
-			WebClient client = new WebClient();
-
-			result = client.downloadString(uri);
-		} catch (UnsupportedEncodingException | MalformedURLException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
+		return getPlaces(_options);
+	}
+
+	/**
+	 * Gets list of supported places, with the given options instead of the
+	 * options of this service.
+	 * 
+	 * @param options
+	 *            The options of this call.
+	 * @return The places
+	 * @throws ServerSideException 
+	 * 			  The server produced an error message
+	 */
+	public List<Place> getPlaces(PlacesServiceOptions options)
+			throws ServerSideException {
+		if (options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		Map<String, String> arguments = getArguments(options);
+		return retrieve(arguments, _parser);
+	}
+
+	/**
+	 * Asynchronous version of {@link #getPlaces()}.
+	 * 
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<Place>> getPlacesAsync() {
+		return async(() -> getPlaces());
+	}
 
-		XmlUtils.checkForErrors(result);
-		return fromXml(result);
+	/**
+	 * Asynchronous version of {@link #getPlaces(PlacesServiceOptions)}.
+	 * 
+	 * @param options
+	 *            The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<Place>> getPlacesAsync(
+			PlacesServiceOptions options) {
+		return async(() -> getPlaces(options));
 	}
 	
-	public void setIncludeCoordinates(boolean bool) {
-		_includeCoordinates = bool;
+	public synchronized void setIncludeCoordinates(boolean bool) {
+		_options = _options.toBuilder().setIncludeCoordinates(bool).build();
 	}
 	
 	public boolean getIncludeCoordinates() {
-		return _includeCoordinates;
+		return _options.getIncludeCoordinates();
 	}
 
-	private Map<String, String> getArguments() {
+	private Map<String, String> getArguments(PlacesServiceOptions options) {
 		HashMap<String, String> args = new HashMap<String, String>(
 				AuthenticationOptions);
-		args.put("lang", Language);
-		args.put("geo", StringUtils.BoolToNum(_includeCoordinates));
-		args.put("version", Integer.toString(Version));
-		args.put("out", Constants.DefaultReturnFormat);
+		args.put("lang", getLanguage(options));
+		args.put("geo", StringUtils.BoolToNum(options.getIncludeCoordinates()));
+		args.put("version", getVersion(options));
 		args.put("verbosetime",
 				Integer.toString(Constants.DefaultVerboseTimeValue));
 
 		return args;
 	}
 
-	private static List<Place> fromXml(String result) {
+	private static List<Place> fromXml(Document document) {
 		ArrayList<Place> list = new ArrayList<Place>();
-		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-		
-		try {
-			DocumentBuilder builder = factory.newDocumentBuilder();
-			ByteArrayInputStream stream = new ByteArrayInputStream(
-					result.getBytes(StandardCharsets.UTF_8));
-			Document document = builder.parse(stream);
-			Element root = document.getDocumentElement();
-			NodeList nodes = root.getElementsByTagName("place");
-
-			for (Node node : XmlUtils.asList(nodes)) {
-				list.add(Place.fromNode(node));
-			}
-		} catch (ParserConfigurationException | SAXException | IOException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
+		Element root = document.getDocumentElement();
+		NodeList nodes = root.getElementsByTagName("place");
+
+		for (Node node : XmlUtils.asList(nodes)) {
+			list.add(Place.fromNode(node));
+		}
+
+		return list;
+	}
+
+	private static List<Place> fromXml(XMLStreamReader reader)
+			throws XMLStreamException, ServerSideException {
+		List<Place> list = new ArrayList<Place>();
+
+		while (XmlUtils.nextElement(reader, "place") != null) {
+			list.add(Place.fromReader(reader));
 		}
 
+		return list;
+	}
+
+	private static List<Place> fromJson(JsonReader reader)
+			throws IOException, ServerSideException {
+		List<Place> list = new ArrayList<Place>();
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextResponseMember(reader)) != null) {
+			if (member.equals("places")) {
+				reader.beginArray();
+				while (reader.hasNext())
+					list.add(Place.fromJson(reader));
+				reader.endArray();
+			} else {
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
 
 		return list;
 	}
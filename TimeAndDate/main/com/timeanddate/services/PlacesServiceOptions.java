@@ -0,0 +1,61 @@
+package com.timeanddate.services;
+
+/**
+ * Immutable options for calls to the {@link PlacesService}, built with a
+ * {@link Builder}. The same options can be used by any number of concurrent
+ * calls.
+ */
+public final class PlacesServiceOptions extends ServiceOptions {
+	/**
+	 * Return coordinates for the Geography object.
+	 * <p>
+	 * <b>true</b> to include coordinates; otherwise, <b>false</b>. <b>true</b>
+	 * is default.
+	 */
+	private final boolean _includeCoordinates;
+
+	private PlacesServiceOptions(Builder builder) {
+		super(builder);
+		_includeCoordinates = builder._includeCoordinates;
+	}
+
+	public boolean getIncludeCoordinates() {
+		return _includeCoordinates;
+	}
+
+	/**
+	 * Creates a builder initialised with these options.
+	 */
+	public Builder toBuilder() {
+		return new Builder(this);
+	}
+
+	public static final class Builder extends ServiceOptions.Builder<Builder> {
+		private boolean _includeCoordinates = true;
+
+		/**
+		 * Creates a builder with the default options of the service.
+		 */
+		public Builder() {
+		}
+
+		private Builder(PlacesServiceOptions options) {
+			super(options);
+			_includeCoordinates = options._includeCoordinates;
+		}
+
+		public Builder setIncludeCoordinates(boolean bool) {
+			_includeCoordinates = bool;
+			return this;
+		}
+
+		@Override
+		Builder self() {
+			return this;
+		}
+
+		public PlacesServiceOptions build() {
+			return new PlacesServiceOptions(this);
+		}
+	}
+}
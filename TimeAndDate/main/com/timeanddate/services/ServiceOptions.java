@@ -0,0 +1,52 @@
+package com.timeanddate.services;
+
+/**
+ * Options shared by the options of all services. Instances are immutable, so
+ * the same options can be used by any number of concurrent calls.
+ * <p>
+ * The language and version fall back to {@link BaseService#Language} and
+ * {@link BaseService#Version} of the service the options are used with, unless
+ * they are set.
+ */
+public abstract class ServiceOptions {
+	private final String _language;
+	private final Integer _version;
+
+	ServiceOptions(Builder<?> builder) {
+		_language = builder._language;
+		_version = builder._version;
+	}
+
+	public String getLanguage() {
+		return _language;
+	}
+
+	public Integer getVersion() {
+		return _version;
+	}
+
+	public abstract static class Builder<B extends Builder<B>> {
+		private String _language;
+		private Integer _version;
+
+		Builder() {
+		}
+
+		Builder(ServiceOptions options) {
+			_language = options._language;
+			_version = options._version;
+		}
+
+		public B setLanguage(String language) {
+			_language = language;
+			return self();
+		}
+
+		public B setVersion(Integer version) {
+			_version = version;
+			return self();
+		}
+
+		abstract B self();
+	}
+}
@@ -1,35 +1,26 @@
 package com.timeanddate.services;
 
-import java.util.stream.Collectors;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 import java.util.ArrayList;
-import java.util.Calendar;
-import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
 import com.timeanddate.services.common.AuthenticationException;
-import com.timeanddate.services.common.IPredicate;
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.ServerSideException;
 import com.timeanddate.services.common.StringUtils;
-import com.timeanddate.services.common.UriUtils;
-import com.timeanddate.services.common.WebClient;
 import com.timeanddate.services.common.XmlUtils;
 
 import com.timeanddate.services.dataTypes.places.LocationId;
@@ -42,14 +33,31 @@ import com.timeanddate.services.dataTypes.time.TADDateTime;
  *
  */
 public class TidesService extends BaseService {
+	private static final IResponseParser<List<Station>> _parser = new IResponseParser<List<Station>>() {
+		@Override
+		public List<Station> fromDocument(Document document) {
+			return fromXml(document);
+		}
 
-	private Boolean _onlyHighLow;
-	private TADDateTime _startDate;
-	private TADDateTime _endDate;
-	private Integer _radius;
-	private Boolean _subordinate;
-	private Integer _interval;
-	private Boolean _localTime;
+		@Override
+		public List<Station> fromReader(XMLStreamReader reader)
+				throws XMLStreamException, ServerSideException {
+			return fromXml(reader);
+		}
+
+		@Override
+		public List<Station> fromJsonReader(JsonReader reader)
+				throws IOException, ServerSideException {
+			return fromJson(reader);
+		}
+	};
+
+	/**
+	 * The options used by calls that are not given options of their own. The
+	 * setters replace it as a whole, so a call never sees a half-updated
+	 * configuration.
+	 */
+	private volatile TidesServiceOptions _options = new TidesServiceOptions.Builder().build();
 
 	/**
 	 * The Tides service can be used to retrieve predicted tidal data over a given time
@@ -67,60 +75,82 @@ public class TidesService extends BaseService {
 		super(accessKey, secretKey, "tides");
 	}
 
-	public void setOnlyHighLow(Boolean bool) {
-		_onlyHighLow = bool;
+	/**
+	 * Gets the options used by calls that are not given options of their own.
+	 * 
+	 * @return The options of this service.
+	 */
+	public TidesServiceOptions getOptions() {
+		return _options;
+	}
+
+	/**
+	 * Sets the options used by calls that are not given options of their own.
+	 * 
+	 * @param options
+	 *            The options of this service.
+	 */
+	public synchronized void setOptions(TidesServiceOptions options) {
+		if (options == null)
+			throw new IllegalArgumentException("Options cannot be null");
+
+		_options = options;
+	}
+
+	public synchronized void setOnlyHighLow(Boolean bool) {
+		_options = _options.toBuilder().setOnlyHighLow(bool).build();
 	}
 
 	public Boolean getOnlyHighLow() {
-		return _onlyHighLow;
+		return _options.getOnlyHighLow();
 	}
 
-	public void setStartDate(TADDateTime startDate) {
-		_startDate = startDate;
+	public synchronized void setStartDate(TADDateTime startDate) {
+		_options = _options.toBuilder().setStartDate(startDate).build();
 	}
 
 	public TADDateTime getStartDate() {
-		return _startDate;
+		return _options.getStartDate();
 	}
 
-	public void setEndDate(TADDateTime endDate) {
-		_endDate = endDate;
+	public synchronized void setEndDate(TADDateTime endDate) {
+		_options = _options.toBuilder().setEndDate(endDate).build();
 	}
 
 	public TADDateTime getEndDate() {
-		return _endDate;
+		return _options.getEndDate();
 	}
 
-	public void setRadius(Integer radius) {
-		_radius = radius;
+	public synchronized void setRadius(Integer radius) {
+		_options = _options.toBuilder().setRadius(radius).build();
 	}
 
 	public Integer getRadius() {
-		return _radius;
+		return _options.getRadius();
 	}
 
-	public void setSubordinate(Boolean bool) {
-		_subordinate = bool;
+	public synchronized void setSubordinate(Boolean bool) {
+		_options = _options.toBuilder().setSubordinate(bool).build();
 	}
 
 	public Boolean getSubordinate() {
-		return _subordinate;
+		return _options.getSubordinate();
 	}
 
-	public void setInterval(Integer interval) {
-		_interval = interval;
+	public synchronized void setInterval(Integer interval) {
+		_options = _options.toBuilder().setInterval(interval).build();
 	}
 
 	public Integer getInterval() {
-		return _interval;
+		return _options.getInterval();
 	}
 
-	public void setLocalTime(Boolean bool) {
-		_localTime = bool;
+	public synchronized void setLocalTime(Boolean bool) {
+		_options = _options.toBuilder().setLocalTime(bool).build();
 	}
 
 	public Boolean getLocalTime() {
-		return _localTime;
+		return _options.getLocalTime();
 	}
 
 	/**
@@ -136,22 +166,60 @@ public class TidesService extends BaseService {
 	 * 		A required argument was not as expected
 	 */
 	public List<Station> getTidalData(LocationId locationId) throws IllegalArgumentException, ServerSideException {
+		return getTidalData(locationId, _options);
+	}
+
+	/**
+	 * The Tides service can be used to retrieve predicted tidal data over a given time
+	 * interval for one or multiple places.
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param locationId
+	 * 		Location id to request tidal data for.
+	 * @param options
+	 * 		The options of this call.
+	 * @return List of requested tidal data for the given location id.
+	 * @throws ServerSideException
+	 * 		The server produced an error message
+	 * @throws IllegalArgumentException
+	 * 		A required argument was not as expected
+	 */
+	public List<Station> getTidalData(LocationId locationId, TidesServiceOptions options) throws IllegalArgumentException, ServerSideException {
+		if (options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
 		var list = new ArrayList<LocationId>();
 		list.add(locationId);
-		Map<String, String> arguments = getArguments(list);
-		String result = new String();
-
-		try {
-			String query = UriUtils.BuildUriString(arguments);
-			URL uri = new URL(Constants.EntryPoint + ServiceName + query);
-			WebClient client = new WebClient();
-			result = client.downloadString(uri);
-		} catch (UnsupportedEncodingException | MalformedURLException e) {
-			e.printStackTrace();
-		}
-		
-		XmlUtils.checkForErrors(result);
-		return fromXml(result);
+		Map<String, String> arguments = getArguments(list, options);
+		return retrieve(arguments, _parser);
+	}
+
+	/**
+	 * Asynchronous version of {@link #getTidalData(LocationId)}.
+	 * 
+	 * @param locationId
+	 * 		Location id to request tidal data for.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<Station>> getTidalDataAsync(LocationId locationId) {
+		return async(() -> getTidalData(locationId));
+	}
+
+	/**
+	 * Asynchronous version of {@link #getTidalData(LocationId, TidesServiceOptions)}.
+	 * 
+	 * @param locationId
+	 * 		Location id to request tidal data for.
+	 * @param options
+	 * 		The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<Station>> getTidalDataAsync(LocationId locationId, TidesServiceOptions options) {
+		return async(() -> getTidalData(locationId, options));
 	}
 
 	/**
@@ -167,24 +235,62 @@ public class TidesService extends BaseService {
 	 * 		A required argument was not as expected
 	 */
 	public List<Station> getTidalData(List<LocationId> locationId) throws IllegalArgumentException, ServerSideException {
-		Map<String, String> arguments = getArguments(locationId);
-		String result = new String();
-
-		try {
-			String query = UriUtils.BuildUriString(arguments);
-			URL uri = new URL(Constants.EntryPoint + ServiceName + query);
-			WebClient client = new WebClient();
-			result = client.downloadString(uri);
-		} catch (UnsupportedEncodingException | MalformedURLException e) {
-			e.printStackTrace();
-		}
-		
-		XmlUtils.checkForErrors(result);
-		return fromXml(result);
+		return getTidalData(locationId, _options);
+	}
+
+	/**
+	 * The Tides service can be used to retrieve predicted tidal data over a given time
+	 * interval for one or multiple places.
+	 * <p>
+	 * Uses the given options instead of the options of this service.
+	 * 
+	 * @param locationId
+	 * 		List of location ids to request tidal data for.
+	 * @param options
+	 * 		The options of this call.
+	 * @return List of requested tidal data for the given location id.
+	 * @throws ServerSideException
+	 * 		The server produced an error message
+	 * @throws IllegalArgumentException
+	 * 		A required argument was not as expected
+	 */
+	public List<Station> getTidalData(List<LocationId> locationId, TidesServiceOptions options) throws IllegalArgumentException, ServerSideException {
+		if (options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		Map<String, String> arguments = getArguments(locationId, options);
+		return retrieve(arguments, _parser);
+	}
+
+	/**
+	 * Asynchronous version of {@link #getTidalData(List)}.
+	 * 
+	 * @param locationId
+	 * 		List of location ids to request tidal data for.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<Station>> getTidalDataAsync(List<LocationId> locationId) {
+		return async(() -> getTidalData(locationId));
+	}
+
+	/**
+	 * Asynchronous version of {@link #getTidalData(List, TidesServiceOptions)}.
+	 * 
+	 * @param locationId
+	 * 		List of location ids to request tidal data for.
+	 * @param options
+	 * 		The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<Station>> getTidalDataAsync(List<LocationId> locationId, TidesServiceOptions options) {
+		return async(() -> getTidalData(locationId, options));
 	}
 
 
-	private Map<String, String> getArguments(List<LocationId> locationId) {
+	private Map<String, String> getArguments(List<LocationId> locationId, TidesServiceOptions options) {
 		Map<String, String> args = new HashMap<String, String>(AuthenticationOptions);
 
 		args.put("placeid",
@@ -194,61 +300,82 @@ public class TidesService extends BaseService {
 					.collect(Collectors.toList())
 				, ",")
 		);
-		args.put("version", Integer.toString(Version));
+		args.put("version", getVersion(options));
 		args.put("verbosetime",
 				Integer.toString(Constants.DefaultVerboseTimeValue));
-		args.put("out", Constants.DefaultReturnFormat);
 
-		if (_onlyHighLow != null) {
-			args.put("onlyhighlow", StringUtils.BoolToNum(_onlyHighLow));
+		if (options.getOnlyHighLow() != null) {
+			args.put("onlyhighlow", StringUtils.BoolToNum(options.getOnlyHighLow()));
 		}
 		
-		if (_startDate != null) {
-			args.put("startdt", _startDate.toString());
+		if (options.getStartDate() != null) {
+			args.put("startdt", options.getStartDate().toString());
 		}
 
-		if (_endDate != null) {
-			args.put("enddt", _endDate.toString());
+		if (options.getEndDate() != null) {
+			args.put("enddt", options.getEndDate().toString());
 		}
 
-		if (_radius != null) {
-			args.put("radius", _radius.toString());
+		if (options.getRadius() != null) {
+			args.put("radius", options.getRadius().toString());
 		}
 
-		if (_subordinate != null) {
-			args.put("subordinate", StringUtils.BoolToNum(_subordinate));
+		if (options.getSubordinate() != null) {
+			args.put("subordinate", StringUtils.BoolToNum(options.getSubordinate()));
 		}
 
-		if (_interval != null) {
-			args.put("interval", _interval.toString());
+		if (options.getInterval() != null) {
+			args.put("interval", options.getInterval().toString());
 		}
 
-		if (_localTime != null) {
-			args.put("localtime", StringUtils.BoolToNum(_localTime));
+		if (options.getLocalTime() != null) {
+			args.put("localtime", StringUtils.BoolToNum(options.getLocalTime()));
 		}
 
 		return args;
 	}
 
-	private static List<Station> fromXml(String result) {
+	private static List<Station> fromXml(Document document) {
 		ArrayList<Station> list = new ArrayList<Station>();
-		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+		Element root = document.getDocumentElement();
 
-		try {
-			DocumentBuilder builder = factory.newDocumentBuilder();
-			ByteArrayInputStream stream = new ByteArrayInputStream(
-					result.getBytes(StandardCharsets.UTF_8));
-			Document document = builder.parse(stream);
-			Element root = document.getDocumentElement();
+		NodeList nodes = root.getElementsByTagName("station");
 
-			NodeList nodes = root.getElementsByTagName("station");
+		for (Node node : XmlUtils.asList(nodes)) {
+			list.add(Station.fromNode(node));
+		}
+
+		return list;
+	}
+
+	private static List<Station> fromXml(XMLStreamReader reader)
+			throws XMLStreamException, ServerSideException {
+		List<Station> list = new ArrayList<Station>();
+
+		while (XmlUtils.nextElement(reader, "station") != null) {
+			list.add(Station.fromReader(reader));
+		}
+
+		return list;
+	}
 
-			for (Node node : XmlUtils.asList(nodes)) {
-				list.add(Station.fromNode(node));
+	private static List<Station> fromJson(JsonReader reader)
+			throws IOException, ServerSideException {
+		List<Station> list = new ArrayList<Station>();
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextResponseMember(reader)) != null) {
+			if (member.equals("stations")) {
+				reader.beginArray();
+				while (reader.hasNext())
+					list.add(Station.fromJson(reader));
+				reader.endArray();
+			} else {
+				reader.skipValue();
 			}
-		} catch (ParserConfigurationException | SAXException | IOException e) {
-			e.printStackTrace();
 		}
+		reader.endObject();
 
 		return list;
 	}
@@ -0,0 +1,141 @@
+package com.timeanddate.services;
+
+import com.timeanddate.services.dataTypes.time.TADDateTime;
+
+/**
+ * Immutable options for calls to the {@link TidesService}, built with a
+ * {@link Builder}. The same options can be used by any number of concurrent
+ * calls.
+ */
+public final class TidesServiceOptions extends ServiceOptions {
+	private final Boolean _onlyHighLow;
+
+	private final TADDateTime _startDate;
+
+	private final TADDateTime _endDate;
+
+	private final Integer _radius;
+
+	private final Boolean _subordinate;
+
+	private final Integer _interval;
+
+	private final Boolean _localTime;
+
+	private TidesServiceOptions(Builder builder) {
+		super(builder);
+		_onlyHighLow = builder._onlyHighLow;
+		_startDate = builder._startDate;
+		_endDate = builder._endDate;
+		_radius = builder._radius;
+		_subordinate = builder._subordinate;
+		_interval = builder._interval;
+		_localTime = builder._localTime;
+	}
+
+	public Boolean getOnlyHighLow() {
+		return _onlyHighLow;
+	}
+
+	public TADDateTime getStartDate() {
+		return _startDate;
+	}
+
+	public TADDateTime getEndDate() {
+		return _endDate;
+	}
+
+	public Integer getRadius() {
+		return _radius;
+	}
+
+	public Boolean getSubordinate() {
+		return _subordinate;
+	}
+
+	public Integer getInterval() {
+		return _interval;
+	}
+
+	public Boolean getLocalTime() {
+		return _localTime;
+	}
+
+	/**
+	 * Creates a builder initialised with these options.
+	 */
+	public Builder toBuilder() {
+		return new Builder(this);
+	}
+
+	public static final class Builder extends ServiceOptions.Builder<Builder> {
+		private Boolean _onlyHighLow;
+		private TADDateTime _startDate;
+		private TADDateTime _endDate;
+		private Integer _radius;
+		private Boolean _subordinate;
+		private Integer _interval;
+		private Boolean _localTime;
+
+		/**
+		 * Creates a builder with the default options of the service.
+		 */
+		public Builder() {
+		}
+
+		private Builder(TidesServiceOptions options) {
+			super(options);
+			_onlyHighLow = options._onlyHighLow;
+			_startDate = options._startDate;
+			_endDate = options._endDate;
+			_radius = options._radius;
+			_subordinate = options._subordinate;
+			_interval = options._interval;
+			_localTime = options._localTime;
+		}
+
+		public Builder setOnlyHighLow(Boolean bool) {
+			_onlyHighLow = bool;
+			return this;
+		}
+
+		public Builder setStartDate(TADDateTime startDate) {
+			_startDate = startDate;
+			return this;
+		}
+
+		public Builder setEndDate(TADDateTime endDate) {
+			_endDate = endDate;
+			return this;
+		}
+
+		public Builder setRadius(Integer radius) {
+			_radius = radius;
+			return this;
+		}
+
+		public Builder setSubordinate(Boolean bool) {
+			_subordinate = bool;
+			return this;
+		}
+
+		public Builder setInterval(Integer interval) {
+			_interval = interval;
+			return this;
+		}
+
+		public Builder setLocalTime(Boolean bool) {
+			_localTime = bool;
+			return this;
+		}
+
+		@Override
+		Builder self() {
+			return this;
+		}
+
+		public TidesServiceOptions build() {
+			return new TidesServiceOptions(this);
+		}
+	}
+}
@@ -0,0 +1,332 @@
+package com.timeanddate.services;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.timeanddate.services.common.LocalTimeDoesNotExistException;
+import com.timeanddate.services.common.MissingTimeChangesException;
+import com.timeanddate.services.common.QueriedDateOutOfRangeException;
+import com.timeanddate.services.dataTypes.places.Geo;
+import com.timeanddate.services.dataTypes.places.Location;
+import com.timeanddate.services.dataTypes.places.LocationId;
+import com.timeanddate.services.dataTypes.time.TADDateTime;
+import com.timeanddate.services.dataTypes.time.TADTime;
+import com.timeanddate.services.dataTypes.time.TADTimezone;
+import com.timeanddate.services.dataTypes.time.TimeChange;
+
+/**
+ * Keeps the time changes, time zones and geographical information of the
+ * locations in the responses of a {@link ConvertTimeService}, so later
+ * conversions between the same locations can be computed without a request.
+ * <p>
+ * A location is known for a year once a response has included its time
+ * changes for that year. A conversion is computed locally only if every
+ * location involved is known for the years the conversion touches, and, when
+ * time zone information is requested, the time zone in effect has been seen
+ * in a response.
+ *
+ * @author Cato Auestad {@literal <cato@timeanddate.com>}
+ *
+ */
+public class TimeChangeCache {
+	private final Map<String, Place> _places = new ConcurrentHashMap<String, Place>();
+	private final Map<String, String> _aliases = new ConcurrentHashMap<String, String>();
+
+	/**
+	 * Converts a local time at a location to UTC and to the local times at
+	 * other locations, from the cached time changes only.
+	 *
+	 * @param fromId
+	 *            The places identifier.
+	 * @param localTime
+	 *            The local time at the place.
+	 * @param toIds
+	 *            The place IDs to convert to, or null.
+	 * @param options
+	 *            The options the result is built for.
+	 * @return The converted time, as the service would return it.
+	 * @throws MissingTimeChangesException
+	 *             A location has not been seen in a response
+	 * @throws QueriedDateOutOfRangeException
+	 *             The time changes of a location are not known for the year
+	 * @throws LocalTimeDoesNotExistException
+	 *             The local time is skipped by a time change at the place
+	 */
+	public ConvertedTimes convertTime(LocationId fromId, TADDateTime localTime,
+			List<LocationId> toIds, ConvertTimeServiceOptions options)
+			throws MissingTimeChangesException,
+			QueriedDateOutOfRangeException, LocalTimeDoesNotExistException {
+		if (fromId == null || localTime == null || options == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		List<String> ids = new ArrayList<String>();
+		ids.add(fromId.getId());
+		if (toIds != null)
+			for (LocationId id : toIds)
+				if (!id.getId().isEmpty())
+					ids.add(id.getId());
+
+		String language = options.getLanguage();
+		return convertTime(language != null ? language
+				: Constants.DefaultLanguage, ids, localTime, options);
+	}
+
+	/**
+	 * Forgets everything that has been recorded.
+	 */
+	public void clear() {
+		_places.clear();
+		_aliases.clear();
+	}
+
+	/**
+	 * @return The number of locations that have been recorded.
+	 */
+	public int size() {
+		return _places.size();
+	}
+
+	ConvertedTimes convertTime(String language, List<String> ids,
+			TADDateTime localTime, ConvertTimeServiceOptions options)
+			throws MissingTimeChangesException,
+			QueriedDateOutOfRangeException, LocalTimeDoesNotExistException {
+		List<Place> places = new ArrayList<Place>(ids.size());
+		for (String id : ids)
+			places.add(getPlace(language, id));
+
+		long local;
+		try {
+			local = OffsetEngine.toEpochSecond(localTime);
+		} catch (DateTimeException e) {
+			throw new IllegalArgumentException("Invalid local time: "
+					+ localTime);
+		}
+
+		long utc = places.get(0).getSchedule(localTime.getYear())
+				.toUtc(local);
+
+		ConvertedTimes times = new ConvertedTimes();
+		TADDateTime utcTime = toDateTime(utc);
+		times.Utc = new TADTime(utcTime.getISO8601Combined(), utcTime, null);
+
+		for (Place place : places)
+			times.Locations.add(place.toLocation(utc, options));
+
+		return times;
+	}
+
+	/**
+	 * Records the locations of a response. The locations are in the order
+	 * they were requested in, so the requested IDs are remembered as aliases
+	 * of the IDs in the response. IDs given as coordinates are not, since the
+	 * location they resolve to depends on the search radius.
+	 */
+	void record(String language, List<String> ids,
+			ConvertTimeServiceOptions options, ConvertedTimes times) {
+		if (times == null || times.Utc == null
+				|| times.Utc.getDateTime() == null)
+			return;
+
+		long utc;
+		try {
+			utc = OffsetEngine.toEpochSecond(times.Utc.getDateTime());
+		} catch (DateTimeException e) {
+			return;
+		}
+
+		for (Location location : times.Locations) {
+			if (location.getId().isEmpty() || location.getTime() == null
+					|| location.getTime().getDateTime() == null)
+				continue;
+
+			String key = getKey(language, location.getId());
+			Place place = _places.computeIfAbsent(key,
+					k -> new Place(location.getId()));
+			try {
+				place.record(location, utc, options);
+			} catch (DateTimeException e) {
+				// Not a time this cache can compute with, skip the location
+			}
+		}
+
+		if (ids.size() == times.Locations.size()) {
+			for (int i = 0; i < ids.size(); i++) {
+				String id = ids.get(i);
+				if (!id.startsWith("+") && !id.startsWith("-"))
+					_aliases.put(getKey(language, id),
+							getKey(language, times.Locations.get(i).getId()));
+			}
+		}
+	}
+
+	private Place getPlace(String language, String id)
+			throws MissingTimeChangesException {
+		String key = getKey(language, id);
+		Place place = _places.get(key);
+
+		if (place == null) {
+			String alias = _aliases.get(key);
+			if (alias != null)
+				place = _places.get(alias);
+		}
+
+		if (place == null)
+			throw new MissingTimeChangesException(
+					"No time changes have been recorded for location " + id);
+
+		return place;
+	}
+
+	private static String getKey(String language, String id) {
+		return language + "/" + id;
+	}
+
+	private static TADDateTime toDateTime(long epochSecond) {
+		LocalDateTime time = LocalDateTime.ofEpochSecond(epochSecond, 0,
+				ZoneOffset.UTC);
+		return new TADDateTime(time.getYear(), time.getMonthValue(),
+				time.getDayOfMonth(), time.getHour(), time.getMinute(),
+				time.getSecond());
+	}
+
+	/**
+	 * The ISO representation the service uses for a local time: the UTC
+	 * offset is included if different from UTC.
+	 */
+	private static String toIso(TADDateTime time, int offset) {
+		String iso = time.getISO8601Combined();
+		if (offset == 0)
+			return iso;
+
+		int minutes = Math.abs(offset) / 60;
+		return String.format("%s%s%02d:%02d", iso, offset < 0 ? "-" : "+",
+				minutes / 60, minutes % 60);
+	}
+
+	private static final class Place {
+		final String id;
+		volatile Geo geography;
+		final Map<Integer, YearSchedule> schedules = new ConcurrentHashMap<Integer, YearSchedule>();
+		final Map<Integer, TADTimezone> timezones = new ConcurrentHashMap<Integer, TADTimezone>();
+
+		Place(String id) {
+			this.id = id;
+		}
+
+		void record(Location location, long utc,
+				ConvertTimeServiceOptions options) {
+			TADDateTime time = location.getTime().getDateTime();
+			int offset = (int) (OffsetEngine.toEpochSecond(time) - utc);
+
+			if (location.getGeography() != null)
+				geography = location.getGeography();
+
+			TADTimezone timezone = location.getTime().getTimezone();
+			if (timezone != null)
+				timezones.put(offset, timezone);
+
+			if (options.getIncludeTimeChanges())
+				schedules.put(time.getYear(), new YearSchedule(time.getYear(),
+						location.getTimeChanges(), offset));
+		}
+
+		YearSchedule getSchedule(int year)
+				throws QueriedDateOutOfRangeException {
+			YearSchedule schedule = schedules.get(year);
+			if (schedule == null)
+				throw new QueriedDateOutOfRangeException(
+						"No time changes have been recorded for location "
+								+ id + " in " + year);
+
+			return schedule;
+		}
+
+		/**
+		 * The local time at this place at an instant, found through the
+		 * schedule of the local year. The year is not known before the offset
+		 * is, so the schedules of the UTC year and the years around it are
+		 * tried.
+		 */
+		Location toLocation(long utc, ConvertTimeServiceOptions options)
+				throws MissingTimeChangesException,
+				QueriedDateOutOfRangeException {
+			int utcYear = LocalDateTime.ofEpochSecond(utc, 0, ZoneOffset.UTC)
+					.getYear();
+
+			for (int year = utcYear - 1; year <= utcYear + 1; year++) {
+				YearSchedule schedule = schedules.get(year);
+				if (schedule == null)
+					continue;
+
+				int offset = schedule.getOffset(utc);
+				TADDateTime local = toDateTime(utc + offset);
+				if (local.getYear() != year)
+					continue;
+
+				TADTimezone timezone = null;
+				if (options.getIncludeTimezoneInformation()) {
+					timezone = timezones.get(offset);
+					if (timezone == null)
+						throw new MissingTimeChangesException(
+								"No time zone has been recorded for location "
+										+ id + " at offset " + offset);
+				}
+
+				List<TimeChange> changes = options.getIncludeTimeChanges() ? new ArrayList<TimeChange>(
+						schedule.changes) : null;
+
+				return new Location(id, geography, new TADTime(toIso(local,
+						offset), local, timezone), changes);
+			}
+
+			throw new QueriedDateOutOfRangeException(
+					"No time changes have been recorded for location " + id
+							+ " around " + utcYear);
+		}
+	}
+
+	/**
+	 * The time changes of a place during one year, and the offsets they give
+	 * as an {@link OffsetEngine} table over that year.
+	 */
+	private static final class YearSchedule {
+		final List<TimeChange> changes;
+		final OffsetEngine.OffsetTable table;
+
+		YearSchedule(int year, List<TimeChange> changes, int currentOffset) {
+			this.changes = new ArrayList<TimeChange>(changes);
+
+			TreeMap<Long, Integer> transitions = new TreeMap<Long, Integer>();
+			for (TimeChange change : changes)
+				transitions.put(
+						OffsetEngine.toEpochSecond(change.getUtcTime()),
+						change.getNewTotalOffset());
+
+			int startOffset = currentOffset;
+			if (!changes.isEmpty()) {
+				TimeChange first = changes.get(0);
+				startOffset = (int) (OffsetEngine.toEpochSecond(first
+						.getOldLocalTime()) - OffsetEngine.toEpochSecond(first
+						.getUtcTime()));
+			}
+
+			this.table = new OffsetEngine.OffsetTable(year, year, startOffset,
+					transitions);
+		}
+
+		int getOffset(long utc) {
+			return table.offsetAt(utc);
+		}
+
+		long toUtc(long local) throws LocalTimeDoesNotExistException {
+			return table.toUtc(local);
+		}
+	}
+}
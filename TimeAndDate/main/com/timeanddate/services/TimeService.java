@@ -1,31 +1,25 @@
 package com.timeanddate.services;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
 import com.timeanddate.services.common.AuthenticationException;
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.ServerSideException;
 import com.timeanddate.services.common.StringUtils;
-import com.timeanddate.services.common.UriUtils;
-import com.timeanddate.services.common.WebClient;
 import com.timeanddate.services.common.XmlUtils;
 import com.timeanddate.services.dataTypes.places.*;
 
@@ -35,57 +29,31 @@ import com.timeanddate.services.dataTypes.places.*;
  *
  */
 public class TimeService extends BaseService {
-	/**
-	 * Search radius for translating coordinates (parameter placeid) to
-	 * locations. Coordinates that could not be translated will yield results
-	 * for the actual geographical position.
-	 * <p>
-	 * The radius in kilometers. Default is infinite, but only locations within
-	 * the same country and time zone are considered.
-	 */
-	private int _radius;
-
-	/**
-	 * Return coordinates for the Geography object.
-	 * <p>
-	 * <b>true</b> if return coordinates; otherwise, <b>false</b>. <b>true</b>
-	 * is default.
-	 */
-	private boolean _includeCoordinates;
-
-	/**
-	 * Controls if the astronomy element with information about sunrise and
-	 * sunset shall be added to the result.
-	 * <p>
-	 * <b>true</b> if return sunrise and sunset; otherwise, <b>false</b>.
-	 * <b>true</b> is default.
-	 */
-	private boolean _includeSunriseAndSunset;
+	private static final IResponseParser<List<Location>> _parser = new IResponseParser<List<Location>>() {
+		@Override
+		public List<Location> fromDocument(Document document) {
+			return FromXml(document);
+		}
 
-	/**
-	 * Adds current time under the location object.
-	 * <p>
-	 * <b>true</b> if add current time to location; otherwise, <b>false</b>.
-	 * <b>true</b> is default.
-	 */
-	private boolean _includeCurrentTimeToLocation;
+		@Override
+		public List<Location> fromReader(XMLStreamReader reader)
+				throws XMLStreamException, ServerSideException {
+			return FromXml(reader);
+		}
 
-	/**
-	 * Add a list of time changes during the year to the location object. This
-	 * listing e.g. shows changes caused by daylight savings time.
-	 * <p>
-	 * <b>true</b> if add list of time changes; otherwise, <b>false</b>.
-	 * <b>true</b> is default.
-	 */
-	private boolean _includeListOfTimeChanges;
+		@Override
+		public List<Location> fromJsonReader(JsonReader reader)
+				throws IOException, ServerSideException {
+			return FromJson(reader);
+		}
+	};
 
 	/**
-	 * Add timezone information under the time object.
-	 * <p>
-	 * <b>true</b> if add timezone information; otherwise, <b>false</b>.
-	 * <b>true</b> is default.
+	 * The options used by calls that are not given options of their own. The
+	 * setters replace it as a whole, so a call never sees a half-updated
+	 * configuration.
 	 */
-	private boolean _includeTimezoneInformation;
+	private volatile TimeServiceOptions _options = new TimeServiceOptions.Builder().build();
 
 	/**
 	 * The timeservice service can be used to retrieve the current time in one
@@ -102,12 +70,28 @@ public class TimeService extends BaseService {
 	public TimeService(String accessKey, String secretKey)
 			throws AuthenticationException { 
 		super(accessKey, secretKey, "timeservice");
+	}
 
-		_includeCoordinates = true;
-		_includeSunriseAndSunset = true;
-		_includeCurrentTimeToLocation = true;
-		_includeListOfTimeChanges = true;
-		_includeTimezoneInformation = true;
+	/**
+	 * Gets the options used by calls that are not given options of their own.
+	 * 
+	 * @return The options of this service.
+	 */
+	public TimeServiceOptions getOptions() {
+		return _options;
+	}
+
+	/**
+	 * Sets the options used by calls that are not given options of their own.
+	 * 
+	 * @param options
+	 *            The options of this service.
+	 */
+	public synchronized void setOptions(TimeServiceOptions options) {
+		if (options == null)
+			throw new IllegalArgumentException("Options cannot be null");
+
+		_options = options;
 	}
 
 	/**
@@ -122,7 +106,27 @@ public class TimeService extends BaseService {
 	 * 			  A required argument was not as expected
 	 */
 	public List<Location> currentTimeForPlace(LocationId placeId) throws IllegalArgumentException, ServerSideException {
-		if (placeId == null)
+		return currentTimeForPlace(placeId, _options);
+	}
+
+	/**
+	 * Retrieves the current time for place by ID, with the given options
+	 * instead of the options of this service.
+	 * 
+	 * @param placeId
+	 *            Place identifier.
+	 * @param options
+	 *            The options of this call.
+	 * @return The current time for place.
+	 * @throws ServerSideException 
+	 * 			  The server produced an error message
+	 * @throws IllegalArgumentException 
+	 * 			  A required argument was not as expected
+	 */
+	public List<Location> currentTimeForPlace(LocationId placeId,
+			TimeServiceOptions options) throws IllegalArgumentException,
+			ServerSideException {
+		if (placeId == null || options == null)
 			throw new IllegalArgumentException(
 					"A required argument is null or empty");
 
@@ -131,104 +135,142 @@ public class TimeService extends BaseService {
 			throw new IllegalArgumentException(
 					"A required argument is null or empty");
 
-		return retrieveCurrentTime(id);
+		return retrieveCurrentTime(id, options);
+	}
+
+	/**
+	 * Asynchronous version of {@link #currentTimeForPlace(LocationId)}.
+	 * 
+	 * @param placeId
+	 *            Place identifier.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<Location>> currentTimeForPlaceAsync(LocationId placeId) {
+		return async(() -> currentTimeForPlace(placeId));
+	}
+
+	/**
+	 * Asynchronous version of {@link #currentTimeForPlace(LocationId, TimeServiceOptions)}.
+	 * 
+	 * @param placeId
+	 *            Place identifier.
+	 * @param options
+	 *            The options of this call.
+	 * @return A future that completes with the result, or exceptionally with
+	 *         the exception the blocking call throws.
+	 */
+	public CompletableFuture<List<Location>> currentTimeForPlaceAsync(
+			LocationId placeId, TimeServiceOptions options) {
+		return async(() -> currentTimeForPlace(placeId, options));
 	}
 	
-	public void setIncludeCoordinates(boolean bool) {
-		_includeCoordinates = bool;
+	public synchronized void setIncludeCoordinates(boolean bool) {
+		_options = _options.toBuilder().setIncludeCoordinates(bool).build();
 	}
 	
 	public boolean getIncludeCoordinates() {
-		return _includeCoordinates;
+		return _options.getIncludeCoordinates();
 	}
 	
-	public void setRadius(int radius) {
-		_radius = radius;
+	public synchronized void setRadius(int radius) {
+		_options = _options.toBuilder().setRadius(radius).build();
 	}
 	
 	public int getRadius() {
-		return _radius;
+		return _options.getRadius();
 	}
 	
-	public void setIncludeSunriseAndSunset(boolean bool) {
-		_includeSunriseAndSunset = bool;
+	public synchronized void setIncludeSunriseAndSunset(boolean bool) {
+		_options = _options.toBuilder().setIncludeSunriseAndSunset(bool).build();
 	}
 	
 	public boolean getIncludeSunriseAndSunset() {
-		return _includeSunriseAndSunset;
+		return _options.getIncludeSunriseAndSunset();
 	}
 	
-	public void setIncludeCurrentTimeToLocation(boolean bool) {
-		_includeCurrentTimeToLocation = bool;
+	public synchronized void setIncludeCurrentTimeToLocation(boolean bool) {
+		_options = _options.toBuilder().setIncludeCurrentTimeToLocation(bool).build();
 	}
 	
 	public boolean getIncludeCurrentTimeToLocation() {
-		return _includeCurrentTimeToLocation;
+		return _options.getIncludeCurrentTimeToLocation();
 	}
 	
-	public void setIncludeListOfTimeChanges(boolean bool) {
-		_includeListOfTimeChanges = bool;
+	public synchronized void setIncludeListOfTimeChanges(boolean bool) {
+		_options = _options.toBuilder().setIncludeListOfTimeChanges(bool).build();
 	}
 	
 	public boolean getIncludeListOfTimeChanges() {
-		return _includeListOfTimeChanges;
-	}
-
-	private List<Location> retrieveCurrentTime(String placeid) throws ServerSideException {
-		Map<String, String> arguments = getArguments(placeid);
-		String result = new String();
-		try {
-			String query = UriUtils.BuildUriString(arguments);
-			URL uri = new URL(Constants.EntryPoint + ServiceName + query);
-			WebClient client = new WebClient();
-			result = client.downloadString(uri);			
-		} catch(UnsupportedEncodingException | MalformedURLException e) {
-			
-		}
-		
-		XmlUtils.checkForErrors(result);
-		return FromXml(result);
+		return _options.getIncludeListOfTimeChanges();
+	}
+
+	private List<Location> retrieveCurrentTime(String placeid,
+			TimeServiceOptions options) throws ServerSideException {
+		Map<String, String> arguments = getArguments(placeid, options);
+		return retrieve(arguments, _parser);
 	}
 
-	private Map<String, String> getArguments(String placeId) {
+	private Map<String, String> getArguments(String placeId,
+			TimeServiceOptions options) {
 		HashMap<String, String> args = new HashMap<String, String>(
 				AuthenticationOptions);
-		args.put("geo", StringUtils.BoolToNum(_includeCoordinates));
-		args.put("lang", Language);
-		args.put("radius", Integer.toString(_radius));
-		args.put("sun", StringUtils.BoolToNum(_includeSunriseAndSunset));
-		args.put("time", StringUtils.BoolToNum(_includeCurrentTimeToLocation));
-		args.put("timechanges", StringUtils.BoolToNum(_includeListOfTimeChanges));
-		args.put("tz", StringUtils.BoolToNum(_includeTimezoneInformation));
-		args.put("out", Constants.DefaultReturnFormat);
+		args.put("geo", StringUtils.BoolToNum(options.getIncludeCoordinates()));
+		args.put("lang", getLanguage(options));
+		args.put("radius", Integer.toString(options.getRadius()));
+		args.put("sun", StringUtils.BoolToNum(options.getIncludeSunriseAndSunset()));
+		args.put("time", StringUtils.BoolToNum(options.getIncludeCurrentTimeToLocation()));
+		args.put("timechanges", StringUtils.BoolToNum(options.getIncludeListOfTimeChanges()));
+		args.put("tz", StringUtils.BoolToNum(options.getIncludeTimezoneInformation()));
 		args.put("placeid", placeId);
-		args.put("version", Integer.toString(Version));
+		args.put("version", getVersion(options));
 		args.put("verbosetime",
 				Integer.toString(Constants.DefaultVerboseTimeValue));
 
 		return args;
 	}
 
-	private static List<Location> FromXml(String result) {
+	private static List<Location> FromXml(Document document) {
 		ArrayList<Location> list = new ArrayList<Location>();
-		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+		Element root = document.getDocumentElement();
+		NodeList nodes = root.getElementsByTagName("location");
+
+		for (Node node : XmlUtils.asList(nodes)) {
+			list.add(Location.fromNode(node));
+		}
 		
-		try {
-			DocumentBuilder builder = factory.newDocumentBuilder();
-			ByteArrayInputStream stream = new ByteArrayInputStream(
-					result.getBytes(StandardCharsets.UTF_8));
-			Document document = builder.parse(stream);
-			Element root = document.getDocumentElement();
-			NodeList nodes = root.getElementsByTagName("location");
-
-			for (Node node : XmlUtils.asList(nodes)) {
-				list.add(Location.fromNode(node));
+
+		return list;
+	}
+
+	private static List<Location> FromXml(XMLStreamReader reader)
+			throws XMLStreamException, ServerSideException {
+		List<Location> list = new ArrayList<Location>();
+
+		while (XmlUtils.nextElement(reader, "location") != null) {
+			list.add(Location.fromReader(reader));
+		}
+
+		return list;
+	}
+
+	private static List<Location> FromJson(JsonReader reader)
+			throws IOException, ServerSideException {
+		List<Location> list = new ArrayList<Location>();
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextResponseMember(reader)) != null) {
+			if (member.equals("locations")) {
+				reader.beginArray();
+				while (reader.hasNext())
+					list.add(Location.fromJson(reader));
+				reader.endArray();
+			} else {
+				reader.skipValue();
 			}
-		} catch (ParserConfigurationException | SAXException | IOException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
 		}
-		
+		reader.endObject();
 
 		return list;
 	}
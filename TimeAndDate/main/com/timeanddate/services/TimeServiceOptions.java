@@ -0,0 +1,165 @@
+package com.timeanddate.services;
+
+/**
+ * Immutable options for calls to the {@link TimeService}, built with a
+ * {@link Builder}. The same options can be used by any number of concurrent
+ * calls.
+ */
+public final class TimeServiceOptions extends ServiceOptions {
+	/**
+	 * Search radius for translating coordinates (parameter placeid) to
+	 * locations. Coordinates that could not be translated will yield results
+	 * for the actual geographical position.
+	 * <p>
+	 * The radius in kilometers. Default is infinite, but only locations within
+	 * the same country and time zone are considered.
+	 */
+	private final int _radius;
+
+	/**
+	 * Return coordinates for the Geography object.
+	 * <p>
+	 * <b>true</b> if return coordinates; otherwise, <b>false</b>. <b>true</b>
+	 * is default.
+	 */
+	private final boolean _includeCoordinates;
+
+	/**
+	 * Controls if the astronomy element with information about sunrise and
+	 * sunset shall be added to the result.
+	 * <p>
+	 * <b>true</b> if return sunrise and sunset; otherwise, <b>false</b>.
+	 * <b>true</b> is default.
+	 */
+	private final boolean _includeSunriseAndSunset;
+
+	/**
+	 * Adds current time under the location object.
+	 * <p>
+	 * <b>true</b> if add current time to location; otherwise, <b>false</b>.
+	 * <b>true</b> is default.
+	 */
+	private final boolean _includeCurrentTimeToLocation;
+
+	/**
+	 * Add a list of time changes during the year to the location object. This
+	 * listing e.g. shows changes caused by daylight savings time.
+	 * <p>
+	 * <b>true</b> if add list of time changes; otherwise, <b>false</b>.
+	 * <b>true</b> is default.
+	 */
+	private final boolean _includeListOfTimeChanges;
+
+	/**
+	 * Add timezone information under the time object.
+	 * <p>
+	 * <b>true</b> if add timezone information; otherwise, <b>false</b>.
+	 * <b>true</b> is default.
+	 */
+	private final boolean _includeTimezoneInformation;
+
+	private TimeServiceOptions(Builder builder) {
+		super(builder);
+		_radius = builder._radius;
+		_includeCoordinates = builder._includeCoordinates;
+		_includeSunriseAndSunset = builder._includeSunriseAndSunset;
+		_includeCurrentTimeToLocation = builder._includeCurrentTimeToLocation;
+		_includeListOfTimeChanges = builder._includeListOfTimeChanges;
+		_includeTimezoneInformation = builder._includeTimezoneInformation;
+	}
+
+	public int getRadius() {
+		return _radius;
+	}
+
+	public boolean getIncludeCoordinates() {
+		return _includeCoordinates;
+	}
+
+	public boolean getIncludeSunriseAndSunset() {
+		return _includeSunriseAndSunset;
+	}
+
+	public boolean getIncludeCurrentTimeToLocation() {
+		return _includeCurrentTimeToLocation;
+	}
+
+	public boolean getIncludeListOfTimeChanges() {
+		return _includeListOfTimeChanges;
+	}
+
+	public boolean getIncludeTimezoneInformation() {
+		return _includeTimezoneInformation;
+	}
+
+	/**
+	 * Creates a builder initialised with these options.
+	 */
+	public Builder toBuilder() {
+		return new Builder(this);
+	}
+
+	public static final class Builder extends ServiceOptions.Builder<Builder> {
+		private int _radius;
+		private boolean _includeCoordinates = true;
+		private boolean _includeSunriseAndSunset = true;
+		private boolean _includeCurrentTimeToLocation = true;
+		private boolean _includeListOfTimeChanges = true;
+		private boolean _includeTimezoneInformation = true;
+
+		/**
+		 * Creates a builder with the default options of the service.
+		 */
+		public Builder() {
+		}
+
+		private Builder(TimeServiceOptions options) {
+			super(options);
+			_radius = options._radius;
+			_includeCoordinates = options._includeCoordinates;
+			_includeSunriseAndSunset = options._includeSunriseAndSunset;
+			_includeCurrentTimeToLocation = options._includeCurrentTimeToLocation;
+			_includeListOfTimeChanges = options._includeListOfTimeChanges;
+			_includeTimezoneInformation = options._includeTimezoneInformation;
+		}
+
+		public Builder setRadius(int radius) {
+			_radius = radius;
+			return this;
+		}
+
+		public Builder setIncludeCoordinates(boolean bool) {
+			_includeCoordinates = bool;
+			return this;
+		}
+
+		public Builder setIncludeSunriseAndSunset(boolean bool) {
+			_includeSunriseAndSunset = bool;
+			return this;
+		}
+
+		public Builder setIncludeCurrentTimeToLocation(boolean bool) {
+			_includeCurrentTimeToLocation = bool;
+			return this;
+		}
+
+		public Builder setIncludeListOfTimeChanges(boolean bool) {
+			_includeListOfTimeChanges = bool;
+			return this;
+		}
+
+		public Builder setIncludeTimezoneInformation(boolean bool) {
+			_includeTimezoneInformation = bool;
+			return this;
+		}
+
+		@Override
+		Builder self() {
+			return this;
+		}
+
+		public TimeServiceOptions build() {
+			return new TimeServiceOptions(this);
+		}
+	}
+}
@@ -8,15 +8,62 @@ import com.timeanddate.services.dataTypes.time.TADDateTime;
  *
  */
 public class DateTimeUtils {
+	public static final long TicksAtEpoch = 621355968000000000L;
+	public static final long TicksPerSecond = 10000000L;
+	public static final long TicksPerMinute = 60 * TicksPerSecond;
+
 	public static int ToMinuteCompare(TADDateTime t1, TADDateTime t2) {
-		long t1ticks = t1.getTimeInTicks();
-		long t2ticks = t2.getTimeInTicks();
+		return Long.compare(ToMinuteTicks(t1), ToMinuteTicks(t2));
+	}
+
+	/**
+	 * The ticks (100-nanosecond intervals since 0001-01-01T00:00:00) of a
+	 * date and time, read as UTC and truncated to the minute.
+	 */
+	public static long ToMinuteTicks(TADDateTime time) {
+		return time.getTimeInTicks() - time.getSecond() * TicksPerSecond;
+	}
+
+	/**
+	 * The ticks (100-nanosecond intervals since 0001-01-01T00:00:00) of a
+	 * date and time, read as UTC.
+	 */
+	public static long ToTicks(TADDateTime time) {
+		return time.getTimeInTicks();
+	}
+
+	/**
+	 * The ticks (100-nanosecond intervals since 0001-01-01T00:00:00) of a
+	 * date and time, read as UTC. Out of range fields roll over into the next
+	 * field, so month 0 is December of the previous year.
+	 */
+	public static long ToTicks(int year, int month, int day, int hour,
+			int minute, int second) {
+		return TicksAtEpoch
+				+ (ToEpochMinutes(year, month, day, hour, minute) * 60 + second)
+				* TicksPerSecond;
+	}
+
+	/**
+	 * The minutes since 1970-01-01T00:00:00 of a date and time, computed
+	 * without allocating a calendar.
+	 */
+	static long ToEpochMinutes(int year, int month, int day, int hour,
+			int minute) {
+		long y = year + Math.floorDiv(month - 1, 12);
+		int m = Math.floorMod(month - 1, 12) + 1;
 
-		if (t1ticks > t2ticks)
-			return 1;
-		if (t1ticks < t2ticks)
-			return -1;
+		// Days from the civil calendar, with years starting in March so the
+		// leap day is the last day of the year
+		if (m <= 2)
+			y--;
+		long era = Math.floorDiv(y, 400);
+		long yearOfEra = y - era * 400;
+		long dayOfYear = (153 * (m > 2 ? m - 3 : m + 9) + 2) / 5;
+		long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100
+				+ dayOfYear;
+		long days = era * 146097 + dayOfEra - 719468 + day - 1;
 
-		return 0;
+		return (days * 24 + hour) * 60 + minute;
 	}
 }
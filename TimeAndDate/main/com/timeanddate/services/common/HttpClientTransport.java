@@ -0,0 +1,103 @@
+package com.timeanddate.services.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Default {@link ITransport} built on {@link HttpClient}. The client keeps a
+ * pool of persistent connections, so consecutive calls to the API reuse
+ * the same TCP connection (HTTP/1.1 keep-alive) or are multiplexed over a
+ * single connection where the server supports HTTP/2.
+ */
+public class HttpClientTransport implements ITransport {
+	public static final Duration DefaultConnectTimeout = Duration.ofSeconds(10);
+	public static final Duration DefaultReadTimeout = Duration.ofSeconds(30);
+
+	private static final String UserAgent = "libtad-jvm-1.0.0";
+
+	private final HttpClient _client;
+	private final Duration _readTimeout;
+
+	public HttpClientTransport() {
+		this(DefaultConnectTimeout, DefaultReadTimeout);
+	}
+
+	/**
+	 * @param connectTimeout
+	 *            Maximum time to wait for a new connection to be established.
+	 * @param readTimeout
+	 *            Maximum time to wait for the response once the request has
+	 *            been sent.
+	 */
+	public HttpClientTransport(Duration connectTimeout, Duration readTimeout) {
+		this(connectTimeout, readTimeout, HttpClient.Version.HTTP_2);
+	}
+
+	/**
+	 * @param connectTimeout
+	 *            Maximum time to wait for a new connection to be established.
+	 * @param readTimeout
+	 *            Maximum time to wait for the response once the request has
+	 *            been sent.
+	 * @param version
+	 *            Preferred HTTP version. HTTP/2 falls back to HTTP/1.1 when the
+	 *            server does not support it.
+	 */
+	public HttpClientTransport(Duration connectTimeout, Duration readTimeout,
+			HttpClient.Version version) {
+		_client = HttpClient.newBuilder()
+				.version(version)
+				.connectTimeout(connectTimeout)
+				.followRedirects(HttpClient.Redirect.NORMAL)
+				.build();
+		_readTimeout = readTimeout;
+	}
+
+	public Duration getReadTimeout() {
+		return _readTimeout;
+	}
+
+	public InputStream get(URL url) throws IOException {
+		HttpRequest request;
+		try {
+			request = HttpRequest.newBuilder(url.toURI())
+					.GET()
+					.timeout(_readTimeout)
+					.header("Content-Language", "en-US")
+					.header("User-Agent", UserAgent)
+					.build();
+		} catch (URISyntaxException e) {
+			throw new IOException("Invalid request URL: " + url, e);
+		}
+
+		HttpResponse<InputStream> response;
+		try {
+			response = _client.send(request,
+					HttpResponse.BodyHandlers.ofInputStream());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Request was interrupted", e);
+		}
+
+		if (response.statusCode() >= 400) {
+			// Drain the body so the connection is returned to the pool;
+			// closing it unread may close the connection instead
+			try (InputStream body = response.body()) {
+				body.transferTo(OutputStream.nullOutputStream());
+			} catch (IOException e) {
+				// The connection is discarded; report the response code
+			}
+			throw new IOException("Server returned HTTP response code: "
+					+ response.statusCode() + " for URL: " + url);
+		}
+
+		return response.body();
+	}
+}
@@ -1,7 +1,15 @@
 package com.timeanddate.services.common;
 
 /**
- * 
+ * Parses ISO 8601 dates and date-times as returned by the API, e.g.
+ * {@code 2011-06-08}, {@code 2011-06-08T07:18:16},
+ * {@code 2011-06-08T09:18:16+02:00} or {@code 2011-06-08T07:18:16.123Z}. The
+ * text is read in place, character by character, without splitting it.
+ * <p>
+ * Minutes and seconds may be left out of the time, fractions of a second are
+ * accepted and ignored, and the offset may be {@code Z}, {@code +HH},
+ * {@code +HH:MM} or {@code +HHMM}. Field values are not range checked.
+ *
  * @author Cato Auestad {@literal <cato@timeanddate.com>}
  *
  */
@@ -15,62 +23,95 @@ public final class ISODateTimeParser {
 	private long _offset;
 
 	public void parseISODate(String iso) {
-		String isotxt = iso.toUpperCase();
-		String[] datepart = isotxt.split("-");
-		String[] timepart = isotxt.split("T");
-
-		if (timepart.length > 1) {
-			String[] negativeOffset = timepart[1].split("\\-");
-			String[] positiveOffset = timepart[1].split("\\+");
-
-			boolean hasNegativeOffset = negativeOffset.length > 1;
-			boolean hasOffset = hasNegativeOffset && positiveOffset.length > 1;
-
-			String[] timeparts = hasNegativeOffset ? negativeOffset[0]
-					.split(":") : positiveOffset[0].split(":");
+		if (iso == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
 
-			if (timeparts.length >= 1) {
-				String hour = timeparts[0];
-				_hour = Integer.parseInt(hour);
-			}
-
-			if (timeparts.length >= 2) {
-				String minute = timeparts[1];
-				_minute = Integer.parseInt(minute);
-			}
+		parseISODate(iso, 0, iso.length());
+	}
 
-			if (timeparts.length >= 3) {
-				String second = timeparts[2];
-				_second = Integer.parseInt(second);
+	/**
+	 * Parses the characters from {@code start} up to {@code end} of a
+	 * sequence.
+	 *
+	 * @param text
+	 *            The text holding the date.
+	 * @param start
+	 *            The index of the first character of the date.
+	 * @param end
+	 *            The index after the last character of the date.
+	 * @throws IllegalArgumentException
+	 *             The text is not an ISO 8601 date or date-time
+	 */
+	public void parseISODate(CharSequence text, int start, int end) {
+		_hour = _minute = _second = 0;
+		_offset = 0;
+
+		int i = start;
+		int yearEnd = skipDigits(text, i, end);
+		if (yearEnd - i < 4)
+			throw invalid(text, start, end);
+		_year = parseDigits(text, i, yearEnd);
+		i = expect(text, yearEnd, end, '-', start);
+		_month = parseTwoDigits(text, i, end, start);
+		i = expect(text, i + 2, end, '-', start);
+		_day = parseTwoDigits(text, i, end, start);
+		i += 2;
+
+		if (i == end)
+			return;
+
+		char separator = text.charAt(i);
+		if (separator != 'T' && separator != 't' && separator != ' ')
+			throw invalid(text, start, end);
+
+		_hour = parseTwoDigits(text, ++i, end, start);
+		i += 2;
+		if (i < end && text.charAt(i) == ':') {
+			_minute = parseTwoDigits(text, ++i, end, start);
+			i += 2;
+
+			if (i < end && text.charAt(i) == ':') {
+				_second = parseTwoDigits(text, ++i, end, start);
+				i += 2;
+
+				if (i < end && (text.charAt(i) == '.' || text.charAt(i) == ',')) {
+					int fractionEnd = skipDigits(text, ++i, end);
+					if (fractionEnd == i)
+						throw invalid(text, start, end);
+					i = fractionEnd;
+				}
 			}
+		}
 
-			if (hasOffset) {
-				String[] offsetparts = hasNegativeOffset ? negativeOffset[1]
-						.split(":") : positiveOffset[1].split(":");
-
-				String hours = offsetparts[0];
-				String minutes = offsetparts[1];
-
-				if (minutes.contains("Z"))
-					minutes = minutes.split("Z")[0];
+		if (i == end)
+			return;
 
-				int hoursInMin = Integer.parseInt(hours) * 60;
-				int totalMins = hoursInMin + Integer.parseInt(minutes);
-				int offset = hasNegativeOffset ? -totalMins : totalMins;
+		char sign = text.charAt(i);
+		if (sign == 'Z' || sign == 'z') {
+			if (i + 1 != end)
+				throw invalid(text, start, end);
+			return;
+		}
 
-				_offset = offset * 1000;
-			}
+		if (sign != '+' && sign != '-')
+			throw invalid(text, start, end);
+
+		int offsetHours = parseTwoDigits(text, ++i, end, start);
+		int offsetMinutes = 0;
+		i += 2;
+		if (i < end) {
+			if (text.charAt(i) == ':')
+				i++;
+			offsetMinutes = parseTwoDigits(text, i, end, start);
+			i += 2;
+		}
 
-			String[] dates = timepart[0].split("-");
-			_year = Integer.parseInt(dates[0]);
-			_month = Integer.parseInt(dates[1]);
-			_day = Integer.parseInt(dates[2]);
+		if (i != end)
+			throw invalid(text, start, end);
 
-		} else {
-			_year = Integer.parseInt(datepart[0]);
-			_month = Integer.parseInt(datepart[1]);
-			_day = Integer.parseInt(datepart[2]);
-		}
+		long offset = (offsetHours * 60L + offsetMinutes) * 60 * 1000;
+		_offset = sign == '-' ? -offset : offset;
 	}
 
 	public int getYear() {
@@ -97,7 +138,52 @@ public final class ISODateTimeParser {
 		return _second;
 	}
 
+	/**
+	 * @return The UTC offset in milliseconds, 0 if there is none.
+	 */
 	public long getOffset() {
 		return _offset;
 	}
+
+	private static int skipDigits(CharSequence text, int i, int end) {
+		while (i < end && isDigit(text.charAt(i)))
+			i++;
+
+		return i;
+	}
+
+	private static int parseDigits(CharSequence text, int i, int end) {
+		int value = 0;
+		for (; i < end; i++)
+			value = value * 10 + (text.charAt(i) - '0');
+
+		return value;
+	}
+
+	private static int parseTwoDigits(CharSequence text, int i, int end,
+			int start) {
+		if (i + 2 > end || !isDigit(text.charAt(i))
+				|| !isDigit(text.charAt(i + 1)))
+			throw invalid(text, start, end);
+
+		return (text.charAt(i) - '0') * 10 + (text.charAt(i + 1) - '0');
+	}
+
+	private static int expect(CharSequence text, int i, int end, char c,
+			int start) {
+		if (i >= end || text.charAt(i) != c)
+			throw invalid(text, start, end);
+
+		return i + 1;
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static IllegalArgumentException invalid(CharSequence text,
+			int start, int end) {
+		return new IllegalArgumentException("Invalid ISO 8601 date: "
+				+ text.subSequence(start, end));
+	}
 }
@@ -0,0 +1,25 @@
+package com.timeanddate.services.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+
+/**
+ * Transport used by {@link WebClient} to issue requests against the API.
+ * Implementations must be safe to share between threads, as a single
+ * instance is used by every service.
+ */
+public interface ITransport {
+	/**
+	 * Issues a GET request for the given URL.
+	 * 
+	 * @param url
+	 *            Fully qualified URL, including the query string.
+	 * @return The response body. The caller is responsible for closing the
+	 *         stream so the underlying connection can be reused.
+	 * @throws IOException
+	 *             The request failed or the server responded with an error
+	 *             status.
+	 */
+	InputStream get(URL url) throws IOException;
+}
@@ -1,21 +1,205 @@
 package com.timeanddate.services.common;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * 
+ * Process-wide registry of values such as the credentials of the services
+ * that have been created. Values are kept per scope, e.g. per access key, so
+ * several tenants can use the library side by side without overwriting each
+ * other's entries.
+ * <p>
+ * The store is safe for concurrent use and holds at most
+ * {@link #getCapacity()} entries; when it is full, the least recently used
+ * entry is evicted.
+ *
  * @author Cato Auestad {@literal <cato@timeanddate.com>}
  *
  */
 public class InMemStore {
-	private static Map<String, Object> _db = new HashMap<String, Object>();
+	/**
+	 * The scope of the entries stored without one. It holds a NUL character,
+	 * which an access key cannot, so it never is the scope of an access key,
+	 * not even an empty one.
+	 */
+	public static final String DefaultScope = "\0";
+	public static final int DefaultCapacity = 1024;
+
+	private static final Map<Key, Entry> _db = new ConcurrentHashMap<Key, Entry>();
+	private static final AtomicLong _clock = new AtomicLong();
+	private static final ReentrantLock _evicting = new ReentrantLock();
+	private static volatile int _capacity = DefaultCapacity;
 
 	public static Object Get(String key) {
-		return _db.get(key);
+		return Get(DefaultScope, key);
 	}
 
 	public static void Store(String key, Object val) {
-		_db.put(key, val);
+		Store(DefaultScope, key, val);
+	}
+
+	/**
+	 * Gets a value stored in a scope.
+	 *
+	 * @param scope
+	 *            The scope, e.g. an access key.
+	 * @param key
+	 *            The key of the value within the scope.
+	 * @return The value, or null if there is none.
+	 */
+	public static Object Get(String scope, String key) {
+		Entry entry = _db.get(new Key(scope, key));
+		if (entry == null)
+			return null;
+
+		entry.lastUsed = _clock.incrementAndGet();
+		return entry.value;
+	}
+
+	/**
+	 * Stores a value in a scope, replacing the value stored under the same
+	 * key before.
+	 *
+	 * @param scope
+	 *            The scope, e.g. an access key.
+	 * @param key
+	 *            The key of the value within the scope.
+	 * @param val
+	 *            The value. Storing null removes the key.
+	 */
+	public static void Store(String scope, String key, Object val) {
+		if (val == null) {
+			Remove(scope, key);
+			return;
+		}
+
+		Entry previous = _db.put(new Key(scope, key),
+				new Entry(val, _clock.incrementAndGet()));
+		if (previous == null)
+			evict();
+	}
+
+	/**
+	 * Removes a value from a scope.
+	 *
+	 * @param scope
+	 *            The scope, e.g. an access key.
+	 * @param key
+	 *            The key of the value within the scope.
+	 * @return The value removed, or null if there was none.
+	 */
+	public static Object Remove(String scope, String key) {
+		Entry entry = _db.remove(new Key(scope, key));
+		return entry != null ? entry.value : null;
+	}
+
+	/**
+	 * Removes every value of a scope.
+	 *
+	 * @param scope
+	 *            The scope, e.g. an access key.
+	 */
+	public static void Clear(String scope) {
+		_db.keySet().removeIf(key -> key.scope.equals(scope));
+	}
+
+	/**
+	 * Removes every value of every scope.
+	 */
+	public static void Clear() {
+		_db.clear();
+	}
+
+	public static int Size() {
+		return _db.size();
+	}
+
+	public static int getCapacity() {
+		return _capacity;
+	}
+
+	/**
+	 * Sets the maximum number of entries kept. Least recently used entries
+	 * are evicted right away if the store holds more.
+	 *
+	 * @param capacity
+	 *            The maximum number of entries, at least 1.
+	 */
+	public static void setCapacity(int capacity) {
+		if (capacity < 1)
+			throw new IllegalArgumentException("Capacity must be at least 1");
+
+		_capacity = capacity;
+		evict();
+	}
+
+	/**
+	 * Evicts the least recently used entries until the store is within its
+	 * capacity. Only one thread evicts at a time, so concurrent calls do not
+	 * each remove an entry for the same excess; a call finding another
+	 * eviction running leaves the entry it added to that one, which checks
+	 * the size again when it is done.
+	 */
+	private static void evict() {
+		while (_db.size() > _capacity && _evicting.tryLock()) {
+			try {
+				while (_db.size() > _capacity) {
+					Map.Entry<Key, Entry> eldest = null;
+					for (Map.Entry<Key, Entry> candidate : _db.entrySet()) {
+						if (eldest == null
+								|| candidate.getValue().lastUsed < eldest
+										.getValue().lastUsed)
+							eldest = candidate;
+					}
+
+					if (eldest == null)
+						return;
+
+					_db.remove(eldest.getKey(), eldest.getValue());
+				}
+			} finally {
+				_evicting.unlock();
+			}
+		}
+	}
+
+	private static final class Key {
+		final String scope;
+		final String key;
+
+		Key(String scope, String key) {
+			if (scope == null || key == null)
+				throw new IllegalArgumentException(
+						"A required argument is null or empty");
+
+			this.scope = scope;
+			this.key = key;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+
+			Key other = (Key) obj;
+			return scope.equals(other.scope) && key.equals(other.key);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * scope.hashCode() + key.hashCode();
+		}
+	}
+
+	private static final class Entry {
+		final Object value;
+		volatile long lastUsed;
+
+		Entry(Object value, long lastUsed) {
+			this.value = value;
+			this.lastUsed = lastUsed;
+		}
 	}
 }
@@ -0,0 +1,412 @@
+package com.timeanddate.services.common;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A forward-only pull parser for JSON. Values are read one token at a time
+ * straight from the stream, so a response never has to be held in memory as a
+ * whole.
+ * <p>
+ * Numbers and booleans are handed out as their literal text by
+ * {@link #nextString()}, leaving the conversion to the caller, the same way
+ * the XML deserializers parse element text.
+ */
+public class JsonReader implements Closeable {
+	private static final int EMPTY_DOCUMENT = 0;
+	private static final int NONEMPTY_DOCUMENT = 1;
+	private static final int EMPTY_OBJECT = 2;
+	private static final int DANGLING_NAME = 3;
+	private static final int NONEMPTY_OBJECT = 4;
+	private static final int EMPTY_ARRAY = 5;
+	private static final int NONEMPTY_ARRAY = 6;
+
+	private final Reader _in;
+	private final char[] _buffer = new char[8192];
+	private int _pos;
+	private int _limit;
+	private long _consumed;
+
+	private int[] _stack = new int[32];
+	private int _depth;
+
+	private JsonToken _peeked;
+	private String _literal;
+
+	public JsonReader(Reader in) {
+		_in = in;
+		_stack[_depth++] = EMPTY_DOCUMENT;
+	}
+
+	/**
+	 * Creates a reader over a UTF-8 encoded stream.
+	 */
+	public JsonReader(InputStream in) {
+		this(new InputStreamReader(in, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Returns the type of the next token without consuming it.
+	 */
+	public JsonToken peek() throws IOException {
+		if (_peeked != null)
+			return _peeked;
+
+		int c;
+		switch (_stack[_depth - 1]) {
+		case EMPTY_ARRAY:
+			_stack[_depth - 1] = NONEMPTY_ARRAY;
+			c = nextNonWhitespace();
+			if (c == ']')
+				return _peeked = JsonToken.END_ARRAY;
+			_pos--;
+			break;
+		case NONEMPTY_ARRAY:
+			c = nextNonWhitespace();
+			if (c == ']')
+				return _peeked = JsonToken.END_ARRAY;
+			if (c != ',')
+				throw syntaxError("Expected ',' or ']'");
+			break;
+		case EMPTY_OBJECT:
+		case NONEMPTY_OBJECT:
+			boolean empty = _stack[_depth - 1] == EMPTY_OBJECT;
+			_stack[_depth - 1] = DANGLING_NAME;
+			c = nextNonWhitespace();
+			if (c == '}')
+				return _peeked = JsonToken.END_OBJECT;
+			if (!empty) {
+				if (c != ',')
+					throw syntaxError("Expected ',' or '}'");
+				c = nextNonWhitespace();
+			}
+			if (c != '"')
+				throw syntaxError("Expected a name");
+			return _peeked = JsonToken.NAME;
+		case DANGLING_NAME:
+			_stack[_depth - 1] = NONEMPTY_OBJECT;
+			if (nextNonWhitespace() != ':')
+				throw syntaxError("Expected ':'");
+			break;
+		case EMPTY_DOCUMENT:
+			_stack[_depth - 1] = NONEMPTY_DOCUMENT;
+			break;
+		default:
+			if (skipWhitespace())
+				throw syntaxError("Unexpected data after the document");
+			return _peeked = JsonToken.END_DOCUMENT;
+		}
+
+		c = nextNonWhitespace();
+		switch (c) {
+		case '{':
+			return _peeked = JsonToken.BEGIN_OBJECT;
+		case '[':
+			return _peeked = JsonToken.BEGIN_ARRAY;
+		case '"':
+			return _peeked = JsonToken.STRING;
+		default:
+			_pos--;
+			_literal = readLiteral();
+			return _peeked = classify(_literal);
+		}
+	}
+
+	public void beginObject() throws IOException {
+		expect(JsonToken.BEGIN_OBJECT);
+		push(EMPTY_OBJECT);
+	}
+
+	public void endObject() throws IOException {
+		expect(JsonToken.END_OBJECT);
+		_depth--;
+	}
+
+	public void beginArray() throws IOException {
+		expect(JsonToken.BEGIN_ARRAY);
+		push(EMPTY_ARRAY);
+	}
+
+	public void endArray() throws IOException {
+		expect(JsonToken.END_ARRAY);
+		_depth--;
+	}
+
+	/**
+	 * Returns true if the current object or array has another element.
+	 */
+	public boolean hasNext() throws IOException {
+		JsonToken token = peek();
+		return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY
+				&& token != JsonToken.END_DOCUMENT;
+	}
+
+	/**
+	 * Consumes the name of the next member of the current object.
+	 */
+	public String nextName() throws IOException {
+		expect(JsonToken.NAME);
+		return readString();
+	}
+
+	/**
+	 * Consumes a string, number or boolean and returns its text. Returns null
+	 * for a JSON null.
+	 */
+	public String nextString() throws IOException {
+		JsonToken token = peek();
+		_peeked = null;
+
+		switch (token) {
+		case STRING:
+			return readString();
+		case NUMBER:
+		case BOOLEAN:
+			return _literal;
+		case NULL:
+			return null;
+		default:
+			_peeked = token;
+			throw syntaxError("Expected a value but was " + token);
+		}
+	}
+
+	/**
+	 * Consumes the next value, including everything nested in it.
+	 */
+	public void skipValue() throws IOException {
+		int depth = 0;
+		do {
+			switch (peek()) {
+			case BEGIN_OBJECT:
+				beginObject();
+				depth++;
+				break;
+			case BEGIN_ARRAY:
+				beginArray();
+				depth++;
+				break;
+			case END_OBJECT:
+				endObject();
+				depth--;
+				break;
+			case END_ARRAY:
+				endArray();
+				depth--;
+				break;
+			case NAME:
+			case STRING:
+				_peeked = null;
+				skipString();
+				break;
+			case END_DOCUMENT:
+				throw syntaxError("Unexpected end of document");
+			default:
+				_peeked = null;
+				break;
+			}
+		} while (depth > 0);
+	}
+
+	@Override
+	public void close() throws IOException {
+		_in.close();
+	}
+
+	private void expect(JsonToken expected) throws IOException {
+		JsonToken token = peek();
+		if (token != expected)
+			throw syntaxError("Expected " + expected + " but was " + token);
+		_peeked = null;
+	}
+
+	private void push(int scope) {
+		if (_depth == _stack.length)
+			_stack = Arrays.copyOf(_stack, _depth * 2);
+		_stack[_depth++] = scope;
+	}
+
+	private boolean fill() throws IOException {
+		_consumed += _limit;
+		_pos = 0;
+		int read = _in.read(_buffer, 0, _buffer.length);
+		_limit = read > 0 ? read : 0;
+		return _limit > 0;
+	}
+
+	private int nextNonWhitespace() throws IOException {
+		if (!skipWhitespace())
+			throw syntaxError("Unexpected end of document");
+		return _buffer[_pos++];
+	}
+
+	private boolean skipWhitespace() throws IOException {
+		while (true) {
+			while (_pos < _limit) {
+				char c = _buffer[_pos];
+				if (c != ' ' && c != '\n' && c != '\r' && c != '\t')
+					return true;
+				_pos++;
+			}
+			if (!fill())
+				return false;
+		}
+	}
+
+	private char nextChar() throws IOException {
+		if (_pos == _limit && !fill())
+			throw syntaxError("Unterminated string");
+		return _buffer[_pos++];
+	}
+
+	private String readString() throws IOException {
+		StringBuilder builder = null;
+
+		while (true) {
+			int start = _pos;
+			while (_pos < _limit) {
+				char c = _buffer[_pos++];
+				if (c == '"') {
+					if (builder == null)
+						return new String(_buffer, start, _pos - start - 1);
+					return builder.append(_buffer, start, _pos - start - 1)
+							.toString();
+				} else if (c == '\\') {
+					if (builder == null)
+						builder = new StringBuilder(Math.max(2 * (_pos - start), 16));
+					builder.append(_buffer, start, _pos - start - 1);
+					builder.append(readEscape());
+					start = _pos;
+				} else if (c < 0x20) {
+					throw syntaxError("Unescaped control character in string");
+				}
+			}
+
+			if (builder == null)
+				builder = new StringBuilder(Math.max(2 * (_pos - start), 16));
+			builder.append(_buffer, start, _pos - start);
+			if (!fill())
+				throw syntaxError("Unterminated string");
+		}
+	}
+
+	private void skipString() throws IOException {
+		while (true) {
+			char c = nextChar();
+			if (c == '"')
+				return;
+			if (c == '\\')
+				readEscape();
+		}
+	}
+
+	private char readEscape() throws IOException {
+		char c = nextChar();
+		switch (c) {
+		case '"':
+		case '\\':
+		case '/':
+			return c;
+		case 'b':
+			return '\b';
+		case 'f':
+			return '\f';
+		case 'n':
+			return '\n';
+		case 'r':
+			return '\r';
+		case 't':
+			return '\t';
+		case 'u':
+			int value = 0;
+			for (int i = 0; i < 4; i++) {
+				int digit = Character.digit(nextChar(), 16);
+				if (digit < 0)
+					throw syntaxError("Invalid unicode escape");
+				value = (value << 4) | digit;
+			}
+			return (char) value;
+		default:
+			throw syntaxError("Invalid escape sequence");
+		}
+	}
+
+	private String readLiteral() throws IOException {
+		StringBuilder builder = null;
+
+		while (true) {
+			int start = _pos;
+			while (_pos < _limit) {
+				if (isDelimiter(_buffer[_pos])) {
+					String text = new String(_buffer, start, _pos - start);
+					return builder == null ? text : builder.append(text)
+							.toString();
+				}
+				_pos++;
+			}
+
+			if (builder == null)
+				builder = new StringBuilder();
+			builder.append(_buffer, start, _pos - start);
+			if (!fill())
+				return builder.toString();
+		}
+	}
+
+	private static boolean isDelimiter(char c) {
+		switch (c) {
+		case ',':
+		case ':':
+		case '[':
+		case ']':
+		case '{':
+		case '}':
+		case '"':
+		case ' ':
+		case '\n':
+		case '\r':
+		case '\t':
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	private JsonToken classify(String literal) throws IOException {
+		switch (literal) {
+		case "true":
+		case "false":
+			return JsonToken.BOOLEAN;
+		case "null":
+			return JsonToken.NULL;
+		default:
+			break;
+		}
+
+		if (literal.isEmpty())
+			throw syntaxError("Expected a value");
+
+		char first = literal.charAt(0);
+		if (first != '-' && (first < '0' || first > '9'))
+			throw syntaxError("Unexpected value '" + literal + "'");
+
+		for (int i = 1; i < literal.length(); i++) {
+			char c = literal.charAt(i);
+			if ((c < '0' || c > '9') && c != '.' && c != 'e' && c != 'E'
+					&& c != '+' && c != '-')
+				throw syntaxError("Malformed number '" + literal + "'");
+		}
+
+		return JsonToken.NUMBER;
+	}
+
+	private MalformedJsonException syntaxError(String message) {
+		return new MalformedJsonException(message + " at character "
+				+ (_consumed + _pos));
+	}
+}
@@ -0,0 +1,17 @@
+package com.timeanddate.services.common;
+
+/**
+ * The kinds of token a {@link JsonReader} can be positioned on.
+ */
+public enum JsonToken {
+	BEGIN_ARRAY,
+	END_ARRAY,
+	BEGIN_OBJECT,
+	END_OBJECT,
+	NAME,
+	STRING,
+	NUMBER,
+	BOOLEAN,
+	NULL,
+	END_DOCUMENT
+}
@@ -0,0 +1,82 @@
+package com.timeanddate.services.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Helpers shared by the JSON deserializers, the counterpart of
+ * {@link XmlUtils} for responses requested with {@code out=json}.
+ */
+public class JsonUtils {
+	public static JsonReader createReader(InputStream stream) {
+		return new JsonReader(stream);
+	}
+
+	/**
+	 * Consumes names up to the next member of the current object that has a
+	 * value. Members that are null are skipped, so that they are treated the
+	 * same as elements missing from an XML response.
+	 * 
+	 * @return The member name, or null at the end of the object.
+	 */
+	public static String nextMember(JsonReader reader) throws IOException {
+		while (reader.hasNext()) {
+			String name = reader.nextName();
+			if (reader.peek() != JsonToken.NULL)
+				return name;
+			reader.skipValue();
+		}
+
+		return null;
+	}
+
+	/**
+	 * Like {@link #nextMember(JsonReader)}, for the top level of a response.
+	 * Fails if the server responded with an error message.
+	 * 
+	 * @throws ServerSideException
+	 *             The server produced an error message.
+	 */
+	public static String nextResponseMember(JsonReader reader)
+			throws IOException, ServerSideException {
+		String name = nextMember(reader);
+		if ("errors".equals(name) || "error".equals(name))
+			throw new ServerSideException(readText(reader));
+
+		return name;
+	}
+
+	/**
+	 * Reads a text value. Texts that the API can translate are sent as a list
+	 * of <code>{"lang": ..., "text": ...}</code> objects, in which case the
+	 * first text is returned.
+	 */
+	public static String readText(JsonReader reader) throws IOException {
+		String text = null;
+
+		switch (reader.peek()) {
+		case BEGIN_ARRAY:
+			reader.beginArray();
+			while (reader.hasNext()) {
+				String value = readText(reader);
+				if (text == null)
+					text = value;
+			}
+			reader.endArray();
+			return text;
+		case BEGIN_OBJECT:
+			String name;
+			reader.beginObject();
+			while ((name = nextMember(reader)) != null) {
+				if (name.equals("text"))
+					text = reader.nextString();
+				else
+					reader.skipValue();
+			}
+			reader.endObject();
+			return text;
+		default:
+			return reader.nextString();
+		}
+	}
+}
@@ -0,0 +1,14 @@
+package com.timeanddate.services.common;
+
+import java.io.IOException;
+
+/**
+ * Thrown by {@link JsonReader} when the response is not well-formed JSON.
+ */
+public class MalformedJsonException extends IOException {
+	private static final long serialVersionUID = 1L;
+
+	public MalformedJsonException(String message) {
+		super(message);
+	}
+}
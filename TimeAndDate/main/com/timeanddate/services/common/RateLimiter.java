@@ -0,0 +1,355 @@
+package com.timeanddate.services.common;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits the rate requests are sent at with token buckets, so bursts are
+ * spread out on the client instead of being turned down by the API. Each
+ * request takes a token; a bucket holds at most a given number of tokens and
+ * is refilled at a steady rate.
+ * <p>
+ * Services without a limit of their own share the default bucket, so one
+ * limiter given to every service keeps all of them within the quota of an
+ * account. Requests that have to wait are let through in order of
+ * {@link RequestPriority}, and in the order they arrived within a priority.
+ *
+ * @author Cato Auestad {@literal <cato@timeanddate.com>}
+ *
+ */
+public class RateLimiter {
+	private final Bucket _defaultBucket;
+	private final Map<String, Bucket> _buckets = new ConcurrentHashMap<String, Bucket>();
+	private final AtomicLong _sequence = new AtomicLong();
+	private final LongAdder _acquired = new LongAdder();
+	private final LongAdder _delayed = new LongAdder();
+	private volatile ScheduledExecutorService _scheduler;
+
+	/**
+	 * @param permitsPerSecond
+	 *            The rate the default bucket is refilled at.
+	 * @param burst
+	 *            The number of requests the default bucket lets through at
+	 *            once after being idle.
+	 */
+	public RateLimiter(double permitsPerSecond, int burst) {
+		_defaultBucket = new Bucket(permitsPerSecond, burst);
+	}
+
+	/**
+	 * Gives a service a bucket of its own instead of the default bucket.
+	 *
+	 * @param serviceName
+	 *            The name of the service, e.g. {@code holidays}.
+	 * @param permitsPerSecond
+	 *            The rate the bucket is refilled at.
+	 * @param burst
+	 *            The number of requests the bucket lets through at once
+	 *            after being idle.
+	 */
+	public void setLimit(String serviceName, double permitsPerSecond, int burst) {
+		if (serviceName == null || serviceName.isEmpty())
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		_buckets.put(serviceName, new Bucket(permitsPerSecond, burst));
+	}
+
+	/**
+	 * Waits until a request to a service may be sent.
+	 *
+	 * @param serviceName
+	 *            The name of the service, e.g. {@code holidays}.
+	 * @param priority
+	 *            The priority of the request.
+	 * @throws InterruptedException
+	 *             The thread was interrupted while waiting
+	 */
+	public void acquire(String serviceName, RequestPriority priority)
+			throws InterruptedException {
+		CompletableFuture<Void> permit = acquireAsync(serviceName, priority);
+		try {
+			permit.get();
+		} catch (InterruptedException e) {
+			if (permit.cancel(false))
+				throw e;
+
+			// Granted meanwhile, the caller sees the interrupt later
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	/**
+	 * Waits until a request to a service may be sent, or the timeout has
+	 * elapsed.
+	 *
+	 * @param serviceName
+	 *            The name of the service, e.g. {@code holidays}.
+	 * @param priority
+	 *            The priority of the request.
+	 * @param timeout
+	 *            How long to wait at most.
+	 * @return Whether the request may be sent.
+	 * @throws InterruptedException
+	 *             The thread was interrupted while waiting
+	 */
+	public boolean tryAcquire(String serviceName, RequestPriority priority,
+			Duration timeout) throws InterruptedException {
+		if (timeout == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		CompletableFuture<Void> permit = acquireAsync(serviceName, priority);
+		try {
+			permit.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+			return true;
+		} catch (TimeoutException e) {
+			return !permit.cancel(false);
+		} catch (InterruptedException e) {
+			if (permit.cancel(false))
+				throw e;
+
+			Thread.currentThread().interrupt();
+			return true;
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	/**
+	 * Takes a token if one is available right away and no other request is
+	 * waiting for the bucket.
+	 *
+	 * @param serviceName
+	 *            The name of the service, e.g. {@code holidays}.
+	 * @return Whether the request may be sent.
+	 */
+	public boolean tryAcquire(String serviceName) {
+		if (!getBucket(serviceName).tryTake())
+			return false;
+
+		_acquired.increment();
+		return true;
+	}
+
+	/**
+	 * Gets a future that completes once a request to a service may be sent.
+	 * Cancelling the future gives up the place in the queue.
+	 *
+	 * @param serviceName
+	 *            The name of the service, e.g. {@code holidays}.
+	 * @param priority
+	 *            The priority of the request.
+	 * @return The permit to send the request.
+	 */
+	public CompletableFuture<Void> acquireAsync(String serviceName,
+			RequestPriority priority) {
+		if (priority == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		Bucket bucket = getBucket(serviceName);
+		Waiter waiter = new Waiter(priority, _sequence.getAndIncrement());
+		bucket.enqueue(waiter);
+
+		return waiter.permit;
+	}
+
+	/**
+	 * @return The number of requests waiting for a token.
+	 */
+	public int getWaitingCount() {
+		int count = _defaultBucket.getWaitingCount();
+		for (Bucket bucket : _buckets.values())
+			count += bucket.getWaitingCount();
+
+		return count;
+	}
+
+	/**
+	 * @return The number of requests that have been let through.
+	 */
+	public long getAcquiredCount() {
+		return _acquired.sum();
+	}
+
+	/**
+	 * @return The number of requests that had to wait for a token.
+	 */
+	public long getDelayedCount() {
+		return _delayed.sum();
+	}
+
+	private Bucket getBucket(String serviceName) {
+		if (serviceName == null || serviceName.isEmpty())
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		Bucket bucket = _buckets.get(serviceName);
+		return bucket != null ? bucket : _defaultBucket;
+	}
+
+	private ScheduledExecutorService getScheduler() {
+		ScheduledExecutorService scheduler = _scheduler;
+		if (scheduler == null) {
+			synchronized (this) {
+				if (_scheduler == null) {
+					ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(
+							1, runnable -> {
+								Thread thread = new Thread(runnable,
+										"libtad-rate-limiter");
+								thread.setDaemon(true);
+								return thread;
+							});
+					executor.setRemoveOnCancelPolicy(true);
+					_scheduler = executor;
+				}
+
+				scheduler = _scheduler;
+			}
+		}
+
+		return scheduler;
+	}
+
+	private static final class Waiter implements Comparable<Waiter> {
+		final RequestPriority priority;
+		final long sequence;
+		final CompletableFuture<Void> permit = new CompletableFuture<Void>();
+
+		Waiter(RequestPriority priority, long sequence) {
+			this.priority = priority;
+			this.sequence = sequence;
+		}
+
+		@Override
+		public int compareTo(Waiter other) {
+			int order = priority.compareTo(other.priority);
+			return order != 0 ? order : Long.compare(sequence, other.sequence);
+		}
+	}
+
+	/**
+	 * A token bucket and the requests waiting for it. Waiting requests are
+	 * let through by a task scheduled for when the next token is due.
+	 */
+	private final class Bucket {
+		final double tokensPerNano;
+		final int capacity;
+		final PriorityQueue<Waiter> waiters = new PriorityQueue<Waiter>();
+		double tokens;
+		long refilled;
+		boolean scheduled;
+
+		Bucket(double permitsPerSecond, int burst) {
+			if (!(permitsPerSecond > 0) || burst < 1)
+				throw new IllegalArgumentException(
+						"The rate must be positive and the burst at least 1");
+
+			tokensPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+			capacity = burst;
+			tokens = burst;
+			refilled = System.nanoTime();
+		}
+
+		synchronized boolean tryTake() {
+			refill();
+			removeCancelled();
+			if (!waiters.isEmpty() || tokens < 1)
+				return false;
+
+			tokens--;
+			return true;
+		}
+
+		void enqueue(Waiter waiter) {
+			synchronized (this) {
+				waiters.add(waiter);
+			}
+
+			release();
+			if (!waiter.permit.isDone())
+				_delayed.increment();
+		}
+
+		synchronized int getWaitingCount() {
+			int count = 0;
+			for (Waiter waiter : waiters)
+				if (!waiter.permit.isDone())
+					count++;
+
+			return count;
+		}
+
+		/**
+		 * Lets waiting requests through while there are tokens, then
+		 * schedules the next run for when the next token is due. Permits are
+		 * completed outside the lock, as completing them runs the callbacks
+		 * of asynchronous callers.
+		 */
+		void release() {
+			List<Waiter> granted = new ArrayList<Waiter>();
+			synchronized (this) {
+				refill();
+				removeCancelled();
+				while (!waiters.isEmpty() && tokens >= 1) {
+					Waiter waiter = waiters.poll();
+					if (waiter.permit.isDone())
+						continue;
+
+					tokens--;
+					granted.add(waiter);
+				}
+
+				if (!waiters.isEmpty() && !scheduled) {
+					// The time until the bucket holds a whole token again
+					long delay = (long) Math.ceil((1 - tokens) / tokensPerNano);
+					getScheduler().schedule(() -> {
+						synchronized (this) {
+							scheduled = false;
+						}
+						release();
+					}, Math.max(delay, 1), TimeUnit.NANOSECONDS);
+					scheduled = true;
+				}
+			}
+
+			for (Waiter waiter : granted) {
+				if (waiter.permit.complete(null)) {
+					_acquired.increment();
+				} else {
+					// Cancelled meanwhile, the token goes back
+					synchronized (this) {
+						tokens = Math.min(capacity, tokens + 1);
+					}
+				}
+			}
+		}
+
+		private void refill() {
+			long now = System.nanoTime();
+			tokens = Math.min(capacity, tokens + (now - refilled)
+					* tokensPerNano);
+			refilled = now;
+		}
+
+		private void removeCancelled() {
+			while (!waiters.isEmpty() && waiters.peek().permit.isDone())
+				waiters.poll();
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package com.timeanddate.services.common;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets concurrent callers making the same request share it: the first caller
+ * sends the request and parses the response, and callers arriving while it
+ * is in flight wait for it and get the same result, or the same exception.
+ * Requests are keyed on the entry point, the service name and its
+ * arguments, see {@link ResponseCache#createKey(String, String, Map)}, and
+ * services only share requests made with the same access key. A
+ * request arriving after the one in flight has completed is sent again.
+ * <p>
+ * Callers of a shared request get the same result objects, which should
+ * therefore not be changed.
+ *
+ * @author Cato Auestad {@literal <cato@timeanddate.com>}
+ *
+ */
+public class RequestCoalescer {
+	private final Map<String, CompletableFuture<Object>> _inFlight = new ConcurrentHashMap<String, CompletableFuture<Object>>();
+	private final LongAdder _requests = new LongAdder();
+	private final LongAdder _coalesced = new LongAdder();
+
+	/**
+	 * A request and the parsing of its response.
+	 */
+	public interface Request<T> {
+		T execute() throws ServerSideException;
+	}
+
+	/**
+	 * Sends a request, unless the same request is already in flight, in which
+	 * case its result is waited for.
+	 *
+	 * @param key
+	 *            The key of the request. Requests with the same key must
+	 *            produce results of the same type.
+	 * @param request
+	 *            Sends the request and parses the response.
+	 * @return The result of the request.
+	 * @throws ServerSideException
+	 *             The request failed, or the waiting caller was interrupted
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T execute(String key, Request<T> request)
+			throws ServerSideException {
+		if (key == null || request == null)
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		CompletableFuture<Object> flight = new CompletableFuture<Object>();
+		CompletableFuture<Object> existing = _inFlight.putIfAbsent(key, flight);
+		if (existing != null) {
+			_coalesced.increment();
+			return (T) await(existing);
+		}
+
+		_requests.increment();
+		try {
+			T result = request.execute();
+			_inFlight.remove(key, flight);
+			flight.complete(result);
+			return result;
+		} catch (ServerSideException | RuntimeException | Error e) {
+			_inFlight.remove(key, flight);
+			flight.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	/**
+	 * @return The number of requests that are in flight.
+	 */
+	public int getInFlightCount() {
+		return _inFlight.size();
+	}
+
+	/**
+	 * @return The number of requests that were sent.
+	 */
+	public long getRequestCount() {
+		return _requests.sum();
+	}
+
+	/**
+	 * @return The number of calls that shared a request in flight instead of
+	 *         sending their own.
+	 */
+	public long getCoalescedCount() {
+		return _coalesced.sum();
+	}
+
+	private static Object await(CompletableFuture<Object> flight)
+			throws ServerSideException {
+		try {
+			return flight.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ServerSideException("Request was interrupted");
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof ServerSideException)
+				throw (ServerSideException) cause;
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+
+			throw new ServerSideException(String.valueOf(cause));
+		}
+	}
+}
@@ -0,0 +1,17 @@
+package com.timeanddate.services.common;
+
+/**
+ * The order requests waiting for a {@link RateLimiter} are let through in.
+ */
+public enum RequestPriority {
+	/**
+	 * Requests someone is waiting for, let through first.
+	 */
+	Interactive,
+
+	/**
+	 * Requests fetching data ahead of time, let through when no interactive
+	 * request is waiting.
+	 */
+	Batch
+}
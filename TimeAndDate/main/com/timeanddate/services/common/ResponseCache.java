@@ -0,0 +1,256 @@
+package com.timeanddate.services.common;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the raw responses of successful requests, so repeated requests for
+ * the same data are answered without calling the API. Responses are keyed on
+ * the service name and its arguments, without the authentication arguments,
+ * so a response is reused regardless of when it was signed.
+ * <p>
+ * The cache holds at most a given number of responses and evicts the least
+ * recently used one when it is full. Each service has its own time to live:
+ * places and holidays barely change and are kept for a day, while the
+ * current time from the time service is only kept for a second.
+ *
+ * @author Cato Auestad {@literal <cato@timeanddate.com>}
+ *
+ */
+public class ResponseCache {
+	public static final int DefaultMaxEntries = 1000;
+	public static final Duration DefaultTimeToLive = Duration.ofMinutes(1);
+
+	private static final String[] _unkeyedArguments = { "accesskey",
+			"timestamp", "signature" };
+	private static final Map<String, Duration> _defaultTimesToLive = new HashMap<String, Duration>();
+
+	static {
+		Duration day = Duration.ofDays(1);
+		Duration hour = Duration.ofHours(1);
+
+		_defaultTimesToLive.put("places", day);
+		_defaultTimesToLive.put("holidays", day);
+		_defaultTimesToLive.put("dstlist", day);
+		_defaultTimesToLive.put("businessdate", day);
+		_defaultTimesToLive.put("businessduration", day);
+		_defaultTimesToLive.put("astronomy", hour);
+		_defaultTimesToLive.put("converttime", hour);
+		_defaultTimesToLive.put("onthisday", hour);
+		_defaultTimesToLive.put("tides", hour);
+		_defaultTimesToLive.put("dialcode", Duration.ofMinutes(1));
+		_defaultTimesToLive.put("timeservice", Duration.ofSeconds(1));
+	}
+
+	private final int _maxEntries;
+	private final LinkedHashMap<String, CachedResponse> _entries;
+	private final Map<String, Duration> _timesToLive = new ConcurrentHashMap<String, Duration>(
+			_defaultTimesToLive);
+	private final LongAdder _hits = new LongAdder();
+	private final LongAdder _misses = new LongAdder();
+	private final LongAdder _evictions = new LongAdder();
+
+	public ResponseCache() {
+		this(DefaultMaxEntries);
+	}
+
+	/**
+	 * @param maxEntries
+	 *            The number of responses the cache holds at most.
+	 */
+	public ResponseCache(int maxEntries) {
+		if (maxEntries < 1)
+			throw new IllegalArgumentException(
+					"The cache must hold at least one entry");
+
+		_maxEntries = maxEntries;
+		_entries = new LinkedHashMap<String, CachedResponse>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+				if (size() <= _maxEntries)
+					return false;
+
+				_evictions.increment();
+				return true;
+			}
+		};
+	}
+
+	/**
+	 * Builds the key of a request sent to an entry point: the entry point
+	 * followed by the key of the request, so services sending requests to
+	 * different hosts do not share responses.
+	 *
+	 * @param entryPoint
+	 *            The address the request is sent to, e.g.
+	 *            {@code https://api.xmltime.com/}.
+	 * @param serviceName
+	 *            The name of the service, e.g. {@code holidays}.
+	 * @param arguments
+	 *            The arguments of the request.
+	 * @return The key of the request.
+	 */
+	public static String createKey(String entryPoint, String serviceName,
+			Map<String, String> arguments) {
+		return entryPoint + createKey(serviceName, arguments);
+	}
+
+	/**
+	 * Builds the key of a request: the service name followed by its
+	 * arguments in alphabetical order, without the authentication arguments.
+	 *
+	 * @param serviceName
+	 *            The name of the service, e.g. {@code holidays}.
+	 * @param arguments
+	 *            The arguments of the request.
+	 * @return The key of the request.
+	 */
+	public static String createKey(String serviceName,
+			Map<String, String> arguments) {
+		TreeMap<String, String> sorted = new TreeMap<String, String>(arguments);
+		for (String argument : _unkeyedArguments)
+			sorted.remove(argument);
+
+		StringBuilder key = new StringBuilder(serviceName);
+		char separator = '?';
+		for (Map.Entry<String, String> argument : sorted.entrySet()) {
+			key.append(separator).append(argument.getKey()).append('=')
+					.append(argument.getValue());
+			separator = '&';
+		}
+
+		return key.toString();
+	}
+
+	/**
+	 * Gets a response that has not expired yet.
+	 *
+	 * @param key
+	 *            The key of the request, see
+	 *            {@link #createKey(String, Map)}.
+	 * @return The response, or null if there is none.
+	 */
+	public byte[] get(String key) {
+		long now = System.nanoTime();
+
+		synchronized (_entries) {
+			CachedResponse entry = _entries.get(key);
+			if (entry != null && now - entry.expires < 0) {
+				_hits.increment();
+				return entry.response;
+			}
+
+			if (entry != null)
+				_entries.remove(key);
+		}
+
+		_misses.increment();
+		return null;
+	}
+
+	/**
+	 * Stores a response for the time to live of its service. The response
+	 * must not be changed afterwards.
+	 *
+	 * @param key
+	 *            The key of the request, see
+	 *            {@link #createKey(String, Map)}.
+	 * @param serviceName
+	 *            The name of the service the response is from.
+	 * @param response
+	 *            The response.
+	 */
+	public void put(String key, String serviceName, byte[] response) {
+		Duration ttl = getTimeToLive(serviceName);
+		if (ttl.isZero() || ttl.isNegative())
+			return;
+
+		long expires = System.nanoTime() + ttl.toNanos();
+		synchronized (_entries) {
+			_entries.put(key, new CachedResponse(response, expires));
+		}
+	}
+
+	/**
+	 * Gets how long responses from a service are kept.
+	 *
+	 * @param serviceName
+	 *            The name of the service, e.g. {@code holidays}.
+	 * @return The time to live.
+	 */
+	public Duration getTimeToLive(String serviceName) {
+		Duration ttl = _timesToLive.get(serviceName);
+		return ttl != null ? ttl : DefaultTimeToLive;
+	}
+
+	/**
+	 * Sets how long responses from a service are kept. A zero duration turns
+	 * caching off for the service.
+	 *
+	 * @param serviceName
+	 *            The name of the service, e.g. {@code holidays}.
+	 * @param ttl
+	 *            The time to live.
+	 */
+	public void setTimeToLive(String serviceName, Duration ttl) {
+		if (serviceName == null || ttl == null || ttl.isNegative())
+			throw new IllegalArgumentException(
+					"A required argument is null or empty");
+
+		_timesToLive.put(serviceName, ttl);
+	}
+
+	public int getMaxEntries() {
+		return _maxEntries;
+	}
+
+	public int size() {
+		synchronized (_entries) {
+			return _entries.size();
+		}
+	}
+
+	public void clear() {
+		synchronized (_entries) {
+			_entries.clear();
+		}
+	}
+
+	/**
+	 * @return The number of requests answered from the cache.
+	 */
+	public long getHitCount() {
+		return _hits.sum();
+	}
+
+	/**
+	 * @return The number of requests the cache could not answer.
+	 */
+	public long getMissCount() {
+		return _misses.sum();
+	}
+
+	/**
+	 * @return The number of responses evicted to make room for others.
+	 */
+	public long getEvictionCount() {
+		return _evictions.sum();
+	}
+
+	private static final class CachedResponse {
+		final byte[] response;
+		final long expires;
+
+		CachedResponse(byte[] response, long expires) {
+			this.response = response;
+			this.expires = expires;
+		}
+	}
+}
@@ -0,0 +1,9 @@
+package com.timeanddate.services.common;
+
+/**
+ * The format the API is asked to respond in.
+ */
+public enum ReturnFormat {
+	XML,
+	JSON
+}
@@ -1,11 +1,9 @@
 package com.timeanddate.services.common;
 
-import java.io.BufferedReader;
-import java.io.DataOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 
 /**
  * 
@@ -13,52 +11,92 @@ import java.net.URL;
  *
  */
 public class WebClient {
-	public String downloadString(URL url) {
-		HttpURLConnection connection = null;
-		try {
-			// Create connection
-			connection = (HttpURLConnection) url.openConnection();
-			connection.setRequestMethod("GET");
-			connection.setRequestProperty("Content-Type",
-					"application/x-www-form-urlencoded");
+	private static volatile ITransport _defaultTransport;
+
+	private final ITransport _transport;
 
-			connection.setRequestProperty("Content-Length",
-					"" + Integer.toString(url.getQuery().getBytes().length));
-			connection.setRequestProperty("Content-Language", "en-US");
-			connection.setRequestProperty("User-Agent", "libtad-jvm-1.0.0");
+	/**
+	 * Creates a client using the shared default transport.
+	 */
+	public WebClient() {
+		this(getDefaultTransport());
+	}
 
-			connection.setUseCaches(false);
-			connection.setDoInput(true);
-			connection.setDoOutput(true);
+	public WebClient(ITransport transport) {
+		_transport = transport;
+	}
 
-			// Send request
-			DataOutputStream wr = new DataOutputStream(
-					connection.getOutputStream());
-			wr.writeBytes(url.getQuery());
-			wr.flush();
-			wr.close();
+	/**
+	 * The transport shared by every service. Created lazily on first use.
+	 */
+	public static ITransport getDefaultTransport() {
+		ITransport transport = _defaultTransport;
+		if (transport == null) {
+			synchronized (WebClient.class) {
+				if (_defaultTransport == null)
+					_defaultTransport = new HttpClientTransport();
 
-			// Get Response
-			InputStream is = connection.getInputStream();
-			BufferedReader rd = new BufferedReader(new InputStreamReader(is));
-			String line;
-			StringBuffer response = new StringBuffer();
-			while ((line = rd.readLine()) != null) {
-				response.append(line);
-				response.append('\r');
+				transport = _defaultTransport;
 			}
-			rd.close();
-			return response.toString();
+		}
 
+		return transport;
+	}
+
+	/**
+	 * Replaces the transport shared by every service, e.g. to change
+	 * timeouts or plug in a different HTTP stack.
+	 * 
+	 * @param transport
+	 *            The transport to use for all subsequent requests.
+	 */
+	public static void setDefaultTransport(ITransport transport) {
+		if (transport == null)
+			throw new IllegalArgumentException("Transport cannot be null");
+
+		_defaultTransport = transport;
+	}
+
+	public ITransport getTransport() {
+		return _transport;
+	}
+
+	/**
+	 * Opens the response body without buffering it. The caller must close
+	 * the stream so the underlying connection can be reused.
+	 * 
+	 * @param url
+	 *            Fully qualified URL, including the query string.
+	 * @return The raw response body.
+	 * @throws IOException
+	 *             The request failed.
+	 */
+	public InputStream openStream(URL url) throws IOException {
+		return _transport.get(url);
+	}
+
+	/**
+	 * Reads the complete response body into a byte array without decoding
+	 * it, so it can be handed directly to a parser.
+	 * 
+	 * @param url
+	 *            Fully qualified URL, including the query string.
+	 * @return The raw response body.
+	 * @throws IOException
+	 *             The request failed.
+	 */
+	public byte[] downloadBytes(URL url) throws IOException {
+		try (InputStream is = _transport.get(url)) {
+			return is.readAllBytes();
+		}
+	}
+
+	public String downloadString(URL url) {
+		try {
+			return new String(downloadBytes(url), StandardCharsets.UTF_8);
 		} catch (Exception e) {
 			e.printStackTrace();
 			return null;
-
-		} finally {
-
-			if (connection != null) {
-				connection.disconnect();
-			}
 		}
 	}
 }
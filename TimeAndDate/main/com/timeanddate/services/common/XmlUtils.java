@@ -1,6 +1,8 @@
 package com.timeanddate.services.common;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringReader;
 import java.util.Collections;
 import java.util.List;
@@ -10,6 +12,10 @@ import java.util.RandomAccess;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -24,25 +30,236 @@ import org.xml.sax.SAXException;
  *
  */
 public class XmlUtils {
+	private static final DocumentBuilderFactory _factory = DocumentBuilderFactory
+			.newInstance();
+
+	private static final ThreadLocal<DocumentBuilder> _builder = new ThreadLocal<DocumentBuilder>() {
+		@Override
+		protected DocumentBuilder initialValue() {
+			try {
+				synchronized (_factory) {
+					return _factory.newDocumentBuilder();
+				}
+			} catch (ParserConfigurationException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	};
+
+	private static final XMLInputFactory _inputFactory = createInputFactory();
+
+	private static volatile boolean _useStreamingParser = Boolean
+			.getBoolean("com.timeanddate.services.streamingparser");
+
+	/**
+	 * Whether responses are deserialized straight from an
+	 * {@link XMLStreamReader} rather than through a DOM. Defaults to the
+	 * {@code com.timeanddate.services.streamingparser} system property.
+	 * 
+	 * @return True if the streaming parser is in use.
+	 */
+	public static boolean getUseStreamingParser() {
+		return _useStreamingParser;
+	}
+
+	/**
+	 * Switches every service between the DOM and the streaming (StAX)
+	 * deserializers. Both build the same objects.
+	 * 
+	 * @param value
+	 *            True to use the streaming parser.
+	 */
+	public static void setUseStreamingParser(boolean value) {
+		_useStreamingParser = value;
+	}
+
+	/**
+	 * Parses a response from the API and checks it for an error message in
+	 * the same pass, so each response is only turned into a DOM once.
+	 * 
+	 * @param stream
+	 *            The response body. The stream is consumed but not closed.
+	 * @return The parsed document.
+	 * @throws ServerSideException
+	 *             The server produced an error message, or the response could
+	 *             not be parsed.
+	 */
+	public static Document parse(InputStream stream) throws ServerSideException {
+		return parse(new InputSource(stream));
+	}
+
 	public static void checkForErrors(String xml)
 			throws ServerSideException {
-		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-	
+		parse(new InputSource(new StringReader(xml)));
+	}
+
+	public static void checkForErrors(byte[] xml)
+			throws ServerSideException {
+		parse(new InputSource(new ByteArrayInputStream(xml)));
+	}
+
+	public static void checkForErrors(Document document)
+			throws ServerSideException {
+		Element root = document.getDocumentElement();
+		NodeList node = root.getElementsByTagName("error");
+
+		if (node.getLength() > 0) {
+			Node error = node.item(0);
+			throw new ServerSideException(error.getTextContent());
+		}
+	}
+
+	private static Document parse(InputSource is) throws ServerSideException {
+		DocumentBuilder builder = _builder.get();
+		Document document;
+
 		try {
-			DocumentBuilder builder = factory.newDocumentBuilder();
-			InputSource is = new InputSource(new StringReader(xml));
-			Document document = builder.parse(is);
-			Element root = document.getDocumentElement();
-			NodeList node = root.getElementsByTagName("error");
-
-			if (node.getLength() > 0) {
-				Node error = node.item(0);
-				throw new ServerSideException(error.getTextContent());
+			document = builder.parse(is);
+		} catch (SAXException | IOException e) {
+			throw new ServerSideException("Failed to parse response: "
+					+ e.getMessage());
+		} finally {
+			builder.reset();
+		}
+
+		checkForErrors(document);
+		return document;
+	}
+
+	/**
+	 * Creates a pull parser over a response. The returned reader is positioned
+	 * at the start of the document.
+	 * 
+	 * @param stream
+	 *            The response body. The stream is consumed but not closed.
+	 * @return A reader over the stream.
+	 * @throws XMLStreamException
+	 *             The reader could not be created.
+	 */
+	public static XMLStreamReader createReader(InputStream stream)
+			throws XMLStreamException {
+		return _inputFactory.createXMLStreamReader(stream);
+	}
+
+	/**
+	 * Advances to the next element named one of {@code names} anywhere below
+	 * the current position, in document order. This is the streaming
+	 * counterpart of {@code getElementsByTagName} and, like
+	 * {@link #checkForErrors(Document)}, fails on an {@code error} element.
+	 * 
+	 * @return The name of the element found, or null at the end of the
+	 *         document.
+	 */
+	public static String nextElement(XMLStreamReader reader, String... names)
+			throws XMLStreamException, ServerSideException {
+		while (reader.hasNext()) {
+			if (reader.next() != XMLStreamConstants.START_ELEMENT)
+				continue;
+
+			String name = reader.getLocalName();
+			if (name.equals("error"))
+				throw new ServerSideException(readText(reader));
+
+			for (String candidate : names)
+				if (candidate.equals(name))
+					return candidate;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Advances to the next child of the current element. Call it with the
+	 * reader on the parent's start tag or on the previous child's end tag.
+	 * 
+	 * @return True if positioned on a child's start tag, false if positioned
+	 *         on the parent's end tag.
+	 */
+	public static boolean nextChild(XMLStreamReader reader)
+			throws XMLStreamException {
+		while (reader.hasNext()) {
+			switch (reader.next()) {
+			case XMLStreamConstants.START_ELEMENT:
+				return true;
+			case XMLStreamConstants.END_ELEMENT:
+				return false;
+			default:
+				break;
 			}
-		} catch (ParserConfigurationException | SAXException | IOException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
 		}
+
+		return false;
+	}
+
+	/**
+	 * Reads all text below the current element, the same as
+	 * {@link Node#getTextContent()}, leaving the reader on its end tag.
+	 */
+	public static String readText(XMLStreamReader reader)
+			throws XMLStreamException {
+		StringBuilder text = new StringBuilder();
+		int depth = 1;
+
+		while (depth > 0) {
+			switch (reader.next()) {
+			case XMLStreamConstants.START_ELEMENT:
+				depth++;
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				depth--;
+				break;
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.CDATA:
+			case XMLStreamConstants.SPACE:
+				text.append(reader.getText());
+				break;
+			default:
+				break;
+			}
+		}
+
+		return text.toString();
+	}
+
+	/**
+	 * Skips the current element and everything below it, leaving the reader
+	 * on its end tag.
+	 */
+	public static void skipElement(XMLStreamReader reader)
+			throws XMLStreamException {
+		int depth = 1;
+
+		while (depth > 0) {
+			switch (reader.next()) {
+			case XMLStreamConstants.START_ELEMENT:
+				depth++;
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				depth--;
+				break;
+			default:
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Skips the remaining children of the current element, leaving the reader
+	 * on its end tag.
+	 */
+	public static void skipChildren(XMLStreamReader reader)
+			throws XMLStreamException {
+		while (nextChild(reader))
+			skipElement(reader);
+	}
+
+	private static XMLInputFactory createInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES,
+				false);
+		factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+		return factory;
 	}
 
 	public static List<Node> asList(NodeList n) {
@@ -1,12 +1,18 @@
 package com.timeanddate.services.dataTypes.astro;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.*;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.MalformedXMLException;
 import com.timeanddate.services.common.XmlUtils;
 
@@ -133,6 +139,78 @@ public class Astronomy {
 		return astro;
 	}
 
+	public static Astronomy fromReader(XMLStreamReader reader)
+			throws XMLStreamException {
+		Astronomy astro = new Astronomy();
+		String name = reader.getAttributeValue(null, "name");
+
+		try {
+			if (name != null) {
+				astro._name = parseName(name);
+			}
+
+			while (XmlUtils.nextChild(reader)) {
+				switch (reader.getLocalName()) {
+				case "event":
+					astro._events.add(AstronomyEvent.fromReader(reader));
+					break;
+				case "special":
+					astro._special = AstronomySpecial.fromReader(reader);
+					break;
+				default:
+					XmlUtils.skipElement(reader);
+					break;
+				}
+			}
+		} catch (MalformedXMLException e) {
+			e.printStackTrace();
+			XmlUtils.skipChildren(reader);
+		}
+
+		return astro;
+	}
+
+	public static Astronomy fromJson(JsonReader reader) throws IOException {
+		Astronomy astro = new Astronomy();
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+			case "name":
+				try {
+					astro._name = parseName(reader.nextString());
+				} catch (MalformedXMLException e) {
+					e.printStackTrace();
+				}
+				break;
+			case "events":
+				reader.beginArray();
+				while (reader.hasNext())
+					try {
+						astro._events.add(AstronomyEvent.fromJson(reader));
+					} catch (MalformedXMLException e) {
+						e.printStackTrace();
+					}
+				reader.endArray();
+				break;
+			case "special":
+				try {
+					astro._special = AstronomySpecial.fromJson(reader);
+				} catch (MalformedXMLException e) {
+					e.printStackTrace();
+				}
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+
+		return astro;
+	}
+
 	private static AstronomyObjectType parseName(String objectName) throws MalformedXMLException {
 		switch (objectName) {
 		case "sun":
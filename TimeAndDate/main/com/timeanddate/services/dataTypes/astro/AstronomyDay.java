@@ -1,12 +1,18 @@
 package com.timeanddate.services.dataTypes.astro;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.TimeSpan;
 import com.timeanddate.services.common.XmlUtils;
 import com.timeanddate.services.dataTypes.time.TADDateTime;
@@ -89,4 +95,75 @@ public class AstronomyDay {
 		return day;
 
 	}
+
+	public static AstronomyDay fromReader(XMLStreamReader reader)
+			throws XMLStreamException {
+		AstronomyDay day = new AstronomyDay();
+		String date = reader.getAttributeValue(null, "date");
+		String daylength = reader.getAttributeValue(null, "daylength");
+		String moonphase = reader.getAttributeValue(null, "moonphase");
+
+		if (date != null)
+			day._date = new TADDateTime(date);
+
+		if (daylength != null) {
+			String[] components = daylength.split(":");
+			int hour = Integer.parseInt(components[0]);
+			int minute = Integer.parseInt(components[1]);
+			day._dayLength = new TimeSpan(hour, minute, 0);
+		}
+
+		if (moonphase != null)
+			day._moonPhase = com.timeanddate.services.dataTypes.astro.MoonPhase
+					.valueOf(moonphase);
+		else
+			day._moonPhase = MoonPhase.NOTREQUESTED;
+
+		while (XmlUtils.nextChild(reader)) {
+			if (reader.getLocalName().equals("event"))
+				day._events.add(AstronomyDayEvent.fromReader(reader));
+			else
+				XmlUtils.skipElement(reader);
+		}
+
+		return day;
+	}
+
+	public static AstronomyDay fromJson(JsonReader reader) throws IOException {
+		AstronomyDay day = new AstronomyDay();
+		String member;
+
+		day._moonPhase = MoonPhase.NOTREQUESTED;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+			case "date":
+				day._date = new TADDateTime(reader.nextString());
+				break;
+			case "daylength":
+				String[] components = reader.nextString().split(":");
+				int hour = Integer.parseInt(components[0]);
+				int minute = Integer.parseInt(components[1]);
+				day._dayLength = new TimeSpan(hour, minute, 0);
+				break;
+			case "moonphase":
+				day._moonPhase = com.timeanddate.services.dataTypes.astro.MoonPhase
+						.valueOf(reader.nextString());
+				break;
+			case "events":
+				reader.beginArray();
+				while (reader.hasNext())
+					day._events.add(AstronomyDayEvent.fromJson(reader));
+				reader.endArray();
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+
+		return day;
+	}
 }
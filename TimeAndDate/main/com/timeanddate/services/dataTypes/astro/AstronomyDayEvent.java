@@ -1,12 +1,20 @@
 package com.timeanddate.services.dataTypes.astro;
 
+import java.io.IOException;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.DOMException;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.MalformedXMLException;
 import com.timeanddate.services.common.StringUtils;
 import com.timeanddate.services.dataTypes.time.TADDateTime;
+import com.timeanddate.services.common.XmlUtils;
 
 /**
  * 
@@ -127,4 +135,89 @@ public class AstronomyDayEvent {
 
 		return event;
 	}
+
+	public static AstronomyDayEvent fromReader(XMLStreamReader reader)
+			throws XMLStreamException {
+		AstronomyDayEvent event = new AstronomyDayEvent();
+		String type = reader.getAttributeValue(null, "type");
+		String utctime = reader.getAttributeValue(null, "utctime");
+		String isotime = reader.getAttributeValue(null, "isotime");
+		String altitude = reader.getAttributeValue(null, "altitude");
+		String distance = reader.getAttributeValue(null, "distance");
+		String azimuth = reader.getAttributeValue(null, "azimuth");
+		String illuminated = reader.getAttributeValue(null, "illuminated");
+
+		XmlUtils.skipElement(reader);
+
+		if (type != null)
+			try {
+				event._type = StringUtils.resolveAstronomyEventCode(type);
+			} catch (MalformedXMLException e) {
+				e.printStackTrace();
+			}
+
+		if (utctime != null)
+			event._UTCTime = new TADDateTime(utctime);
+
+		if (isotime != null)
+			event._ISOTime = new TADDateTime(isotime);
+
+		if (altitude != null)
+			event._altitude = Double.parseDouble(altitude);
+
+		if (distance != null)
+			event._distance = Double.parseDouble(distance);
+
+		if (azimuth != null)
+			event._azimuth = Double.parseDouble(azimuth);
+
+		if (illuminated != null)
+			event._illuminated = Double.parseDouble(illuminated);
+
+		return event;
+	}
+
+	public static AstronomyDayEvent fromJson(JsonReader reader)
+			throws IOException {
+		AstronomyDayEvent event = new AstronomyDayEvent();
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+			case "type":
+				try {
+					event._type = StringUtils.resolveAstronomyEventCode(reader
+							.nextString());
+				} catch (MalformedXMLException e) {
+					e.printStackTrace();
+				}
+				break;
+			case "utctime":
+				event._UTCTime = new TADDateTime(reader.nextString());
+				break;
+			case "isotime":
+				event._ISOTime = new TADDateTime(reader.nextString());
+				break;
+			case "altitude":
+				event._altitude = Double.parseDouble(reader.nextString());
+				break;
+			case "distance":
+				event._distance = Double.parseDouble(reader.nextString());
+				break;
+			case "azimuth":
+				event._azimuth = Double.parseDouble(reader.nextString());
+				break;
+			case "illuminated":
+				event._illuminated = Double.parseDouble(reader.nextString());
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+
+		return event;
+	}
 }
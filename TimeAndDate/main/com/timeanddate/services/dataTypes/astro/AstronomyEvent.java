@@ -1,12 +1,19 @@
 package com.timeanddate.services.dataTypes.astro;
 
+import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.MalformedXMLException;
 import com.timeanddate.services.common.TimeSpan;
+import com.timeanddate.services.common.XmlUtils;
 
 /**
  * 
@@ -60,7 +67,91 @@ public class AstronomyEvent implements Comparable<AstronomyEvent> {
 		}
 
 		if (minute != null) {
-			m = Integer.parseInt(hour.getTextContent());
+			m = Integer.parseInt(minute.getTextContent());
+		}
+
+		event._time = new TimeSpan(h, m, 0);
+		return event;
+	}
+
+	public static AstronomyEvent fromReader(XMLStreamReader reader)
+			throws XMLStreamException, MalformedXMLException {
+		AstronomyEvent event = new AstronomyEvent();
+		String type = reader.getAttributeValue(null, "type");
+		String hour = reader.getAttributeValue(null, "hour");
+		String minute = reader.getAttributeValue(null, "minute");
+
+		XmlUtils.skipElement(reader);
+
+		if (type != null && !type.isEmpty()) {
+			switch (type) {
+			case "rise":
+				event._type = AstronomyEventType.Rise;
+				break;
+			case "set":
+				event._type = AstronomyEventType.Set;
+				break;
+			default:
+				throw new MalformedXMLException(
+						"The XML Received from Time and Date did not include an "
+								+ "event type which complies with an AstronomyEventType enum: "
+								+ type);
+			}
+		}
+
+		int h = 0, m = 0;
+		if (hour != null) {
+			h = Integer.parseInt(hour);
+		}
+
+		if (minute != null) {
+			m = Integer.parseInt(minute);
+		}
+
+		event._time = new TimeSpan(h, m, 0);
+		return event;
+	}
+
+	public static AstronomyEvent fromJson(JsonReader reader)
+			throws IOException, MalformedXMLException {
+		AstronomyEvent event = new AstronomyEvent();
+		String type = null;
+		int h = 0, m = 0;
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+			case "type":
+				type = reader.nextString();
+				break;
+			case "hour":
+				h = Integer.parseInt(reader.nextString());
+				break;
+			case "minute":
+				m = Integer.parseInt(reader.nextString());
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+
+		if (type != null && !type.isEmpty()) {
+			switch (type) {
+			case "rise":
+				event._type = AstronomyEventType.Rise;
+				break;
+			case "set":
+				event._type = AstronomyEventType.Set;
+				break;
+			default:
+				throw new MalformedXMLException(
+						"The XML Received from Time and Date did not include an "
+								+ "event type which complies with an AstronomyEventType enum: "
+								+ type);
+			}
 		}
 
 		event._time = new TimeSpan(h, m, 0);
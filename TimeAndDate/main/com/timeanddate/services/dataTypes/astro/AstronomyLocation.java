@@ -1,12 +1,18 @@
 package com.timeanddate.services.dataTypes.astro;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.MalformedXMLException;
 import com.timeanddate.services.common.XmlUtils;
 import com.timeanddate.services.dataTypes.places.Geo;
@@ -73,4 +79,76 @@ public class AstronomyLocation {
 
 		return astro;
 	}
+
+	public static AstronomyLocation fromReader(XMLStreamReader reader)
+			throws XMLStreamException {
+		AstronomyLocation astro = new AstronomyLocation();
+		String id = reader.getAttributeValue(null, "id");
+
+		while (XmlUtils.nextChild(reader)) {
+			switch (reader.getLocalName()) {
+			case "geo":
+				astro._geography = Geo.fromReader(reader);
+				break;
+			case "astronomy":
+				while (XmlUtils.nextChild(reader))
+					try {
+						astro._objects.add(AstronomyObjectDetails.fromReader(reader));
+					} catch (MalformedXMLException e) {
+						e.printStackTrace();
+					}
+				break;
+			default:
+				XmlUtils.skipElement(reader);
+				break;
+			}
+		}
+
+		astro._id = id;
+
+		return astro;
+	}
+
+	public static AstronomyLocation fromJson(JsonReader reader)
+			throws IOException {
+		AstronomyLocation astro = new AstronomyLocation();
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+			case "id":
+				astro._id = reader.nextString();
+				break;
+			case "geo":
+				astro._geography = Geo.fromJson(reader);
+				break;
+			case "astronomy":
+				reader.beginObject();
+				while ((member = JsonUtils.nextMember(reader)) != null) {
+					if (!member.equals("objects")) {
+						reader.skipValue();
+						continue;
+					}
+
+					reader.beginArray();
+					while (reader.hasNext())
+						try {
+							astro._objects.add(AstronomyObjectDetails.fromJson(reader));
+						} catch (MalformedXMLException e) {
+							e.printStackTrace();
+						}
+					reader.endArray();
+				}
+				reader.endObject();
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+
+		return astro;
+	}
 }
@@ -1,12 +1,18 @@
 package com.timeanddate.services.dataTypes.astro;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.MalformedXMLException;
 import com.timeanddate.services.common.XmlUtils;
 
@@ -60,4 +66,68 @@ public class AstronomyObjectDetails {
 		}
 		return obj;
 	}
+
+	public static AstronomyObjectDetails fromReader(XMLStreamReader reader)
+			throws XMLStreamException, MalformedXMLException {
+		AstronomyObjectDetails obj = new AstronomyObjectDetails();
+		String name = reader.getAttributeValue(null, "name");
+
+		while (XmlUtils.nextChild(reader))
+			if (reader.getLocalName().equals("day"))
+				obj._days.add(AstronomyDay.fromReader(reader));
+			else
+				XmlUtils.skipElement(reader);
+
+		if (name != null) {
+			String nametxt = name.toLowerCase();
+
+			try {
+				obj._name = AstronomyObjectType.valueOf(nametxt.substring(0, 1).toUpperCase() + nametxt.substring(1));
+			} catch (IllegalArgumentException e) {
+				throw new MalformedXMLException(
+						"The XML returned from Time and Date contained an unsupported name: "
+								+ nametxt);
+			}
+		}
+		return obj;
+	}
+
+	public static AstronomyObjectDetails fromJson(JsonReader reader)
+			throws IOException, MalformedXMLException {
+		AstronomyObjectDetails obj = new AstronomyObjectDetails();
+		String name = null;
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+			case "name":
+				name = reader.nextString();
+				break;
+			case "days":
+				reader.beginArray();
+				while (reader.hasNext())
+					obj._days.add(AstronomyDay.fromJson(reader));
+				reader.endArray();
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+
+		if (name != null) {
+			String nametxt = name.toLowerCase();
+
+			try {
+				obj._name = AstronomyObjectType.valueOf(nametxt.substring(0, 1).toUpperCase() + nametxt.substring(1));
+			} catch (IllegalArgumentException e) {
+				throw new MalformedXMLException(
+						"The XML returned from Time and Date contained an unsupported name: "
+								+ nametxt);
+			}
+		}
+		return obj;
+	}
 }
@@ -1,9 +1,17 @@
 package com.timeanddate.services.dataTypes.astro;
 
+import java.io.IOException;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.MalformedXMLException;
+import com.timeanddate.services.common.XmlUtils;
 
 /**
  * 
@@ -41,4 +49,60 @@ public class AstronomySpecial {
 
 		return special;
 	}
+
+	public static AstronomySpecial fromReader(XMLStreamReader reader)
+			throws XMLStreamException, MalformedXMLException {
+		AstronomySpecial special = new AstronomySpecial();
+		String type = reader.getAttributeValue(null, "type");
+
+		XmlUtils.skipElement(reader);
+
+		if (type != null && !type.isEmpty()) {
+			switch (type) {
+			case "rise":
+				special._type = AstronomyEventType.Rise;
+				break;
+			case "set":
+				special._type = AstronomyEventType.Set;
+				break;
+			default:
+				throw new MalformedXMLException(
+						"The XML Received from Time and Date did not include an event type which complies with an AstronomyEventType enum");
+			}
+		}
+
+		return special;
+	}
+
+	public static AstronomySpecial fromJson(JsonReader reader)
+			throws IOException, MalformedXMLException {
+		AstronomySpecial special = new AstronomySpecial();
+		String type = null;
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			if (member.equals("type"))
+				type = reader.nextString();
+			else
+				reader.skipValue();
+		}
+		reader.endObject();
+
+		if (type != null && !type.isEmpty()) {
+			switch (type) {
+			case "rise":
+				special._type = AstronomyEventType.Rise;
+				break;
+			case "set":
+				special._type = AstronomyEventType.Set;
+				break;
+			default:
+				throw new MalformedXMLException(
+						"The XML Received from Time and Date did not include an event type which complies with an AstronomyEventType enum");
+			}
+		}
+
+		return special;
+	}
 }
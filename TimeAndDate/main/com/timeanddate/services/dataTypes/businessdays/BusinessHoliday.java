@@ -1,12 +1,18 @@
 package com.timeanddate.services.dataTypes.businessdays;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.w3c.dom.NamedNodeMap;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.XmlUtils;
 import com.timeanddate.services.dataTypes.holidays.Holiday;
 import com.timeanddate.services.dataTypes.time.TADTime;
@@ -47,6 +53,23 @@ public class BusinessHoliday {
 		_holidays = new ArrayList<Holiday>();
 	}
 
+	/**
+	 * Creates the holidays of a period from holidays that are already known,
+	 * e.g. from a holiday calendar.
+	 *
+	 * @param includeExclude
+	 *            Whether the holidays were included or excluded.
+	 * @param holidays
+	 *            The holidays.
+	 */
+	public BusinessHoliday(IncludeExclude includeExclude, List<Holiday> holidays) {
+		this();
+		_includeExclude = includeExclude;
+		if (holidays != null)
+			_holidays.addAll(holidays);
+		_count = _holidays.size();
+	}
+
 	public static BusinessHoliday fromNode(Node node) {
 		BusinessHoliday businessHoliday = new BusinessHoliday();
 		NodeList children = node.getChildNodes();
@@ -71,4 +94,65 @@ public class BusinessHoliday {
 
 		return businessHoliday;
 	}
+
+	public static BusinessHoliday fromReader(XMLStreamReader reader)
+			throws XMLStreamException {
+		BusinessHoliday businessHoliday = new BusinessHoliday();
+
+		switch (reader.getAttributeValue(null, "type")) {
+			case "included":
+				businessHoliday._includeExclude = IncludeExclude.INCLUDED;
+				break;
+			case "excluded":
+				businessHoliday._includeExclude = IncludeExclude.EXCLUDED;
+				break;
+		}
+
+		businessHoliday._count = Integer.parseInt(reader.getAttributeValue(null, "count"));
+
+		while (XmlUtils.nextChild(reader)) {
+			while (XmlUtils.nextChild(reader)) {
+				businessHoliday._holidays.add(Holiday.fromReader(reader));
+			}
+		}
+
+		return businessHoliday;
+	}
+
+	public static BusinessHoliday fromJson(JsonReader reader)
+			throws IOException {
+		BusinessHoliday businessHoliday = new BusinessHoliday();
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+				case "type":
+					switch (reader.nextString()) {
+						case "included":
+							businessHoliday._includeExclude = IncludeExclude.INCLUDED;
+							break;
+						case "excluded":
+							businessHoliday._includeExclude = IncludeExclude.EXCLUDED;
+							break;
+					}
+					break;
+				case "count":
+					businessHoliday._count = Integer.parseInt(reader.nextString());
+					break;
+				case "list":
+					reader.beginArray();
+					while (reader.hasNext())
+						businessHoliday._holidays.add(Holiday.fromJson(reader));
+					reader.endArray();
+					break;
+				default:
+					reader.skipValue();
+					break;
+			}
+		}
+		reader.endObject();
+
+		return businessHoliday;
+	}
 }
@@ -1,12 +1,18 @@
 package com.timeanddate.services.dataTypes.businessdays;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.w3c.dom.NamedNodeMap;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.XmlUtils;
 import com.timeanddate.services.dataTypes.time.TADTime;
 
@@ -73,6 +79,37 @@ public class Period {
 		return _holidays;
 	}
 
+	public Period() {
+	}
+
+	/**
+	 * Creates a period from information that is already known, e.g. from a
+	 * local calculation.
+	 *
+	 * @param includedDays
+	 *            Number of days calculated.
+	 * @param calendarDays
+	 *            Number of calendar days in the period.
+	 * @param startDate
+	 *            The date the calculation started from.
+	 * @param endDate
+	 *            The date the calculation ended on.
+	 * @param weekdays
+	 *            The spread of excluded or included weekdays.
+	 * @param holidays
+	 *            Holidays which occur in the period, or null.
+	 */
+	public Period(int includedDays, int calendarDays, TADTime startDate,
+			TADTime endDate, WeekdaysType weekdays, BusinessHoliday holidays) {
+		_includedDays = includedDays;
+		_calendarDays = calendarDays;
+		_skippedDays = calendarDays - includedDays;
+		_startDate = startDate;
+		_endDate = endDate;
+		_weekdays = weekdays;
+		_holidays = holidays;
+	}
+
 	public static Period fromNode(Node node) {
 		Period period = new Period();
 		NodeList children = node.getChildNodes();
@@ -105,4 +142,79 @@ public class Period {
 
 		return period;
 	}
+
+	public static Period fromReader(XMLStreamReader reader)
+			throws XMLStreamException {
+		Period period = new Period();
+
+		period._includedDays = Integer.parseInt(reader.getAttributeValue(null, "includeddays"));
+		period._calendarDays = Integer.parseInt(reader.getAttributeValue(null, "calendardays"));
+		period._skippedDays = Integer.parseInt(reader.getAttributeValue(null, "skippeddays"));
+
+		while (XmlUtils.nextChild(reader)) {
+			switch (reader.getLocalName()) {
+				case "startdate":
+					period._startDate = TADTime.fromReader(reader);
+					break;
+				case "enddate":
+					period._endDate = TADTime.fromReader(reader);
+					break;
+				case "weekdays":
+					period._weekdays = WeekdaysType.fromReader(reader);
+					break;
+				case "holidays":
+					BusinessHoliday holidays = BusinessHoliday.fromReader(reader);
+					if (!holidays.getHolidays().isEmpty()) {
+						period._holidays = holidays;
+					}
+					break;
+				default:
+					XmlUtils.skipElement(reader);
+					break;
+			}
+		}
+
+		return period;
+	}
+
+	public static Period fromJson(JsonReader reader) throws IOException {
+		Period period = new Period();
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+				case "includeddays":
+					period._includedDays = Integer.parseInt(reader.nextString());
+					break;
+				case "calendardays":
+					period._calendarDays = Integer.parseInt(reader.nextString());
+					break;
+				case "skippeddays":
+					period._skippedDays = Integer.parseInt(reader.nextString());
+					break;
+				case "startdate":
+					period._startDate = TADTime.fromJson(reader);
+					break;
+				case "enddate":
+					period._endDate = TADTime.fromJson(reader);
+					break;
+				case "weekdays":
+					period._weekdays = WeekdaysType.fromJson(reader);
+					break;
+				case "holidays":
+					BusinessHoliday holidays = BusinessHoliday.fromJson(reader);
+					if (!holidays.getHolidays().isEmpty()) {
+						period._holidays = holidays;
+					}
+					break;
+				default:
+					reader.skipValue();
+					break;
+			}
+		}
+		reader.endObject();
+
+		return period;
+	}
 }
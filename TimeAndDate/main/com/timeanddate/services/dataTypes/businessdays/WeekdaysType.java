@@ -1,9 +1,16 @@
 package com.timeanddate.services.dataTypes.businessdays;
 
+import java.io.IOException;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.w3c.dom.NamedNodeMap;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.XmlUtils;
 
 /**
@@ -85,6 +92,35 @@ public class WeekdaysType {
 		return _sundayCount;
 	}
 
+	public WeekdaysType() {
+	}
+
+	/**
+	 * Creates a spread of weekdays from counts that are already known, e.g.
+	 * from a local calculation.
+	 *
+	 * @param filterType
+	 *            Whether the counted weekdays were included or excluded.
+	 * @param counts
+	 *            The count for each weekday, from Monday to Sunday.
+	 */
+	public WeekdaysType(IncludeExclude filterType, int[] counts) {
+		if (counts == null || counts.length != 7)
+			throw new IllegalArgumentException(
+					"A required argument was not as expected");
+
+		_filterType = filterType;
+		_mondayCount = counts[0];
+		_tuesdayCount = counts[1];
+		_wednesdayCount = counts[2];
+		_thursdayCount = counts[3];
+		_fridayCount = counts[4];
+		_saturdayCount = counts[5];
+		_sundayCount = counts[6];
+		for (int count : counts)
+			_totalCount += count;
+	}
+
 	public static WeekdaysType fromNode(Node node) {
 		WeekdaysType weekdays = new WeekdaysType();
 		NodeList children = node.getChildNodes();
@@ -129,4 +165,102 @@ public class WeekdaysType {
 
 		return weekdays;
 	}
+
+	public static WeekdaysType fromReader(XMLStreamReader reader)
+			throws XMLStreamException {
+		WeekdaysType weekdays = new WeekdaysType();
+
+		switch (reader.getAttributeValue(null, "type")) {
+			case "included":
+				weekdays._filterType = IncludeExclude.INCLUDED;
+				break;
+			case "excluded":
+				weekdays._filterType = IncludeExclude.EXCLUDED;
+				break;
+		}
+
+		weekdays._totalCount = Integer.parseInt(reader.getAttributeValue(null, "count"));
+
+		while (XmlUtils.nextChild(reader)) {
+			switch (reader.getLocalName()) {
+				case "mon":
+					weekdays._mondayCount = Integer.parseInt(XmlUtils.readText(reader));
+					break;
+				case "tue":
+					weekdays._tuesdayCount = Integer.parseInt(XmlUtils.readText(reader));
+					break;
+				case "wed":
+					weekdays._wednesdayCount = Integer.parseInt(XmlUtils.readText(reader));
+					break;
+				case "thu":
+					weekdays._thursdayCount = Integer.parseInt(XmlUtils.readText(reader));
+					break;
+				case "fri":
+					weekdays._fridayCount = Integer.parseInt(XmlUtils.readText(reader));
+					break;
+				case "sat":
+					weekdays._saturdayCount = Integer.parseInt(XmlUtils.readText(reader));
+					break;
+				case "sun":
+					weekdays._sundayCount = Integer.parseInt(XmlUtils.readText(reader));
+					break;
+				default:
+					XmlUtils.skipElement(reader);
+					break;
+			}
+		}
+
+		return weekdays;
+	}
+
+	public static WeekdaysType fromJson(JsonReader reader) throws IOException {
+		WeekdaysType weekdays = new WeekdaysType();
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+				case "type":
+					switch (reader.nextString()) {
+						case "included":
+							weekdays._filterType = IncludeExclude.INCLUDED;
+							break;
+						case "excluded":
+							weekdays._filterType = IncludeExclude.EXCLUDED;
+							break;
+					}
+					break;
+				case "count":
+					weekdays._totalCount = Integer.parseInt(reader.nextString());
+					break;
+				case "mon":
+					weekdays._mondayCount = Integer.parseInt(reader.nextString());
+					break;
+				case "tue":
+					weekdays._tuesdayCount = Integer.parseInt(reader.nextString());
+					break;
+				case "wed":
+					weekdays._wednesdayCount = Integer.parseInt(reader.nextString());
+					break;
+				case "thu":
+					weekdays._thursdayCount = Integer.parseInt(reader.nextString());
+					break;
+				case "fri":
+					weekdays._fridayCount = Integer.parseInt(reader.nextString());
+					break;
+				case "sat":
+					weekdays._saturdayCount = Integer.parseInt(reader.nextString());
+					break;
+				case "sun":
+					weekdays._sundayCount = Integer.parseInt(reader.nextString());
+					break;
+				default:
+					reader.skipValue();
+					break;
+			}
+		}
+		reader.endObject();
+
+		return weekdays;
+	}
 }
@@ -1,9 +1,17 @@
 package com.timeanddate.services.dataTypes.dialCode;
 
+import java.io.IOException;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.MalformedXMLException;
+import com.timeanddate.services.common.XmlUtils;
 
 /**
  * 
@@ -39,7 +47,11 @@ public class Composition {
 
 	private static PhoneNumberElementType getTypeByNode(Node node)
 			throws MalformedXMLException {
-		String str = node.getTextContent();
+		return getType(node.getTextContent());
+	}
+
+	private static PhoneNumberElementType getType(String str)
+			throws MalformedXMLException {
 		switch (str) {
 		case "international-prefix":
 			return PhoneNumberElementType.InternationalPrefix;
@@ -81,4 +93,56 @@ public class Composition {
 		return composition;
 	}
 
+	public static Composition fromReader(XMLStreamReader reader)
+			throws XMLStreamException, MalformedXMLException {
+		Composition composition = new Composition();
+		String id = reader.getAttributeValue(null, "id");
+		String number = reader.getAttributeValue(null, "number");
+		String desc = reader.getAttributeValue(null, "description");
+
+		XmlUtils.skipElement(reader);
+
+		if (id != null)
+			composition._phoneNumberElement = getType(id);
+
+		if (number != null)
+			composition._number = number;
+
+		if (desc != null)
+			composition._description = desc;
+
+		return composition;
+	}
+
+	public static Composition fromJson(JsonReader reader)
+			throws IOException, MalformedXMLException {
+		Composition composition = new Composition();
+		String id = null;
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+			case "id":
+				id = reader.nextString();
+				break;
+			case "number":
+				composition._number = reader.nextString();
+				break;
+			case "description":
+				composition._description = JsonUtils.readText(reader);
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+
+		if (id != null)
+			composition._phoneNumberElement = getType(id);
+
+		return composition;
+	}
+
 }
@@ -1,12 +1,18 @@
 package com.timeanddate.services.dataTypes.dst;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.XmlUtils;
 import com.timeanddate.services.dataTypes.time.TADDateTime;
 import com.timeanddate.services.dataTypes.time.TADTimezone;
@@ -133,4 +139,102 @@ public class DST {
 
 		return dst;
 	}
+
+	public static DST fromReader(XMLStreamReader reader)
+			throws XMLStreamException {
+		DST dst = new DST();
+
+		while (XmlUtils.nextChild(reader)) {
+			switch (reader.getLocalName()) {
+			case "region":
+				dst._region = com.timeanddate.services.dataTypes.places.Region
+						.fromReader(reader);
+				break;
+			case "stdtimezone":
+				dst._standardTimezone = TADTimezone.fromReader(reader);
+				break;
+			case "dsttimezone":
+				dst._dstTimezone = TADTimezone.fromReader(reader);
+				break;
+			case "dstend":
+				dst._dstEnd = new TADDateTime(XmlUtils.readText(reader));
+				break;
+			case "dststart":
+				dst._dstStart = new TADDateTime(XmlUtils.readText(reader));
+				break;
+			case "timechanges":
+				while (XmlUtils.nextChild(reader)) {
+					dst._timeChanges.add(TimeChange.fromReader(reader));
+				}
+				break;
+			case "special":
+				String type = reader.getAttributeValue(null, "type");
+				XmlUtils.skipElement(reader);
+				if (type.equals("nodst"))
+					dst._special = DSTSpecialType.NoDaylightSavingTime;
+				else if (type.equals("allyear"))
+					dst._special = DSTSpecialType.DaylightSavingTimeAllYear;
+				break;
+			default:
+				XmlUtils.skipElement(reader);
+				break;
+			}
+		}
+
+		return dst;
+	}
+
+	public static DST fromJson(JsonReader reader) throws IOException {
+		DST dst = new DST();
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+			case "region":
+				dst._region = com.timeanddate.services.dataTypes.places.Region
+						.fromJson(reader);
+				break;
+			case "stdtimezone":
+				dst._standardTimezone = TADTimezone.fromJson(reader);
+				break;
+			case "dsttimezone":
+				dst._dstTimezone = TADTimezone.fromJson(reader);
+				break;
+			case "dstend":
+				dst._dstEnd = new TADDateTime(reader.nextString());
+				break;
+			case "dststart":
+				dst._dstStart = new TADDateTime(reader.nextString());
+				break;
+			case "timechanges":
+				reader.beginArray();
+				while (reader.hasNext())
+					dst._timeChanges.add(TimeChange.fromJson(reader));
+				reader.endArray();
+				break;
+			case "special":
+				String type = null;
+				reader.beginObject();
+				while ((member = JsonUtils.nextMember(reader)) != null) {
+					if (member.equals("type"))
+						type = reader.nextString();
+					else
+						reader.skipValue();
+				}
+				reader.endObject();
+				if ("nodst".equals(type))
+					dst._special = DSTSpecialType.NoDaylightSavingTime;
+				else if ("allyear".equals(type))
+					dst._special = DSTSpecialType.DaylightSavingTimeAllYear;
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+
+		return dst;
+	}
 }
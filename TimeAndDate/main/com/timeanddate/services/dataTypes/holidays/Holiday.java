@@ -1,15 +1,21 @@
 package com.timeanddate.services.dataTypes.holidays;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.DOMException;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.XmlUtils;
 import com.timeanddate.services.dataTypes.time.TADTime;
 import com.timeanddate.services.dataTypes.places.Country;
@@ -181,4 +187,120 @@ public class Holiday {
 
 		return holiday;
 	}
+
+	public static Holiday fromReader(XMLStreamReader reader)
+			throws XMLStreamException {
+		Holiday holiday = new Holiday();
+		String id = reader.getAttributeValue(null, "id");
+		String url = reader.getAttributeValue(null, "url");
+
+		while (XmlUtils.nextChild(reader)) {
+			switch (reader.getLocalName()) {
+			case "name":
+				holiday._name = XmlUtils.readText(reader);
+				break;
+			case "locations":
+				holiday._locations = XmlUtils.readText(reader);
+				break;
+			case "uid":
+				holiday._uid = XmlUtils.readText(reader);
+				break;
+			case "country":
+				holiday._country = com.timeanddate.services.dataTypes.places.Country
+						.fromReader(reader);
+				break;
+			case "oneliner":
+				holiday._description = XmlUtils.readText(reader);
+				break;
+			case "types":
+				while (XmlUtils.nextChild(reader)) {
+					holiday._types.add(XmlUtils.readText(reader));
+				}
+				break;
+			case "states":
+				while (XmlUtils.nextChild(reader)) {
+					holiday._states.add(HolidayState.fromReader(reader));
+				}
+				break;
+			case "date":
+				holiday._date = TADTime.fromReader(reader);
+				break;
+			default:
+				XmlUtils.skipElement(reader);
+				break;
+			}
+		}
+
+		holiday._id = Integer.parseInt(id);
+		try {
+			holiday._url = new URI(url);
+		} catch (URISyntaxException e) {
+			e.printStackTrace();
+		}
+
+		return holiday;
+	}
+
+	public static Holiday fromJson(JsonReader reader) throws IOException {
+		Holiday holiday = new Holiday();
+		String id = null;
+		String url = null;
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+			case "id":
+				id = reader.nextString();
+				break;
+			case "url":
+				url = reader.nextString();
+				break;
+			case "name":
+				holiday._name = JsonUtils.readText(reader);
+				break;
+			case "locations":
+				holiday._locations = JsonUtils.readText(reader);
+				break;
+			case "uid":
+				holiday._uid = reader.nextString();
+				break;
+			case "country":
+				holiday._country = com.timeanddate.services.dataTypes.places.Country
+						.fromJson(reader);
+				break;
+			case "oneliner":
+				holiday._description = JsonUtils.readText(reader);
+				break;
+			case "types":
+				reader.beginArray();
+				while (reader.hasNext())
+					holiday._types.add(JsonUtils.readText(reader));
+				reader.endArray();
+				break;
+			case "states":
+				reader.beginArray();
+				while (reader.hasNext())
+					holiday._states.add(HolidayState.fromJson(reader));
+				reader.endArray();
+				break;
+			case "date":
+				holiday._date = TADTime.fromJson(reader);
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+
+		holiday._id = Integer.parseInt(id);
+		try {
+			holiday._url = new URI(url);
+		} catch (URISyntaxException e) {
+			e.printStackTrace();
+		}
+
+		return holiday;
+	}
 }
@@ -1,8 +1,15 @@
 package com.timeanddate.services.dataTypes.holidays;
 
+import java.io.IOException;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.XmlUtils;
 
 /**
@@ -68,4 +75,60 @@ public class HolidayState {
 
 		return state;
 	}
+
+	public static HolidayState fromReader(XMLStreamReader reader)
+			throws XMLStreamException {
+		HolidayState state = new HolidayState();
+
+		while (XmlUtils.nextChild(reader)) {
+			switch (reader.getLocalName()) {
+			case "id":
+				state._id = Integer.parseInt(XmlUtils.readText(reader));
+				break;
+			case "abbrev":
+				state._abbrevation = XmlUtils.readText(reader);
+				break;
+			case "name":
+				state._name = XmlUtils.readText(reader);
+				break;
+			case "exception":
+				state._exception = XmlUtils.readText(reader);
+				break;
+			default:
+				XmlUtils.skipElement(reader);
+				break;
+			}
+		}
+
+		return state;
+	}
+
+	public static HolidayState fromJson(JsonReader reader) throws IOException {
+		HolidayState state = new HolidayState();
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+			case "id":
+				state._id = Integer.parseInt(reader.nextString());
+				break;
+			case "abbrev":
+				state._abbrevation = reader.nextString();
+				break;
+			case "name":
+				state._name = JsonUtils.readText(reader);
+				break;
+			case "exception":
+				state._exception = JsonUtils.readText(reader);
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+
+		return state;
+	}
 }
@@ -1,14 +1,20 @@
 
 package com.timeanddate.services.dataTypes.onthisday;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.DOMException;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.XmlUtils;
 import com.timeanddate.services.dataTypes.time.TADTime;
 import com.timeanddate.services.dataTypes.places.Country;
@@ -119,4 +125,91 @@ public class Event {
 
 		return event;
 	}
+
+	public static Event fromReader(XMLStreamReader reader)
+			throws XMLStreamException {
+		Event event = new Event();
+		String id = reader.getAttributeValue(null, "id");
+
+		while (XmlUtils.nextChild(reader)) {
+			switch (reader.getLocalName()) {
+				case "name":
+					event._name = XmlUtils.readText(reader);
+					break;
+				case "date":
+					event._date = TADTime.fromReader(reader);
+					break;
+				case "location":
+					event._location = XmlUtils.readText(reader);
+					break;
+				case "categories":
+					while (XmlUtils.nextChild(reader)) {
+						event._categories.add(XmlUtils.readText(reader));
+					}
+					break;
+				case "countries":
+					while (XmlUtils.nextChild(reader)) {
+						event._countries.add(Country.fromReader(reader));
+					}
+					break;
+				case "description":
+					event._description = XmlUtils.readText(reader);
+					break;
+				default:
+					XmlUtils.skipElement(reader);
+					break;
+			}
+		}
+
+		event._id = Integer.parseInt(id);
+
+		return event;
+	}
+
+	public static Event fromJson(JsonReader reader) throws IOException {
+		Event event = new Event();
+		String id = null;
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+				case "id":
+					id = reader.nextString();
+					break;
+				case "name":
+					event._name = JsonUtils.readText(reader);
+					break;
+				case "date":
+					event._date = TADTime.fromJson(reader);
+					break;
+				case "location":
+					event._location = JsonUtils.readText(reader);
+					break;
+				case "categories":
+					reader.beginArray();
+					while (reader.hasNext())
+						event._categories.add(JsonUtils.readText(reader));
+					reader.endArray();
+					break;
+				case "countries":
+					reader.beginArray();
+					while (reader.hasNext())
+						event._countries.add(Country.fromJson(reader));
+					reader.endArray();
+					break;
+				case "description":
+					event._description = JsonUtils.readText(reader);
+					break;
+				default:
+					reader.skipValue();
+					break;
+			}
+		}
+		reader.endObject();
+
+		event._id = Integer.parseInt(id);
+
+		return event;
+	}
 }
@@ -1,10 +1,17 @@
 package com.timeanddate.services.dataTypes.onthisday;
 
+import java.io.IOException;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.DOMException;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.XmlUtils;
 
 /**
@@ -61,4 +68,54 @@ public class Name {
 
 		return name;
 	}
+
+	public static Name fromReader(XMLStreamReader reader)
+			throws XMLStreamException {
+		Name name = new Name();
+
+		while (XmlUtils.nextChild(reader)) {
+			switch (reader.getLocalName()) {
+				case "first":
+					name._first = XmlUtils.readText(reader);
+					break;
+				case "middle":
+					name._middle = XmlUtils.readText(reader);
+					break;
+				case "last":
+					name._last = XmlUtils.readText(reader);
+					break;
+				default:
+					XmlUtils.skipElement(reader);
+					break;
+			}
+		}
+
+		return name;
+	}
+
+	public static Name fromJson(JsonReader reader) throws IOException {
+		Name name = new Name();
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+				case "first":
+					name._first = reader.nextString();
+					break;
+				case "middle":
+					name._middle = reader.nextString();
+					break;
+				case "last":
+					name._last = reader.nextString();
+					break;
+				default:
+					reader.skipValue();
+					break;
+			}
+		}
+		reader.endObject();
+
+		return name;
+	}
 }
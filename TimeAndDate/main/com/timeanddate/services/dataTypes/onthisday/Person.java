@@ -1,15 +1,21 @@
 package com.timeanddate.services.dataTypes.onthisday;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.DOMException;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.XmlUtils;
 import com.timeanddate.services.dataTypes.time.TADTime;
 
@@ -107,4 +113,85 @@ public class Person {
 
 		return person;
 	}
+
+	public static Person fromReader(XMLStreamReader reader)
+			throws XMLStreamException {
+		Person person = new Person();
+		String id = reader.getAttributeValue(null, "id");
+
+		while (XmlUtils.nextChild(reader)) {
+			switch (reader.getLocalName()) {
+				case "name":
+					person._name = Name.fromReader(reader);
+					break;
+				case "birthdate":
+					person._birthdate = TADTime.fromReader(reader);
+					break;
+				case "deathdate":
+					person._deathdate = TADTime.fromReader(reader);
+					break;
+				case "categories":
+					while (XmlUtils.nextChild(reader)) {
+						person._categories.add(XmlUtils.readText(reader));
+					}
+					break;
+				case "nationalities":
+					while (XmlUtils.nextChild(reader)) {
+						person._nationalities.add(XmlUtils.readText(reader));
+					}
+					break;
+				default:
+					XmlUtils.skipElement(reader);
+					break;
+			}
+		}
+
+		person._id = Integer.parseInt(id);
+
+		return person;
+	}
+
+	public static Person fromJson(JsonReader reader) throws IOException {
+		Person person = new Person();
+		String id = null;
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+				case "id":
+					id = reader.nextString();
+					break;
+				case "name":
+					person._name = Name.fromJson(reader);
+					break;
+				case "birthdate":
+					person._birthdate = TADTime.fromJson(reader);
+					break;
+				case "deathdate":
+					person._deathdate = TADTime.fromJson(reader);
+					break;
+				case "categories":
+					reader.beginArray();
+					while (reader.hasNext())
+						person._categories.add(JsonUtils.readText(reader));
+					reader.endArray();
+					break;
+				case "nationalities":
+					reader.beginArray();
+					while (reader.hasNext())
+						person._nationalities.add(JsonUtils.readText(reader));
+					reader.endArray();
+					break;
+				default:
+					reader.skipValue();
+					break;
+			}
+		}
+		reader.endObject();
+
+		person._id = Integer.parseInt(id);
+
+		return person;
+	}
 }
@@ -1,8 +1,17 @@
 package com.timeanddate.services.dataTypes.places;
 
+import java.io.IOException;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
+import com.timeanddate.services.common.XmlUtils;
+
 /**
  * 
  * @author Cato Auestad {@literal <cato@timeanddate.com>}
@@ -38,4 +47,40 @@ public class Country {
 
 		return country;
 	}
+
+	public static Country fromReader(XMLStreamReader reader)
+			throws XMLStreamException {
+		Country country = new Country();
+		String id = reader.getAttributeValue(null, "id");
+
+		if (id != null)
+			country._id = id;
+
+		country._name = XmlUtils.readText(reader);
+
+		return country;
+	}
+
+	public static Country fromJson(JsonReader reader) throws IOException {
+		Country country = new Country();
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+			case "id":
+				country._id = reader.nextString();
+				break;
+			case "name":
+				country._name = JsonUtils.readText(reader);
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+
+		return country;
+	}
 }
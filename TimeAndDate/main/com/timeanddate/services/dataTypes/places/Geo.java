@@ -1,8 +1,15 @@
 package com.timeanddate.services.dataTypes.places;
 
+import java.io.IOException;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.XmlUtils;
 
 /**
@@ -82,4 +89,86 @@ public class Geo {
 
 		return geo;
 	}
+
+	public static Geo fromReader(XMLStreamReader reader)
+			throws XMLStreamException {
+		Geo geo = new Geo();
+		double latitude = 0;
+		double longitude = 0;
+		boolean hasLat = false;
+		boolean hasLong = false;
+
+		while (XmlUtils.nextChild(reader)) {
+			switch (reader.getLocalName()) {
+			case "latitude":
+				hasLat = true;
+				latitude = Double.parseDouble(XmlUtils.readText(reader));
+				break;
+			case "longitude":
+				hasLong = true;
+				longitude = Double.parseDouble(XmlUtils.readText(reader));
+				break;
+			case "name":
+				geo._name = XmlUtils.readText(reader);
+				break;
+			case "state":
+				geo._state = XmlUtils.readText(reader);
+				break;
+			case "country":
+				geo._country = com.timeanddate.services.dataTypes.places.Country
+						.fromReader(reader);
+				break;
+			default:
+				XmlUtils.skipElement(reader);
+				break;
+			}
+		}
+
+		if (hasLat && hasLong)
+			geo._coordinates = new Coordinates(latitude, longitude);
+
+		return geo;
+	}
+
+	public static Geo fromJson(JsonReader reader) throws IOException {
+		Geo geo = new Geo();
+		double latitude = 0;
+		double longitude = 0;
+		boolean hasLat = false;
+		boolean hasLong = false;
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+			case "latitude":
+				hasLat = true;
+				latitude = Double.parseDouble(reader.nextString());
+				break;
+			case "longitude":
+				hasLong = true;
+				longitude = Double.parseDouble(reader.nextString());
+				break;
+			case "name":
+				geo._name = JsonUtils.readText(reader);
+				break;
+			case "state":
+				geo._state = JsonUtils.readText(reader);
+				break;
+			case "country":
+				geo._country = com.timeanddate.services.dataTypes.places.Country
+						.fromJson(reader);
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+
+		if (hasLat && hasLong)
+			geo._coordinates = new Coordinates(latitude, longitude);
+
+		return geo;
+	}
 }
@@ -1,13 +1,20 @@
 package com.timeanddate.services.dataTypes.places;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
 import com.timeanddate.services.common.DateTimeUtils;
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.LocalTimeDoesNotExistException;
 import com.timeanddate.services.common.MissingTimeChangesException;
 import com.timeanddate.services.common.QueriedDateOutOfRangeException;
@@ -29,6 +36,7 @@ public class Location {
 	private TADTime _time;
 	private List<TimeChange> _timeChanges;
 	private List<Astronomy> _astronomy;
+	private volatile TimeChangeIndex _timeChangeIndex;
 	
 	/**
 	 * The id of the location.
@@ -72,6 +80,29 @@ public class Location {
 		_astronomy = new ArrayList<Astronomy>();
 	}
 
+	/**
+	 * Creates a location from information that is already known, e.g. from
+	 * an earlier response.
+	 * 
+	 * @param id
+	 *            The id of the location.
+	 * @param geography
+	 *            Geographical information about the location.
+	 * @param time
+	 *            Time information about the location.
+	 * @param timeChanges
+	 *            Time changes (daylight savings time).
+	 */
+	public Location(String id, Geo geography, TADTime time,
+			List<TimeChange> timeChanges) {
+		this();
+		_id = id;
+		_geography = geography;
+		_time = time;
+		if (timeChanges != null)
+			_timeChanges = timeChanges;
+	}
+
 	public static Location fromNode(Node node) {
 		Location location = new Location();
 		NamedNodeMap attr = node.getAttributes();
@@ -103,6 +134,73 @@ public class Location {
 		return location;
 	}
 
+	public static Location fromReader(XMLStreamReader reader)
+			throws XMLStreamException {
+		Location location = new Location();
+		String id = reader.getAttributeValue(null, "id");
+
+		if (id != null)
+			location._id = id;
+
+		while (XmlUtils.nextChild(reader)) {
+			switch (reader.getLocalName()) {
+			case "geo":
+				location._geography = Geo.fromReader(reader);
+				break;
+			case "time":
+				location._time = TADTime.fromReader(reader);
+				break;
+			case "timechanges":
+				location._timeChanges = handleTimeChanges(reader);
+				break;
+			case "astronomy":
+				location._astronomy = handleAstronomy(reader);
+				break;
+			default:
+				XmlUtils.skipElement(reader);
+				break;
+			}
+		}
+
+		return location;
+	}
+
+	public static Location fromJson(JsonReader reader) throws IOException {
+		Location location = new Location();
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+			case "id":
+				location._id = reader.nextString();
+				break;
+			case "geo":
+				location._geography = Geo.fromJson(reader);
+				break;
+			case "time":
+				location._time = TADTime.fromJson(reader);
+				break;
+			case "timechanges":
+				location._timeChanges = new ArrayList<TimeChange>();
+				reader.beginArray();
+				while (reader.hasNext())
+					location._timeChanges.add(TimeChange.fromJson(reader));
+				reader.endArray();
+				break;
+			case "astronomy":
+				location._astronomy = handleAstronomy(reader);
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+
+		return location;
+	}
+
 	private static List<TimeChange> handleTimeChanges(NodeList node) {
 		List<TimeChange> list = new ArrayList<TimeChange>();
 
@@ -124,6 +222,52 @@ public class Location {
 		return list;
 	}
 
+	private static List<TimeChange> handleTimeChanges(XMLStreamReader reader)
+			throws XMLStreamException {
+		List<TimeChange> list = new ArrayList<TimeChange>();
+
+		while (XmlUtils.nextChild(reader)) {
+			list.add(TimeChange.fromReader(reader));
+		}
+
+		return list;
+	}
+
+	private static List<Astronomy> handleAstronomy(XMLStreamReader reader)
+			throws XMLStreamException {
+		List<Astronomy> list = new ArrayList<Astronomy>();
+
+		while (XmlUtils.nextChild(reader)) {
+			list.add(com.timeanddate.services.dataTypes.astro.Astronomy
+					.fromReader(reader));
+		}
+
+		return list;
+	}
+
+	private static List<Astronomy> handleAstronomy(JsonReader reader)
+			throws IOException {
+		List<Astronomy> list = new ArrayList<Astronomy>();
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			if (!member.equals("objects")) {
+				reader.skipValue();
+				continue;
+			}
+
+			reader.beginArray();
+			while (reader.hasNext())
+				list.add(com.timeanddate.services.dataTypes.astro.Astronomy
+						.fromJson(reader));
+			reader.endArray();
+		}
+		reader.endObject();
+
+		return list;
+	}
+
 	public TimeSpan getUTCOffsetFromLocalTime(TADDateTime localTime) throws MissingTimeChangesException, QueriedDateOutOfRangeException, LocalTimeDoesNotExistException {
 		if (_timeChanges == null
 				|| (_timeChanges != null && _timeChanges.isEmpty()))
@@ -136,76 +280,96 @@ public class Location {
 			throw new QueriedDateOutOfRangeException(
 					"The year specified in localTime is outside the year available for this location");
 
-		TimeChange change;
-		if (_timeChanges.size() == 1)
-			change = _timeChanges.get(0);
-		else
-			change = getTimeChangeForLocalTime(_timeChanges, localTime);
+		TimeChangeIndex index = getTimeChangeIndex();
+		long ticks = DateTimeUtils.ToMinuteTicks(localTime);
+		int change = index.find(ticks);
 
 		TimeSpan span;
-		if (DateTimeUtils.ToMinuteCompare(localTime, change.getOldLocalTime()) < 0) {
-			long oldTicks = change.getOldLocalTime().getTimeInTicks();
-			long utcTicks = change.getUtcTime().getTimeInTicks();
-			span = TimeSpan.FromTicks(oldTicks - utcTicks);
-		} else {
-			span = TimeSpan.FromSeconds(change.getNewTotalOffset());
-		}
+		if (ticks < index.oldLocalTicks[change])
+			span = TimeSpan.FromTicks(index.oldOffsetTicks[change]);
+		else
+			span = TimeSpan.FromSeconds(index.newTotalOffsets[change]);
 
 		return span;
 	}
 
-	private static TimeChange getTimeChangeForLocalTime(
-			List<TimeChange> changes, TADDateTime localTime) throws LocalTimeDoesNotExistException  {
-		TimeChange timeChange = null;
-		int numberOfChanges = changes.size() - 1;
-		for (int i = 0; i <= numberOfChanges; i++) {
-			TimeChange change = changes.get(i);
+	private TimeChangeIndex getTimeChangeIndex() {
+		List<TimeChange> changes = _timeChanges;
+		TimeChangeIndex index = _timeChangeIndex;
+		if (index == null || !index.isFor(changes)) {
+			index = new TimeChangeIndex(changes);
+			_timeChangeIndex = index;
+		}
 
-			// If the old local time was 02:00 and the new local time is 03:00
-			// and the user ask for the timezone on 02:30 they will get this
-			// exception
-			if (DateTimeUtils.ToMinuteCompare(localTime, change.getOldLocalTime()) == 1
-					&& DateTimeUtils.ToMinuteCompare(localTime,
-							change.getNewLocalTime()) == -1)
-				throw new LocalTimeDoesNotExistException(
-						"The time and date requested falls between the old and new timezone");
+		return index;
+	}
 
-			// If the date the user ask for is older (earlier) than the first
-			// time change
-			int localTimeIsEarlierThanOldLocalTime = DateTimeUtils
-					.ToMinuteCompare(localTime, change.getOldLocalTime());
-			if (localTimeIsEarlierThanOldLocalTime <= 0) {
-				timeChange = change;
-				break;
-			}
+	/**
+	 * The time changes of a location as sorted arrays of ticks, built once so
+	 * that looking up the change a local time falls under is a binary search.
+	 * The list of time changes can be changed in place, so the index keeps the
+	 * changes it was built from to tell when it is out of date.
+	 */
+	private static final class TimeChangeIndex {
+		final TimeChange[] changes;
+		final long[] oldLocalTicks;
+		final long[] newLocalTicks;
+		final long[] oldOffsetTicks;
+		final int[] newTotalOffsets;
+
+		TimeChangeIndex(List<TimeChange> changes) {
+			int count = changes.size();
+			this.changes = changes.toArray(new TimeChange[count]);
+			oldLocalTicks = new long[count];
+			newLocalTicks = new long[count];
+			oldOffsetTicks = new long[count];
+			newTotalOffsets = new int[count];
 
-			// If the date the user ask for is newer or the same date as the new
-			// local time
-			int localTimeIsLaterThanNewLocalTime = DateTimeUtils
-					.ToMinuteCompare(localTime, change.getNewLocalTime());
-			if (localTimeIsLaterThanNewLocalTime >= 0) {
-				// If this is the last time change then this is the timechange
-				// the user is in
-				if (i == numberOfChanges) {
-					timeChange = change;
-				} else {
-					// If there is more time changes, and the date the user asks
-					// for is later than
-					// the next date. Just continue to the next date. If not,
-					// 'change' is the
-					// timechange the localTime is in
-					TimeChange next = changes.get(i + 1);
-					if (DateTimeUtils.ToMinuteCompare(localTime,
-							next.getNewLocalTime()) >= 0)
-						continue; // Could be made recursive
-					else {
-						timeChange = change;
-						break;
-					}
-				}
+			for (int i = 0; i < count; i++) {
+				TimeChange change = changes.get(i);
+				oldLocalTicks[i] = DateTimeUtils.ToMinuteTicks(change
+						.getOldLocalTime());
+				newLocalTicks[i] = DateTimeUtils.ToMinuteTicks(change
+						.getNewLocalTime());
+				oldOffsetTicks[i] = oldLocalTicks[i]
+						- DateTimeUtils.ToMinuteTicks(change.getUtcTime());
+				newTotalOffsets[i] = change.getNewTotalOffset();
 			}
 		}
 
-		return timeChange;
+		/**
+		 * Whether the index was built from the same time changes, in the same
+		 * order, as a list holds now.
+		 */
+		boolean isFor(List<TimeChange> list) {
+			if (list.size() != changes.length)
+				return false;
+
+			for (int i = 0; i < changes.length; i++)
+				if (list.get(i) != changes[i])
+					return false;
+
+			return true;
+		}
+
+		/**
+		 * Finds the change a local time falls under: the last change whose new
+		 * local time is not after it, or the first change for a local time
+		 * before all of them. A local time skipped by a change, e.g. 02:30
+		 * when the clocks go from 02:00 to 03:00, does not exist.
+		 */
+		int find(long localTicks) throws LocalTimeDoesNotExistException {
+			int index = Arrays.binarySearch(newLocalTicks, localTicks);
+			int last = index >= 0 ? index : -index - 2;
+
+			int next = last + 1;
+			if (next < newLocalTicks.length
+					&& localTicks > oldLocalTicks[next]
+					&& localTicks < newLocalTicks[next])
+				throw new LocalTimeDoesNotExistException(
+						"The time and date requested falls between the old and new timezone");
+
+			return Math.max(last, 0);
+		}
 	}
 }
@@ -1,8 +1,17 @@
 package com.timeanddate.services.dataTypes.places;
 
+import java.io.IOException;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
+import com.timeanddate.services.common.XmlUtils;
+
 /**
  * 
  * @author Cato Auestad {@literal <cato@timeanddate.com>}
@@ -52,4 +61,51 @@ public class LocationRef {
 
 		return ref;
 	}
+
+	public static LocationRef fromReader(XMLStreamReader reader)
+			throws XMLStreamException {
+		LocationRef ref = new LocationRef();
+		String id = reader.getAttributeValue(null, "id");
+		String name = reader.getAttributeValue(null, "name");
+		String state = reader.getAttributeValue(null, "state");
+
+		if (id != null)
+			ref._id = id;
+
+		if (name != null)
+			ref._name = name;
+
+		if (state != null)
+			ref._state = state;
+
+		XmlUtils.skipElement(reader);
+
+		return ref;
+	}
+
+	public static LocationRef fromJson(JsonReader reader) throws IOException {
+		LocationRef ref = new LocationRef();
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+			case "id":
+				ref._id = reader.nextString();
+				break;
+			case "name":
+				ref._name = JsonUtils.readText(reader);
+				break;
+			case "state":
+				ref._state = JsonUtils.readText(reader);
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+
+		return ref;
+	}
 }
@@ -1,9 +1,16 @@
 package com.timeanddate.services.dataTypes.places;
 
+import java.io.IOException;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.XmlUtils;
 
 /**
@@ -57,4 +64,52 @@ public class Place {
 
 		return model;
 	}
+
+	public static Place fromReader(XMLStreamReader reader)
+			throws XMLStreamException {
+		Place model = new Place();
+		String id = reader.getAttributeValue(null, "id");
+		String urlid = reader.getAttributeValue(null, "urlid");
+
+		while (XmlUtils.nextChild(reader)) {
+			if (reader.getLocalName().equals("geo"))
+				model._geography = Geo.fromReader(reader);
+			else
+				XmlUtils.skipElement(reader);
+		}
+
+		if (id != null)
+			model._id = Integer.parseInt(id);
+
+		if (urlid != null)
+			model._urlid = urlid;
+
+		return model;
+	}
+
+	public static Place fromJson(JsonReader reader) throws IOException {
+		Place model = new Place();
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+			case "id":
+				model._id = Integer.parseInt(reader.nextString());
+				break;
+			case "urlid":
+				model._urlid = reader.nextString();
+				break;
+			case "geo":
+				model._geography = Geo.fromJson(reader);
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+
+		return model;
+	}
 }
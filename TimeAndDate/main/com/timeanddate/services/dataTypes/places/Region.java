@@ -1,11 +1,17 @@
 package com.timeanddate.services.dataTypes.places;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.XmlUtils;
 
 /**
@@ -86,4 +92,67 @@ public class Region {
 
 		return region;
 	}
+
+	public static Region fromReader(XMLStreamReader reader)
+			throws XMLStreamException {
+		Region region = new Region();
+
+		while (XmlUtils.nextChild(reader)) {
+			switch (reader.getLocalName()) {
+			case "country":
+				region._country = com.timeanddate.services.dataTypes.places.Country
+						.fromReader(reader);
+				break;
+			case "desc":
+				region._description = XmlUtils.readText(reader);
+				break;
+			case "biggestplace":
+				region._biggestPlace = XmlUtils.readText(reader);
+				break;
+			case "locations":
+				while (XmlUtils.nextChild(reader)) {
+					region._locations.add(LocationRef.fromReader(reader));
+				}
+				break;
+			default:
+				XmlUtils.skipElement(reader);
+				break;
+			}
+		}
+
+		return region;
+	}
+
+	public static Region fromJson(JsonReader reader) throws IOException {
+		Region region = new Region();
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+			case "country":
+				region._country = com.timeanddate.services.dataTypes.places.Country
+						.fromJson(reader);
+				break;
+			case "desc":
+				region._description = JsonUtils.readText(reader);
+				break;
+			case "biggestplace":
+				region._biggestPlace = JsonUtils.readText(reader);
+				break;
+			case "locations":
+				reader.beginArray();
+				while (reader.hasNext())
+					region._locations.add(LocationRef.fromJson(reader));
+				reader.endArray();
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+
+		return region;
+	}
 }
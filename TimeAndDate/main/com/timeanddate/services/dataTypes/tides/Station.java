@@ -1,12 +1,18 @@
 package com.timeanddate.services.dataTypes.tides;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.XmlUtils;
 import com.timeanddate.services.common.MalformedXMLException;
 
@@ -72,4 +78,68 @@ public class Station {
 
 		return station;
 	}
+
+	public static Station fromReader(XMLStreamReader reader)
+			throws XMLStreamException {
+		Station station = new Station();
+		String matchParam = reader.getAttributeValue(null, "matchparam");
+
+		while (XmlUtils.nextChild(reader)) {
+			switch (reader.getLocalName()) {
+			case "source":
+				station._source = StationInfo.fromReader(reader);
+				break;
+			case "result":
+				while (XmlUtils.nextChild(reader)) {
+					try {
+						station._result.add(Tide.fromReader(reader));
+					} catch (MalformedXMLException e) {
+						e.printStackTrace();
+					}
+				}
+				break;
+			default:
+				XmlUtils.skipElement(reader);
+				break;
+			}
+		}
+
+		station._matchparam = matchParam;
+
+		return station;
+	}
+
+	public static Station fromJson(JsonReader reader) throws IOException {
+		Station station = new Station();
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+			case "matchparam":
+				station._matchparam = reader.nextString();
+				break;
+			case "source":
+				station._source = StationInfo.fromJson(reader);
+				break;
+			case "result":
+				reader.beginArray();
+				while (reader.hasNext()) {
+					try {
+						station._result.add(Tide.fromJson(reader));
+					} catch (MalformedXMLException e) {
+						e.printStackTrace();
+					}
+				}
+				reader.endArray();
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+
+		return station;
+	}
 }
@@ -1,8 +1,15 @@
 package com.timeanddate.services.dataTypes.tides;
 
+import java.io.IOException;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.XmlUtils;
 
 /**
@@ -78,4 +85,66 @@ public class StationInfo {
 
 		return stationInfo;
 	}
+
+	public static StationInfo fromReader(XMLStreamReader reader)
+			throws XMLStreamException {
+		StationInfo stationInfo = new StationInfo();
+
+		while (XmlUtils.nextChild(reader)) {
+			switch (reader.getLocalName()) {
+			case "name":
+				stationInfo._name = XmlUtils.readText(reader);
+				break;
+			case "latitude":
+				stationInfo._latitude = Float.parseFloat(XmlUtils.readText(reader));
+				break;
+			case "longitude":
+				stationInfo._longitude = Float.parseFloat(XmlUtils.readText(reader));
+				break;
+			case "type":
+				stationInfo._type = XmlUtils.readText(reader);
+				break;
+			case "distance":
+				stationInfo._distance = Float.parseFloat(XmlUtils.readText(reader));
+				break;
+			default:
+				XmlUtils.skipElement(reader);
+				break;
+			}
+		}
+
+		return stationInfo;
+	}
+
+	public static StationInfo fromJson(JsonReader reader) throws IOException {
+		StationInfo stationInfo = new StationInfo();
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+			case "name":
+				stationInfo._name = JsonUtils.readText(reader);
+				break;
+			case "latitude":
+				stationInfo._latitude = Float.parseFloat(reader.nextString());
+				break;
+			case "longitude":
+				stationInfo._longitude = Float.parseFloat(reader.nextString());
+				break;
+			case "type":
+				stationInfo._type = reader.nextString();
+				break;
+			case "distance":
+				stationInfo._distance = Float.parseFloat(reader.nextString());
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+
+		return stationInfo;
+	}
 }
@@ -1,8 +1,15 @@
 package com.timeanddate.services.dataTypes.tides;
 
+import java.io.IOException;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.MalformedXMLException;
 import com.timeanddate.services.common.XmlUtils;
 
@@ -66,4 +73,74 @@ public class Tide {
 
 		return tide;
 	}
+
+	public static Tide fromReader(XMLStreamReader reader)
+			throws XMLStreamException, MalformedXMLException {
+		Tide tide = new Tide();
+
+		while (XmlUtils.nextChild(reader)) {
+			switch (reader.getLocalName()) {
+			case "time":
+				tide._time = TADTime.fromReader(reader);
+				break;
+			case "amplitude":
+				tide._amplitude = Float.parseFloat(XmlUtils.readText(reader));
+				break;
+			case "phase":
+				String name = XmlUtils.readText(reader);
+				try {
+					tide._phase = TidalPhase.valueOf(name.substring(0, 1).toUpperCase() + name.substring(1));
+				} catch (IllegalArgumentException e) {
+					XmlUtils.skipChildren(reader);
+					throw new MalformedXMLException(
+							"The XML returned from Time and Date contained an unsupported name: "
+							+ name);
+				}
+				break;
+			default:
+				XmlUtils.skipElement(reader);
+				break;
+			}
+		}
+
+		return tide;
+	}
+
+	public static Tide fromJson(JsonReader reader)
+			throws IOException, MalformedXMLException {
+		Tide tide = new Tide();
+		String phase = null;
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+			case "time":
+				tide._time = TADTime.fromJson(reader);
+				break;
+			case "amplitude":
+				tide._amplitude = Float.parseFloat(reader.nextString());
+				break;
+			case "phase":
+				phase = reader.nextString();
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+
+		if (phase != null) {
+			try {
+				tide._phase = TidalPhase.valueOf(phase.substring(0, 1).toUpperCase() + phase.substring(1));
+			} catch (IllegalArgumentException e) {
+				throw new MalformedXMLException(
+						"The XML returned from Time and Date contained an unsupported name: "
+						+ phase);
+			}
+		}
+
+		return tide;
+	}
 }
@@ -1,9 +1,8 @@
 package com.timeanddate.services.dataTypes.time;
 
-import java.util.Calendar;
-import java.util.TimeZone;
 import java.util.concurrent.TimeUnit;
 
+import com.timeanddate.services.common.DateTimeUtils;
 import com.timeanddate.services.common.ISODateTimeParser;
 
 /**
@@ -12,17 +11,17 @@ import com.timeanddate.services.common.ISODateTimeParser;
  *
  */
 public class TADDateTime {
-	protected int Year;
+	protected final int Year;
 
-	protected int Month;
+	protected final int Month;
 
-	protected int Day;
+	protected final int Day;
 
-	protected int Hour;
+	protected final int Hour;
 
-	protected int Minute;
+	protected final int Minute;
 
-	protected int Second;
+	protected final int Second;
 
 	protected long OffsetInMillis;
 
@@ -32,34 +31,29 @@ public class TADDateTime {
 
 	protected String ISORepresentation = "";
 
+	/**
+	 * The date and time fields never change, so the ticks are computed once.
+	 */
+	private final long _ticks;
+
 	public TADDateTime(int year) {
-		Year = year;
+		this(year, 0, 0, 0, 0, 0);
 	}
 
 	public TADDateTime(int year, int month) {
-		Year = year;
-		Month = month;
+		this(year, month, 0, 0, 0, 0);
 	}
 
 	public TADDateTime(int year, int month, int day) {
-		Year = year;
-		Month = month;
-		Day = day;
+		this(year, month, day, 0, 0, 0);
 	}
 
 	public TADDateTime(int year, int month, int day, int hour) {
-		Year = year;
-		Month = month;
-		Day = day;
-		Hour = hour;
+		this(year, month, day, hour, 0, 0);
 	}
 
 	public TADDateTime(int year, int month, int day, int hour, int minute) {
-		Year = year;
-		Month = month;
-		Day = day;
-		Hour = hour;
-		Minute = minute;
+		this(year, month, day, hour, minute, 0);
 	}
 
 	public TADDateTime(int year, int month, int day, int hour, int minute,
@@ -70,6 +64,7 @@ public class TADDateTime {
 		Hour = hour;
 		Minute = minute;
 		Second = second;
+		_ticks = DateTimeUtils.ToTicks(year, month, day, hour, minute, second);
 	}
 
 	public void setOffset(int hour, int minute) {
@@ -78,8 +73,9 @@ public class TADDateTime {
 	}
 
 	public void setOffset(int millis) {
-		Hour = (int) TimeUnit.MILLISECONDS.toHours(millis);
-		Minute = (int) TimeUnit.MILLISECONDS.toMinutes(millis);
+		OffsetInMillis = millis;
+		OffsetHours = (int) TimeUnit.MILLISECONDS.toHours(millis);
+		OffsetMinutes = (int) (TimeUnit.MILLISECONDS.toMinutes(millis) % 60);
 	}
 
 	public void setOffset(String iso) {
@@ -159,23 +155,19 @@ public class TADDateTime {
 		Hour = parser.getHour();
 		Minute = parser.getMinute();
 		Second = parser.getSecond();
+		OffsetInMillis = parser.getOffset();
+		OffsetHours = (int) (OffsetInMillis / (60 * 60 * 1000));
+		OffsetMinutes = (int) (OffsetInMillis / (60 * 1000) % 60);
+		_ticks = DateTimeUtils.ToTicks(Year, Month, Day, Hour, Minute, Second);
 	}
 
+	/**
+	 * The ticks (100-nanosecond intervals since 0001-01-01T00:00:00) of this
+	 * date and time, read as UTC. Out of range fields roll over into the next
+	 * field, e.g. month 0 is December of the previous year.
+	 */
 	public long getTimeInTicks() {
-		final long TICKS_AT_EPOCH = 621355968000000000L;
-		final long TICKS_PER_MILLISECOND = 10000;
-
-		Calendar cal = Calendar.getInstance();
-		cal.setTimeZone(TimeZone.getTimeZone("UTC"));
-		cal.set(Calendar.YEAR, Year);
-		cal.set(Calendar.MONTH, Month - 1); // Months are zero index in dear
-											// Java
-		cal.set(Calendar.DAY_OF_MONTH, Day);
-		cal.set(Calendar.HOUR_OF_DAY, Hour);
-		cal.set(Calendar.MINUTE, Minute);
-		cal.set(Calendar.MILLISECOND, 0);
-
-		return cal.getTimeInMillis() * TICKS_PER_MILLISECOND + TICKS_AT_EPOCH;
+		return _ticks;
 	}
 
 	@Override
@@ -1,9 +1,16 @@
 package com.timeanddate.services.dataTypes.time;
 
+import java.io.IOException;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.XmlUtils;
 
 /**
@@ -16,6 +23,25 @@ public class TADTime {
 	private TADDateTime _datetime;
 	private TADTimezone _tz;
 	
+	public TADTime() {
+	}
+
+	/**
+	 * Creates a time from information that is already known.
+	 * 
+	 * @param iso
+	 *            ISO representation of date and time.
+	 * @param dateTime
+	 *            Date and time representation of the ISO string.
+	 * @param timezone
+	 *            Timezone information, or null.
+	 */
+	public TADTime(String iso, TADDateTime dateTime, TADTimezone timezone) {
+		_ISO = iso;
+		_datetime = dateTime;
+		_tz = timezone;
+	}
+
 	/**
 	 * ISO representation of date and time, timezone included if different from
 	 * UTC. If time is not applicable, only the date is shown.
@@ -74,6 +100,66 @@ public class TADTime {
 		return time;
 	}
 
+	public static TADTime fromReader(XMLStreamReader reader)
+			throws XMLStreamException {
+		TADTime time = new TADTime();
+		String iso = reader.getAttributeValue(null, "iso");
+
+		if (iso != null) {
+			time._ISO = iso;
+		}
+
+		while (XmlUtils.nextChild(reader)) {
+			switch (reader.getLocalName()) {
+			case "timezone":
+				time._tz = TADTimezone.fromReader(reader);
+				break;
+			case "datetime":
+				time._datetime = handleDatetime(reader);
+				break;
+			default:
+				XmlUtils.skipElement(reader);
+				break;
+			}
+		}
+
+		if (time._datetime == null && iso != null) {
+			time._datetime = new TADDateTime(iso);
+		}
+
+		return time;
+	}
+
+	public static TADTime fromJson(JsonReader reader) throws IOException {
+		TADTime time = new TADTime();
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+			case "iso":
+				time._ISO = reader.nextString();
+				break;
+			case "timezone":
+				time._tz = TADTimezone.fromJson(reader);
+				break;
+			case "datetime":
+				time._datetime = handleDatetime(reader);
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+
+		if (time._datetime == null && time._ISO != null) {
+			time._datetime = new TADDateTime(time._ISO);
+		}
+
+		return time;
+	}
+
 	private static TADDateTime handleDatetime(Node datetime) {
 		NodeList nodes = datetime.getChildNodes();
 		int year, month, day, hour, minute, second;
@@ -106,4 +192,75 @@ public class TADTime {
 
 		return new TADDateTime(year, month, day, hour, minute, second);
 	}
+
+	private static TADDateTime handleDatetime(XMLStreamReader reader)
+			throws XMLStreamException {
+		int year, month, day, hour, minute, second;
+		year = month = day = hour = minute = second = 0;
+
+		while (XmlUtils.nextChild(reader)) {
+			switch (reader.getLocalName()) {
+			case "year":
+				year = Integer.parseInt(XmlUtils.readText(reader));
+				break;
+			case "month":
+				month = Integer.parseInt(XmlUtils.readText(reader));
+				break;
+			case "day":
+				day = Integer.parseInt(XmlUtils.readText(reader));
+				break;
+			case "hour":
+				hour = Integer.parseInt(XmlUtils.readText(reader));
+				break;
+			case "minute":
+				minute = Integer.parseInt(XmlUtils.readText(reader));
+				break;
+			case "second":
+				second = Integer.parseInt(XmlUtils.readText(reader));
+				break;
+			default:
+				XmlUtils.skipElement(reader);
+				break;
+			}
+		}
+
+		return new TADDateTime(year, month, day, hour, minute, second);
+	}
+
+	private static TADDateTime handleDatetime(JsonReader reader)
+			throws IOException {
+		int year, month, day, hour, minute, second;
+		year = month = day = hour = minute = second = 0;
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+			case "year":
+				year = Integer.parseInt(reader.nextString());
+				break;
+			case "month":
+				month = Integer.parseInt(reader.nextString());
+				break;
+			case "day":
+				day = Integer.parseInt(reader.nextString());
+				break;
+			case "hour":
+				hour = Integer.parseInt(reader.nextString());
+				break;
+			case "minute":
+				minute = Integer.parseInt(reader.nextString());
+				break;
+			case "second":
+				second = Integer.parseInt(reader.nextString());
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+
+		return new TADDateTime(year, month, day, hour, minute, second);
+	}
 }
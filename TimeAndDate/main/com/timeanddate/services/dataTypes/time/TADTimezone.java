@@ -1,9 +1,16 @@
 package com.timeanddate.services.dataTypes.time;
 
+import java.io.IOException;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
 import com.timeanddate.services.common.TimeSpan;
 import com.timeanddate.services.common.XmlUtils;
 
@@ -103,4 +110,85 @@ public class TADTimezone {
 
 		return tz;
 	}
+
+	public static TADTimezone fromReader(XMLStreamReader reader)
+			throws XMLStreamException {
+		TADTimezone tz = new TADTimezone();
+		String offset = reader.getAttributeValue(null, "offset");
+
+		while (XmlUtils.nextChild(reader)) {
+			switch (reader.getLocalName()) {
+			case "zoneabb":
+				tz._abbrevation = XmlUtils.readText(reader);
+				break;
+			case "zonename":
+				tz._name = XmlUtils.readText(reader);
+				break;
+			case "zoneoffset":
+				tz._basicOffset = Integer.parseInt(XmlUtils.readText(reader));
+				break;
+			case "zonedst":
+				tz._dSTOffset = Integer.parseInt(XmlUtils.readText(reader));
+				break;
+			case "zonetotaloffset":
+				tz._totalOffset = Integer.parseInt(XmlUtils.readText(reader));
+				break;
+			default:
+				XmlUtils.skipElement(reader);
+				break;
+			}
+		}
+
+		if (offset != null) {
+			String[] components = offset.split(":");
+			int hour = Integer.parseInt(components[0]);
+			int minute = Integer.parseInt(components[1]);
+			tz._offset = new TimeSpan(hour, minute, 0);
+		}
+
+		return tz;
+	}
+
+	public static TADTimezone fromJson(JsonReader reader) throws IOException {
+		TADTimezone tz = new TADTimezone();
+		String offset = null;
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+			case "offset":
+				offset = reader.nextString();
+				break;
+			case "zoneabb":
+				tz._abbrevation = reader.nextString();
+				break;
+			case "zonename":
+				tz._name = JsonUtils.readText(reader);
+				break;
+			case "zoneoffset":
+				tz._basicOffset = Integer.parseInt(reader.nextString());
+				break;
+			case "zonedst":
+				tz._dSTOffset = Integer.parseInt(reader.nextString());
+				break;
+			case "zonetotaloffset":
+				tz._totalOffset = Integer.parseInt(reader.nextString());
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+
+		if (offset != null) {
+			String[] components = offset.split(":");
+			int hour = Integer.parseInt(components[0]);
+			int minute = Integer.parseInt(components[1]);
+			tz._offset = new TimeSpan(hour, minute, 0);
+		}
+
+		return tz;
+	}
 }
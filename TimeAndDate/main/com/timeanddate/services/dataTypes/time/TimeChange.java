@@ -1,8 +1,17 @@
 package com.timeanddate.services.dataTypes.time;
 
+import java.io.IOException;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonUtils;
+import com.timeanddate.services.common.XmlUtils;
+
 /**
  * 
  * @author Cato Auestad {@literal <cato@timeanddate.com>}
@@ -100,4 +109,93 @@ public class TimeChange {
 
 		return change;
 	}
+
+	public static TimeChange fromReader(XMLStreamReader reader)
+			throws XMLStreamException {
+		TimeChange change = new TimeChange();
+		String newdst = reader.getAttributeValue(null, "newdst");
+		String newzone = reader.getAttributeValue(null, "newzone");
+		String newoffset = reader.getAttributeValue(null, "newoffset");
+		String utctime = reader.getAttributeValue(null, "utctime");
+		String oldlocal = reader.getAttributeValue(null, "oldlocaltime");
+		String newlocal = reader.getAttributeValue(null, "newlocaltime");
+
+		XmlUtils.skipElement(reader);
+
+		if (newdst != null && !newdst.isEmpty()) {
+			change._newDaylightSavingTime = Integer.parseInt(newdst);
+		}
+
+		if (newzone != null && !newzone.isEmpty()) {
+			change._newTimezoneOffset = Integer.parseInt(newzone);
+		}
+
+		if (newoffset != null && !newoffset.isEmpty()) {
+			change._newTotalOffset = Integer.parseInt(newoffset);
+		}
+
+		if (utctime != null) {
+			change._utcTime = new TADDateTime(utctime);
+		}
+
+		if (newlocal != null) {
+			change._newLocalTime = new TADDateTime(newlocal);
+		}
+
+		if (oldlocal != null) {
+			change._oldLocalTime = new TADDateTime(oldlocal);
+		}
+
+		return change;
+	}
+
+	public static TimeChange fromJson(JsonReader reader) throws IOException {
+		TimeChange change = new TimeChange();
+		String newdst = null;
+		String newzone = null;
+		String newoffset = null;
+		String member;
+
+		reader.beginObject();
+		while ((member = JsonUtils.nextMember(reader)) != null) {
+			switch (member) {
+			case "newdst":
+				newdst = reader.nextString();
+				break;
+			case "newzone":
+				newzone = reader.nextString();
+				break;
+			case "newoffset":
+				newoffset = reader.nextString();
+				break;
+			case "utctime":
+				change._utcTime = new TADDateTime(reader.nextString());
+				break;
+			case "newlocaltime":
+				change._newLocalTime = new TADDateTime(reader.nextString());
+				break;
+			case "oldlocaltime":
+				change._oldLocalTime = new TADDateTime(reader.nextString());
+				break;
+			default:
+				reader.skipValue();
+				break;
+			}
+		}
+		reader.endObject();
+
+		if (newdst != null && !newdst.isEmpty()) {
+			change._newDaylightSavingTime = Integer.parseInt(newdst);
+		}
+
+		if (newzone != null && !newzone.isEmpty()) {
+			change._newTimezoneOffset = Integer.parseInt(newzone);
+		}
+
+		if (newoffset != null && !newoffset.isEmpty()) {
+			change._newTotalOffset = Integer.parseInt(newoffset);
+		}
+
+		return change;
+	}
 }
@@ -0,0 +1,131 @@
+package com.timeanddate.services.tests;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.timeanddate.services.BaseService;
+import com.timeanddate.services.HolidaysService;
+import com.timeanddate.services.PlacesService;
+import com.timeanddate.services.TidesService;
+import com.timeanddate.services.TimeService;
+import com.timeanddate.services.common.ITransport;
+import com.timeanddate.services.common.ServerSideException;
+import com.timeanddate.services.common.WebClient;
+import com.timeanddate.services.dataTypes.holidays.Holiday;
+import com.timeanddate.services.dataTypes.places.Location;
+import com.timeanddate.services.dataTypes.places.LocationId;
+import com.timeanddate.services.dataTypes.places.Place;
+import com.timeanddate.services.dataTypes.tides.Station;
+
+public class AsyncServiceTests {
+	private static final String AccessKey = "accesskey";
+	private static final String SecretKey = "secretkey";
+
+	private ITransport previousTransport;
+	private Executor previousExecutor;
+
+	@Before
+	public void setUp() {
+		previousTransport = WebClient.getDefaultTransport();
+		previousExecutor = BaseService.getDefaultExecutor();
+		WebClient.setDefaultTransport(new FixtureTransport());
+	}
+
+	@After
+	public void tearDown() {
+		WebClient.setDefaultTransport(previousTransport);
+		BaseService.setDefaultExecutor(previousExecutor);
+	}
+
+	@Test
+	public void calling_AsyncMethods_Concurrently_Should_MatchBlockingCalls()
+			throws Exception {
+		// Arrange
+		TimeService timeService = new TimeService(AccessKey, SecretKey);
+		HolidaysService holidaysService = new HolidaysService(AccessKey, SecretKey);
+		TidesService tidesService = new TidesService(AccessKey, SecretKey);
+		LocationId placeId = new LocationId(187);
+		LocationId stationId = new LocationId("norway/oslo");
+
+		// Act
+		CompletableFuture<List<Location>> time = timeService.currentTimeForPlaceAsync(placeId);
+		CompletableFuture<List<Holiday>> holidays = holidaysService.holidaysForCountryAsync("us", 2021);
+		CompletableFuture<List<Station>> tides = tidesService.getTidalDataAsync(stationId);
+		CompletableFuture.allOf(time, holidays, tides).get();
+
+		// Assert
+		ObjectGraphs.assertSameGraph(timeService.currentTimeForPlace(placeId), time.get());
+		ObjectGraphs.assertSameGraph(holidaysService.holidaysForCountry("us", 2021), holidays.get());
+		ObjectGraphs.assertSameGraph(tidesService.getTidalData(stationId), tides.get());
+	}
+
+	@Test
+	public void calling_AsyncMethod_WithServiceExecutor_Should_RunOnServiceExecutor()
+			throws Exception {
+		// Arrange
+		AtomicInteger defaultCalls = new AtomicInteger();
+		AtomicInteger serviceCalls = new AtomicInteger();
+		BaseService.setDefaultExecutor(command -> {
+			defaultCalls.incrementAndGet();
+			command.run();
+		});
+		PlacesService service = new PlacesService(AccessKey, SecretKey);
+		service.setExecutor(command -> {
+			serviceCalls.incrementAndGet();
+			command.run();
+		});
+
+		// Act
+		List<Place> places = service.getPlacesAsync().get();
+
+		// Assert
+		assertEquals(3, places.size());
+		assertEquals(0, defaultCalls.get());
+		assertEquals(1, serviceCalls.get());
+	}
+
+	@Test
+	public void calling_AsyncMethod_WithErrorResponse_Should_FailWithServerSideException()
+			throws Exception {
+		// Arrange
+		WebClient.setDefaultTransport(new FixtureTransport("error"));
+		PlacesService service = new PlacesService(AccessKey, SecretKey);
+
+		// Act
+		try {
+			service.getPlacesAsync().get();
+			fail("Expected an ExecutionException");
+		} catch (ExecutionException e) {
+			// Assert
+			assertTrue(e.getCause() instanceof ServerSideException);
+			assertEquals("Invalid access key", e.getCause().getMessage());
+		}
+	}
+
+	@Test
+	public void calling_AsyncMethod_WithNullArgument_Should_FailWithIllegalArgumentException()
+			throws Exception {
+		// Arrange
+		TimeService service = new TimeService(AccessKey, SecretKey);
+
+		// Act
+		CompletableFuture<List<Location>> future = service.currentTimeForPlaceAsync(null);
+
+		// Assert
+		try {
+			future.get();
+			fail("Expected an ExecutionException");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof IllegalArgumentException);
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package com.timeanddate.services.tests;
+
+import static org.junit.Assert.*;
+
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.timeanddate.services.PlacesService;
+import com.timeanddate.services.common.ITransport;
+import com.timeanddate.services.common.WebClient;
+
+public class AuthenticationTests {
+	private static final String AccessKey = "accesskey";
+	private static final String SecretKey = "secretkey";
+
+	private ITransport previousTransport;
+	private List<URL> requests;
+
+	@Before
+	public void setUp() {
+		previousTransport = WebClient.getDefaultTransport();
+		requests = new ArrayList<URL>();
+		FixtureTransport fixtures = new FixtureTransport();
+		WebClient.setDefaultTransport(url -> {
+			requests.add(url);
+			return fixtures.get(url);
+		});
+	}
+
+	@After
+	public void tearDown() {
+		WebClient.setDefaultTransport(previousTransport);
+	}
+
+	@Test
+	public void calling_Service_Should_SignRequestWithCurrentTimestamp()
+			throws Exception {
+		// Arrange
+		PlacesService service = new PlacesService(AccessKey, SecretKey);
+		long before = Instant.now().getEpochSecond();
+
+		// Act
+		service.getPlaces();
+		long after = Instant.now().getEpochSecond();
+
+		// Assert
+		Map<String, String> query = parseQuery(requests.get(0));
+		String timestamp = query.get("timestamp");
+		long signedAt = LocalDateTime.parse(timestamp.substring(0, 19))
+				.toEpochSecond(ZoneOffset.UTC);
+
+		assertEquals(AccessKey, query.get("accesskey"));
+		assertTrue(signedAt >= before && signedAt <= after);
+		assertEquals(sign(AccessKey + "places" + timestamp), query.get("signature"));
+	}
+
+	@Test
+	public void calling_Service_Repeatedly_Should_SignEachRequestAnew()
+			throws Exception {
+		// Arrange
+		PlacesService service = new PlacesService(AccessKey, SecretKey);
+
+		// Act
+		service.getPlaces();
+		Thread.sleep(1100);
+		service.getPlaces();
+
+		// Assert
+		Map<String, String> first = parseQuery(requests.get(0));
+		Map<String, String> second = parseQuery(requests.get(1));
+
+		assertNotEquals(first.get("timestamp"), second.get("timestamp"));
+		assertEquals(sign(AccessKey + "places" + second.get("timestamp")),
+				second.get("signature"));
+	}
+
+	private static String sign(String message) throws Exception {
+		Mac mac = Mac.getInstance("HmacSHA1");
+		mac.init(new SecretKeySpec(SecretKey.getBytes(), "HmacSHA1"));
+		return Base64.getEncoder().encodeToString(mac.doFinal(message.getBytes()));
+	}
+
+	private static Map<String, String> parseQuery(URL url) throws Exception {
+		Map<String, String> query = new HashMap<String, String>();
+		for (String pair : url.getQuery().split("&")) {
+			int separator = pair.indexOf('=');
+			query.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8.name()),
+					URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8.name()));
+		}
+
+		return query;
+	}
+}
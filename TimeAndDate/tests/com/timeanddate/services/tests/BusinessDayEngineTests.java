@@ -0,0 +1,268 @@
+package com.timeanddate.services.tests;
+
+import static org.junit.Assert.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.timeanddate.services.BusinessDateService;
+import com.timeanddate.services.BusinessDateServiceOptions;
+import com.timeanddate.services.BusinessDates;
+import com.timeanddate.services.BusinessDayEngine;
+import com.timeanddate.services.BusinessDuration;
+import com.timeanddate.services.BusinessDurationService;
+import com.timeanddate.services.BusinessDurationServiceOptions;
+import com.timeanddate.services.HolidayCalendar;
+import com.timeanddate.services.HolidaysService;
+import com.timeanddate.services.common.ITransport;
+import com.timeanddate.services.common.WebClient;
+import com.timeanddate.services.dataTypes.businessdays.BusinessDaysFilterType;
+import com.timeanddate.services.dataTypes.businessdays.IncludeExclude;
+import com.timeanddate.services.dataTypes.businessdays.Period;
+import com.timeanddate.services.dataTypes.holidays.HolidayType;
+import com.timeanddate.services.dataTypes.places.LocationId;
+import com.timeanddate.services.dataTypes.time.TADDateTime;
+
+public class BusinessDayEngineTests {
+	private static final String AccessKey = "accesskey";
+	private static final String SecretKey = "secretkey";
+	private static final EnumSet<HolidayType> Federal = EnumSet
+			.of(HolidayType.FEDERAL);
+	private static final LocationId NewYork = new LocationId("usa/new-york");
+	private static final LocationId Washington = new LocationId(
+			"usa/washington-dc");
+
+	private ITransport previousTransport;
+	private HolidayCalendar calendar;
+	private BusinessDayEngine engine;
+
+	@Before
+	public void setUp() throws Exception {
+		previousTransport = WebClient.getDefaultTransport();
+		WebClient.setDefaultTransport(new FixtureTransport());
+
+		calendar = new HolidayCalendar(new HolidaysService(AccessKey,
+				SecretKey), 2021, 2021, Federal);
+		calendar.load("us");
+		engine = new BusinessDayEngine(calendar, new BusinessDateService(
+				AccessKey, SecretKey), new BusinessDurationService(AccessKey,
+				SecretKey));
+		engine.setCountry(NewYork, "us", "NY");
+		engine.setCountry(Washington, "us", "DC");
+	}
+
+	@After
+	public void tearDown() {
+		WebClient.setDefaultTransport(previousTransport);
+	}
+
+	@Test
+	public void calling_AddDays_WithKnownPlace_Should_SkipWeekendsAndHolidays()
+			throws Exception {
+		// Arrange
+		TADDateTime friday = new TADDateTime(2021, 1, 15);
+
+		// Act
+		BusinessDates newYork = engine.addDays(friday, 2, NewYork);
+		BusinessDates washington = engine.addDays(friday, 2, Washington);
+
+		// Assert
+		Period period = newYork.Periods.get(0);
+		assertEquals("2021-01-20", period.getEndDate().getISO());
+		assertEquals(2, period.getIncludedDays());
+		assertEquals(5, period.getCalendarDays());
+		assertEquals(3, period.getSkippedDays());
+		assertEquals(IncludeExclude.EXCLUDED, period.getWeekdays()
+				.getFilterType());
+		assertEquals(1, period.getWeekdays().getSaturdayCount());
+		assertEquals(2, period.getWeekdays().getTotalCount());
+		assertEquals(1, period.getHolidays().getCount());
+		assertEquals("2021-01-21", washington.Periods.get(0).getEndDate()
+				.getISO());
+		assertEquals(2, washington.Periods.get(0).getHolidays().getCount());
+		assertEquals(2, engine.getLocalCount());
+		assertEquals(0, engine.getRemoteCount());
+	}
+
+	@Test
+	public void calling_SubtractDays_WithKnownPlace_Should_CountBackwards()
+			throws Exception {
+		// Act
+		BusinessDates dates = engine.subtractDays(
+				new TADDateTime(2021, 1, 19), 1, NewYork);
+
+		// Assert
+		Period period = dates.Periods.get(0);
+		assertEquals("2021-01-19", period.getStartDate().getISO());
+		assertEquals("2021-01-15", period.getEndDate().getISO());
+		assertEquals(4, period.getCalendarDays());
+		assertEquals(1, period.getHolidays().getCount());
+	}
+
+	@Test
+	public void calling_GetDuration_WithKnownPlace_Should_CountBusinessDays()
+			throws Exception {
+		// Arrange
+		TADDateTime start = new TADDateTime(2021, 1, 1);
+		TADDateTime end = new TADDateTime(2021, 1, 31);
+		BusinessDurationServiceOptions lastDate = new BusinessDurationServiceOptions.Builder()
+				.setIncludeLastDate(true).build();
+		BusinessDurationServiceOptions mondays = new BusinessDurationServiceOptions.Builder()
+				.setIncludeDays(true)
+				.setFilter(EnumSet.of(BusinessDaysFilterType.MONDAY)).build();
+
+		// Act
+		BusinessDuration duration = engine.getDuration(start, end, NewYork);
+		BusinessDuration withLastDate = engine.getDuration(start, end,
+				NewYork, lastDate);
+		BusinessDuration mondayCount = engine.getDuration(start, end,
+				NewYork, mondays);
+
+		// Assert
+		assertEquals(19, duration.Period.getIncludedDays());
+		assertEquals(30, duration.Period.getCalendarDays());
+		assertEquals(2, duration.Period.getHolidays().getCount());
+		assertEquals(19, withLastDate.Period.getIncludedDays());
+		assertEquals(31, withLastDate.Period.getCalendarDays());
+		assertEquals(4, mondayCount.Period.getIncludedDays());
+		assertEquals(IncludeExclude.INCLUDED, mondayCount.Period
+				.getWeekdays().getFilterType());
+		assertEquals(4, mondayCount.Period.getWeekdays().getMondayCount());
+		assertNull(mondayCount.Period.getHolidays());
+	}
+
+	@Test
+	public void calling_Engine_WithUnknownPlace_Should_UseServiceAndLearnCountry()
+			throws Exception {
+		// Arrange
+		LocationId oslo = new LocationId("norway/oslo");
+		TADDateTime start = new TADDateTime(2021, 12, 20);
+		BusinessDateServiceOptions weekend = new BusinessDateServiceOptions.Builder()
+				.setFilter(EnumSet.of(BusinessDaysFilterType.WEEKEND)).build();
+
+		// Act
+		BusinessDates first = engine.addDays(start, 5, oslo);
+		BusinessDates holidays = engine.addDays(start, 5, oslo);
+		BusinessDates weekends = engine.addDays(start, 5, oslo, weekend);
+		BusinessDates outside = engine.addDays(new TADDateTime(2021, 12, 30),
+				5, NewYork);
+
+		// Assert
+		assertEquals("2021-12-30", first.Periods.get(0).getEndDate().getISO());
+		assertEquals("no", holidays.Geography.getCountry().getId());
+		assertEquals("2021-12-27", weekends.Periods.get(0).getEndDate()
+				.getISO());
+		assertEquals("no", weekends.Geography.getCountry().getId());
+		assertEquals(1, outside.Periods.size());
+		assertEquals(1, engine.getLocalCount());
+		assertEquals(3, engine.getRemoteCount());
+	}
+
+	@Test
+	public void calling_Engine_WithRandomFilters_Should_MatchDayByDayCount()
+			throws Exception {
+		// Arrange
+		Random random = new Random(7);
+		BusinessDaysFilterType[] types = BusinessDaysFilterType.values();
+
+		for (int i = 0; i < 2000; i++) {
+			EnumSet<BusinessDaysFilterType> filter = EnumSet
+					.noneOf(BusinessDaysFilterType.class);
+			for (int j = random.nextInt(3); j >= 0; j--)
+				filter.add(types[random.nextInt(types.length)]);
+			boolean include = random.nextBoolean();
+			LocalDate start = LocalDate.of(2021, 3, 1).plusDays(
+					random.nextInt(120));
+			int days = random.nextInt(20);
+			LocationId place = random.nextBoolean() ? NewYork : Washington;
+			BusinessDateServiceOptions options = new BusinessDateServiceOptions.Builder()
+					.setFilter(filter).setIncludeDays(include).build();
+			long local = engine.getLocalCount();
+
+			// Act
+			BusinessDates dates = engine.addDays(toTime(start), days, place,
+					options);
+			BusinessDates before = engine.subtractDays(toTime(start), days,
+					place, options);
+
+			// Assert
+			String state = place == NewYork ? "NY" : "DC";
+			if (engine.getLocalCount() == local + 2) {
+				assertEquals(step(start, days, 1, filter, include, state)
+						.toString(), dates.Periods.get(0).getEndDate()
+						.getISO());
+				assertEquals(step(start, days, -1, filter, include, state)
+						.toString(), before.Periods.get(0).getEndDate()
+						.getISO());
+			}
+		}
+
+		assertTrue(engine.getLocalCount() > 3000);
+	}
+
+	/**
+	 * Adds or subtracts days one at a time.
+	 */
+	private LocalDate step(LocalDate start, int days, int direction,
+			EnumSet<BusinessDaysFilterType> filter, boolean include,
+			String state) throws Exception {
+		LocalDate date = start;
+		while (days > 0) {
+			date = date.plusDays(direction);
+			if (matches(date, filter, state) == include)
+				days--;
+		}
+
+		return date;
+	}
+
+	private boolean matches(LocalDate date,
+			EnumSet<BusinessDaysFilterType> filter, String state)
+			throws Exception {
+		DayOfWeek weekday = date.getDayOfWeek();
+		boolean weekend = weekday == DayOfWeek.SATURDAY
+				|| weekday == DayOfWeek.SUNDAY;
+		boolean holiday = (filter.contains(BusinessDaysFilterType.HOLIDAYS) || filter
+				.contains(BusinessDaysFilterType.WEEKENDHOLIDAYS))
+				&& calendar.isHoliday("us", state, date, Federal);
+
+		for (BusinessDaysFilterType type : filter) {
+			switch (type) {
+			case ALL:
+				return true;
+			case NONE:
+				break;
+			case WEEKEND:
+				if (weekend)
+					return true;
+				break;
+			case HOLIDAYS:
+				if (holiday)
+					return true;
+				break;
+			case WEEKENDHOLIDAYS:
+				if (weekend || holiday)
+					return true;
+				break;
+			default:
+				if (weekday.ordinal() == type.ordinal()
+						- BusinessDaysFilterType.MONDAY.ordinal())
+					return true;
+				break;
+			}
+		}
+
+		return false;
+	}
+
+	private static TADDateTime toTime(LocalDate date) {
+		return new TADDateTime(date.getYear(), date.getMonthValue(),
+				date.getDayOfMonth());
+	}
+}
@@ -0,0 +1,165 @@
+package com.timeanddate.services.tests;
+
+import static org.junit.Assert.*;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.timeanddate.services.BusinessDateService;
+import com.timeanddate.services.BusinessDateServiceOptions;
+import com.timeanddate.services.BusinessDayEngine;
+import com.timeanddate.services.BusinessDayIndex;
+import com.timeanddate.services.BusinessDurationService;
+import com.timeanddate.services.BusinessDurationServiceOptions;
+import com.timeanddate.services.HolidayCalendar;
+import com.timeanddate.services.HolidaysService;
+import com.timeanddate.services.common.ITransport;
+import com.timeanddate.services.common.QueriedDateOutOfRangeException;
+import com.timeanddate.services.common.WebClient;
+import com.timeanddate.services.dataTypes.businessdays.BusinessDaysFilterType;
+import com.timeanddate.services.dataTypes.holidays.HolidayType;
+import com.timeanddate.services.dataTypes.places.LocationId;
+import com.timeanddate.services.dataTypes.time.TADDateTime;
+
+public class BusinessDayIndexTests {
+	private static final String AccessKey = "accesskey";
+	private static final String SecretKey = "secretkey";
+	private static final LocationId Washington = new LocationId(
+			"usa/washington-dc");
+
+	private ITransport previousTransport;
+	private HolidayCalendar calendar;
+	private BusinessDayEngine engine;
+
+	@Before
+	public void setUp() throws Exception {
+		previousTransport = WebClient.getDefaultTransport();
+		WebClient.setDefaultTransport(new FixtureTransport());
+
+		calendar = new HolidayCalendar(new HolidaysService(AccessKey,
+				SecretKey), 2021, 2021, EnumSet.of(HolidayType.FEDERAL));
+		calendar.load("us");
+		engine = new BusinessDayEngine(calendar, new BusinessDateService(
+				AccessKey, SecretKey), new BusinessDurationService(AccessKey,
+				SecretKey));
+		engine.setCountry(Washington, "us", "DC");
+	}
+
+	@After
+	public void tearDown() {
+		WebClient.setDefaultTransport(previousTransport);
+	}
+
+	@Test
+	public void calling_Index_Should_MatchEngine() throws Exception {
+		// Arrange
+		BusinessDayIndex index = engine.getIndex(Washington, null, false);
+		BusinessDateServiceOptions options = new BusinessDateServiceOptions.Builder()
+				.build();
+		BusinessDurationServiceOptions durationOptions = new BusinessDurationServiceOptions.Builder()
+				.build();
+
+		// Act & Assert
+		assertEquals(261 - 3, index.size());
+		for (LocalDate start = LocalDate.of(2021, 2, 1); start.getYear() == 2021
+				&& start.getMonthValue() < 12; start = start.plusDays(3)) {
+			TADDateTime time = toTime(start);
+			for (int days = 0; days < 20; days += 3) {
+				assertEquals(engine.addDays(time, days, Washington, options).Periods
+						.get(0).getEndDate().getISO(),
+						LocalDate.ofEpochDay(index.addDays(start.toEpochDay(), days))
+								.toString());
+				assertEquals(engine.subtractDays(time, days, Washington,
+						options).Periods.get(0).getEndDate().getISO(),
+						LocalDate.ofEpochDay(index.addDays(start.toEpochDay(), -days))
+								.toString());
+			}
+
+			LocalDate end = start.plusDays(17);
+			assertEquals(engine.getDuration(time, toTime(end), Washington,
+					durationOptions).Period.getIncludedDays(), index.countDays(
+					start.toEpochDay(), end.toEpochDay()));
+		}
+		assertEquals(0, engine.getRemoteCount());
+	}
+
+	@Test
+	public void calling_AddDays_WithOffsets_Should_UseIndexAndServiceForRest()
+			throws Exception {
+		// Arrange
+		long friday = LocalDate.of(2021, 1, 15).toEpochDay();
+		BusinessDateServiceOptions options = new BusinessDateServiceOptions.Builder()
+				.build();
+
+		// Act
+		long[] local = engine.addDays(friday, new int[] { 0, 1, 2, 3 },
+				Washington, options);
+		long[] before = engine.subtractDays(friday, new int[] { 1, 9 },
+				Washington, options);
+		long[] mixed = engine.addDays(friday, new int[] { 1, 400 },
+				Washington, options);
+
+		// Assert
+		assertArrayEquals(new long[] { friday,
+				LocalDate.of(2021, 1, 19).toEpochDay(),
+				LocalDate.of(2021, 1, 21).toEpochDay(),
+				LocalDate.of(2021, 1, 22).toEpochDay() }, local);
+		assertEquals(LocalDate.of(2021, 1, 14).toEpochDay(), before[0]);
+		assertEquals(LocalDate.of(2021, 1, 4).toEpochDay(), before[1]);
+		assertEquals(LocalDate.of(2021, 1, 19).toEpochDay(), mixed[0]);
+		assertEquals(LocalDate.of(2021, 12, 30).toEpochDay(), mixed[1]);
+		assertEquals(2, engine.getLocalCount());
+		assertEquals(1, engine.getRemoteCount());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void calling_AddDays_WithOffsetsAndRepeat_Should_Throw()
+			throws Exception {
+		// Arrange
+		BusinessDateServiceOptions options = new BusinessDateServiceOptions.Builder()
+				.setRepeat(2).build();
+
+		// Act
+		engine.addDays(LocalDate.of(2021, 1, 15).toEpochDay(), new int[] { 1,
+				5 }, Washington, options);
+	}
+
+	@Test
+	public void calling_GetIndex_Should_ReuseIndexUntilReloaded()
+			throws Exception {
+		// Arrange
+		EnumSet<BusinessDaysFilterType> weekend = EnumSet
+				.of(BusinessDaysFilterType.WEEKEND);
+
+		// Act
+		BusinessDayIndex first = engine.getIndex(Washington, null, false);
+		BusinessDayIndex second = engine.getIndex(Washington, null, false);
+		BusinessDayIndex weekends = engine.getIndex(Washington, weekend,
+				false);
+		calendar.load("us");
+		BusinessDayIndex reloaded = engine.getIndex(Washington, null, false);
+
+		// Assert
+		assertSame(first, second);
+		assertNotSame(first, weekends);
+		assertSame(weekends, engine.getIndex(Washington, weekend, false));
+		assertNotSame(first, reloaded);
+		assertEquals(261, weekends.size());
+		assertNull(engine.getIndex(new LocationId("norway/oslo"), null,
+				false));
+		try {
+			first.addDays(LocalDate.of(2021, 12, 30).toEpochDay(), 5);
+			fail("Expected QueriedDateOutOfRangeException");
+		} catch (QueriedDateOutOfRangeException e) {
+		}
+	}
+
+	private static TADDateTime toTime(LocalDate date) {
+		return new TADDateTime(date.getYear(), date.getMonthValue(),
+				date.getDayOfMonth());
+	}
+}
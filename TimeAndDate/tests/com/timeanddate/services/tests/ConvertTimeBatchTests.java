@@ -0,0 +1,162 @@
+package com.timeanddate.services.tests;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.timeanddate.services.ConvertTimeRequest;
+import com.timeanddate.services.ConvertTimeService;
+import com.timeanddate.services.ConvertTimeServiceOptions;
+import com.timeanddate.services.ConvertedTimes;
+import com.timeanddate.services.common.ITransport;
+import com.timeanddate.services.common.ServerSideException;
+import com.timeanddate.services.common.WebClient;
+import com.timeanddate.services.dataTypes.places.LocationId;
+
+public class ConvertTimeBatchTests {
+	private static final String AccessKey = "accesskey";
+	private static final String SecretKey = "secretkey";
+	private static final LocationId Oslo = new LocationId(187);
+	private static final LocationId NewYork = new LocationId(179);
+
+	private ITransport previousTransport;
+	private AtomicInteger requests;
+	private AtomicInteger inFlight;
+	private AtomicInteger maxInFlight;
+
+	@Before
+	public void setUp() {
+		previousTransport = WebClient.getDefaultTransport();
+		useFixtures(new FixtureTransport());
+	}
+
+	@After
+	public void tearDown() {
+		WebClient.setDefaultTransport(previousTransport);
+	}
+
+	@Test
+	public void calling_ConvertTimes_WithLocalTimesInOneYear_Should_RequestOnce()
+			throws Exception {
+		// Arrange
+		ConvertTimeService service = new ConvertTimeService(AccessKey,
+				SecretKey);
+		service.setIncludeTimezoneInformation(false);
+		List<ConvertTimeRequest> batch = new ArrayList<ConvertTimeRequest>();
+		batch.add(new ConvertTimeRequest(Oslo, "2021-06-01T12:00:00", Arrays
+				.asList(NewYork)));
+		for (int month = 1; month <= 12; month++)
+			batch.add(new ConvertTimeRequest(Oslo, String.format(
+					"2021-%02d-15T12:00:00", month), Arrays.asList(NewYork)));
+		batch.add(batch.get(1));
+
+		// Act
+		List<ConvertedTimes> results = service.convertTimes(batch);
+
+		// Assert
+		assertEquals(1, requests.get());
+		assertEquals(14, results.size());
+		assertEquals("2021-06-01T10:00:00", results.get(0).Utc.getISO());
+		assertEquals("2021-01-15T11:00:00", results.get(1).Utc.getISO());
+		assertEquals("2021-06-15T10:00:00", results.get(6).Utc.getISO());
+		assertEquals("2021-12-15T11:00:00", results.get(12).Utc.getISO());
+		assertEquals("2021-06-15T06:00:00-04:00", results.get(6).Locations
+				.get(1).getTime().getISO());
+		assertSame(results.get(1), results.get(13));
+	}
+
+	@Test
+	public void calling_ConvertTimes_WithoutTimeChanges_Should_LeaveThemOut()
+			throws Exception {
+		// Arrange
+		ConvertTimeService service = new ConvertTimeService(AccessKey,
+				SecretKey);
+		ConvertTimeServiceOptions options = new ConvertTimeServiceOptions.Builder()
+				.setIncludeTimeChanges(false).build();
+		List<ConvertTimeRequest> batch = Arrays.asList(new ConvertTimeRequest(
+				Oslo, "2021-06-01T12:00:00", Arrays.asList(NewYork)),
+				new ConvertTimeRequest(Oslo, "2021-06-02T12:00:00", Arrays
+						.asList(NewYork)));
+
+		// Act
+		List<ConvertedTimes> results = service.convertTimes(batch, options);
+
+		// Assert
+		assertEquals(1, requests.get());
+		for (ConvertedTimes times : results)
+			assertTrue(times.Locations.get(0).getTimeChanges().isEmpty());
+	}
+
+	@Test
+	public void calling_ConvertTimes_WithOffsets_Should_RequestEachWithBoundedConcurrency()
+			throws Exception {
+		// Arrange
+		ConvertTimeService service = new ConvertTimeService(AccessKey,
+				SecretKey);
+		service.setBatchConcurrency(2);
+		FixtureTransport fixtures = new FixtureTransport();
+		useFixtures(url -> {
+			try {
+				Thread.sleep(20);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return fixtures.get(url);
+		});
+		List<ConvertTimeRequest> batch = new ArrayList<ConvertTimeRequest>();
+		for (int hour = 0; hour < 6; hour++)
+			batch.add(new ConvertTimeRequest(Oslo, String.format(
+					"2021-06-01T%02d:00:00+02:00", hour)));
+
+		// Act
+		List<ConvertedTimes> results = service.convertTimes(batch);
+
+		// Assert
+		assertEquals(6, requests.get());
+		assertEquals(6, results.size());
+		assertTrue(maxInFlight.get() <= 2);
+	}
+
+	@Test
+	public void calling_ConvertTimes_WithErrorResponse_Should_Throw()
+			throws Exception {
+		// Arrange
+		ConvertTimeService service = new ConvertTimeService(AccessKey,
+				SecretKey);
+		useFixtures(new FixtureTransport("error"));
+		List<ConvertTimeRequest> batch = Arrays.asList(new ConvertTimeRequest(
+				Oslo, "2021-06-01T12:00:00"), new ConvertTimeRequest(NewYork,
+				"2021-06-01T12:00:00"));
+
+		// Act
+		try {
+			service.convertTimes(batch);
+			fail("Expected a ServerSideException");
+		} catch (ServerSideException e) {
+			// Assert
+			assertEquals("Invalid access key", e.getMessage());
+		}
+	}
+
+	private void useFixtures(ITransport fixtures) {
+		requests = new AtomicInteger();
+		inFlight = new AtomicInteger();
+		maxInFlight = new AtomicInteger();
+		WebClient.setDefaultTransport(url -> {
+			requests.incrementAndGet();
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			try {
+				return fixtures.get(url);
+			} finally {
+				inFlight.decrementAndGet();
+			}
+		});
+	}
+}
@@ -0,0 +1,118 @@
+package com.timeanddate.services.tests;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpServer;
+import com.timeanddate.services.BaseService;
+import com.timeanddate.services.PlacesService;
+import com.timeanddate.services.common.HttpClientTransport;
+import com.timeanddate.services.common.ITransport;
+import com.timeanddate.services.common.WebClient;
+import com.timeanddate.services.dataTypes.places.Place;
+
+public class EntryPointTests {
+	private static final String AccessKey = "accesskey";
+	private static final String SecretKey = "secretkey";
+
+	private HttpServer server;
+	private Queue<String> paths;
+	private ITransport previousTransport;
+	private String previousEntryPoint;
+
+	@Before
+	public void setUp() throws IOException {
+		paths = new ConcurrentLinkedQueue<String>();
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/", exchange -> {
+			paths.add(exchange.getRequestURI().getPath());
+			byte[] body;
+			try (InputStream fixture = EntryPointTests.class
+					.getResourceAsStream("/fixtures/places.xml")) {
+				body = fixture.readAllBytes();
+			}
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream os = exchange.getResponseBody()) {
+				os.write(body);
+			}
+		});
+		server.start();
+
+		previousTransport = WebClient.getDefaultTransport();
+		previousEntryPoint = BaseService.getDefaultEntryPoint();
+		WebClient.setDefaultTransport(new HttpClientTransport());
+	}
+
+	@After
+	public void tearDown() {
+		WebClient.setDefaultTransport(previousTransport);
+		BaseService.setDefaultEntryPoint(previousEntryPoint);
+		server.stop(0);
+	}
+
+	@Test
+	public void calling_Service_WithEntryPoint_Should_SendRequestThere()
+			throws Exception {
+		// Arrange
+		PlacesService service = new PlacesService(AccessKey, SecretKey);
+		service.setEntryPoint(getEntryPoint() + "api/");
+
+		// Act
+		List<Place> places = service.getPlaces();
+
+		// Assert
+		assertFalse(places.isEmpty());
+		assertEquals("/api/places", paths.poll());
+	}
+
+	@Test
+	public void calling_Service_WithDefaultEntryPoint_Should_SendRequestThere()
+			throws Exception {
+		// Arrange
+		BaseService.setDefaultEntryPoint(getEntryPoint());
+		PlacesService service = new PlacesService(AccessKey, SecretKey);
+
+		// Act
+		service.getPlaces();
+
+		// Assert
+		assertEquals(getEntryPoint(), service.getEntryPoint());
+		assertEquals("/places", paths.poll());
+	}
+
+	@Test
+	public void calling_SetEntryPoint_WithoutTrailingSlash_Should_AddIt()
+			throws Exception {
+		// Arrange
+		PlacesService service = new PlacesService(AccessKey, SecretKey);
+
+		// Act
+		service.setEntryPoint("http://localhost:8080");
+
+		// Assert
+		assertEquals("http://localhost:8080/", service.getEntryPoint());
+		service.setEntryPoint(null);
+		assertEquals(BaseService.getDefaultEntryPoint(),
+				service.getEntryPoint());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void calling_SetDefaultEntryPoint_WithEmptyString_Should_Throw() {
+		BaseService.setDefaultEntryPoint("");
+	}
+
+	private String getEntryPoint() {
+		return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+	}
+}
@@ -0,0 +1,46 @@
+package com.timeanddate.services.tests;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+
+import com.timeanddate.services.common.ITransport;
+
+/**
+ * Serves the recorded responses in {@code /fixtures} instead of calling the
+ * API. By default the fixture is picked by service name, e.g. a request to
+ * {@code /timeservice} is answered with {@code timeservice.xml}, or with
+ * {@code timeservice.json} if the request asks for {@code out=json}.
+ */
+public class FixtureTransport implements ITransport {
+	private final String _fixture;
+
+	public FixtureTransport() {
+		this(null);
+	}
+
+	public FixtureTransport(String fixture) {
+		_fixture = fixture;
+	}
+
+	@Override
+	public InputStream get(URL url) throws IOException {
+		String name = _fixture;
+		if (name == null) {
+			String path = url.getPath();
+			name = path.substring(path.lastIndexOf('/') + 1);
+		}
+
+		String query = url.getQuery();
+		String extension = query != null && query.contains("out=json") ? ".json"
+				: ".xml";
+
+		InputStream stream = FixtureTransport.class
+				.getResourceAsStream("/fixtures/" + name + extension);
+		if (stream == null)
+			throw new FileNotFoundException("No fixture for " + url);
+
+		return stream;
+	}
+}
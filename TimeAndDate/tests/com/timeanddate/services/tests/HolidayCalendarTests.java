@@ -0,0 +1,179 @@
+package com.timeanddate.services.tests;
+
+import static org.junit.Assert.*;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.timeanddate.services.HolidayCalendar;
+import com.timeanddate.services.HolidaysService;
+import com.timeanddate.services.common.ITransport;
+import com.timeanddate.services.common.QueriedDateOutOfRangeException;
+import com.timeanddate.services.common.WebClient;
+import com.timeanddate.services.dataTypes.holidays.HolidayType;
+
+public class HolidayCalendarTests {
+	private static final String AccessKey = "accesskey";
+	private static final String SecretKey = "secretkey";
+	private static final EnumSet<HolidayType> Federal = EnumSet
+			.of(HolidayType.FEDERAL);
+
+	private ITransport previousTransport;
+
+	@Before
+	public void setUp() {
+		previousTransport = WebClient.getDefaultTransport();
+		WebClient.setDefaultTransport(new FixtureTransport());
+	}
+
+	@After
+	public void tearDown() {
+		WebClient.setDefaultTransport(previousTransport);
+	}
+
+	@Test
+	public void calling_IsHoliday_AfterLoad_Should_MatchRecordedHolidays()
+			throws Exception {
+		// Arrange
+		HolidayCalendar calendar = new HolidayCalendar(new HolidaysService(
+				AccessKey, SecretKey), 2021, 2021, Federal);
+
+		// Act
+		calendar.load("US");
+
+		// Assert
+		assertTrue(calendar.isLoaded("us"));
+		assertTrue(calendar.isHoliday("us", LocalDate.of(2021, 1, 1)));
+		assertTrue(calendar.isHoliday("us", LocalDate.of(2021, 7, 4)));
+		assertFalse(calendar.isHoliday("us", LocalDate.of(2021, 1, 2)));
+		assertFalse(calendar.isHoliday("us", LocalDate.of(2021, 1, 20)));
+		assertTrue(calendar.isHoliday("us", "DC", LocalDate.of(2021, 1, 20),
+				Federal));
+		assertTrue(calendar.isHoliday("us", "MD", LocalDate.of(2021, 1, 20)
+				.toEpochDay(), Federal));
+		assertFalse(calendar.isHoliday("us", "CA", LocalDate.of(2021, 1, 20),
+				Federal));
+	}
+
+	@Test
+	public void calling_CountHolidays_Should_CountDatesInRange()
+			throws Exception {
+		// Arrange
+		HolidayCalendar calendar = new HolidayCalendar(new HolidaysService(
+				AccessKey, SecretKey), 2021, 2021, Federal);
+		calendar.load("us");
+		LocalDate start = LocalDate.of(2021, 1, 1);
+		LocalDate end = LocalDate.of(2022, 1, 1);
+
+		// Act
+		int country = calendar.countHolidays("us", null, start, end, Federal);
+		int state = calendar.countHolidays("us", "DC", start, end, Federal);
+		int range = calendar.countHolidays("us", null,
+				LocalDate.of(2021, 1, 2), LocalDate.of(2021, 7, 4), Federal);
+		LocalDate next = calendar.nextHoliday("us", null,
+				LocalDate.of(2021, 1, 19), Federal);
+		LocalDate nextInState = calendar.nextHoliday("us", "DC",
+				LocalDate.of(2021, 1, 19), Federal);
+		LocalDate none = calendar.nextHoliday("us", null,
+				LocalDate.of(2021, 7, 5), Federal);
+
+		// Assert
+		assertEquals(3, country);
+		assertEquals(4, state);
+		assertEquals(1, range);
+		assertEquals(LocalDate.of(2021, 7, 4), next);
+		assertEquals(LocalDate.of(2021, 1, 20), nextInState);
+		assertNull(none);
+	}
+
+	@Test
+	public void calling_IsHoliday_WithStatesWithoutAbbreviation_Should_KeepStatesApart()
+			throws Exception {
+		// Arrange
+		WebClient.setDefaultTransport(new FixtureTransport("holidays-regions"));
+		HolidayCalendar calendar = new HolidayCalendar(new HolidaysService(
+				AccessKey, SecretKey), 2021, 2021, Federal);
+		LocalDate start = LocalDate.of(2021, 1, 1);
+		LocalDate end = LocalDate.of(2022, 1, 1);
+
+		// Act
+		calendar.load("uk");
+
+		// Assert
+		assertTrue(calendar.isHoliday("uk", "Scotland",
+				LocalDate.of(2021, 1, 4), Federal));
+		assertFalse(calendar.isHoliday("uk", "England",
+				LocalDate.of(2021, 1, 4), Federal));
+		assertTrue(calendar.isHoliday("uk", "England",
+				LocalDate.of(2021, 4, 5), Federal));
+		assertFalse(calendar.isHoliday("uk", "Scotland",
+				LocalDate.of(2021, 4, 5), Federal));
+		assertFalse(calendar.isHoliday("uk", "", LocalDate.of(2021, 1, 4),
+				Federal));
+		assertEquals(2, calendar.countHolidays("uk", "Scotland", start, end,
+				Federal));
+		assertEquals(2, calendar.countHolidays("uk", "England", start, end,
+				Federal));
+		assertEquals(LocalDate.of(2021, 4, 5), calendar.nextHoliday("uk",
+				"England", LocalDate.of(2021, 1, 2), Federal));
+	}
+
+	@Test
+	public void calling_Load_WithSeveralTypesAndYears_Should_RequestEachOnce()
+			throws Exception {
+		// Arrange
+		AtomicInteger requests = new AtomicInteger();
+		FixtureTransport fixtures = new FixtureTransport();
+		WebClient.setDefaultTransport(url -> {
+			requests.incrementAndGet();
+			return fixtures.get(url);
+		});
+		HolidayCalendar calendar = new HolidayCalendar(new HolidaysService(
+				AccessKey, SecretKey), 2021, 2022, EnumSet.of(
+				HolidayType.FEDERAL, HolidayType.LOCAL));
+
+		// Act
+		calendar.load("us");
+
+		// Assert
+		assertEquals(4, requests.get());
+		assertTrue(calendar.isHoliday("us", null, LocalDate.of(2021, 1, 18),
+				EnumSet.of(HolidayType.LOCAL)));
+		assertFalse(calendar.isHoliday("us", null, LocalDate.of(2022, 1, 18),
+				Federal));
+	}
+
+	@Test
+	public void calling_IsHoliday_OutsideCoveredYears_Should_Throw()
+			throws Exception {
+		// Arrange
+		HolidayCalendar calendar = new HolidayCalendar(new HolidaysService(
+				AccessKey, SecretKey), 2021, 2021, Federal);
+		calendar.load("us");
+
+		// Act & Assert
+		try {
+			calendar.isHoliday("us", LocalDate.of(2022, 1, 1));
+			fail("Expected QueriedDateOutOfRangeException");
+		} catch (QueriedDateOutOfRangeException e) {
+		}
+
+		try {
+			calendar.isHoliday("us", null, LocalDate.of(2021, 1, 1),
+					EnumSet.of(HolidayType.LOCAL));
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+		}
+
+		try {
+			calendar.isHoliday("no", LocalDate.of(2021, 1, 1));
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package com.timeanddate.services.tests;
+
+import static org.junit.Assert.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.timeanddate.services.common.ISODateTimeParser;
+
+public class ISODateTimeParserTests {
+	private static final int Samples = 20000;
+	private static final String[] TimeFormats = { "yyyy-MM-dd'T'HH:mm",
+			"yyyy-MM-dd'T'HH:mm:ss", "yyyy-MM-dd'T'HH:mm:ss.SSS",
+			"yyyy-MM-dd'T'HH:mm:ss.SSSSSSSSS" };
+
+	@Test
+	public void calling_ParseISODate_WithRandomOffsetDateTimes_Should_MatchJavaTime() {
+		// Arrange
+		Random random = new Random(42);
+		ISODateTimeParser parser = new ISODateTimeParser();
+
+		for (int i = 0; i < Samples; i++) {
+			OffsetDateTime expected = randomOffsetDateTime(random);
+			String format = TimeFormats[random.nextInt(TimeFormats.length)];
+			String iso = expected.toLocalDateTime().format(
+					DateTimeFormatter.ofPattern(format))
+					+ formatOffset(expected.getOffset(), random);
+
+			// Act
+			parser.parseISODate(iso);
+
+			// Assert
+			OffsetDateTime parsed = OffsetDateTime.parse(iso);
+			assertEquals(iso, parsed.getYear(), parser.getYear());
+			assertEquals(iso, parsed.getMonthValue(), parser.getMonth());
+			assertEquals(iso, parsed.getDayOfMonth(), parser.getDay());
+			assertEquals(iso, parsed.getHour(), parser.getHour());
+			assertEquals(iso, parsed.getMinute(), parser.getMinute());
+			assertEquals(iso, parsed.getSecond(), parser.getSecond());
+			assertEquals(iso, parsed.getOffset().getTotalSeconds() * 1000L,
+					parser.getOffset());
+		}
+	}
+
+	@Test
+	public void calling_ParseISODate_WithLocalDatesAndTimes_Should_MatchJavaTime() {
+		// Arrange
+		Random random = new Random(7);
+		ISODateTimeParser parser = new ISODateTimeParser();
+
+		for (int i = 0; i < Samples; i++) {
+			LocalDateTime expected = randomOffsetDateTime(random)
+					.toLocalDateTime();
+			String date = expected.toLocalDate().toString();
+			String dateTime = expected.withNano(0).format(
+					DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+
+			// Act
+			parser.parseISODate(date);
+			LocalDate parsedDate = LocalDate.of(parser.getYear(),
+					parser.getMonth(), parser.getDay());
+			parser.parseISODate(dateTime);
+			LocalDateTime parsedDateTime = LocalDateTime.of(parser.getYear(),
+					parser.getMonth(), parser.getDay(), parser.getHour(),
+					parser.getMinute(), parser.getSecond());
+
+			// Assert
+			assertEquals(LocalDate.parse(date), parsedDate);
+			assertEquals(LocalDateTime.parse(dateTime), parsedDateTime);
+			assertEquals(0, parser.getOffset());
+		}
+	}
+
+	@Test
+	public void calling_ParseISODate_WithRange_Should_ParseOnlyTheRange() {
+		// Arrange
+		String text = "<time iso=\"2021-10-31T02:00:00-04:00\"/>";
+		int start = text.indexOf('"') + 1;
+		ISODateTimeParser parser = new ISODateTimeParser();
+
+		// Act
+		parser.parseISODate(text, start, text.indexOf('"', start));
+
+		// Assert
+		assertEquals(2021, parser.getYear());
+		assertEquals(10, parser.getMonth());
+		assertEquals(31, parser.getDay());
+		assertEquals(2, parser.getHour());
+		assertEquals(-4 * 60 * 60 * 1000, parser.getOffset());
+	}
+
+	@Test
+	public void calling_ParseISODate_WithMalformedInput_Should_ThrowException() {
+		// Arrange
+		String[] malformed = { "", "2021", "2021-6-01", "2021-06-01T",
+				"2021-06-01T1", "2021-06-01T12:00:00+", "2021-06-01T12:00:00Zx",
+				"2021-06-01T12:00:00.", "2021-06-01X12:00", "21-06-01",
+				"2021-06-01T12:00:00+02:0" };
+		ISODateTimeParser parser = new ISODateTimeParser();
+
+		for (String iso : malformed) {
+			// Act
+			try {
+				parser.parseISODate(iso);
+				fail("Expected an IllegalArgumentException for " + iso);
+			} catch (IllegalArgumentException e) {
+				// Assert
+				assertTrue(e.getMessage().contains(iso));
+			}
+		}
+	}
+
+	private static OffsetDateTime randomOffsetDateTime(Random random) {
+		long epochSecond = (long) (random.nextDouble() * 253402300799L);
+		int offsetMinutes = (random.nextInt(18 * 4 * 2 + 1) - 18 * 4) * 15;
+		return OffsetDateTime.of(LocalDateTime.ofEpochSecond(epochSecond,
+				random.nextInt(1000000000), ZoneOffset.UTC), ZoneOffset
+				.ofTotalSeconds(offsetMinutes * 60));
+	}
+
+	private static String formatOffset(ZoneOffset offset, Random random) {
+		if (offset.getTotalSeconds() == 0 && random.nextBoolean())
+			return "Z";
+
+		return offset.getTotalSeconds() == 0 ? "+00:00" : offset.getId();
+	}
+}
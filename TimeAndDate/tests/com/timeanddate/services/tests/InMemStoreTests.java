@@ -0,0 +1,148 @@
+package com.timeanddate.services.tests;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.timeanddate.services.PlacesService;
+import com.timeanddate.services.TimeService;
+import com.timeanddate.services.common.AuthOptions;
+import com.timeanddate.services.common.InMemStore;
+
+public class InMemStoreTests {
+	private static final String AuthenticationKey = "com.timeanddate.services.Authentication";
+	private static final int Threads = 8;
+	private static final int ServicesPerThread = 200;
+
+	private int previousCapacity;
+
+	@Before
+	public void setUp() {
+		previousCapacity = InMemStore.getCapacity();
+		InMemStore.Clear();
+	}
+
+	@After
+	public void tearDown() {
+		InMemStore.setCapacity(previousCapacity);
+		InMemStore.Clear();
+	}
+
+	@Test
+	public void calling_Store_WithDifferentScopes_Should_KeepEachScopesValue() {
+		// Arrange
+		InMemStore.Store("tenant-a", "key", "a");
+		InMemStore.Store("tenant-b", "key", "b");
+
+		// Act
+		Object a = InMemStore.Get("tenant-a", "key");
+		Object b = InMemStore.Get("tenant-b", "key");
+
+		// Assert
+		assertEquals("a", a);
+		assertEquals("b", b);
+		assertNull(InMemStore.Get("key"));
+	}
+
+	@Test
+	public void calling_Store_WithEmptyScope_Should_NotShareUnscopedValue() {
+		// Arrange
+		InMemStore.Store("", "key", "empty");
+
+		// Act
+		InMemStore.Store("key", "unscoped");
+
+		// Assert
+		assertEquals("empty", InMemStore.Get("", "key"));
+		assertEquals("unscoped", InMemStore.Get("key"));
+		assertEquals(2, InMemStore.Size());
+	}
+
+	@Test
+	public void calling_Store_WhenFull_Should_EvictLeastRecentlyUsed() {
+		// Arrange
+		InMemStore.setCapacity(2);
+		InMemStore.Store("scope", "first", 1);
+		InMemStore.Store("scope", "second", 2);
+		InMemStore.Get("scope", "first");
+
+		// Act
+		InMemStore.Store("scope", "third", 3);
+
+		// Assert
+		assertEquals(2, InMemStore.Size());
+		assertEquals(1, InMemStore.Get("scope", "first"));
+		assertNull(InMemStore.Get("scope", "second"));
+		assertEquals(3, InMemStore.Get("scope", "third"));
+	}
+
+	@Test
+	public void calling_ServiceConstructor_WithDifferentKeys_Should_StoreCredentialsPerKey()
+			throws Exception {
+		// Arrange
+		new TimeService("tenant-a", "secret-a");
+
+		// Act
+		new PlacesService("tenant-b", "secret-b");
+
+		// Assert
+		AuthOptions a = (AuthOptions) InMemStore.Get("tenant-a", AuthenticationKey);
+		AuthOptions b = (AuthOptions) InMemStore.Get("tenant-b", AuthenticationKey);
+		AuthOptions last = (AuthOptions) InMemStore.Get(AuthenticationKey);
+
+		assertEquals("secret-a", a.secretKey);
+		assertEquals("secret-b", b.secretKey);
+		assertEquals("tenant-b", last.accessKey);
+	}
+
+	@Test
+	public void calling_ServiceConstructor_Concurrently_Should_KeepStoreConsistentAndBounded()
+			throws Exception {
+		// Arrange
+		int capacity = 64;
+		InMemStore.setCapacity(capacity);
+		ExecutorService executor = Executors.newFixedThreadPool(Threads);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Void>> futures = new ArrayList<Future<Void>>();
+
+		// Act
+		try {
+			for (int thread = 0; thread < Threads; thread++) {
+				int current = thread;
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < ServicesPerThread; i++) {
+						String accessKey = "tenant-" + current + "-" + i;
+						new TimeService(accessKey, "secret-" + accessKey);
+
+						AuthOptions stored = (AuthOptions) InMemStore.Get(
+								accessKey, AuthenticationKey);
+						if (stored != null)
+							assertEquals("secret-" + accessKey, stored.secretKey);
+					}
+					return null;
+				}));
+			}
+
+			start.countDown();
+			for (Future<Void> future : futures)
+				future.get(30, TimeUnit.SECONDS);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		// Assert
+		assertEquals(capacity, InMemStore.Size());
+		assertNotNull(InMemStore.Get(AuthenticationKey));
+	}
+}
@@ -0,0 +1,291 @@
+package com.timeanddate.services.tests;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.timeanddate.services.AstronomyService;
+import com.timeanddate.services.BusinessDateService;
+import com.timeanddate.services.BusinessDates;
+import com.timeanddate.services.BusinessDuration;
+import com.timeanddate.services.BusinessDurationService;
+import com.timeanddate.services.ConvertTimeService;
+import com.timeanddate.services.ConvertedTimes;
+import com.timeanddate.services.DSTService;
+import com.timeanddate.services.DialCodeService;
+import com.timeanddate.services.DialCodes;
+import com.timeanddate.services.HolidaysService;
+import com.timeanddate.services.OnThisDayEvents;
+import com.timeanddate.services.OnThisDayService;
+import com.timeanddate.services.PlacesService;
+import com.timeanddate.services.TidesService;
+import com.timeanddate.services.TimeService;
+import com.timeanddate.services.BaseService;
+import com.timeanddate.services.common.ITransport;
+import com.timeanddate.services.common.ReturnFormat;
+import com.timeanddate.services.common.ServerSideException;
+import com.timeanddate.services.common.WebClient;
+import com.timeanddate.services.dataTypes.astro.AstronomyLocation;
+import com.timeanddate.services.dataTypes.astro.AstronomyObjectType;
+import com.timeanddate.services.dataTypes.dst.DST;
+import com.timeanddate.services.dataTypes.holidays.Holiday;
+import com.timeanddate.services.dataTypes.places.Location;
+import com.timeanddate.services.dataTypes.places.LocationId;
+import com.timeanddate.services.dataTypes.places.Place;
+import com.timeanddate.services.dataTypes.tides.Station;
+import com.timeanddate.services.dataTypes.time.TADDateTime;
+
+public class JsonParserTests {
+	private static final String AccessKey = "accesskey";
+	private static final String SecretKey = "secretkey";
+
+	private ITransport previousTransport;
+	private ReturnFormat previousFormat;
+
+	@Before
+	public void setUp() {
+		previousTransport = WebClient.getDefaultTransport();
+		previousFormat = BaseService.getDefaultReturnFormat();
+		WebClient.setDefaultTransport(new FixtureTransport());
+	}
+
+	@After
+	public void tearDown() {
+		WebClient.setDefaultTransport(previousTransport);
+		BaseService.setDefaultReturnFormat(previousFormat);
+	}
+
+	@Test
+	public void calling_TimeService_WithJsonFormat_Should_MatchXml()
+			throws Exception {
+		// Arrange
+		TimeService service = new TimeService(AccessKey, SecretKey);
+		LocationId placeId = new LocationId(187);
+
+		// Act
+		List<Location> xml = withFormat(service, ReturnFormat.XML, () -> service.currentTimeForPlace(placeId));
+		List<Location> json = withFormat(service, ReturnFormat.JSON, () -> service.currentTimeForPlace(placeId));
+
+		// Assert
+		assertEquals(1, xml.size());
+		assertEquals(2, xml.get(0).getTimeChanges().size());
+		ObjectGraphs.assertSameGraph(xml, json);
+	}
+
+	@Test
+	public void calling_ConvertTimeService_WithJsonFormat_Should_MatchXml()
+			throws Exception {
+		// Arrange
+		ConvertTimeService service = new ConvertTimeService(AccessKey, SecretKey);
+		LocationId fromId = new LocationId(187);
+
+		// Act
+		ConvertedTimes xml = withFormat(service, ReturnFormat.XML, () -> service.convertTime(fromId, "2021-06-01T12:00:00"));
+		ConvertedTimes json = withFormat(service, ReturnFormat.JSON, () -> service.convertTime(fromId, "2021-06-01T12:00:00"));
+
+		// Assert
+		assertNotNull(xml.Utc);
+		assertEquals(2, xml.Locations.size());
+		ObjectGraphs.assertSameGraph(xml, json);
+	}
+
+	@Test
+	public void calling_HolidaysService_WithJsonFormat_Should_MatchXml()
+			throws Exception {
+		// Arrange
+		HolidaysService service = new HolidaysService(AccessKey, SecretKey);
+
+		// Act
+		List<Holiday> xml = withFormat(service, ReturnFormat.XML, () -> service.holidaysForCountry("us", 2021));
+		List<Holiday> json = withFormat(service, ReturnFormat.JSON, () -> service.holidaysForCountry("us", 2021));
+
+		// Assert
+		assertEquals(4, xml.size());
+		assertEquals(2, xml.get(2).getStates().size());
+		ObjectGraphs.assertSameGraph(xml, json);
+	}
+
+	@Test
+	public void calling_AstronomyService_WithJsonFormat_Should_MatchXml()
+			throws Exception {
+		// Arrange
+		AstronomyService service = new AstronomyService(AccessKey, SecretKey);
+		LocationId placeId = new LocationId(187);
+		TADDateTime start = new TADDateTime(2021, 6, 1);
+		TADDateTime end = new TADDateTime(2021, 6, 2);
+
+		// Act
+		List<AstronomyLocation> xml = withFormat(service, ReturnFormat.XML,
+				() -> service.getAstronomicalInfo(AstronomyObjectType.Sun, placeId, start, end));
+		List<AstronomyLocation> json = withFormat(service, ReturnFormat.JSON,
+				() -> service.getAstronomicalInfo(AstronomyObjectType.Sun, placeId, start, end));
+
+		// Assert
+		assertEquals(2, xml.get(0).getObjects().get(0).getDays().size());
+		ObjectGraphs.assertSameGraph(xml, json);
+	}
+
+	@Test
+	public void calling_DSTService_WithJsonFormat_Should_MatchXml()
+			throws Exception {
+		// Arrange
+		DSTService service = new DSTService(AccessKey, SecretKey);
+
+		// Act
+		List<DST> xml = withFormat(service, ReturnFormat.XML, () -> service.getDaylightSavingTime(2021));
+		List<DST> json = withFormat(service, ReturnFormat.JSON, () -> service.getDaylightSavingTime(2021));
+
+		// Assert
+		assertEquals(3, xml.size());
+		ObjectGraphs.assertSameGraph(xml, json);
+	}
+
+	@Test
+	public void calling_DialCodeService_WithJsonFormat_Should_MatchXml()
+			throws Exception {
+		// Arrange
+		DialCodeService service = new DialCodeService(AccessKey, SecretKey);
+		LocationId to = new LocationId(187);
+		LocationId from = new LocationId(179);
+
+		// Act
+		DialCodes xml = withFormat(service, ReturnFormat.XML, () -> service.getDialCode(to, from));
+		DialCodes json = withFormat(service, ReturnFormat.JSON, () -> service.getDialCode(to, from));
+
+		// Assert
+		assertEquals("011 47 12345678", xml.Number);
+		assertEquals(3, xml.Compositions.size());
+		assertEquals(2, xml.Locations.size());
+		ObjectGraphs.assertSameGraph(xml, json);
+	}
+
+	@Test
+	public void calling_PlacesService_WithJsonFormat_Should_MatchXml()
+			throws Exception {
+		// Arrange
+		PlacesService service = new PlacesService(AccessKey, SecretKey);
+
+		// Act
+		List<Place> xml = withFormat(service, ReturnFormat.XML, () -> service.getPlaces());
+		List<Place> json = withFormat(service, ReturnFormat.JSON, () -> service.getPlaces());
+
+		// Assert
+		assertEquals(3, xml.size());
+		ObjectGraphs.assertSameGraph(xml, json);
+	}
+
+	@Test
+	public void calling_TidesService_WithJsonFormat_Should_MatchXml()
+			throws Exception {
+		// Arrange
+		TidesService service = new TidesService(AccessKey, SecretKey);
+		LocationId placeId = new LocationId("norway/oslo");
+
+		// Act
+		List<Station> xml = withFormat(service, ReturnFormat.XML, () -> service.getTidalData(placeId));
+		List<Station> json = withFormat(service, ReturnFormat.JSON, () -> service.getTidalData(placeId));
+
+		// Assert
+		assertEquals(4, xml.get(0).getResult().size());
+		ObjectGraphs.assertSameGraph(xml, json);
+	}
+
+	@Test
+	public void calling_BusinessDateService_WithJsonFormat_Should_MatchXml()
+			throws Exception {
+		// Arrange
+		BusinessDateService service = new BusinessDateService(AccessKey, SecretKey);
+		LocationId placeId = new LocationId("no");
+		TADDateTime start = new TADDateTime(2021, 12, 20);
+
+		// Act
+		BusinessDates xml = withFormat(service, ReturnFormat.XML, () -> service.addDays(start, 5, placeId));
+		BusinessDates json = withFormat(service, ReturnFormat.JSON, () -> service.addDays(start, 5, placeId));
+
+		// Assert
+		assertEquals(2, xml.Periods.get(0).getHolidays().getHolidays().size());
+		ObjectGraphs.assertSameGraph(xml, json);
+	}
+
+	@Test
+	public void calling_BusinessDurationService_WithJsonFormat_Should_MatchXml()
+			throws Exception {
+		// Arrange
+		BusinessDurationService service = new BusinessDurationService(AccessKey, SecretKey);
+		LocationId placeId = new LocationId("no");
+		TADDateTime start = new TADDateTime(2021, 12, 20);
+		TADDateTime end = new TADDateTime(2022, 1, 3);
+
+		// Act
+		BusinessDuration xml = withFormat(service, ReturnFormat.XML, () -> service.getDuration(start, end, placeId));
+		BusinessDuration json = withFormat(service, ReturnFormat.JSON, () -> service.getDuration(start, end, placeId));
+
+		// Assert
+		assertEquals(8, xml.Period.getIncludedDays());
+		ObjectGraphs.assertSameGraph(xml, json);
+	}
+
+	@Test
+	public void calling_OnThisDayService_WithJsonFormat_Should_MatchXml()
+			throws Exception {
+		// Arrange
+		OnThisDayService service = new OnThisDayService(AccessKey, SecretKey);
+
+		// Act
+		OnThisDayEvents xml = withFormat(service, ReturnFormat.XML, () -> service.eventsOnThisDay(6, 7));
+		OnThisDayEvents json = withFormat(service, ReturnFormat.JSON, () -> service.eventsOnThisDay(6, 7));
+
+		// Assert
+		assertEquals(2, xml.Events.size());
+		assertEquals(1, xml.Births.size());
+		assertEquals(1, xml.Deaths.size());
+		ObjectGraphs.assertSameGraph(xml, json);
+	}
+
+	@Test
+	public void calling_Service_WithJsonFormat_And_ErrorResponse_Should_ThrowServerSideException()
+			throws Exception {
+		// Arrange
+		WebClient.setDefaultTransport(new FixtureTransport("error"));
+		PlacesService service = new PlacesService(AccessKey, SecretKey);
+
+		// Act
+		try {
+			withFormat(service, ReturnFormat.JSON, () -> service.getPlaces());
+			fail("Expected a ServerSideException");
+		} catch (ServerSideException e) {
+			// Assert
+			assertEquals("Invalid access key", e.getMessage());
+		}
+	}
+
+	@Test
+	public void calling_Service_WithDefaultReturnFormat_Should_UseDefault()
+			throws Exception {
+		// Arrange
+		PlacesService service = new PlacesService(AccessKey, SecretKey);
+		BaseService.setDefaultReturnFormat(ReturnFormat.JSON);
+		WebClient.setDefaultTransport(url -> {
+			assertTrue(url.getQuery().contains("out=json"));
+			return new FixtureTransport().get(url);
+		});
+
+		// Act
+		List<Place> places = service.getPlaces();
+
+		// Assert
+		assertEquals(ReturnFormat.JSON, service.getReturnFormat());
+		assertEquals(3, places.size());
+	}
+
+	private static <T> T withFormat(BaseService service, ReturnFormat format,
+			Callable<T> request) throws Exception {
+		service.setReturnFormat(format);
+		return request.call();
+	}
+}
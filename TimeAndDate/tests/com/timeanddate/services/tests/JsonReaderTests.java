@@ -0,0 +1,170 @@
+package com.timeanddate.services.tests;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+import com.timeanddate.services.common.JsonReader;
+import com.timeanddate.services.common.JsonToken;
+import com.timeanddate.services.common.JsonUtils;
+import com.timeanddate.services.common.MalformedJsonException;
+import com.timeanddate.services.common.ServerSideException;
+
+public class JsonReaderTests {
+	@Test
+	public void calling_NextString_WithEscapes_Should_ReturnUnescapedText()
+			throws IOException {
+		// Arrange
+		JsonReader reader = new JsonReader(new StringReader(
+				"[\"a\\\"b\\\\c\\/d\\n\\u00e6\\u00f8\\u00e5\"]"));
+
+		// Act
+		reader.beginArray();
+		String value = reader.nextString();
+		reader.endArray();
+
+		// Assert
+		assertEquals("a\"b\\c/d\n\u00e6\u00f8\u00e5", value);
+		assertEquals(JsonToken.END_DOCUMENT, reader.peek());
+	}
+
+	@Test
+	public void calling_NextString_WithLiterals_Should_ReturnLiteralText()
+			throws IOException {
+		// Arrange
+		JsonReader reader = new JsonReader(new StringReader(
+				"{\"a\": -12.5e3, \"b\": true, \"c\": null}"));
+
+		// Act
+		reader.beginObject();
+		String a = reader.nextName();
+		JsonToken number = reader.peek();
+		String aValue = reader.nextString();
+		reader.nextName();
+		JsonToken bool = reader.peek();
+		String bValue = reader.nextString();
+		reader.nextName();
+		JsonToken nullToken = reader.peek();
+		String cValue = reader.nextString();
+		reader.endObject();
+
+		// Assert
+		assertEquals("a", a);
+		assertEquals(JsonToken.NUMBER, number);
+		assertEquals("-12.5e3", aValue);
+		assertEquals(JsonToken.BOOLEAN, bool);
+		assertEquals("true", bValue);
+		assertEquals(JsonToken.NULL, nullToken);
+		assertNull(cValue);
+	}
+
+	@Test
+	public void calling_SkipValue_WithNestedValue_Should_SkipWholeValue()
+			throws IOException {
+		// Arrange
+		JsonReader reader = new JsonReader(new StringReader(
+				"{\"skip\": {\"a\": [1, {\"b\": \"]}\"}, [], {}]}, \"keep\": \"x\"}"));
+
+		// Act
+		reader.beginObject();
+		reader.nextName();
+		reader.skipValue();
+		String name = reader.nextName();
+		String value = reader.nextString();
+		boolean more = reader.hasNext();
+		reader.endObject();
+
+		// Assert
+		assertEquals("keep", name);
+		assertEquals("x", value);
+		assertFalse(more);
+	}
+
+	@Test
+	public void calling_NextString_WithTextLongerThanBuffer_Should_ReturnWholeText()
+			throws IOException {
+		// Arrange
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 20000; i++)
+			text.append((char) ('a' + i % 26));
+		JsonReader reader = new JsonReader(new StringReader("[\"" + text
+				+ "\", 12345]"));
+
+		// Act
+		reader.beginArray();
+		String value = reader.nextString();
+		String number = reader.nextString();
+		reader.endArray();
+
+		// Assert
+		assertEquals(text.toString(), value);
+		assertEquals("12345", number);
+	}
+
+	@Test
+	public void calling_NextMember_WithNullValues_Should_SkipThem()
+			throws IOException {
+		// Arrange
+		JsonReader reader = new JsonReader(new StringReader(
+				"{\"a\": null, \"b\": 1, \"c\": null}"));
+
+		// Act
+		reader.beginObject();
+		String first = JsonUtils.nextMember(reader);
+		reader.skipValue();
+		String second = JsonUtils.nextMember(reader);
+		reader.endObject();
+
+		// Assert
+		assertEquals("b", first);
+		assertNull(second);
+	}
+
+	@Test
+	public void calling_ReadText_WithTranslatedText_Should_ReturnFirstText()
+			throws IOException {
+		// Arrange
+		JsonReader reader = new JsonReader(new StringReader(
+				"[{\"lang\": \"en\", \"text\": \"Christmas Day\"}, {\"lang\": \"no\", \"text\": \"1. juledag\"}]"));
+
+		// Act
+		String text = JsonUtils.readText(reader);
+
+		// Assert
+		assertEquals("Christmas Day", text);
+	}
+
+	@Test
+	public void calling_NextResponseMember_WithErrors_Should_ThrowServerSideException()
+			throws IOException {
+		// Arrange
+		JsonReader reader = new JsonReader(new StringReader(
+				"{\"errors\": [\"Invalid access key\"]}"));
+
+		// Act
+		try {
+			reader.beginObject();
+			JsonUtils.nextResponseMember(reader);
+			fail("Expected ServerSideException");
+		} catch (ServerSideException e) {
+			// Assert
+			assertEquals("Invalid access key", e.getMessage());
+		}
+	}
+
+	@Test(expected = MalformedJsonException.class)
+	public void calling_EndObject_WithTruncatedInput_Should_ThrowMalformedJsonException()
+			throws IOException {
+		// Arrange
+		JsonReader reader = new JsonReader(new StringReader("{\"a\": \"b\""));
+
+		// Act
+		reader.beginObject();
+		reader.nextName();
+		reader.nextString();
+		reader.endObject();
+	}
+}
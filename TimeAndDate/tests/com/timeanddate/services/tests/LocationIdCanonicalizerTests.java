@@ -0,0 +1,146 @@
+package com.timeanddate.services.tests;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.timeanddate.services.LocationIdCanonicalizer;
+import com.timeanddate.services.PlaceIndex;
+import com.timeanddate.services.PlacesService;
+import com.timeanddate.services.TimeService;
+import com.timeanddate.services.common.ITransport;
+import com.timeanddate.services.common.ResponseCache;
+import com.timeanddate.services.common.WebClient;
+import com.timeanddate.services.dataTypes.places.Coordinates;
+import com.timeanddate.services.dataTypes.places.LocationId;
+
+public class LocationIdCanonicalizerTests {
+	private static final String AccessKey = "accesskey";
+	private static final String SecretKey = "secretkey";
+
+	private ITransport previousTransport;
+
+	@Before
+	public void setUp() {
+		previousTransport = WebClient.getDefaultTransport();
+		WebClient.setDefaultTransport(new FixtureTransport());
+	}
+
+	@After
+	public void tearDown() {
+		WebClient.setDefaultTransport(previousTransport);
+	}
+
+	@Test
+	public void calling_Canonicalize_WithNearbyCoordinates_Should_ReturnSameId() {
+		// Arrange
+		LocationIdCanonicalizer canonicalizer = new LocationIdCanonicalizer(2);
+
+		// Act
+		String first = canonicalizer.canonicalize("+59.91372+10.74089");
+		String second = canonicalizer.canonicalize("+59.9128+10.7412");
+		String west = canonicalizer.canonicalize("-33.8688-151.2093");
+		LocationId coordinates = canonicalizer.canonicalize(new LocationId(
+				new Coordinates(59.914, 10.738)));
+		LocationId numeric = canonicalizer.canonicalize(new LocationId(187));
+
+		// Assert
+		assertEquals("+59.91+10.74", first);
+		assertEquals(first, second);
+		assertEquals("-33.87-151.21", west);
+		assertEquals(first, coordinates.getId());
+		assertEquals("187", numeric.getId());
+		assertEquals(4, canonicalizer.getCanonicalizedCount());
+		assertEquals(4, canonicalizer.getDistinctInputCount());
+		assertEquals(2, canonicalizer.getDistinctCanonicalCount());
+		assertEquals(0.5, canonicalizer.getKeyReduction(), 1e-9);
+	}
+
+	@Test
+	public void calling_Canonicalize_OutOfRange_Should_ClampAndWrap() {
+		// Arrange
+		LocationIdCanonicalizer canonicalizer = new LocationIdCanonicalizer(0);
+
+		// Act
+		String wrapped = canonicalizer.canonicalize("+10.2+190.4");
+		String antimeridian = canonicalizer.canonicalize("+10.2+179.6");
+		String pole = canonicalizer.canonicalize("+90.4+0.1");
+
+		// Assert
+		assertEquals("+10-170", wrapped);
+		assertEquals("+10-180", antimeridian);
+		assertEquals("+90+0", pole);
+	}
+
+	@Test
+	public void calling_Canonicalize_WithExponentCoordinates_Should_RoundId() {
+		// Arrange
+		LocationIdCanonicalizer canonicalizer = new LocationIdCanonicalizer(2);
+
+		// Act
+		String equator = canonicalizer.canonicalize("+1.0E-4+10.5");
+		String meridian = canonicalizer.canonicalize("+51.4779-1.5E-4");
+		LocationId coordinates = canonicalizer.canonicalize(new LocationId(
+				new Coordinates(1.0E-4, 10.5)));
+
+		// Assert
+		assertEquals("+0.00+10.50", equator);
+		assertEquals("+51.48+0.00", meridian);
+		assertEquals(equator, coordinates.getId());
+		assertEquals(3, canonicalizer.getCanonicalizedCount());
+	}
+
+	@Test
+	public void calling_Canonicalize_WithPlaceIndex_Should_SnapToNearestPlace()
+			throws Exception {
+		// Arrange
+		PlaceIndex index = PlaceIndex.load(new PlacesService(AccessKey,
+				SecretKey));
+		LocationIdCanonicalizer canonicalizer = new LocationIdCanonicalizer(
+				index, 25, 1);
+
+		// Act
+		String oslo = canonicalizer.canonicalize("+59.95+10.78");
+		String osloAirport = canonicalizer.canonicalize("+60.19+11.10");
+		String trondheim = canonicalizer.canonicalize("+63.43+10.39");
+
+		// Assert
+		assertEquals("187", oslo);
+		assertEquals("+60.2+11.1", osloAirport);
+		assertEquals("+63.4+10.4", trondheim);
+		assertEquals(1, canonicalizer.getSnappedCount());
+	}
+
+	@Test
+	public void calling_Service_WithCanonicalizer_Should_ShareCachedResponse()
+			throws Exception {
+		// Arrange
+		List<String> queries = new CopyOnWriteArrayList<String>();
+		FixtureTransport fixtures = new FixtureTransport();
+		WebClient.setDefaultTransport(url -> {
+			queries.add(url.getQuery());
+			return fixtures.get(url);
+		});
+		LocationIdCanonicalizer canonicalizer = new LocationIdCanonicalizer();
+		TimeService service = new TimeService(AccessKey, SecretKey);
+		service.setResponseCache(new ResponseCache());
+		service.setLocationIdCanonicalizer(canonicalizer);
+
+		// Act
+		service.currentTimeForPlace(new LocationId(new Coordinates(59.91372,
+				10.74089)));
+		service.currentTimeForPlace(new LocationId(new Coordinates(59.9128,
+				10.7412)));
+
+		// Assert
+		assertEquals(1, queries.size());
+		assertTrue(queries.get(0).contains("placeid=%2B59.91%2B10.74"));
+		assertEquals(2, canonicalizer.getDistinctInputCount());
+		assertEquals(1, canonicalizer.getDistinctCanonicalCount());
+	}
+}
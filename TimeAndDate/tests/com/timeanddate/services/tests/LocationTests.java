@@ -0,0 +1,149 @@
+package com.timeanddate.services.tests;
+
+import static org.junit.Assert.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.timeanddate.services.ConvertTimeService;
+import com.timeanddate.services.common.DateTimeUtils;
+import com.timeanddate.services.common.ITransport;
+import com.timeanddate.services.common.LocalTimeDoesNotExistException;
+import com.timeanddate.services.common.WebClient;
+import com.timeanddate.services.dataTypes.places.Location;
+import com.timeanddate.services.dataTypes.places.LocationId;
+import com.timeanddate.services.dataTypes.time.TADDateTime;
+
+public class LocationTests {
+	private ITransport previousTransport;
+
+	@Before
+	public void setUp() {
+		previousTransport = WebClient.getDefaultTransport();
+		WebClient.setDefaultTransport(new FixtureTransport());
+	}
+
+	@After
+	public void tearDown() {
+		WebClient.setDefaultTransport(previousTransport);
+	}
+
+	@Test
+	public void calling_GetUTCOffsetFromLocalTime_Throughout_Year_Should_MatchTimeZoneRules()
+			throws Exception {
+		// Arrange
+		List<Location> locations = getLocations();
+		List<ZoneId> zones = Arrays.asList(ZoneId.of("Europe/Oslo"),
+				ZoneId.of("America/New_York"));
+
+		for (int i = 0; i < locations.size(); i++) {
+			Location location = locations.get(i);
+			ZoneId zone = zones.get(i);
+
+			for (LocalDateTime local = LocalDateTime.of(2021, 1, 1, 0, 0); local
+					.getYear() == 2021; local = local.plusMinutes(15)) {
+				TADDateTime localTime = new TADDateTime(local.getYear(),
+						local.getMonthValue(), local.getDayOfMonth(),
+						local.getHour(), local.getMinute(), 0);
+				List<ZoneOffset> valid = zone.getRules().getValidOffsets(local);
+
+				// Act
+				int offset;
+				try {
+					offset = (int) location.getUTCOffsetFromLocalTime(localTime)
+							.TotalSeconds();
+				} catch (LocalTimeDoesNotExistException e) {
+					assertTrue(local.toString(), valid.isEmpty());
+					continue;
+				}
+
+				// Assert
+				if (valid.isEmpty()) {
+					// The first minute of a gap is not reported as skipped
+					assertEquals(local.toString(), zone.getRules()
+							.getTransition(local).getDateTimeBefore(), local);
+					continue;
+				}
+
+				assertEquals(local.toString(), valid.get(0).getTotalSeconds(),
+						offset);
+			}
+		}
+	}
+
+	@Test(expected = LocalTimeDoesNotExistException.class)
+	public void calling_GetUTCOffsetFromLocalTime_WithTimeSkippedBySecondChange_Should_ThrowException()
+			throws Exception {
+		// Arrange
+		List<Location> locations = getLocations();
+		Location oslo = locations.get(0);
+		// New York changes two weeks before Oslo, so the Oslo change that
+		// skips 02:30 becomes the second one
+		oslo.getTimeChanges().add(0,
+				locations.get(1).getTimeChanges().get(0));
+
+		// Act
+		oslo.getUTCOffsetFromLocalTime(new TADDateTime(2021, 3, 28, 2, 30, 0));
+	}
+
+	@Test
+	public void calling_GetUTCOffsetFromLocalTime_AfterChangingTimeChanges_Should_UseNewChanges()
+			throws Exception {
+		// Arrange
+		List<Location> locations = getLocations();
+		Location oslo = locations.get(0);
+		TADDateTime november = new TADDateTime(2021, 11, 1, 12, 0, 0);
+		int before = oslo.getUTCOffsetFromLocalTime(november).getHours();
+
+		// Act
+		// New York turns its clocks back a week after Oslo, so Oslo is still
+		// on summer time on November 1st with its change replaced in place
+		oslo.getTimeChanges().set(1, locations.get(1).getTimeChanges().get(1));
+		int after = oslo.getUTCOffsetFromLocalTime(november).getHours();
+
+		// Assert
+		assertEquals(1, before);
+		assertEquals(2, after);
+	}
+
+	@Test
+	public void calling_ToTicks_Should_MatchEpochArithmetic() {
+		// Arrange
+		LocalDateTime[] times = { LocalDateTime.of(1, 1, 1, 0, 0),
+				LocalDateTime.of(1900, 2, 28, 23, 59, 59),
+				LocalDateTime.of(1970, 1, 1, 0, 0),
+				LocalDateTime.of(2000, 2, 29, 12, 30, 15),
+				LocalDateTime.of(2021, 12, 31, 23, 59, 59),
+				LocalDateTime.of(2100, 3, 1, 0, 0, 1) };
+
+		for (LocalDateTime time : times) {
+			// Act
+			long ticks = DateTimeUtils.ToTicks(new TADDateTime(time.getYear(),
+					time.getMonthValue(), time.getDayOfMonth(), time.getHour(),
+					time.getMinute(), time.getSecond()));
+
+			// Assert
+			assertEquals(time.toString(), DateTimeUtils.TicksAtEpoch
+					+ time.toEpochSecond(ZoneOffset.UTC)
+					* DateTimeUtils.TicksPerSecond, ticks);
+		}
+
+		assertEquals(
+				DateTimeUtils.ToTicks(new TADDateTime(2020, 12, 1)),
+				DateTimeUtils.ToTicks(new TADDateTime(2021, 0, 1)));
+	}
+
+	private static List<Location> getLocations() throws Exception {
+		ConvertTimeService service = new ConvertTimeService("accesskey",
+				"secretkey");
+		return service.convertTime(new LocationId(187), "2021-06-01T12:00:00",
+				Arrays.asList(new LocationId(179))).Locations;
+	}
+}
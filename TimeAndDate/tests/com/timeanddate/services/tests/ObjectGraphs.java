@@ -0,0 +1,62 @@
+package com.timeanddate.services.tests;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+/**
+ * Compares two object graphs field by field, so that results built by
+ * different deserializers can be checked against each other without relying
+ * on the models implementing equals.
+ */
+public final class ObjectGraphs {
+	private ObjectGraphs() {
+	}
+
+	public static void assertSameGraph(Object expected, Object actual) {
+		assertSameGraph("result", expected, actual);
+	}
+
+	private static void assertSameGraph(String path, Object expected,
+			Object actual) {
+		if (expected == null || actual == null) {
+			assertSame(path, expected, actual);
+			return;
+		}
+
+		Class<?> type = expected.getClass();
+		assertEquals(path, type, actual.getClass());
+
+		if (expected instanceof List) {
+			List<?> e = (List<?>) expected;
+			List<?> a = (List<?>) actual;
+			assertEquals(path + ".size()", e.size(), a.size());
+			for (int i = 0; i < e.size(); i++)
+				assertSameGraph(path + "[" + i + "]", e.get(i), a.get(i));
+			return;
+		}
+
+		if (type.isEnum() || type.getName().startsWith("java.")) {
+			assertEquals(path, expected, actual);
+			return;
+		}
+
+		for (Class<?> c = type; c != Object.class; c = c.getSuperclass()) {
+			for (Field field : c.getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers())
+						|| field.isSynthetic())
+					continue;
+
+				field.setAccessible(true);
+				try {
+					assertSameGraph(path + "." + field.getName(),
+							field.get(expected), field.get(actual));
+				} catch (IllegalAccessException e) {
+					throw new AssertionError(e);
+				}
+			}
+		}
+	}
+}
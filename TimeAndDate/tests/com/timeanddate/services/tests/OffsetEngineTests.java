@@ -0,0 +1,151 @@
+package com.timeanddate.services.tests;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.timeanddate.services.ConvertTimeService;
+import com.timeanddate.services.OffsetEngine;
+import com.timeanddate.services.common.ITransport;
+import com.timeanddate.services.common.MissingTimeChangesException;
+import com.timeanddate.services.common.QueriedDateOutOfRangeException;
+import com.timeanddate.services.common.WebClient;
+import com.timeanddate.services.dataTypes.places.LocationId;
+import com.timeanddate.services.dataTypes.time.TADDateTime;
+
+public class OffsetEngineTests {
+	private static final String AccessKey = "accesskey";
+	private static final String SecretKey = "secretkey";
+	private static final LocationId Oslo = new LocationId(187);
+	private static final LocationId NewYork = new LocationId(179);
+
+	private ITransport previousTransport;
+	private AtomicInteger requests;
+
+	@Before
+	public void setUp() {
+		previousTransport = WebClient.getDefaultTransport();
+		FixtureTransport fixtures = new FixtureTransport();
+		requests = new AtomicInteger();
+		WebClient.setDefaultTransport(url -> {
+			requests.incrementAndGet();
+			return fixtures.get(url);
+		});
+	}
+
+	@After
+	public void tearDown() {
+		WebClient.setDefaultTransport(previousTransport);
+	}
+
+	@Test
+	public void calling_GetUTCOffset_AroundTimeChanges_Should_ReturnOffsetInEffect()
+			throws Exception {
+		// Arrange
+		OffsetEngine engine = createEngine(2021, 2021);
+		engine.load(Oslo);
+
+		// Act
+		double winter = engine.getUTCOffset(Oslo,
+				Instant.parse("2021-03-28T00:59:59Z")).TotalSeconds();
+		double atChange = engine.getUTCOffset(Oslo,
+				Instant.parse("2021-03-28T01:00:00Z")).TotalSeconds();
+		double summer = engine.getUTCOffset(Oslo,
+				new TADDateTime(2021, 10, 31, 0, 59, 59)).TotalSeconds();
+		double autumn = engine.getUTCOffset(Oslo,
+				new TADDateTime(2021, 10, 31, 1, 0, 0)).TotalSeconds();
+
+		// Assert
+		assertEquals(3600, winter, 0);
+		assertEquals(7200, atChange, 0);
+		assertEquals(7200, summer, 0);
+		assertEquals(3600, autumn, 0);
+	}
+
+	@Test
+	public void calling_GetUTCOffset_AfterLoad_Should_NotRequest()
+			throws Exception {
+		// Arrange
+		OffsetEngine engine = createEngine(2021, 2022);
+		engine.load(NewYork);
+		int loaded = requests.get();
+
+		// Act
+		for (int day = 1; day <= 365; day++)
+			engine.getOffsetSeconds(NewYork, Instant.parse("2021-01-01T12:00:00Z")
+					.getEpochSecond() + day * 86400L);
+
+		// Assert
+		assertEquals(2, loaded);
+		assertEquals(loaded, requests.get());
+		assertEquals(-18000, engine.getOffsetSeconds(NewYork,
+				Instant.parse("2021-01-01T00:00:00Z").getEpochSecond()));
+		assertEquals(-14400, engine.getOffsetSeconds(NewYork,
+				Instant.parse("2021-07-01T00:00:00Z").getEpochSecond()));
+	}
+
+	@Test
+	public void calling_Restore_WithSavedTables_Should_ResolveWithoutLoading()
+			throws Exception {
+		// Arrange
+		OffsetEngine engine = createEngine(2021, 2021);
+		engine.load(Oslo);
+		engine.load(NewYork);
+		Path file = Files.createTempFile("offsets", ".tsv");
+
+		try {
+			engine.save(file);
+			OffsetEngine restored = createEngine(2021, 2021);
+
+			// Act
+			restored.restore(file);
+
+			// Assert
+			assertTrue(restored.isLoaded(Oslo));
+			for (long second = Instant.parse("2021-01-01T00:00:00Z")
+					.getEpochSecond(); second < Instant.parse(
+					"2022-01-01T00:00:00Z").getEpochSecond(); second += 3600) {
+				assertEquals(engine.getOffsetSeconds(Oslo, second),
+						restored.getOffsetSeconds(Oslo, second));
+				assertEquals(engine.getOffsetSeconds(NewYork, second),
+						restored.getOffsetSeconds(NewYork, second));
+			}
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test(expected = QueriedDateOutOfRangeException.class)
+	public void calling_GetUTCOffset_OutsideLoadedYears_Should_Throw()
+			throws Exception {
+		// Arrange
+		OffsetEngine engine = createEngine(2021, 2021);
+		engine.load(Oslo);
+
+		// Act
+		engine.getUTCOffset(Oslo, Instant.parse("2022-01-01T00:00:00Z"));
+	}
+
+	@Test(expected = MissingTimeChangesException.class)
+	public void calling_GetUTCOffset_ForPlaceNotLoaded_Should_Throw()
+			throws Exception {
+		// Arrange
+		OffsetEngine engine = createEngine(2021, 2021);
+
+		// Act
+		engine.getUTCOffset(Oslo, Instant.parse("2021-06-01T00:00:00Z"));
+	}
+
+	private static OffsetEngine createEngine(int fromYear, int toYear)
+			throws Exception {
+		return new OffsetEngine(new ConvertTimeService(AccessKey, SecretKey),
+				fromYear, toYear);
+	}
+}
@@ -0,0 +1,154 @@
+package com.timeanddate.services.tests;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.timeanddate.services.PlaceIndex;
+import com.timeanddate.services.PlacesService;
+import com.timeanddate.services.common.ITransport;
+import com.timeanddate.services.common.WebClient;
+import com.timeanddate.services.dataTypes.places.Coordinates;
+import com.timeanddate.services.dataTypes.places.LocationId;
+import com.timeanddate.services.dataTypes.places.Place;
+
+public class PlaceIndexTests {
+	private static final String AccessKey = "accesskey";
+	private static final String SecretKey = "secretkey";
+
+	private ITransport previousTransport;
+
+	@Before
+	public void setUp() {
+		previousTransport = WebClient.getDefaultTransport();
+		WebClient.setDefaultTransport(new FixtureTransport());
+	}
+
+	@After
+	public void tearDown() {
+		WebClient.setDefaultTransport(previousTransport);
+	}
+
+	@Test
+	public void calling_GetLocationId_NearRecordedPlace_Should_ReturnPlaceId()
+			throws Exception {
+		// Arrange
+		PlaceIndex index = PlaceIndex.load(new PlacesService(AccessKey,
+				SecretKey));
+		Coordinates nearOslo = new Coordinates(59.95, 10.78);
+
+		// Act
+		LocationId id = index.getLocationId(nearOslo, 50);
+		LocationId none = index.getLocationId(new Coordinates(63.43, 10.39),
+				50);
+
+		// Assert
+		assertEquals(3, index.size());
+		assertEquals("187", id.getId());
+		assertNull(none);
+		assertEquals(1, index.withinRadius(nearOslo, 50).size());
+		assertEquals(2, index.withinRadius(nearOslo, 400).size());
+		assertEquals(192, index.withinRadius(nearOslo, 400).get(1).getId());
+	}
+
+	@Test
+	public void calling_Distance_Should_MatchKnownDistance() {
+		// Arrange
+		Coordinates oslo = new Coordinates(59.913, 10.740);
+		Coordinates newYork = new Coordinates(40.713, -74.006);
+
+		// Act
+		double distance = PlaceIndex.distance(oslo, newYork);
+
+		// Assert
+		assertEquals(5918, distance, 10);
+	}
+
+	@Test
+	public void calling_Nearest_AcrossAntimeridian_Should_FindPlace()
+			throws Exception {
+		// Arrange
+		PlaceIndex index = PlaceIndex.load(createService(new double[][] {
+				{ -17.8, 179.9 }, { -17.8, 170.0 }, { 89.9, 0 } }));
+
+		// Act
+		Place place = index.nearest(new Coordinates(-17.8, -179.9));
+		Place pole = index.nearest(new Coordinates(89.9, 180));
+
+		// Assert
+		assertEquals(1, place.getId());
+		assertEquals(3, pole.getId());
+	}
+
+	@Test
+	public void calling_Nearest_WithRandomPlaces_Should_MatchExhaustiveSearch()
+			throws Exception {
+		// Arrange
+		Random random = new Random(42);
+		double[][] positions = new double[2000][];
+		for (int i = 0; i < positions.length; i++)
+			positions[i] = randomPosition(random);
+		List<Place> places = createService(positions).getPlaces();
+		PlaceIndex index = new PlaceIndex(places);
+
+		// Act & Assert
+		for (int i = 0; i < 500; i++) {
+			double[] position = randomPosition(random);
+			Coordinates target = new Coordinates(position[0], position[1]);
+
+			Place expected = null;
+			double best = Double.POSITIVE_INFINITY;
+			int within = 0;
+			for (Place place : places) {
+				double distance = PlaceIndex.distance(target, place
+						.getGeography().getCoordinates());
+				if (distance < best) {
+					best = distance;
+					expected = place;
+				}
+				if (distance <= 500)
+					within++;
+			}
+
+			assertEquals(expected.getId(), index.nearest(target).getId());
+			assertEquals(within, index.withinRadius(target, 500).size());
+		}
+	}
+
+	private static double[] randomPosition(Random random) {
+		// Uniform over the sphere
+		double latitude = Math.toDegrees(Math.asin(2 * random.nextDouble() - 1));
+		double longitude = 360 * random.nextDouble() - 180;
+		return new double[] { latitude, longitude };
+	}
+
+	/**
+	 * A places service answering with a place at each position, numbered
+	 * from 1.
+	 */
+	private static PlacesService createService(double[][] positions)
+			throws Exception {
+		StringBuilder xml = new StringBuilder(
+				"<?xml version=\"1.0\" encoding=\"UTF-8\"?><data version=\"3\"><places>");
+		for (int i = 0; i < positions.length; i++)
+			xml.append("<place id=\"").append(i + 1)
+					.append("\" urlid=\"test/").append(i + 1)
+					.append("\"><geo><name>Place ").append(i + 1)
+					.append("</name><latitude>").append(positions[i][0])
+					.append("</latitude><longitude>").append(positions[i][1])
+					.append("</longitude></geo></place>");
+		xml.append("</places></data>");
+
+		byte[] response = xml.toString().getBytes(StandardCharsets.UTF_8);
+		WebClient.setDefaultTransport(url -> new ByteArrayInputStream(response));
+
+		return new PlacesService(AccessKey, SecretKey);
+	}
+}
@@ -0,0 +1,140 @@
+package com.timeanddate.services.tests;
+
+import static org.junit.Assert.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.timeanddate.services.BaseService;
+import com.timeanddate.services.HolidaysService;
+import com.timeanddate.services.PlacesService;
+import com.timeanddate.services.common.ITransport;
+import com.timeanddate.services.common.RateLimiter;
+import com.timeanddate.services.common.RequestPriority;
+import com.timeanddate.services.common.WebClient;
+
+public class RateLimiterTests {
+	private static final String AccessKey = "accesskey";
+	private static final String SecretKey = "secretkey";
+
+	private ITransport previousTransport;
+	private RateLimiter previousLimiter;
+
+	@Before
+	public void setUp() {
+		previousTransport = WebClient.getDefaultTransport();
+		previousLimiter = BaseService.getDefaultRateLimiter();
+		WebClient.setDefaultTransport(new FixtureTransport());
+	}
+
+	@After
+	public void tearDown() {
+		WebClient.setDefaultTransport(previousTransport);
+		BaseService.setDefaultRateLimiter(previousLimiter);
+	}
+
+	@Test
+	public void calling_TryAcquire_WithEmptyBucket_Should_ReturnFalse() {
+		// Arrange
+		RateLimiter limiter = new RateLimiter(0.1, 2);
+
+		// Act
+		boolean first = limiter.tryAcquire("holidays");
+		boolean second = limiter.tryAcquire("places");
+		boolean third = limiter.tryAcquire("holidays");
+
+		// Assert
+		assertTrue(first);
+		assertTrue(second);
+		assertFalse(third);
+		assertEquals(2, limiter.getAcquiredCount());
+	}
+
+	@Test
+	public void calling_TryAcquire_WithLimitPerService_Should_UseOwnBucket()
+			throws Exception {
+		// Arrange
+		RateLimiter limiter = new RateLimiter(0.1, 1);
+		limiter.setLimit("places", 0.1, 1);
+
+		// Act
+		boolean holidays = limiter.tryAcquire("holidays");
+		boolean places = limiter.tryAcquire("places");
+		boolean timedOut = limiter.tryAcquire("places",
+				RequestPriority.Interactive, Duration.ofMillis(20));
+
+		// Assert
+		assertTrue(holidays);
+		assertTrue(places);
+		assertFalse(timedOut);
+		assertEquals(0, limiter.getWaitingCount());
+	}
+
+	@Test
+	public void calling_Acquire_WithEmptyBucket_Should_WaitForRefill()
+			throws Exception {
+		// Arrange
+		RateLimiter limiter = new RateLimiter(20, 1);
+		limiter.acquire("holidays", RequestPriority.Interactive);
+
+		// Act
+		long start = System.nanoTime();
+		limiter.acquire("holidays", RequestPriority.Interactive);
+		long elapsed = System.nanoTime() - start;
+
+		// Assert
+		assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(40));
+		assertEquals(1, limiter.getDelayedCount());
+	}
+
+	@Test
+	public void calling_AcquireAsync_WithWaitingRequests_Should_LetInteractiveThroughFirst()
+			throws Exception {
+		// Arrange
+		RateLimiter limiter = new RateLimiter(50, 1);
+		limiter.acquire("holidays", RequestPriority.Interactive);
+		List<String> order = new CopyOnWriteArrayList<String>();
+
+		// Act
+		CompletableFuture<Void> batch = limiter.acquireAsync("holidays",
+				RequestPriority.Batch).thenRun(() -> order.add("batch"));
+		CompletableFuture<Void> cancelled = limiter.acquireAsync("holidays",
+				RequestPriority.Interactive);
+		cancelled.cancel(false);
+		CompletableFuture<Void> interactive = limiter.acquireAsync("holidays",
+				RequestPriority.Interactive).thenRun(
+				() -> order.add("interactive"));
+		CompletableFuture.allOf(batch, interactive).get(5, TimeUnit.SECONDS);
+
+		// Assert
+		assertEquals("interactive", order.get(0));
+		assertEquals("batch", order.get(1));
+		assertEquals(0, limiter.getWaitingCount());
+	}
+
+	@Test
+	public void calling_Services_WithDefaultRateLimiter_Should_ShareBucket()
+			throws Exception {
+		// Arrange
+		RateLimiter limiter = new RateLimiter(1000, 5);
+		BaseService.setDefaultRateLimiter(limiter);
+		HolidaysService holidays = new HolidaysService(AccessKey, SecretKey);
+		PlacesService places = new PlacesService(AccessKey, SecretKey);
+		places.setRequestPriority(RequestPriority.Batch);
+
+		// Act
+		holidays.holidaysForCountry("us", 2021);
+		places.getPlaces();
+		holidays.holidaysForCountry("no", 2021);
+
+		// Assert
+		assertEquals(3, limiter.getAcquiredCount());
+	}
+}
@@ -0,0 +1,193 @@
+package com.timeanddate.services.tests;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.timeanddate.services.HolidaysService;
+import com.timeanddate.services.common.ITransport;
+import com.timeanddate.services.common.RequestCoalescer;
+import com.timeanddate.services.common.ServerSideException;
+import com.timeanddate.services.common.WebClient;
+import com.timeanddate.services.dataTypes.holidays.Holiday;
+
+public class RequestCoalescerTests {
+	private static final String AccessKey = "accesskey";
+	private static final String SecretKey = "secretkey";
+	private static final int Callers = 8;
+
+	private ITransport previousTransport;
+	private ExecutorService executor;
+	private RequestCoalescer coalescer;
+	private AtomicInteger requests;
+
+	@Before
+	public void setUp() {
+		previousTransport = WebClient.getDefaultTransport();
+		executor = Executors.newFixedThreadPool(Callers);
+		coalescer = new RequestCoalescer();
+		useFixtures(new FixtureTransport());
+	}
+
+	@After
+	public void tearDown() {
+		WebClient.setDefaultTransport(previousTransport);
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void calling_Service_Concurrently_WithCoalescer_Should_RequestOnce()
+			throws Exception {
+		// Arrange
+		HolidaysService service = new HolidaysService(AccessKey, SecretKey);
+		service.setRequestCoalescer(coalescer);
+
+		// Act
+		List<Future<List<Holiday>>> results = callConcurrently(() -> service
+				.holidaysForCountry("us", 2021));
+
+		// Assert
+		assertEquals(1, requests.get());
+		assertEquals(1, coalescer.getRequestCount());
+		assertEquals(Callers - 1, coalescer.getCoalescedCount());
+		assertEquals(0, coalescer.getInFlightCount());
+		for (Future<List<Holiday>> result : results)
+			assertSame(results.get(0).get(), result.get());
+	}
+
+	@Test
+	public void calling_Service_Concurrently_WithErrorResponse_Should_ShareException()
+			throws Exception {
+		// Arrange
+		useFixtures(new FixtureTransport("error"));
+		HolidaysService service = new HolidaysService(AccessKey, SecretKey);
+		service.setRequestCoalescer(coalescer);
+
+		// Act
+		List<Future<List<Holiday>>> results = callConcurrently(() -> service
+				.holidaysForCountry("us", 2021));
+
+		// Assert
+		assertEquals(1, requests.get());
+		for (Future<List<Holiday>> result : results) {
+			try {
+				result.get();
+				fail("Expected a ServerSideException");
+			} catch (ExecutionException e) {
+				assertTrue(e.getCause() instanceof ServerSideException);
+				assertEquals("Invalid access key", e.getCause().getMessage());
+			}
+		}
+	}
+
+	@Test
+	public void calling_Services_Concurrently_WithDifferentAccessKeys_Should_NotShareRequest()
+			throws Exception {
+		// Arrange
+		HolidaysService valid = new HolidaysService(AccessKey, SecretKey);
+		HolidaysService invalid = new HolidaysService("otherkey", SecretKey);
+		valid.setRequestCoalescer(coalescer);
+		invalid.setRequestCoalescer(coalescer);
+		CountDownLatch sent = new CountDownLatch(2);
+		FixtureTransport holidays = new FixtureTransport();
+		FixtureTransport error = new FixtureTransport("error");
+		WebClient.setDefaultTransport(url -> {
+			requests.incrementAndGet();
+			sent.countDown();
+			try {
+				sent.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+
+			return url.getQuery().contains("accesskey=otherkey") ? error
+					.get(url) : holidays.get(url);
+		});
+
+		// Act
+		Future<List<Holiday>> first = executor.submit(() -> invalid
+				.holidaysForCountry("us", 2021));
+		Future<List<Holiday>> second = executor.submit(() -> valid
+				.holidaysForCountry("us", 2021));
+
+		// Assert
+		assertFalse(second.get().isEmpty());
+		try {
+			first.get();
+			fail("Expected a ServerSideException");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof ServerSideException);
+		}
+		assertEquals(2, requests.get());
+		assertEquals(0, coalescer.getCoalescedCount());
+	}
+
+	@Test
+	public void calling_Service_Sequentially_WithCoalescer_Should_RequestEveryTime()
+			throws Exception {
+		// Arrange
+		HolidaysService service = new HolidaysService(AccessKey, SecretKey);
+		service.setRequestCoalescer(coalescer);
+
+		// Act
+		service.holidaysForCountry("us", 2021);
+		service.holidaysForCountry("us", 2021);
+		service.holidaysForCountry("no", 2021);
+
+		// Assert
+		assertEquals(3, requests.get());
+		assertEquals(0, coalescer.getCoalescedCount());
+	}
+
+	/**
+	 * Starts a call on every thread. The response is held back until all but
+	 * the first caller are waiting for the request in flight.
+	 */
+	private <T> List<Future<T>> callConcurrently(Callable<T> call)
+			throws Exception {
+		ITransport transport = WebClient.getDefaultTransport();
+		WebClient.setDefaultTransport(url -> {
+			long deadline = System.nanoTime() + 5000000000L;
+			while (coalescer.getCoalescedCount() < Callers - 1
+					&& System.nanoTime() < deadline)
+				Thread.yield();
+
+			return transport.get(url);
+		});
+
+		List<Future<T>> results = new ArrayList<Future<T>>();
+		for (int i = 0; i < Callers; i++)
+			results.add(executor.submit(call));
+
+		for (Future<T> result : results) {
+			try {
+				result.get();
+			} catch (ExecutionException e) {
+				// Checked by the test
+			}
+		}
+
+		return results;
+	}
+
+	private void useFixtures(FixtureTransport fixtures) {
+		requests = new AtomicInteger();
+		WebClient.setDefaultTransport(url -> {
+			requests.incrementAndGet();
+			return fixtures.get(url);
+		});
+	}
+}
@@ -0,0 +1,199 @@
+package com.timeanddate.services.tests;
+
+import static org.junit.Assert.*;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.timeanddate.services.BaseService;
+import com.timeanddate.services.HolidaysService;
+import com.timeanddate.services.PlacesService;
+import com.timeanddate.services.common.ITransport;
+import com.timeanddate.services.common.ResponseCache;
+import com.timeanddate.services.common.ServerSideException;
+import com.timeanddate.services.common.WebClient;
+import com.timeanddate.services.dataTypes.places.Place;
+
+public class ResponseCacheTests {
+	private static final String AccessKey = "accesskey";
+	private static final String SecretKey = "secretkey";
+
+	private ITransport previousTransport;
+	private ResponseCache previousCache;
+	private AtomicInteger requests;
+
+	@Before
+	public void setUp() {
+		previousTransport = WebClient.getDefaultTransport();
+		previousCache = BaseService.getDefaultResponseCache();
+		useFixtures(new FixtureTransport());
+	}
+
+	@After
+	public void tearDown() {
+		WebClient.setDefaultTransport(previousTransport);
+		BaseService.setDefaultResponseCache(previousCache);
+	}
+
+	@Test
+	public void calling_Service_Repeatedly_WithCache_Should_RequestOnce()
+			throws Exception {
+		// Arrange
+		ResponseCache cache = new ResponseCache();
+		PlacesService service = new PlacesService(AccessKey, SecretKey);
+		service.setResponseCache(cache);
+
+		// Act
+		List<Place> first = service.getPlaces();
+		List<Place> second = service.getPlaces();
+
+		// Assert
+		assertEquals(1, requests.get());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.getHitCount());
+		ObjectGraphs.assertSameGraph(first, second);
+	}
+
+	@Test
+	public void calling_Services_WithDifferentEntryPoints_Should_NotShareResponses()
+			throws Exception {
+		// Arrange
+		ResponseCache cache = new ResponseCache();
+		BaseService.setDefaultResponseCache(cache);
+		PlacesService production = new PlacesService(AccessKey, SecretKey);
+		PlacesService replay = new PlacesService(AccessKey, SecretKey);
+		replay.setEntryPoint("http://127.0.0.1:8080/");
+
+		// Act
+		production.getPlaces();
+		replay.getPlaces();
+		production.getPlaces();
+		replay.getPlaces();
+
+		// Assert
+		assertEquals(2, requests.get());
+		assertEquals(2, cache.getMissCount());
+		assertEquals(2, cache.getHitCount());
+		assertNotEquals(ResponseCache.createKey("https://api.xmltime.com/",
+				"places", new HashMap<String, String>()), ResponseCache
+				.createKey("http://127.0.0.1:8080/", "places",
+						new HashMap<String, String>()));
+	}
+
+	@Test
+	public void calling_Service_WithoutCache_Should_RequestEveryTime()
+			throws Exception {
+		// Arrange
+		PlacesService service = new PlacesService(AccessKey, SecretKey);
+
+		// Act
+		service.getPlaces();
+		service.getPlaces();
+
+		// Assert
+		assertEquals(2, requests.get());
+	}
+
+	@Test
+	public void calling_CreateKey_Should_IgnoreAuthenticationAndArgumentOrder() {
+		// Arrange
+		Map<String, String> first = new HashMap<String, String>();
+		first.put("country", "us");
+		first.put("year", "2021");
+		first.put("accesskey", "a");
+		first.put("timestamp", "2021-01-01T00:00:00Z");
+		first.put("signature", "x");
+		Map<String, String> second = new HashMap<String, String>();
+		second.put("year", "2021");
+		second.put("country", "us");
+		second.put("accesskey", "b");
+
+		// Act
+		String firstKey = ResponseCache.createKey("holidays", first);
+		String secondKey = ResponseCache.createKey("holidays", second);
+
+		// Assert
+		assertEquals("holidays?country=us&year=2021", firstKey);
+		assertEquals(firstKey, secondKey);
+	}
+
+	@Test
+	public void calling_Service_WithFullCache_Should_EvictLeastRecentlyUsed()
+			throws Exception {
+		// Arrange
+		ResponseCache cache = new ResponseCache(2);
+		BaseService.setDefaultResponseCache(cache);
+		HolidaysService service = new HolidaysService(AccessKey, SecretKey);
+
+		// Act
+		service.holidaysForCountry("us", 2021);
+		service.holidaysForCountry("no", 2021);
+		service.holidaysForCountry("us", 2021);
+		service.holidaysForCountry("se", 2021);
+		service.holidaysForCountry("us", 2021);
+		service.holidaysForCountry("no", 2021);
+
+		// Assert
+		assertEquals(4, requests.get());
+		assertEquals(2, cache.getEvictionCount());
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	public void calling_Service_AfterTimeToLive_Should_RequestAgain()
+			throws Exception {
+		// Arrange
+		ResponseCache cache = new ResponseCache();
+		cache.setTimeToLive("places", Duration.ofMillis(50));
+		PlacesService service = new PlacesService(AccessKey, SecretKey);
+		service.setResponseCache(cache);
+
+		// Act
+		service.getPlaces();
+		Thread.sleep(100);
+		service.getPlaces();
+
+		// Assert
+		assertEquals(2, requests.get());
+		assertEquals(0, cache.getHitCount());
+	}
+
+	@Test
+	public void calling_Service_WithErrorResponse_Should_NotCacheResponse()
+			throws Exception {
+		// Arrange
+		useFixtures(new FixtureTransport("error"));
+		ResponseCache cache = new ResponseCache();
+		PlacesService service = new PlacesService(AccessKey, SecretKey);
+		service.setResponseCache(cache);
+
+		// Act
+		for (int i = 0; i < 2; i++) {
+			try {
+				service.getPlaces();
+				fail("Expected a ServerSideException");
+			} catch (ServerSideException e) {
+				assertEquals("Invalid access key", e.getMessage());
+			}
+		}
+
+		// Assert
+		assertEquals(2, requests.get());
+		assertEquals(0, cache.size());
+	}
+
+	private void useFixtures(FixtureTransport fixtures) {
+		requests = new AtomicInteger();
+		WebClient.setDefaultTransport(url -> {
+			requests.incrementAndGet();
+			return fixtures.get(url);
+		});
+	}
+}
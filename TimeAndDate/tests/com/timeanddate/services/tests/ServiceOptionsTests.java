@@ -0,0 +1,205 @@
+package com.timeanddate.services.tests;
+
+import static org.junit.Assert.*;
+
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.timeanddate.services.HolidaysService;
+import com.timeanddate.services.HolidaysServiceOptions;
+import com.timeanddate.services.TimeService;
+import com.timeanddate.services.TimeServiceOptions;
+import com.timeanddate.services.common.ITransport;
+import com.timeanddate.services.common.WebClient;
+import com.timeanddate.services.dataTypes.holidays.HolidayType;
+import com.timeanddate.services.dataTypes.places.LocationId;
+
+public class ServiceOptionsTests {
+	private static final String AccessKey = "accesskey";
+	private static final String SecretKey = "secretkey";
+	private static final int Threads = 8;
+	private static final int CallsPerThread = 50;
+
+	private ITransport previousTransport;
+	private List<Map<String, String>> requests;
+
+	@Before
+	public void setUp() {
+		previousTransport = WebClient.getDefaultTransport();
+		requests = Collections.synchronizedList(new ArrayList<Map<String, String>>());
+		FixtureTransport fixtures = new FixtureTransport();
+		WebClient.setDefaultTransport(url -> {
+			requests.add(parseQuery(url));
+			return fixtures.get(url);
+		});
+	}
+
+	@After
+	public void tearDown() {
+		WebClient.setDefaultTransport(previousTransport);
+	}
+
+	@Test
+	public void calling_Service_WithOptions_Should_UseOptionsForThatCallOnly()
+			throws Exception {
+		// Arrange
+		TimeService service = new TimeService(AccessKey, SecretKey);
+		TimeServiceOptions options = new TimeServiceOptions.Builder()
+				.setIncludeSunriseAndSunset(false).setRadius(25)
+				.setLanguage("de").build();
+
+		// Act
+		service.currentTimeForPlace(new LocationId(187), options);
+		service.currentTimeForPlace(new LocationId(187));
+
+		// Assert
+		Map<String, String> withOptions = requests.get(0);
+		Map<String, String> withoutOptions = requests.get(1);
+
+		assertEquals("0", withOptions.get("sun"));
+		assertEquals("25", withOptions.get("radius"));
+		assertEquals("de", withOptions.get("lang"));
+		assertEquals("1", withoutOptions.get("sun"));
+		assertEquals("0", withoutOptions.get("radius"));
+		assertEquals("en", withoutOptions.get("lang"));
+		assertTrue(service.getIncludeSunriseAndSunset());
+	}
+
+	@Test
+	public void calling_Builder_AfterBuild_Should_NotChangeBuiltOptions() {
+		// Arrange
+		HolidaysServiceOptions.Builder builder = new HolidaysServiceOptions.Builder()
+				.addHolidayType(HolidayType.FEDERAL);
+		HolidaysServiceOptions options = builder.build();
+
+		// Act
+		builder.addHolidayType(HolidayType.LOCAL);
+		options.getHolidayTypes().add(HolidayType.CHRISTIAN);
+
+		// Assert
+		assertEquals(EnumSet.of(HolidayType.FEDERAL), options.getHolidayTypes());
+		assertEquals(EnumSet.of(HolidayType.FEDERAL, HolidayType.LOCAL),
+				builder.build().getHolidayTypes());
+	}
+
+	@Test
+	public void calling_SharedService_Concurrently_WithOptions_Should_SendEachCallsOwnOptions()
+			throws Exception {
+		// Arrange
+		TimeService service = new TimeService(AccessKey, SecretKey);
+		LocationId placeId = new LocationId(187);
+
+		// Act
+		runConcurrently(thread -> {
+			TimeServiceOptions options = new TimeServiceOptions.Builder()
+					.setRadius(thread).build();
+			for (int i = 0; i < CallsPerThread; i++)
+				assertEquals(1, service.currentTimeForPlace(placeId, options).size());
+		});
+
+		// Assert
+		int[] callsPerRadius = new int[Threads];
+		for (Map<String, String> request : requests)
+			callsPerRadius[Integer.parseInt(request.get("radius"))]++;
+
+		for (int thread = 0; thread < Threads; thread++)
+			assertEquals(CallsPerThread, callsPerRadius[thread]);
+	}
+
+	@Test
+	public void calling_SharedService_WhileOptionsChange_Should_NeverSendHalfUpdatedOptions()
+			throws Exception {
+		// Arrange
+		TimeService service = new TimeService(AccessKey, SecretKey);
+		TimeServiceOptions on = new TimeServiceOptions.Builder().build();
+		TimeServiceOptions off = on.toBuilder().setIncludeCoordinates(false)
+				.setIncludeSunriseAndSunset(false).build();
+		LocationId placeId = new LocationId(187);
+
+		// Act
+		runConcurrently(thread -> {
+			for (int i = 0; i < CallsPerThread; i++) {
+				if (thread % 2 == 0)
+					service.setOptions(i % 2 == 0 ? off : on);
+				else
+					service.currentTimeForPlace(placeId);
+			}
+		});
+
+		// Assert
+		assertFalse(requests.isEmpty());
+		for (Map<String, String> request : requests)
+			assertEquals(request.get("geo"), request.get("sun"));
+	}
+
+	@Test
+	public void calling_Setters_Concurrently_Should_KeepEveryUpdate()
+			throws Exception {
+		// Arrange
+		HolidaysService service = new HolidaysService(AccessKey, SecretKey);
+		HolidayType[] types = HolidayType.values();
+
+		// Act
+		runConcurrently(thread -> {
+			for (int i = thread; i < types.length; i += Threads)
+				service.addHolidayType(types[i]);
+		});
+
+		// Assert
+		assertEquals(EnumSet.allOf(HolidayType.class), service.getHolidayTypes());
+	}
+
+	private interface ThreadBody {
+		void run(int thread) throws Exception;
+	}
+
+	private static void runConcurrently(ThreadBody body) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(Threads);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Void>> futures = new ArrayList<Future<Void>>();
+
+		try {
+			for (int thread = 0; thread < Threads; thread++) {
+				int current = thread;
+				futures.add(executor.submit(() -> {
+					start.await();
+					body.run(current);
+					return null;
+				}));
+			}
+
+			start.countDown();
+			for (Future<Void> future : futures)
+				future.get(30, TimeUnit.SECONDS);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static Map<String, String> parseQuery(URL url) {
+		Map<String, String> query = new HashMap<String, String>();
+		for (String pair : url.getQuery().split("&")) {
+			int separator = pair.indexOf('=');
+			query.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+					URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+		}
+
+		return query;
+	}
+}
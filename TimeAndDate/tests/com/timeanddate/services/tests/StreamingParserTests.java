@@ -0,0 +1,271 @@
+package com.timeanddate.services.tests;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.timeanddate.services.AstronomyService;
+import com.timeanddate.services.BusinessDateService;
+import com.timeanddate.services.BusinessDates;
+import com.timeanddate.services.BusinessDuration;
+import com.timeanddate.services.BusinessDurationService;
+import com.timeanddate.services.ConvertTimeService;
+import com.timeanddate.services.ConvertedTimes;
+import com.timeanddate.services.DSTService;
+import com.timeanddate.services.DialCodeService;
+import com.timeanddate.services.DialCodes;
+import com.timeanddate.services.HolidaysService;
+import com.timeanddate.services.OnThisDayEvents;
+import com.timeanddate.services.OnThisDayService;
+import com.timeanddate.services.PlacesService;
+import com.timeanddate.services.TidesService;
+import com.timeanddate.services.TimeService;
+import com.timeanddate.services.common.ITransport;
+import com.timeanddate.services.common.ServerSideException;
+import com.timeanddate.services.common.WebClient;
+import com.timeanddate.services.common.XmlUtils;
+import com.timeanddate.services.dataTypes.astro.AstronomyLocation;
+import com.timeanddate.services.dataTypes.astro.AstronomyObjectType;
+import com.timeanddate.services.dataTypes.dst.DST;
+import com.timeanddate.services.dataTypes.holidays.Holiday;
+import com.timeanddate.services.dataTypes.places.Location;
+import com.timeanddate.services.dataTypes.places.LocationId;
+import com.timeanddate.services.dataTypes.places.Place;
+import com.timeanddate.services.dataTypes.tides.Station;
+import com.timeanddate.services.dataTypes.time.TADDateTime;
+
+public class StreamingParserTests {
+	private static final String AccessKey = "accesskey";
+	private static final String SecretKey = "secretkey";
+
+	private ITransport previousTransport;
+	private boolean previousStreaming;
+
+	@Before
+	public void setUp() {
+		previousTransport = WebClient.getDefaultTransport();
+		previousStreaming = XmlUtils.getUseStreamingParser();
+		WebClient.setDefaultTransport(new FixtureTransport());
+	}
+
+	@After
+	public void tearDown() {
+		WebClient.setDefaultTransport(previousTransport);
+		XmlUtils.setUseStreamingParser(previousStreaming);
+	}
+
+	@Test
+	public void calling_TimeService_WithStreamingParser_Should_MatchDom()
+			throws Exception {
+		// Arrange
+		TimeService service = new TimeService(AccessKey, SecretKey);
+		LocationId placeId = new LocationId(187);
+
+		// Act
+		List<Location> dom = withStreaming(false, () -> service.currentTimeForPlace(placeId));
+		List<Location> stax = withStreaming(true, () -> service.currentTimeForPlace(placeId));
+
+		// Assert
+		assertEquals(1, dom.size());
+		assertEquals(2, dom.get(0).getTimeChanges().size());
+		ObjectGraphs.assertSameGraph(dom, stax);
+	}
+
+	@Test
+	public void calling_ConvertTimeService_WithStreamingParser_Should_MatchDom()
+			throws Exception {
+		// Arrange
+		ConvertTimeService service = new ConvertTimeService(AccessKey, SecretKey);
+		LocationId fromId = new LocationId(187);
+
+		// Act
+		ConvertedTimes dom = withStreaming(false, () -> service.convertTime(fromId, "2021-06-01T12:00:00"));
+		ConvertedTimes stax = withStreaming(true, () -> service.convertTime(fromId, "2021-06-01T12:00:00"));
+
+		// Assert
+		assertNotNull(dom.Utc);
+		assertEquals(2, dom.Locations.size());
+		ObjectGraphs.assertSameGraph(dom, stax);
+	}
+
+	@Test
+	public void calling_HolidaysService_WithStreamingParser_Should_MatchDom()
+			throws Exception {
+		// Arrange
+		HolidaysService service = new HolidaysService(AccessKey, SecretKey);
+
+		// Act
+		List<Holiday> dom = withStreaming(false, () -> service.holidaysForCountry("us", 2021));
+		List<Holiday> stax = withStreaming(true, () -> service.holidaysForCountry("us", 2021));
+
+		// Assert
+		assertEquals(4, dom.size());
+		assertEquals(2, dom.get(2).getStates().size());
+		ObjectGraphs.assertSameGraph(dom, stax);
+	}
+
+	@Test
+	public void calling_AstronomyService_WithStreamingParser_Should_MatchDom()
+			throws Exception {
+		// Arrange
+		AstronomyService service = new AstronomyService(AccessKey, SecretKey);
+		LocationId placeId = new LocationId(187);
+		TADDateTime start = new TADDateTime(2021, 6, 1);
+		TADDateTime end = new TADDateTime(2021, 6, 2);
+
+		// Act
+		List<AstronomyLocation> dom = withStreaming(false,
+				() -> service.getAstronomicalInfo(AstronomyObjectType.Sun, placeId, start, end));
+		List<AstronomyLocation> stax = withStreaming(true,
+				() -> service.getAstronomicalInfo(AstronomyObjectType.Sun, placeId, start, end));
+
+		// Assert
+		assertEquals(2, dom.get(0).getObjects().get(0).getDays().size());
+		ObjectGraphs.assertSameGraph(dom, stax);
+	}
+
+	@Test
+	public void calling_DSTService_WithStreamingParser_Should_MatchDom()
+			throws Exception {
+		// Arrange
+		DSTService service = new DSTService(AccessKey, SecretKey);
+
+		// Act
+		List<DST> dom = withStreaming(false, () -> service.getDaylightSavingTime(2021));
+		List<DST> stax = withStreaming(true, () -> service.getDaylightSavingTime(2021));
+
+		// Assert
+		assertEquals(3, dom.size());
+		ObjectGraphs.assertSameGraph(dom, stax);
+	}
+
+	@Test
+	public void calling_DialCodeService_WithStreamingParser_Should_MatchDom()
+			throws Exception {
+		// Arrange
+		DialCodeService service = new DialCodeService(AccessKey, SecretKey);
+		LocationId to = new LocationId(187);
+		LocationId from = new LocationId(179);
+
+		// Act
+		DialCodes dom = withStreaming(false, () -> service.getDialCode(to, from));
+		DialCodes stax = withStreaming(true, () -> service.getDialCode(to, from));
+
+		// Assert
+		assertEquals("011 47 12345678", dom.Number);
+		assertEquals(3, dom.Compositions.size());
+		assertEquals(2, dom.Locations.size());
+		ObjectGraphs.assertSameGraph(dom, stax);
+	}
+
+	@Test
+	public void calling_PlacesService_WithStreamingParser_Should_MatchDom()
+			throws Exception {
+		// Arrange
+		PlacesService service = new PlacesService(AccessKey, SecretKey);
+
+		// Act
+		List<Place> dom = withStreaming(false, () -> service.getPlaces());
+		List<Place> stax = withStreaming(true, () -> service.getPlaces());
+
+		// Assert
+		assertEquals(3, dom.size());
+		ObjectGraphs.assertSameGraph(dom, stax);
+	}
+
+	@Test
+	public void calling_TidesService_WithStreamingParser_Should_MatchDom()
+			throws Exception {
+		// Arrange
+		TidesService service = new TidesService(AccessKey, SecretKey);
+		LocationId placeId = new LocationId("norway/oslo");
+
+		// Act
+		List<Station> dom = withStreaming(false, () -> service.getTidalData(placeId));
+		List<Station> stax = withStreaming(true, () -> service.getTidalData(placeId));
+
+		// Assert
+		assertEquals(4, dom.get(0).getResult().size());
+		ObjectGraphs.assertSameGraph(dom, stax);
+	}
+
+	@Test
+	public void calling_BusinessDateService_WithStreamingParser_Should_MatchDom()
+			throws Exception {
+		// Arrange
+		BusinessDateService service = new BusinessDateService(AccessKey, SecretKey);
+		LocationId placeId = new LocationId("no");
+		TADDateTime start = new TADDateTime(2021, 12, 20);
+
+		// Act
+		BusinessDates dom = withStreaming(false, () -> service.addDays(start, 5, placeId));
+		BusinessDates stax = withStreaming(true, () -> service.addDays(start, 5, placeId));
+
+		// Assert
+		assertEquals(2, dom.Periods.get(0).getHolidays().getHolidays().size());
+		ObjectGraphs.assertSameGraph(dom, stax);
+	}
+
+	@Test
+	public void calling_BusinessDurationService_WithStreamingParser_Should_MatchDom()
+			throws Exception {
+		// Arrange
+		BusinessDurationService service = new BusinessDurationService(AccessKey, SecretKey);
+		LocationId placeId = new LocationId("no");
+		TADDateTime start = new TADDateTime(2021, 12, 20);
+		TADDateTime end = new TADDateTime(2022, 1, 3);
+
+		// Act
+		BusinessDuration dom = withStreaming(false, () -> service.getDuration(start, end, placeId));
+		BusinessDuration stax = withStreaming(true, () -> service.getDuration(start, end, placeId));
+
+		// Assert
+		assertEquals(8, dom.Period.getIncludedDays());
+		ObjectGraphs.assertSameGraph(dom, stax);
+	}
+
+	@Test
+	public void calling_OnThisDayService_WithStreamingParser_Should_MatchDom()
+			throws Exception {
+		// Arrange
+		OnThisDayService service = new OnThisDayService(AccessKey, SecretKey);
+
+		// Act
+		OnThisDayEvents dom = withStreaming(false, () -> service.eventsOnThisDay(6, 7));
+		OnThisDayEvents stax = withStreaming(true, () -> service.eventsOnThisDay(6, 7));
+
+		// Assert
+		assertEquals(2, dom.Events.size());
+		assertEquals(1, dom.Births.size());
+		assertEquals(1, dom.Deaths.size());
+		ObjectGraphs.assertSameGraph(dom, stax);
+	}
+
+	@Test
+	public void calling_Service_WithStreamingParser_And_ErrorResponse_Should_ThrowServerSideException()
+			throws Exception {
+		// Arrange
+		WebClient.setDefaultTransport(new FixtureTransport("error"));
+		PlacesService service = new PlacesService(AccessKey, SecretKey);
+
+		// Act
+		try {
+			withStreaming(true, () -> service.getPlaces());
+			fail("Expected a ServerSideException");
+		} catch (ServerSideException e) {
+			// Assert
+			assertEquals("Invalid access key", e.getMessage());
+		}
+	}
+
+	private static <T> T withStreaming(boolean streaming, Callable<T> request)
+			throws Exception {
+		XmlUtils.setUseStreamingParser(streaming);
+		return request.call();
+	}
+}
@@ -0,0 +1,56 @@
+package com.timeanddate.services.tests;
+
+import static org.junit.Assert.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import org.junit.Test;
+
+import com.timeanddate.services.common.DateTimeUtils;
+import com.timeanddate.services.dataTypes.time.TADDateTime;
+
+public class TADDateTimeTests {
+	@Test
+	public void calling_GetTimeInTicks_Should_IncludeSeconds() {
+		// Arrange
+		TADDateTime time = new TADDateTime(2021, 6, 1, 12, 30, 45);
+		long expected = DateTimeUtils.TicksAtEpoch
+				+ LocalDateTime.of(2021, 6, 1, 12, 30, 45).toEpochSecond(
+						ZoneOffset.UTC) * DateTimeUtils.TicksPerSecond;
+
+		// Act
+		long ticks = time.getTimeInTicks();
+
+		// Assert
+		assertEquals(expected, ticks);
+		assertEquals(expected - 45 * DateTimeUtils.TicksPerSecond,
+				DateTimeUtils.ToMinuteTicks(time));
+	}
+
+	@Test
+	public void calling_GetTimeInTicks_WithIsoString_Should_MatchFields() {
+		// Arrange
+		TADDateTime parsed = new TADDateTime("2021-03-28T02:30:15");
+		TADDateTime fields = new TADDateTime(2021, 3, 28, 2, 30, 15);
+
+		// Act & Assert
+		assertEquals(fields.getTimeInTicks(), parsed.getTimeInTicks());
+	}
+
+	@Test
+	public void calling_SetOffset_Should_NotChangeDateOrTime() {
+		// Arrange
+		TADDateTime time = new TADDateTime(2021, 6, 1, 12, 30, 0);
+		long ticks = time.getTimeInTicks();
+
+		// Act
+		time.setOffset(2 * 60 * 60 * 1000);
+		time.setOffset(5, 45);
+
+		// Assert
+		assertEquals(12, time.getHour());
+		assertEquals(30, time.getMinute());
+		assertEquals(ticks, time.getTimeInTicks());
+	}
+}
@@ -0,0 +1,222 @@
+package com.timeanddate.services.tests;
+
+import static org.junit.Assert.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.timeanddate.services.ConvertTimeService;
+import com.timeanddate.services.ConvertTimeServiceOptions;
+import com.timeanddate.services.ConvertedTimes;
+import com.timeanddate.services.TimeChangeCache;
+import com.timeanddate.services.common.ITransport;
+import com.timeanddate.services.common.LocalTimeDoesNotExistException;
+import com.timeanddate.services.common.QueriedDateOutOfRangeException;
+import com.timeanddate.services.common.ReturnFormat;
+import com.timeanddate.services.common.WebClient;
+import com.timeanddate.services.dataTypes.places.LocationId;
+import com.timeanddate.services.dataTypes.time.TADDateTime;
+
+public class TimeChangeCacheTests {
+	private static final String AccessKey = "accesskey";
+	private static final String SecretKey = "secretkey";
+	private static final LocationId Oslo = new LocationId(187);
+	private static final LocationId NewYork = new LocationId(179);
+	private static final String RecordedTime = "2021-06-01T12:00:00";
+	private static final DateTimeFormatter Iso = DateTimeFormatter
+			.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+	private ITransport previousTransport;
+	private AtomicInteger requests;
+
+	@Before
+	public void setUp() {
+		previousTransport = WebClient.getDefaultTransport();
+		FixtureTransport fixtures = new FixtureTransport();
+		requests = new AtomicInteger();
+		WebClient.setDefaultTransport(url -> {
+			requests.incrementAndGet();
+			return fixtures.get(url);
+		});
+	}
+
+	@After
+	public void tearDown() {
+		WebClient.setDefaultTransport(previousTransport);
+	}
+
+	@Test
+	public void calling_ConvertTime_WithRecordedLocations_Should_MatchRecordedXmlResponse()
+			throws Exception {
+		assertLocalResultMatchesResponse(ReturnFormat.XML);
+	}
+
+	@Test
+	public void calling_ConvertTime_WithRecordedLocations_Should_MatchRecordedJsonResponse()
+			throws Exception {
+		assertLocalResultMatchesResponse(ReturnFormat.JSON);
+	}
+
+	@Test
+	public void calling_ConvertTime_ThroughoutRecordedYear_Should_MatchTimeZoneRules()
+			throws Exception {
+		// Arrange
+		TimeChangeCache cache = createRecordedCache();
+		ConvertTimeServiceOptions options = new ConvertTimeServiceOptions.Builder()
+				.setIncludeTimezoneInformation(false).build();
+		ZoneId oslo = ZoneId.of("Europe/Oslo");
+		ZoneId newYork = ZoneId.of("America/New_York");
+		int skipped = 0;
+
+		// Act & Assert
+		for (LocalDateTime local = LocalDateTime.of(2021, 1, 1, 0, 0); local
+				.getYear() == 2021; local = local.plusMinutes(30)) {
+			TADDateTime localTime = new TADDateTime(local.getYear(),
+					local.getMonthValue(), local.getDayOfMonth(),
+					local.getHour(), local.getMinute(), 0);
+
+			if (oslo.getRules().getValidOffsets(local).isEmpty()) {
+				try {
+					cache.convertTime(Oslo, localTime, Arrays.asList(NewYork),
+							options);
+					fail("Expected a LocalTimeDoesNotExistException for "
+							+ local);
+				} catch (LocalTimeDoesNotExistException e) {
+					skipped++;
+				}
+				continue;
+			}
+
+			ZonedDateTime utc = ZonedDateTime.of(local, oslo).withZoneSameInstant(
+					ZoneOffset.UTC);
+			ZonedDateTime there = utc.withZoneSameInstant(newYork);
+
+			ConvertedTimes times;
+			try {
+				times = cache.convertTime(Oslo, localTime,
+						Arrays.asList(NewYork), options);
+			} catch (QueriedDateOutOfRangeException e) {
+				assertNotEquals(local.toString(), 2021, there.getYear());
+				continue;
+			}
+
+			assertEquals(local.toString(), utc.format(Iso), times.Utc.getISO());
+			assertEquals(2, times.Locations.size());
+			assertEquals(ZonedDateTime.of(local, oslo).format(Iso)
+					+ suffix(ZonedDateTime.of(local, oslo)), times.Locations
+					.get(0).getTime().getISO());
+			assertEquals(local.toString(),
+					there.format(Iso) + suffix(there), times.Locations.get(1)
+							.getTime().getISO());
+			assertEquals(2, times.Locations.get(1).getTimeChanges().size());
+		}
+
+		assertEquals(2, skipped);
+	}
+
+	@Test
+	public void calling_ConvertTime_WithSkippedLocalTime_Should_RequestService()
+			throws Exception {
+		// Arrange
+		ConvertTimeService service = createRecordedService();
+
+		// Act
+		service.convertTime(Oslo, "2021-03-28T02:30:00", Arrays.asList(NewYork));
+
+		// Assert
+		assertEquals(2, requests.get());
+	}
+
+	@Test
+	public void calling_ConvertTime_OutsideRecordedYearOrWithOffset_Should_RequestService()
+			throws Exception {
+		// Arrange
+		ConvertTimeService service = createRecordedService();
+
+		// Act
+		service.convertTime(Oslo, "2022-06-01T12:00:00", Arrays.asList(NewYork));
+		service.convertTime(Oslo, "2021-06-01T12:00:00+02:00",
+				Arrays.asList(NewYork));
+
+		// Assert
+		assertEquals(3, requests.get());
+	}
+
+	@Test
+	public void calling_ConvertTime_WithUnrecordedTimeZoneAtUtc_Should_RequestService()
+			throws Exception {
+		// Arrange
+		FixtureTransport london = new FixtureTransport("converttime-london");
+		WebClient.setDefaultTransport(url -> {
+			requests.incrementAndGet();
+			return london.get(url);
+		});
+		LocationId londonId = new LocationId(136);
+		ConvertTimeService service = new ConvertTimeService(AccessKey,
+				SecretKey);
+		service.setTimeChangeCache(new TimeChangeCache());
+		service.convertTime(londonId, RecordedTime);
+		ConvertTimeServiceOptions options = new ConvertTimeServiceOptions.Builder()
+				.setIncludeTimezoneInformation(false).build();
+
+		// Act
+		service.convertTime(londonId, "2021-12-01T12:00:00");
+		ConvertedTimes withoutZone = service.getTimeChangeCache().convertTime(
+				londonId, new TADDateTime(2021, 12, 1, 12, 0, 0), null,
+				options);
+
+		// Assert
+		assertEquals(2, requests.get());
+		assertEquals("2021-12-01T12:00:00", withoutZone.Utc.getISO());
+		assertEquals("2021-12-01T12:00:00", withoutZone.Locations.get(0)
+				.getTime().getISO());
+	}
+
+	private void assertLocalResultMatchesResponse(ReturnFormat format)
+			throws Exception {
+		// Arrange
+		ConvertTimeService service = new ConvertTimeService(AccessKey,
+				SecretKey);
+		service.setReturnFormat(format);
+		service.setTimeChangeCache(new TimeChangeCache());
+		List<LocationId> toIds = Arrays.asList(NewYork);
+		ConvertedTimes recorded = service.convertTime(Oslo, RecordedTime, toIds);
+
+		// Act
+		ConvertedTimes local = service.convertTime(Oslo, RecordedTime, toIds);
+
+		// Assert
+		assertEquals(1, requests.get());
+		assertNotSame(recorded, local);
+		ObjectGraphs.assertSameGraph(recorded, local);
+	}
+
+	private ConvertTimeService createRecordedService() throws Exception {
+		ConvertTimeService service = new ConvertTimeService(AccessKey,
+				SecretKey);
+		service.setTimeChangeCache(new TimeChangeCache());
+		service.convertTime(Oslo, RecordedTime, Arrays.asList(NewYork));
+		assertEquals(1, requests.get());
+
+		return service;
+	}
+
+	private TimeChangeCache createRecordedCache() throws Exception {
+		return createRecordedService().getTimeChangeCache();
+	}
+
+	private static String suffix(ZonedDateTime time) {
+		int seconds = time.getOffset().getTotalSeconds();
+		return seconds == 0 ? "" : time.getOffset().getId();
+	}
+}
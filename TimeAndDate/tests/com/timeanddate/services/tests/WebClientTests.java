@@ -0,0 +1,76 @@
+package com.timeanddate.services.tests;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpServer;
+import com.timeanddate.services.common.HttpClientTransport;
+import com.timeanddate.services.common.WebClient;
+
+public class WebClientTests {
+	private HttpServer server;
+	private Set<Integer> remotePorts;
+
+	@Before
+	public void setUp() throws IOException {
+		remotePorts = ConcurrentHashMap.newKeySet();
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/timeservice", exchange -> {
+			remotePorts.add(exchange.getRemoteAddress().getPort());
+			byte[] body = "<data><location id=\"187\"/></data>"
+					.getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream os = exchange.getResponseBody()) {
+				os.write(body);
+			}
+		});
+		server.start();
+	}
+
+	@After
+	public void tearDown() {
+		server.stop(0);
+	}
+
+	@Test
+	public void calling_WebClient_Repeatedly_Should_ReuseConnection() throws IOException {
+		// Arrange
+		URL url = new URL("http://127.0.0.1:" + server.getAddress().getPort()
+				+ "/timeservice?placeid=187");
+		WebClient client = new WebClient(new HttpClientTransport());
+
+		// Act
+		String first = null;
+		for (int i = 0; i < 5; i++)
+			first = client.downloadString(url);
+
+		// Assert
+		assertEquals("<data><location id=\"187\"/></data>", first);
+		assertEquals(1, remotePorts.size());
+	}
+
+	@Test
+	public void calling_WebClient_WithErrorStatus_Should_ReturnNull() throws IOException {
+		// Arrange
+		URL url = new URL("http://127.0.0.1:" + server.getAddress().getPort()
+				+ "/missing?placeid=187");
+		WebClient client = new WebClient(new HttpClientTransport());
+
+		// Act
+		String result = client.downloadString(url);
+
+		// Assert
+		assertNull(result);
+	}
+}
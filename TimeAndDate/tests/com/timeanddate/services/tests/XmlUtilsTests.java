@@ -0,0 +1,51 @@
+package com.timeanddate.services.tests;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+import com.timeanddate.services.common.ServerSideException;
+import com.timeanddate.services.common.XmlUtils;
+
+public class XmlUtilsTests {
+	@Test
+	public void calling_Parse_WithErrorResponse_Should_ThrowServerSideException() {
+		// Arrange
+		String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+				+ "<data><error>Invalid access key</error></data>";
+
+		// Act
+		try {
+			XmlUtils.parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+			fail("Expected ServerSideException");
+		} catch (ServerSideException e) {
+			// Assert
+			assertEquals("Invalid access key", e.getMessage());
+		}
+	}
+
+	@Test
+	public void calling_Parse_WithValidResponse_Should_ReturnDocument() throws ServerSideException {
+		// Arrange
+		String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+				+ "<data><location id=\"187\"><geo><name>Oslo</name></geo></location></data>";
+
+		// Act
+		Document document = XmlUtils.parse(new ByteArrayInputStream(
+				xml.getBytes(StandardCharsets.UTF_8)));
+
+		// Assert
+		assertEquals("data", document.getDocumentElement().getNodeName());
+		assertEquals(1, document.getElementsByTagName("location").getLength());
+	}
+
+	@Test(expected = ServerSideException.class)
+	public void calling_Parse_WithMalformedResponse_Should_ThrowServerSideException() throws ServerSideException {
+		XmlUtils.parse(new ByteArrayInputStream("<data><location>"
+				.getBytes(StandardCharsets.UTF_8)));
+	}
+}